@@ -7,6 +7,8 @@ import com.shopvideoscout.ai.constant.QwenVlConstants;
 import com.shopvideoscout.ai.dto.FrameAnalysisResult;
 import com.shopvideoscout.ai.dto.QwenVlRequest;
 import com.shopvideoscout.ai.dto.QwenVlResponse;
+import com.shopvideoscout.ai.entity.VideoFrame;
+import com.shopvideoscout.ai.service.FrameAnalysisExecutor;
 import com.shopvideoscout.ai.service.FrameAnalysisParser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -16,14 +18,20 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Client for Qwen-VL (DashScope) API.
  * Handles API calls with retry logic for timeouts (504) and skip logic for unprocessable content (422).
+ * Calls are non-blocking; {@link #analyzeFrames} fans out a whole task on the WebClient event loop,
+ * several frames per request.
  */
 @Slf4j
 @Component
@@ -33,11 +41,14 @@ public class QwenVlClient {
     private final QwenVlConfig config;
     private final ObjectMapper objectMapper;
     private final FrameAnalysisParser parser;
+    private final FrameAnalysisExecutor analysisExecutor;
 
-    public QwenVlClient(QwenVlConfig config, ObjectMapper objectMapper, FrameAnalysisParser parser) {
+    public QwenVlClient(QwenVlConfig config, ObjectMapper objectMapper, FrameAnalysisParser parser,
+                        FrameAnalysisExecutor analysisExecutor) {
         this.config = config;
         this.objectMapper = objectMapper;
         this.parser = parser;
+        this.analysisExecutor = analysisExecutor;
         this.webClient = WebClient.builder()
                 .baseUrl(config.getBaseUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -45,6 +56,97 @@ public class QwenVlClient {
                 .build();
     }
 
+    /**
+     * Analyze a task's frames.
+     * Frames are sent {@code qwen.vl.batch-size} at a time in one multi-image request. A batch
+     * that fails, or whose answer misses some frames, falls back to per-frame requests for those
+     * frames. At most {@code qwen.vl.max-concurrency} requests of the task run at once, and each
+     * also waits for a node-wide permit from FrameAnalysisExecutor, so tasks share the quota.
+     * Results arrive in completion order and only as fast as the subscriber requests them.
+     * A failed frame yields a failed result and never ends the stream.
+     * The model is sent each frame's compact analysis derivative when it has one; results
+     * always carry the full frame URL.
+     *
+     * @param taskId Task the frames belong to
+     * @param frames Frames to analyze
+     * @return One result per frame
+     */
+    public Flux<FrameAnalysisResult> analyzeFrames(Long taskId, Flux<VideoFrame> frames) {
+        int concurrency = Math.max(1, config.getMaxConcurrency());
+        if (config.getBatchSize() <= 1) {
+            return frames.flatMap(frame -> analyzeSingle(taskId, frame), concurrency);
+        }
+        return frames.buffer(config.getBatchSize())
+                .flatMap(batch -> analyzeBatch(taskId, batch), concurrency);
+    }
+
+    private Mono<FrameAnalysisResult> analyzeSingle(Long taskId, VideoFrame frame) {
+        return analysisExecutor.submit(taskId, analyzeFrameAsync(frame.getId(), frame.getFrameUrl(), imageUrl(frame)));
+    }
+
+    /**
+     * URL of the image sent to the model: the analysis derivative if there is one.
+     */
+    private static String imageUrl(VideoFrame frame) {
+        return frame.getAnalysisUrl() != null ? frame.getAnalysisUrl() : frame.getFrameUrl();
+    }
+
+    private Flux<FrameAnalysisResult> analyzeBatch(Long taskId, List<VideoFrame> batch) {
+        if (batch.size() == 1) {
+            return analyzeSingle(taskId, batch.get(0)).flux();
+        }
+        return analysisExecutor.submit(taskId, analyzeBatchAsync(batch))
+                .onErrorResume(e -> {
+                    log.warn("Batch of {} frames failed, falling back to per-frame requests: {}",
+                            batch.size(), e.getMessage());
+                    return Mono.just(Arrays.asList(new FrameAnalysisResult[batch.size()]));
+                })
+                .flatMapMany(results -> {
+                    List<FrameAnalysisResult> analyzed = new ArrayList<>();
+                    List<VideoFrame> missing = new ArrayList<>();
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (results.get(i) != null) {
+                            analyzed.add(results.get(i));
+                        } else {
+                            missing.add(batch.get(i));
+                        }
+                    }
+                    return Flux.fromIterable(analyzed)
+                            .concatWith(Flux.fromIterable(missing).flatMap(frame -> analyzeSingle(taskId, frame)));
+                });
+    }
+
+    /**
+     * Analyze several frames in one request.
+     *
+     * @return Results by position, null for frames the answer left out; errors if the call or
+     *         the whole answer failed
+     */
+    private Mono<List<FrameAnalysisResult>> analyzeBatchAsync(List<VideoFrame> batch) {
+        return Mono.defer(() -> {
+            log.debug("Analyzing batch of {} frames, first {}", batch.size(), batch.get(0).getId());
+            List<String> urls = batch.stream().map(QwenVlClient::imageUrl).toList();
+            QwenVlRequest request = QwenVlRequest.createBatchAnalysisRequest(
+                    config.getModel(), urls, buildBatchAnalysisPrompt(batch.size()));
+            return callApiWithRetry(request);
+        }).map(response -> {
+            String textContent = response.getTextContent();
+            if (textContent == null || textContent.isBlank()) {
+                throw new IllegalArgumentException("No content in AI response");
+            }
+            List<FrameAnalysisResult> results = parser.parseBatchAnalysisResponse(textContent, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                FrameAnalysisResult result = results.get(i);
+                if (result != null) {
+                    result.setFrameId(batch.get(i).getId());
+                    result.setFrameUrl(batch.get(i).getFrameUrl());
+                    result.setSuccess(true);
+                }
+            }
+            return results;
+        });
+    }
+
     /**
      * Analyze a single frame using Qwen-VL API.
      *
@@ -53,33 +155,56 @@ public class QwenVlClient {
      * @return Analysis result (may be failed if API error occurs)
      */
     public FrameAnalysisResult analyzeFrame(Long frameId, String frameUrl) {
-        log.debug("Analyzing frame {}: {}", frameId, frameUrl);
+        return analyzeFrameAsync(frameId, frameUrl).block();
+    }
 
-        String prompt = buildAnalysisPrompt();
-        QwenVlRequest request = QwenVlRequest.createFrameAnalysisRequest(frameUrl, prompt);
+    /**
+     * Analyze a single frame without blocking.
+     *
+     * @return Mono of the analysis result; API errors become a failed result, never an error signal
+     */
+    public Mono<FrameAnalysisResult> analyzeFrameAsync(Long frameId, String frameUrl) {
+        return analyzeFrameAsync(frameId, frameUrl, frameUrl);
+    }
 
-        try {
-            QwenVlResponse response = callApiWithRetry(request);
-            return parseResponse(frameId, frameUrl, response);
-        } catch (WebClientResponseException.UnprocessableEntity e) {
+    /**
+     * Analyze a single frame without blocking, sending a different image than the frame's own.
+     *
+     * @param frameUrl URL reported in the result
+     * @param imageUrl URL of the image sent to the model, e.g. the analysis derivative
+     */
+    public Mono<FrameAnalysisResult> analyzeFrameAsync(Long frameId, String frameUrl, String imageUrl) {
+        return Mono.defer(() -> {
+            log.debug("Analyzing frame {}: {}", frameId, imageUrl);
+            String prompt = buildAnalysisPrompt();
+            QwenVlRequest request = QwenVlRequest.createFrameAnalysisRequest(config.getModel(), imageUrl, prompt);
+            return callApiWithRetry(request);
+        })
+                .map(response -> parseResponse(frameId, frameUrl, response))
+                .defaultIfEmpty(FrameAnalysisResult.failed(frameId, frameUrl, "Empty response from AI service"))
+                .onErrorResume(e -> Mono.just(toFailedResult(frameId, frameUrl, e)));
+    }
+
+    private FrameAnalysisResult toFailedResult(Long frameId, String frameUrl, Throwable e) {
+        if (e instanceof WebClientResponseException.UnprocessableEntity) {
             // 422 - Skip this frame, continue with others (Error Handling spec)
             log.warn("Frame {} unprocessable (422), skipping: {}", frameId, e.getMessage());
             return FrameAnalysisResult.failed(frameId, frameUrl, "无法识别图片内容");
-        } catch (WebClientResponseException.GatewayTimeout e) {
+        }
+        if (e instanceof WebClientResponseException.GatewayTimeout) {
             // 504 - Already retried 3 times, fail gracefully
             log.error("Frame {} timeout after retries (504): {}", frameId, e.getMessage());
             return FrameAnalysisResult.failed(frameId, frameUrl, "AI分析超时");
-        } catch (Exception e) {
-            log.error("Frame {} analysis failed: {}", frameId, e.getMessage(), e);
-            return FrameAnalysisResult.failed(frameId, frameUrl, "AI服务错误: " + e.getMessage());
         }
+        log.error("Frame {} analysis failed: {}", frameId, e.getMessage(), e);
+        return FrameAnalysisResult.failed(frameId, frameUrl, "AI服务错误: " + e.getMessage());
     }
 
     /**
      * Call Qwen-VL API with retry logic for 504 Gateway Timeout.
      * Retries up to 3 times on timeout (configurable).
      */
-    private QwenVlResponse callApiWithRetry(QwenVlRequest request) {
+    private Mono<QwenVlResponse> callApiWithRetry(QwenVlRequest request) {
         return webClient.post()
                 .bodyValue(request)
                 .retrieve()
@@ -95,8 +220,7 @@ public class QwenVlClient {
                         .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
                                 new WebClientResponseException.GatewayTimeout("Gateway timeout after " +
                                         config.getMaxRetryAttempts() + " retries")))
-                .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
-                .block();
+                .timeout(Duration.ofSeconds(config.getTimeoutSeconds()));
     }
 
     /**
@@ -147,4 +271,32 @@ public class QwenVlClient {
             }
             """;
     }
+
+    /**
+     * Build the prompt for a multi-image request: same fields as the single-frame prompt,
+     * answered as one JSON array keyed by image number.
+     */
+    private String buildBatchAnalysisPrompt(int count) {
+        return """
+            以上共%d张图片，按编号逐张分析，返回JSON数组，每张图片一个对象。
+
+            分析要求:
+            1. index: 图片编号(1-%d)，与上面的"图片N"对应
+            2. category: 图片分类，必须是以下之一: food(食物), person(人物), environment(环境), other(其他)
+            3. tags: 描述标签数组，最多5个，用于描述图片内容特征
+            4. quality_score: 质量评分(0-100)，综合考虑清晰度、构图、光线、稳定性
+            5. description: 一句话描述图片内容
+
+            请只返回JSON数组，格式如下:
+            [
+              {
+                "index": 1,
+                "category": "food",
+                "tags": ["美食", "色彩丰富", "摆盘精美"],
+                "quality_score": 85,
+                "description": "一道精美的中式美食"
+              }
+            ]
+            """.formatted(count, count);
+    }
 }
@@ -41,4 +41,14 @@ public class QwenVlConfig {
      * Retry delay in milliseconds.
      */
     private long retryDelayMs = 1000;
+
+    /**
+     * Maximum concurrent Qwen-VL calls per node; size to the DashScope QPS quota.
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * Frames sent per Qwen-VL request; the shared prompt is sent once per batch. 1 disables batching.
+     */
+    private int batchSize = 4;
 }
@@ -28,6 +28,12 @@ public final class QwenVlConstants {
      */
     public static final int REQUEST_TIMEOUT_SECONDS = 30;
 
+    /**
+     * Version of the frame analysis prompts (single and batched). Part of the analysis cache key:
+     * bump it whenever either prompt changes so cached results from the old prompt are not reused.
+     */
+    public static final String ANALYSIS_PROMPT_VERSION = "v1";
+
     /**
      * Frame categories (BR-1.1).
      */
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -67,4 +68,20 @@ public class FrameAnalysisResult {
                 .errorMessage(errorMessage)
                 .build();
     }
+
+    /**
+     * Copy this result for another frame with the same content.
+     */
+    public FrameAnalysisResult copyFor(Long otherFrameId, String otherFrameUrl) {
+        return FrameAnalysisResult.builder()
+                .frameId(otherFrameId)
+                .frameUrl(otherFrameUrl)
+                .category(category)
+                .tags(tags != null ? new ArrayList<>(tags) : null)
+                .qualityScore(qualityScore)
+                .description(description)
+                .success(success)
+                .errorMessage(errorMessage)
+                .build();
+    }
 }
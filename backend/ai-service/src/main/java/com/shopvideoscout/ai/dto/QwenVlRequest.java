@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -62,10 +63,12 @@ public class QwenVlRequest {
 
     /**
      * Create a frame analysis request.
+     *
+     * @param model model name, from qwen.vl.model
      */
-    public static QwenVlRequest createFrameAnalysisRequest(String imageUrl, String prompt) {
+    public static QwenVlRequest createFrameAnalysisRequest(String model, String imageUrl, String prompt) {
         return QwenVlRequest.builder()
-                .model("qwen-vl-max")
+                .model(model)
                 .input(Input.builder()
                         .messages(List.of(
                                 Message.builder()
@@ -79,4 +82,31 @@ public class QwenVlRequest {
                         .build())
                 .build();
     }
+
+    /**
+     * Create a batched frame analysis request: each image is preceded by its 1-based label,
+     * followed by one shared prompt.
+     *
+     * @param model model name, from qwen.vl.model
+     */
+    public static QwenVlRequest createBatchAnalysisRequest(String model, List<String> imageUrls, String prompt) {
+        List<Content> content = new ArrayList<>();
+        for (int i = 0; i < imageUrls.size(); i++) {
+            content.add(Content.builder().type("text").text("图片" + (i + 1) + ":").build());
+            content.add(Content.builder().type("image").image(imageUrls.get(i)).build());
+        }
+        content.add(Content.builder().type("text").text(prompt).build());
+
+        return QwenVlRequest.builder()
+                .model(model)
+                .input(Input.builder()
+                        .messages(List.of(
+                                Message.builder()
+                                        .role("user")
+                                        .content(content)
+                                        .build()
+                        ))
+                        .build())
+                .build();
+    }
 }
@@ -41,6 +41,11 @@ public class VideoFrame {
      */
     private String frameUrl;
 
+    /**
+     * OSS URL of the compact derivative sent to the AI; null for frames extracted without one.
+     */
+    private String analysisUrl;
+
     /**
      * AI-detected category: food, person, environment, other.
      */
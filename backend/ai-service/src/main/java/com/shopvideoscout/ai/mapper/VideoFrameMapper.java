@@ -1,12 +1,14 @@
 package com.shopvideoscout.ai.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.shopvideoscout.ai.dto.FrameAnalysisResult;
 import com.shopvideoscout.ai.entity.VideoFrame;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -65,40 +67,52 @@ public interface VideoFrameMapper extends BaseMapper<VideoFrame> {
     int countAnalyzedByTaskId(@Param("taskId") Long taskId);
 
     /**
-     * Update frame analysis results.
+     * Write analysis results of many frames in one multi-row statement.
+     * The caller must pass a non-empty list with at most one result per frame.
      */
-    @Update("""
-        UPDATE video_frames
-        SET category = #{category},
-            tags = #{tags,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler},
-            quality_score = #{qualityScore},
-            description = #{description}
-        WHERE id = #{id}
-        """)
-    int updateAnalysisResult(@Param("id") Long id,
-                             @Param("category") String category,
-                             @Param("tags") List<String> tags,
-                             @Param("qualityScore") Integer qualityScore,
-                             @Param("description") String description);
-
-    /**
-     * Mark frames as recommended.
-     */
-    @Update("""
-        UPDATE video_frames SET is_recommended = #{isRecommended} WHERE id = #{id}
-        """)
-    int updateRecommended(@Param("id") Long id, @Param("isRecommended") Boolean isRecommended);
+    @Update({
+        "<script>",
+        "UPDATE video_frames SET",
+        "category = CASE id",
+        "<foreach item='r' collection='results'>WHEN #{r.frameId} THEN #{r.category} </foreach>",
+        "END,",
+        "tags = CASE id",
+        "<foreach item='r' collection='results'>",
+        "WHEN #{r.frameId} THEN #{r.tags,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler} ",
+        "</foreach>",
+        "END,",
+        "quality_score = CASE id",
+        "<foreach item='r' collection='results'>WHEN #{r.frameId} THEN #{r.qualityScore} </foreach>",
+        "END,",
+        "description = CASE id",
+        "<foreach item='r' collection='results'>WHEN #{r.frameId} THEN #{r.description} </foreach>",
+        "END",
+        "WHERE id IN",
+        "<foreach item='r' collection='results' open='(' separator=',' close=')'>#{r.frameId}</foreach>",
+        "</script>"
+    })
+    int updateAnalysisResults(@Param("results") List<FrameAnalysisResult> results);
 
     /**
-     * Reset all recommendations for a task.
+     * Apply a recommendation diff in one statement: frames in changedIds become recommended
+     * if they are in recommendedIds and not recommended otherwise.
+     * The caller must pass a non-empty changedIds.
      */
-    @Update("""
-        UPDATE video_frames vf
-        INNER JOIN videos v ON vf.video_id = v.id
-        SET vf.is_recommended = FALSE
-        WHERE v.task_id = #{taskId}
-        """)
-    int resetRecommendationsByTaskId(@Param("taskId") Long taskId);
+    @Update({
+        "<script>",
+        "UPDATE video_frames SET is_recommended =",
+        "<choose>",
+        "<when test='recommendedIds.isEmpty()'>FALSE</when>",
+        "<otherwise>",
+        "id IN <foreach item='id' collection='recommendedIds' open='(' separator=',' close=')'>#{id}</foreach>",
+        "</otherwise>",
+        "</choose>",
+        "WHERE id IN",
+        "<foreach item='id' collection='changedIds' open='(' separator=',' close=')'>#{id}</foreach>",
+        "</script>"
+    })
+    int applyRecommendationDiff(@Param("recommendedIds") Collection<Long> recommendedIds,
+                                @Param("changedIds") Collection<Long> changedIds);
 
     /**
      * Find analyzed frames for a task (frames with category set).
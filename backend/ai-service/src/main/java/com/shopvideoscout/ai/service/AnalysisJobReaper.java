@@ -0,0 +1,65 @@
+package com.shopvideoscout.ai.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background reaper for frame analyses orphaned by a crashed ai-service node.
+ *
+ * Without it the task stays "analyzing" in analysis:status:task:{taskId} for the key's 24h TTL
+ * and triggerAnalysis keeps answering already_analyzing. Stale analyses are resumed on this
+ * node up to a bounded number of times, then marked failed so they can be retriggered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisJobReaper {
+
+    private static final String REAP_ATTEMPTS_KEY_PREFIX = "analysis:status:reaped:task:";
+    private static final long REAP_ATTEMPTS_TTL_HOURS = 24;
+
+    private final FrameAnalysisService frameAnalysisService;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${analysis.reaper.heartbeat-timeout-seconds:120}")
+    private long heartbeatTimeoutSeconds = 120;
+
+    @Value("${analysis.reaper.max-requeues:1}")
+    private int maxRequeues = 1;
+
+    /**
+     * Claim stale analyses and resume or fail them.
+     */
+    @Scheduled(fixedDelayString = "${analysis.reaper.interval-ms:60000}",
+            initialDelayString = "${analysis.reaper.interval-ms:60000}")
+    public void reap() {
+        long staleBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(heartbeatTimeoutSeconds);
+        List<Long> orphaned = frameAnalysisService.claimStaleAnalyses(staleBefore);
+
+        for (Long taskId : orphaned) {
+            try {
+                String attemptsKey = REAP_ATTEMPTS_KEY_PREFIX + taskId;
+                Long attempts = redisTemplate.opsForValue().increment(attemptsKey);
+                redisTemplate.expire(attemptsKey, REAP_ATTEMPTS_TTL_HOURS, TimeUnit.HOURS);
+
+                if (attempts != null && attempts <= maxRequeues) {
+                    log.warn("Analysis for task {} is orphaned, resuming on this node (attempt {}/{})",
+                            taskId, attempts, maxRequeues);
+                    frameAnalysisService.resumeAnalysis(taskId);
+                } else {
+                    frameAnalysisService.failAnalysis(taskId);
+                }
+            } catch (Exception e) {
+                log.error("Failed to reap analysis for task {}: {}", taskId, e.getMessage());
+                frameAnalysisService.failAnalysis(taskId);
+            }
+        }
+    }
+}
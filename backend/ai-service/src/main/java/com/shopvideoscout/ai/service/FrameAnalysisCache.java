@@ -0,0 +1,111 @@
+package com.shopvideoscout.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopvideoscout.ai.config.QwenVlConfig;
+import com.shopvideoscout.ai.constant.QwenVlConstants;
+import com.shopvideoscout.ai.dto.FrameAnalysisResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frame analysis results keyed by image content, so re-uploaded footage (chain stores post the
+ * same clips to many tasks) is not sent to Qwen-VL again.
+ *
+ * Key: analysis:cache:{model}:{prompt version}:{SHA-256 of the image bytes}, where model is
+ * qwen.vl.model, the model every request is sent to. A new model or prompt version starts a
+ * fresh key space; old entries expire after analysis.cache.ttl-days.
+ * The cache is best-effort: Redis errors count as misses and failed writes are only logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrameAnalysisCache {
+
+    private static final String KEY_PREFIX = "analysis:cache:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final QwenVlConfig qwenVlConfig;
+
+    @Value("${analysis.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${analysis.cache.ttl-days:30}")
+    private long ttlDays = 30;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Look up cached results.
+     *
+     * @param contentHashes Image content hashes
+     * @return Cached results by content hash, without frame ID or URL; misses are absent
+     */
+    public Map<String, FrameAnalysisResult> getAll(List<String> contentHashes) {
+        if (!enabled || contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(contentHashes.stream().map(this::key).toList());
+            if (values == null) {
+                return Map.of();
+            }
+
+            Map<String, FrameAnalysisResult> hits = new HashMap<>();
+            for (int i = 0; i < contentHashes.size(); i++) {
+                String json = values.get(i);
+                if (json == null) {
+                    continue;
+                }
+                try {
+                    hits.put(contentHashes.get(i), objectMapper.readValue(json, FrameAnalysisResult.class));
+                } catch (Exception e) {
+                    log.debug("Ignoring unreadable analysis cache entry {}: {}", contentHashes.get(i), e.getMessage());
+                }
+            }
+            return hits;
+        } catch (Exception e) {
+            log.warn("Analysis cache lookup failed, analyzing without it: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Store successful results.
+     *
+     * @param results Results by content hash; failed results are skipped
+     */
+    public void putAll(Map<String, FrameAnalysisResult> results) {
+        if (!enabled) {
+            return;
+        }
+        Duration ttl = Duration.ofDays(ttlDays);
+        for (Map.Entry<String, FrameAnalysisResult> entry : results.entrySet()) {
+            FrameAnalysisResult result = entry.getValue();
+            if (!result.isSuccess()) {
+                continue;
+            }
+            try {
+                String json = objectMapper.writeValueAsString(result.copyFor(null, null));
+                redisTemplate.opsForValue().set(key(entry.getKey()), json, ttl);
+            } catch (Exception e) {
+                log.warn("Failed to cache analysis of {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private String key(String contentHash) {
+        return KEY_PREFIX + qwenVlConfig.getModel() + ":" + QwenVlConstants.ANALYSIS_PROMPT_VERSION + ":" + contentHash;
+    }
+}
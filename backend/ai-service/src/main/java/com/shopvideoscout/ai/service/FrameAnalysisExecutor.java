@@ -0,0 +1,158 @@
+package com.shopvideoscout.ai.service;
+
+import com.shopvideoscout.ai.config.QwenVlConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Node-wide admission control for Qwen-VL frame analysis calls.
+ *
+ * A semaphore sized to the Qwen-VL quota ({@code qwen.vl.max-concurrency}) caps calls in flight
+ * on this node. Calls are non-blocking Monos subscribed once they get a permit, so no thread
+ * waits on a call. Waiting calls are queued per task and admitted round-robin across tasks, so a
+ * 200-frame task cannot hold every permit while a 10-frame task waits behind it.
+ *
+ * Metrics: frame.analysis.queued (calls waiting), frame.analysis.in_flight (calls running),
+ * frame.analysis.tasks (tasks with calls waiting).
+ */
+@Slf4j
+@Component
+public class FrameAnalysisExecutor {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    /**
+     * Waiting calls per task; iteration order is the round-robin order.
+     */
+    private final Map<Long, Deque<Runnable>> queues = new LinkedHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    // Serializes dispatch without recursion when calls complete synchronously
+    private final AtomicInteger dispatchWip = new AtomicInteger();
+
+    public FrameAnalysisExecutor(QwenVlConfig config, MeterRegistry meterRegistry) {
+        this.maxConcurrency = Math.max(1, config.getMaxConcurrency());
+        this.permits = new Semaphore(maxConcurrency);
+
+        Gauge.builder("frame.analysis.queued", queued, AtomicInteger::get)
+                .description("Frame analysis calls waiting for a Qwen-VL permit")
+                .register(meterRegistry);
+        Gauge.builder("frame.analysis.in_flight", this, FrameAnalysisExecutor::inFlight)
+                .description("Frame analysis calls running")
+                .register(meterRegistry);
+        Gauge.builder("frame.analysis.tasks", this, FrameAnalysisExecutor::waitingTasks)
+                .description("Tasks with frame analysis calls waiting")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a call for a task once it is admitted.
+     * The permit is held until the call signals its result or error, or is cancelled; a call
+     * cancelled while waiting never runs. Finally-hooks inside the call run after the permit is
+     * returned, so they must not count against the Qwen-VL quota (WebClient only returns its
+     * connection there).
+     */
+    public <T> Mono<T> submit(Long taskId, Mono<T> call) {
+        return Mono.create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            AtomicReference<Disposable> running = new AtomicReference<>();
+            sink.onCancel(() -> {
+                cancelled.set(true);
+                Disposable subscription = running.get();
+                if (subscription != null) {
+                    subscription.dispose();
+                }
+            });
+
+            enqueue(taskId, () -> {
+                if (cancelled.get()) {
+                    release();
+                    return;
+                }
+                Disposable subscription = call
+                        .doFinally(signal -> release())
+                        .subscribe(sink::success, sink::error, () -> sink.success());
+                running.set(subscription);
+                if (cancelled.get()) {
+                    subscription.dispose();
+                }
+            });
+        });
+    }
+
+    int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    int waitingTasks() {
+        synchronized (queues) {
+            return queues.size();
+        }
+    }
+
+    private void enqueue(Long taskId, Runnable start) {
+        synchronized (queues) {
+            queues.computeIfAbsent(taskId, id -> new ArrayDeque<>()).addLast(start);
+        }
+        queued.incrementAndGet();
+        dispatch();
+    }
+
+    private void release() {
+        permits.release();
+        dispatch();
+    }
+
+    /**
+     * Start waiting calls while permits are free, taking one call per task in turn.
+     */
+    private void dispatch() {
+        if (dispatchWip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            while (true) {
+                Runnable next;
+                synchronized (queues) {
+                    if (queues.isEmpty() || !permits.tryAcquire()) {
+                        break;
+                    }
+                    Iterator<Map.Entry<Long, Deque<Runnable>>> it = queues.entrySet().iterator();
+                    Map.Entry<Long, Deque<Runnable>> head = it.next();
+                    it.remove();
+                    next = head.getValue().pollFirst();
+                    if (!head.getValue().isEmpty()) {
+                        // Back of the line: the other tasks go first
+                        queues.put(head.getKey(), head.getValue());
+                    }
+                }
+                queued.decrementAndGet();
+                try {
+                    next.run();
+                } catch (RuntimeException e) {
+                    log.error("Failed to start frame analysis call: {}", e.getMessage(), e);
+                    permits.release();
+                }
+            }
+        } while (dispatchWip.decrementAndGet() != 0);
+    }
+}
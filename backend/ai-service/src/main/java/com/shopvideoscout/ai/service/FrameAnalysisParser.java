@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -28,6 +29,9 @@ public class FrameAnalysisParser {
     // Pattern to extract JSON from markdown code blocks
     private static final Pattern JSON_PATTERN = Pattern.compile("```json\\s*([\\s\\S]*?)\\s*```|```\\s*([\\s\\S]*?)\\s*```|\\{[\\s\\S]*\\}");
 
+    // Pattern to extract a JSON array, from a markdown code block or bare
+    private static final Pattern JSON_ARRAY_PATTERN = Pattern.compile("```(?:json)?\\s*(\\[[\\s\\S]*?\\])\\s*```|\\[[\\s\\S]*\\]");
+
     /**
      * Parse AI response text into FrameAnalysisResult.
      * Handles JSON extraction from markdown blocks and validates fields.
@@ -50,6 +54,44 @@ public class FrameAnalysisParser {
         }
     }
 
+    /**
+     * Parse a batched AI response into one result per frame.
+     * The response is a JSON array of analysis objects, each carrying the 1-based "index" of
+     * its image in the request. Entries with a missing or out-of-range index are ignored.
+     *
+     * @param responseText Raw text response from Qwen-VL
+     * @param frameCount   Number of images sent in the request
+     * @return Results by position (size frameCount); null where the response has no entry
+     * @throws IllegalArgumentException if response contains no valid JSON array
+     */
+    public List<FrameAnalysisResult> parseBatchAnalysisResponse(String responseText, int frameCount) {
+        String jsonStr = extractJsonArray(responseText);
+        if (jsonStr == null) {
+            throw new IllegalArgumentException("No valid JSON array found in response");
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(jsonStr);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON format: " + e.getMessage(), e);
+        }
+        if (!root.isArray()) {
+            throw new IllegalArgumentException("Batch response is not a JSON array");
+        }
+
+        List<FrameAnalysisResult> results = Arrays.asList(new FrameAnalysisResult[frameCount]);
+        for (JsonNode node : root) {
+            int index = node.path("index").asInt(0);
+            if (index < 1 || index > frameCount) {
+                log.warn("Ignoring batch entry with index {} (batch of {})", node.get("index"), frameCount);
+                continue;
+            }
+            results.set(index - 1, parseJsonNode(node));
+        }
+        return results;
+    }
+
     /**
      * Extract JSON from response text (may be wrapped in markdown code blocks).
      */
@@ -76,6 +118,23 @@ public class FrameAnalysisParser {
         return null;
     }
 
+    /**
+     * Extract a JSON array from response text (may be wrapped in markdown code blocks).
+     */
+    private String extractJsonArray(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+
+        Matcher matcher = JSON_ARRAY_PATTERN.matcher(text.trim());
+        if (matcher.find()) {
+            String json = matcher.group(1);
+            if (json == null) json = matcher.group(0);
+            return json.trim();
+        }
+        return null;
+    }
+
     /**
      * Parse JSON node into FrameAnalysisResult with validation.
      */
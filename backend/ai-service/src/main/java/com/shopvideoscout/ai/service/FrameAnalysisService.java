@@ -1,6 +1,7 @@
 package com.shopvideoscout.ai.service;
 
 import com.shopvideoscout.ai.client.QwenVlClient;
+import com.shopvideoscout.ai.constant.QwenVlConstants;
 import com.shopvideoscout.ai.dto.AnalysisProgressResponse;
 import com.shopvideoscout.ai.dto.AnalyzeTaskResponse;
 import com.shopvideoscout.ai.dto.FrameAnalysisResult;
@@ -10,19 +11,42 @@ import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.result.ResultCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Service for orchestrating frame analysis.
  * Coordinates between frame extraction, AI analysis, and recommendation marking.
+ *
+ * Running analyses heartbeat into the sorted set analysis:status:heartbeats (member = taskId,
+ * score = epoch millis) so AnalysisJobReaper can find analyses orphaned by a crashed node.
+ *
+ * media-service inserts frames while it is still extracting a video, and keeps the video's ID
+ * in the Redis set frame:extract:task:{taskId} meanwhile. An analysis started during extraction
+ * polls for new frames and analyzes them until that set is gone.
+ *
+ * Analyses run on the application task executor (spring.task.execution), never on the calling
+ * thread: triggerAnalysis is an HTTP request and resumeAnalysis runs on the scheduler thread,
+ * which must stay free for {@link #heartbeat()}.
  */
 @Slf4j
 @Service
@@ -33,12 +57,45 @@ public class FrameAnalysisService {
     private final QwenVlClient qwenVlClient;
     private final FrameRecommendationService recommendationService;
     private final StringRedisTemplate redisTemplate;
+    private final FrameFeatureExtractor featureExtractor;
+    private final FrameAnalysisCache analysisCache;
+    private final FrameQualityScorer qualityScorer;
+    private final FrameDeduplicator frameDeduplicator;
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
 
     private static final String ANALYSIS_STATUS_KEY = "analysis:status:task:";
     private static final String STATUS_ANALYZING = "analyzing";
     private static final String STATUS_COMPLETED = "completed";
     private static final String STATUS_FAILED = "failed";
     private static final long STATUS_EXPIRE_HOURS = 24;
+    private static final String ANALYSIS_HEARTBEAT_KEY = "analysis:status:heartbeats";
+
+    /**
+     * Per-task progress counters (hash: total, analyzed), so polling does not hit MySQL.
+     */
+    private static final String ANALYSIS_PROGRESS_KEY = "analysis:progress:task:";
+    private static final String FIELD_TOTAL = "total";
+    private static final String FIELD_ANALYZED = "analyzed";
+
+    /**
+     * Set of video IDs media-service is still extracting frames from, per task.
+     */
+    private static final String EXTRACTING_KEY = "frame:extract:task:";
+
+    /**
+     * Results written to the DB per batch; the writer pulls the next batch only when done.
+     * A partial batch is flushed after WRITE_FLUSH_INTERVAL, so slow analyses persist steadily.
+     */
+    static final int WRITE_BATCH_SIZE = 20;
+    static final Duration WRITE_FLUSH_INTERVAL = Duration.ofSeconds(2);
+
+    /**
+     * Analyses running on this node, refreshed by {@link #heartbeat()}.
+     */
+    private final Set<Long> localAnalyses = ConcurrentHashMap.newKeySet();
+
+    @Value("${analysis.extraction-poll-interval-ms:2000}")
+    private long extractionPollIntervalMs = 2000;
 
     /**
      * Trigger analysis for a task.
@@ -55,9 +112,10 @@ public class FrameAnalysisService {
             return AnalyzeTaskResponse.alreadyAnalyzing(taskId);
         }
 
-        // Get frames to analyze
+        // Get frames to analyze; more may still arrive from extraction
         List<VideoFrame> frames = videoFrameMapper.findByTaskId(taskId);
-        if (frames.isEmpty()) {
+        boolean extracting = isExtracting(taskId);
+        if (frames.isEmpty() && !extracting) {
             log.info("No frames to analyze for task {}", taskId);
             return AnalyzeTaskResponse.noFrames(taskId);
         }
@@ -66,7 +124,7 @@ public class FrameAnalysisService {
         long unanalyzed = frames.stream()
                 .filter(f -> f.getCategory() == null)
                 .count();
-        if (unanalyzed == 0) {
+        if (unanalyzed == 0 && !extracting) {
             log.info("Task {} already fully analyzed", taskId);
             return AnalyzeTaskResponse.completed(taskId);
         }
@@ -78,9 +136,10 @@ public class FrameAnalysisService {
                 STATUS_EXPIRE_HOURS,
                 TimeUnit.HOURS
         );
+        beat(taskId);
 
         // Start async analysis
-        processAnalysisAsync(taskId, frames);
+        startAnalysis(taskId, frames);
 
         log.info("Triggered analysis for task {} with {} frames", taskId, frames.size());
         return AnalyzeTaskResponse.queued(taskId, frames.size());
@@ -95,13 +154,24 @@ public class FrameAnalysisService {
     public AnalysisProgressResponse getProgress(Long taskId) {
         String status = redisTemplate.opsForValue().get(ANALYSIS_STATUS_KEY + taskId);
 
-        int totalFrames = videoFrameMapper.countByTaskId(taskId);
+        Map<Object, Object> counters = redisTemplate.opsForHash().entries(ANALYSIS_PROGRESS_KEY + taskId);
+        Integer total = parseCounter(counters.get(FIELD_TOTAL));
+        Integer analyzed = parseCounter(counters.get(FIELD_ANALYZED));
+        int totalFrames;
+        int analyzedFrames;
+        if (total != null && analyzed != null) {
+            totalFrames = total;
+            analyzedFrames = Math.min(analyzed, total);
+        } else {
+            // No counters (never analyzed, or expired): count in MySQL
+            totalFrames = videoFrameMapper.countByTaskId(taskId);
+            analyzedFrames = totalFrames > 0 ? videoFrameMapper.countAnalyzedByTaskId(taskId) : 0;
+        }
+
         if (totalFrames == 0) {
             return AnalysisProgressResponse.pending(taskId);
         }
 
-        int analyzedFrames = videoFrameMapper.countAnalyzedByTaskId(taskId);
-
         if (STATUS_COMPLETED.equals(status) || analyzedFrames == totalFrames) {
             return AnalysisProgressResponse.completed(taskId, totalFrames);
         }
@@ -113,25 +183,45 @@ public class FrameAnalysisService {
         return AnalysisProgressResponse.inProgress(taskId, totalFrames, analyzedFrames);
     }
 
+    private static Integer parseCounter(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
-     * Process analysis asynchronously.
+     * Hand an analysis to the application task executor.
+     */
+    private void startAnalysis(Long taskId, List<VideoFrame> frames) {
+        applicationTaskExecutor.execute(() -> processAnalysis(taskId, frames));
+    }
+
+    /**
+     * Run an analysis to the end on the calling thread.
      * Analyzes frames in batches with parallel processing.
      */
-    @Async
-    public void processAnalysisAsync(Long taskId, List<VideoFrame> frames) {
+    void processAnalysis(Long taskId, List<VideoFrame> frames) {
         log.info("Starting async analysis for task {} with {} frames", taskId, frames.size());
+        localAnalyses.add(taskId);
 
         try {
+            initProgress(taskId, frames);
+
             // Filter unanalyzed frames
             List<VideoFrame> unanalyzedFrames = frames.stream()
                     .filter(f -> f.getCategory() == null)
                     .toList();
 
-            // Analyze frames (can be parallelized)
-            List<FrameAnalysisResult> results = analyzeFramesBatch(unanalyzedFrames);
+            // Analyze frames and persist results as they arrive
+            analyzeAndPersist(taskId, unanalyzedFrames);
 
-            // Update database with results
-            updateFrameAnalysisResults(results);
+            // Then frames extracted in the meantime, until extraction ends
+            analyzeExtractedFrames(taskId, frames);
 
             // Calculate and mark recommendations
             markRecommendations(taskId, frames);
@@ -154,76 +244,303 @@ public class FrameAnalysisService {
                     STATUS_EXPIRE_HOURS,
                     TimeUnit.HOURS
             );
+        } finally {
+            localAnalyses.remove(taskId);
+            redisTemplate.opsForZSet().remove(ANALYSIS_HEARTBEAT_KEY, taskId.toString());
+        }
+    }
+
+    /**
+     * Refresh the heartbeat of every analysis running on this node.
+     */
+    @Scheduled(fixedDelayString = "${analysis.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Long taskId : localAnalyses) {
+            try {
+                beat(taskId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh analysis heartbeat for task {}: {}", taskId, e.getMessage());
+            }
         }
     }
 
     /**
-     * Analyze frames in batch with parallel processing.
+     * Claim analyses whose heartbeat is older than the given time.
+     * Each stale entry is removed from the heartbeat set; only the node whose removal succeeds
+     * gets the task, so concurrent reapers never double-handle an analysis.
+     *
+     * @param staleBefore epoch millis cutoff
+     * @return task IDs claimed by this node
      */
-    private List<FrameAnalysisResult> analyzeFramesBatch(List<VideoFrame> frames) {
-        log.debug("Analyzing batch of {} frames", frames.size());
+    public List<Long> claimStaleAnalyses(long staleBefore) {
+        Set<String> stale = redisTemplate.opsForZSet()
+                .rangeByScore(ANALYSIS_HEARTBEAT_KEY, 0, staleBefore);
+        if (stale == null || stale.isEmpty()) {
+            return List.of();
+        }
 
-        // Process frames in parallel using CompletableFuture
-        List<CompletableFuture<FrameAnalysisResult>> futures = frames.stream()
-                .map(frame -> CompletableFuture.supplyAsync(() ->
-                        qwenVlClient.analyzeFrame(frame.getId(), frame.getFrameUrl())))
-                .toList();
+        List<Long> claimed = new ArrayList<>();
+        for (String member : stale) {
+            Long removed = redisTemplate.opsForZSet().remove(ANALYSIS_HEARTBEAT_KEY, member);
+            if (removed != null && removed > 0) {
+                claimed.add(Long.valueOf(member));
+            }
+        }
+        return claimed;
+    }
 
-        // Wait for all to complete and collect results
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .toList();
+    /**
+     * Restart an orphaned analysis on this node. Only frames without a category are
+     * re-sent, so work finished before the crash is kept.
+     *
+     * @param taskId Task ID
+     */
+    public void resumeAnalysis(Long taskId) {
+        String status = redisTemplate.opsForValue().get(ANALYSIS_STATUS_KEY + taskId);
+        if (!STATUS_ANALYZING.equals(status)) {
+            return;
+        }
+        List<VideoFrame> frames = videoFrameMapper.findByTaskId(taskId);
+        beat(taskId);
+        startAnalysis(taskId, frames);
     }
 
     /**
-     * Update database with analysis results.
+     * Fail an orphaned analysis so the user can trigger it again.
+     *
+     * @param taskId Task ID
+     */
+    public void failAnalysis(Long taskId) {
+        redisTemplate.opsForValue().set(
+                ANALYSIS_STATUS_KEY + taskId,
+                STATUS_FAILED,
+                STATUS_EXPIRE_HOURS,
+                TimeUnit.HOURS
+        );
+        log.warn("Analysis for task {} marked failed after its node stopped heartbeating", taskId);
+    }
+
+    /**
+     * Reset the task's progress counters; frames analyzed in an earlier run already count.
+     */
+    private void initProgress(Long taskId, List<VideoFrame> frames) {
+        long analyzed = frames.stream().filter(f -> f.getCategory() != null).count();
+        String key = ANALYSIS_PROGRESS_KEY + taskId;
+        redisTemplate.opsForHash().putAll(key, Map.of(
+                FIELD_TOTAL, String.valueOf(frames.size()),
+                FIELD_ANALYZED, String.valueOf(analyzed)));
+        redisTemplate.expire(key, STATUS_EXPIRE_HOURS, TimeUnit.HOURS);
+    }
+
+    /**
+     * Analyze frames that media-service inserts while the task's videos are still being
+     * extracted. The marker is checked before each poll, so the poll after extraction ends
+     * sees every frame.
+     */
+    private void analyzeExtractedFrames(Long taskId, List<VideoFrame> known) {
+        if (!isExtracting(taskId)) {
+            return;
+        }
+        Set<Long> seen = known.stream().map(VideoFrame::getId).collect(Collectors.toCollection(HashSet::new));
+        boolean extracting;
+        do {
+            try {
+                Thread.sleep(extractionPollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ResultCode.AI_SERVICE_ERROR, "分析被中断");
+            }
+            extracting = isExtracting(taskId);
+
+            List<VideoFrame> fresh = videoFrameMapper.findByTaskId(taskId).stream()
+                    .filter(f -> seen.add(f.getId()))
+                    .toList();
+            if (fresh.isEmpty()) {
+                continue;
+            }
+            redisTemplate.opsForHash().increment(ANALYSIS_PROGRESS_KEY + taskId, FIELD_TOTAL, fresh.size());
+            log.debug("Analyzing {} newly extracted frames for task {}", fresh.size(), taskId);
+            analyzeAndPersist(taskId, fresh.stream().filter(f -> f.getCategory() == null).toList());
+        } while (extracting);
+    }
+
+    private boolean isExtracting(Long taskId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(EXTRACTING_KEY + taskId));
+    }
+
+    private void beat(Long taskId) {
+        redisTemplate.opsForZSet().add(ANALYSIS_HEARTBEAT_KEY, taskId.toString(), System.currentTimeMillis());
+    }
+
+    /**
+     * Analyze frames through the reactive Qwen-VL pipeline and write results in batches.
+     * Frames are handled locally first where possible: frames whose image content was analyzed
+     * before reuse the cached result, unusable ones (blurry, dark, blown out) get their local
+     * quality score and category "other", and near-identical frames are grouped so only one
+     * frame per group is sent, its result copied to the rest of the group.
+     * The writer runs on boundedElastic and requests one batch at a time, so a slow DB holds
+     * back the API calls instead of buffering results in memory. Each written batch advances
+     * the task's progress counter and survives a crash: a resumed analysis only re-sends frames
+     * still without a category. Only this method's thread waits; the calls themselves run on
+     * the WebClient event loop.
+     */
+    private void analyzeAndPersist(Long taskId, List<VideoFrame> frames) {
+        Map<Long, FrameFeatureExtractor.FrameFeatures> features =
+                (analysisCache.isEnabled() || qualityScorer.isEnabled() || frameDeduplicator.isEnabled())
+                        && !frames.isEmpty()
+                        ? featureExtractor.extract(frames)
+                        : Map.of();
+        Map<String, FrameAnalysisResult> cached = analysisCache.getAll(features.values().stream()
+                .map(FrameFeatureExtractor.FrameFeatures::contentHash)
+                .distinct()
+                .toList());
+
+        List<FrameAnalysisResult> local = new ArrayList<>();
+        List<VideoFrame> usable = new ArrayList<>();
+        Map<Long, Long> hashes = new HashMap<>();
+        int cacheHits = 0;
+        for (VideoFrame frame : frames) {
+            FrameFeatureExtractor.FrameFeatures f = features.get(frame.getId());
+            FrameAnalysisResult hit = f != null ? cached.get(f.contentHash()) : null;
+            if (hit != null) {
+                local.add(hit.copyFor(frame.getId(), frame.getFrameUrl()));
+                cacheHits++;
+                continue;
+            }
+            if (f != null && qualityScorer.isUnusable(f.quality())) {
+                local.add(localResult(frame, f.quality()));
+                continue;
+            }
+            usable.add(frame);
+            if (f != null) {
+                hashes.put(frame.getId(), f.hash());
+            }
+        }
+
+        List<VideoFrame> representatives = new ArrayList<>();
+        Map<Long, List<VideoFrame>> duplicates = new HashMap<>();
+        for (List<VideoFrame> cluster : frameDeduplicator.cluster(usable, hashes)) {
+            VideoFrame representative = cluster.get(0);
+            representatives.add(representative);
+            if (cluster.size() > 1) {
+                duplicates.put(representative.getId(), cluster.subList(1, cluster.size()));
+            }
+        }
+        log.debug("Analyzing {} of {} frames for task {} ({} cached, {} rejected locally)",
+                representatives.size(), frames.size(), taskId, cacheHits, local.size() - cacheHits);
+
+        Flux<FrameAnalysisResult> analyzed = representatives.isEmpty()
+                ? Flux.empty()
+                : qwenVlClient.analyzeFrames(taskId, Flux.fromIterable(representatives))
+                        .flatMapIterable(result -> withDuplicates(result,
+                                duplicates.getOrDefault(result.getFrameId(), List.of())));
+        Set<Long> resolvedLocally = local.stream().map(FrameAnalysisResult::getFrameId).collect(Collectors.toSet());
+        Flux.fromIterable(local)
+                .concatWith(analyzed)
+                .bufferTimeout(WRITE_BATCH_SIZE, WRITE_FLUSH_INTERVAL, true)
+                .concatMap(batch -> Mono.fromRunnable(() -> {
+                            int written = updateFrameAnalysisResults(batch);
+                            if (written > 0) {
+                                redisTemplate.opsForHash().increment(ANALYSIS_PROGRESS_KEY + taskId, FIELD_ANALYZED, written);
+                            }
+                            cacheResults(batch, features, resolvedLocally);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .then()
+                .block();
+    }
+
+    /**
+     * Cache the AI results of a written batch by image content.
+     */
+    private void cacheResults(List<FrameAnalysisResult> results, Map<Long, FrameFeatureExtractor.FrameFeatures> features,
+                              Set<Long> resolvedLocally) {
+        Map<String, FrameAnalysisResult> byContent = new HashMap<>();
+        for (FrameAnalysisResult result : results) {
+            FrameFeatureExtractor.FrameFeatures f = features.get(result.getFrameId());
+            if (f != null && result.isSuccess() && !resolvedLocally.contains(result.getFrameId())) {
+                byContent.put(f.contentHash(), result);
+            }
+        }
+        if (!byContent.isEmpty()) {
+            analysisCache.putAll(byContent);
+        }
+    }
+
+    private FrameAnalysisResult localResult(VideoFrame frame, FrameQualityScorer.QualityMetrics quality) {
+        return FrameAnalysisResult.builder()
+                .frameId(frame.getId())
+                .frameUrl(frame.getFrameUrl())
+                .category(QwenVlConstants.Category.OTHER)
+                .tags(List.of())
+                .qualityScore(FrameQualityScorer.score(quality))
+                .description(qualityScorer.rejectionReason(quality))
+                .success(true)
+                .build();
+    }
+
+    private static List<FrameAnalysisResult> withDuplicates(FrameAnalysisResult result, List<VideoFrame> duplicates) {
+        List<FrameAnalysisResult> results = new ArrayList<>(duplicates.size() + 1);
+        results.add(result);
+        for (VideoFrame duplicate : duplicates) {
+            results.add(result.copyFor(duplicate.getId(), duplicate.getFrameUrl()));
+        }
+        return results;
+    }
+
+    /**
+     * Update database with analysis results, in one statement per call.
+     *
+     * @return Number of frames written (failed results are skipped)
      */
     @Transactional
-    public void updateFrameAnalysisResults(List<FrameAnalysisResult> results) {
+    public int updateFrameAnalysisResults(List<FrameAnalysisResult> results) {
+        Map<Long, FrameAnalysisResult> successful = new LinkedHashMap<>();
         for (FrameAnalysisResult result : results) {
             if (result.isSuccess() && result.getFrameId() != null) {
-                videoFrameMapper.updateAnalysisResult(
-                        result.getFrameId(),
-                        result.getCategory(),
-                        result.getTags(),
-                        result.getQualityScore(),
-                        result.getDescription()
-                );
-                log.debug("Updated frame {} with category={}, score={}",
-                        result.getFrameId(), result.getCategory(), result.getQualityScore());
+                successful.put(result.getFrameId(), result);
             } else {
                 log.warn("Skipping failed analysis result for frame {}: {}",
                         result.getFrameId(), result.getErrorMessage());
             }
         }
+        if (successful.isEmpty()) {
+            return 0;
+        }
+        videoFrameMapper.updateAnalysisResults(new ArrayList<>(successful.values()));
+        log.debug("Updated analysis results of {} frames", successful.size());
+        return successful.size();
     }
 
     /**
      * Mark recommended frames for a task.
+     * Only frames whose flag changes are written, in a single statement.
      */
     @Transactional
     public void markRecommendations(Long taskId, List<VideoFrame> allFrames) {
-        // Reset all recommendations first
-        videoFrameMapper.resetRecommendationsByTaskId(taskId);
-
         // Reload frames with analysis results
-        List<VideoFrame> analyzedFrames = videoFrameMapper.findByTaskId(taskId);
+        List<VideoFrame> taskFrames = videoFrameMapper.findByTaskId(taskId);
 
         // Convert to analysis results for recommendation service
-        List<FrameAnalysisResult> results = analyzedFrames.stream()
+        List<FrameAnalysisResult> results = taskFrames.stream()
                 .filter(f -> f.getCategory() != null)
                 .map(this::frameToAnalysisResult)
                 .toList();
 
         // Get recommended frame IDs
-        List<Long> recommendedIds = recommendationService.markRecommendedFrames(results);
+        Set<Long> recommendedIds = new HashSet<>(recommendationService.markRecommendedFrames(results));
 
-        // Update database
-        for (Long frameId : recommendedIds) {
-            videoFrameMapper.updateRecommended(frameId, true);
+        // Diff against the stored flags
+        List<Long> changedIds = taskFrames.stream()
+                .filter(f -> Boolean.TRUE.equals(f.getIsRecommended()) != recommendedIds.contains(f.getId()))
+                .map(VideoFrame::getId)
+                .toList();
+        if (!changedIds.isEmpty()) {
+            videoFrameMapper.applyRecommendationDiff(recommendedIds, changedIds);
         }
 
-        log.info("Marked {} frames as recommended for task {}", recommendedIds.size(), taskId);
+        log.info("Marked {} frames as recommended for task {} ({} flags changed)",
+                recommendedIds.size(), taskId, changedIds.size());
     }
 
     private FrameAnalysisResult frameToAnalysisResult(VideoFrame frame) {
@@ -0,0 +1,176 @@
+package com.shopvideoscout.ai.service;
+
+import com.shopvideoscout.ai.entity.VideoFrame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups near-identical frames so only one frame per group is sent to Qwen-VL.
+ *
+ * Frames sampled a few seconds apart from a steady shot differ only by noise. Each frame gets a
+ * 64-bit difference hash (dHash) of its image, computed by FrameFeatureExtractor. Within a video,
+ * a frame joins the first group whose representative is within
+ * {@code analysis.dedup.hamming-threshold} bits, else it starts a group.
+ * Comparing against the representative rather than the last member keeps a slow pan from chaining
+ * into one group. Frames without a hash (image not fetched or decoded) stay on their own.
+ *
+ * Metric: frame.analysis.deduplicated (frames that reuse another frame's result).
+ */
+@Slf4j
+@Component
+public class FrameDeduplicator {
+
+    static final int HASH_ROWS = 8;
+    static final int HASH_COLS = HASH_ROWS + 1;
+
+    private final Counter deduplicated;
+
+    @Value("${analysis.dedup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${analysis.dedup.hamming-threshold:6}")
+    private int hammingThreshold = 6;
+
+    public FrameDeduplicator(MeterRegistry meterRegistry) {
+        this.deduplicated = Counter.builder("frame.analysis.deduplicated")
+                .description("Frames that reuse the analysis of a near-identical frame")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Group near-identical frames.
+     *
+     * @param frames Frames to analyze
+     * @param hashes dHash per frame ID, from FrameFeatureExtractor; frames without one stay alone
+     * @return Groups covering every frame once; the first frame of each group is its representative
+     */
+    public List<List<VideoFrame>> cluster(List<VideoFrame> frames, Map<Long, Long> hashes) {
+        if (!enabled || frames.size() < 2) {
+            return frames.stream().map(List::of).toList();
+        }
+
+        List<List<VideoFrame>> clusters = cluster(frames, hashes, hammingThreshold);
+        int saved = frames.size() - clusters.size();
+        deduplicated.increment(saved);
+        log.info("Deduplicated {} frames into {} groups ({} hashed)", frames.size(), clusters.size(), hashes.size());
+        return clusters;
+    }
+
+    /**
+     * Group frames by hash distance to each group's representative, per video and in frame order.
+     * Frames without a hash become singleton groups.
+     */
+    static List<List<VideoFrame>> cluster(List<VideoFrame> frames, Map<Long, Long> hashes, int threshold) {
+        Map<Long, List<List<VideoFrame>>> byVideo = new LinkedHashMap<>();
+        List<List<VideoFrame>> clusters = new ArrayList<>();
+
+        List<VideoFrame> ordered = frames.stream()
+                .sorted(Comparator.comparing(VideoFrame::getFrameNumber, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        for (VideoFrame frame : ordered) {
+            Long hash = hashes.get(frame.getId());
+            if (hash == null) {
+                clusters.add(new ArrayList<>(List.of(frame)));
+                continue;
+            }
+
+            List<List<VideoFrame>> videoClusters = byVideo.computeIfAbsent(frame.getVideoId(), id -> new ArrayList<>());
+            List<VideoFrame> match = null;
+            for (List<VideoFrame> candidate : videoClusters) {
+                if (hammingDistance(hash, hashes.get(candidate.get(0).getId())) <= threshold) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match != null) {
+                match.add(frame);
+            } else {
+                List<VideoFrame> created = new ArrayList<>(List.of(frame));
+                videoClusters.add(created);
+                clusters.add(created);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Difference hash: the image is averaged down to a 9x8 luma grid, and each bit records whether
+     * a cell is brighter than its right neighbour. Robust to scaling, compression and small
+     * exposure changes; one pass over the pixels, no intermediate image.
+     *
+     * @throws IllegalArgumentException if the image is smaller than the grid
+     */
+    static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return dHash(image.getRGB(0, 0, width, height, null, 0, width), width, height);
+    }
+
+    /**
+     * Difference hash of ARGB pixels (as returned by BufferedImage.getRGB).
+     */
+    public static long dHash(int[] pixels, int width, int height) {
+        if (width < HASH_COLS || height < HASH_ROWS) {
+            throw new IllegalArgumentException("Image too small to hash: " + width + "x" + height);
+        }
+
+        int[] columnOf = new int[width];
+        int[] columnPixels = new int[HASH_COLS];
+        for (int x = 0; x < width; x++) {
+            columnOf[x] = x * HASH_COLS / width;
+            columnPixels[columnOf[x]]++;
+        }
+
+        long[] sums = new long[HASH_ROWS * HASH_COLS];
+        int[] rowPixels = new int[HASH_ROWS];
+        for (int y = 0; y < height; y++) {
+            int row = y * HASH_ROWS / height;
+            rowPixels[row]++;
+            int rowBase = row * HASH_COLS;
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[offset + x];
+                // Integer BT.601 luma, scaled by 1000
+                sums[rowBase + columnOf[x]] += ((rgb >> 16) & 0xFF) * 299L + ((rgb >> 8) & 0xFF) * 587L + (rgb & 0xFF) * 114L;
+            }
+        }
+
+        // Cells differ in pixel count by up to one row/column, so compare means
+        double[] means = new double[sums.length];
+        for (int row = 0; row < HASH_ROWS; row++) {
+            for (int col = 0; col < HASH_COLS; col++) {
+                means[row * HASH_COLS + col] = (double) sums[row * HASH_COLS + col]
+                        / ((long) rowPixels[row] * columnPixels[col]);
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < HASH_ROWS; row++) {
+            for (int col = 0; col < HASH_COLS - 1; col++) {
+                hash <<= 1;
+                if (means[row * HASH_COLS + col] > means[row * HASH_COLS + col + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
@@ -0,0 +1,117 @@
+package com.shopvideoscout.ai.service;
+
+import com.shopvideoscout.ai.entity.VideoFrame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches each frame image once and computes everything the local pre-analysis stages need:
+ * the content hash for FrameAnalysisCache, the dHash for FrameDeduplicator and the quality
+ * metrics for FrameQualityScorer.
+ * Images are decoded on boundedElastic and dropped right after measuring, so only the small
+ * per-frame features stay in memory. Frames whose image cannot be fetched or decoded are left
+ * out and go to the AI as before.
+ */
+@Slf4j
+@Component
+public class FrameFeatureExtractor {
+
+    private static final int DOWNLOAD_CONCURRENCY = 8;
+    private static final int MAX_IMAGE_BYTES = 16 * 1024 * 1024;
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Local features of one frame.
+     *
+     * @param contentHash SHA-256 of the image bytes, hex
+     * @param hash        perceptual dHash
+     * @param quality     quality measurements
+     */
+    public record FrameFeatures(String contentHash, long hash, FrameQualityScorer.QualityMetrics quality) {
+    }
+
+    private final WebClient webClient;
+
+    public FrameFeatureExtractor() {
+        this.webClient = WebClient.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IMAGE_BYTES))
+                .build();
+    }
+
+    /**
+     * Fetch and measure frame images in parallel.
+     *
+     * @return Features per frame ID; frames that failed are absent
+     */
+    public Map<Long, FrameFeatures> extract(List<VideoFrame> frames) {
+        Map<Long, FrameFeatures> features = Flux.fromIterable(frames)
+                .flatMap(frame -> extract(frame).map(f -> Map.entry(frame.getId(), f)), DOWNLOAD_CONCURRENCY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        return features != null ? features : Map.of();
+    }
+
+    /**
+     * Features of an encoded image.
+     */
+    static FrameFeatures measure(byte[] bytes) {
+        BufferedImage image = decode(bytes);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        return new FrameFeatures(
+                sha256(bytes),
+                FrameDeduplicator.dHash(pixels, width, height),
+                FrameQualityScorer.measure(pixels, width, height));
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Mono<FrameFeatures> extract(VideoFrame frame) {
+        return Mono.defer(() -> webClient.get()
+                        .uri(URI.create(frame.getFrameUrl()))
+                        .retrieve()
+                        .bodyToMono(byte[].class))
+                .timeout(DOWNLOAD_TIMEOUT)
+                .publishOn(Schedulers.boundedElastic())
+                .map(FrameFeatureExtractor::measure)
+                .onErrorResume(e -> {
+                    log.debug("Could not measure frame {}, analyzing it on its own: {}", frame.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static BufferedImage decode(byte[] bytes) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (image == null) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable image: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.shopvideoscout.ai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * CPU-only image quality pre-scoring, so obviously unusable frames never reach Qwen-VL.
+ *
+ * Frames are measured on a luma plane averaged down to at most {@link #ANALYSIS_WIDTH} pixels
+ * wide, which keeps the thresholds independent of the source resolution:
+ * - sharpness: variance of the 4-neighbour Laplacian (out-of-focus frames have few edges)
+ * - exposure: mean luma and the share of crushed (&lt;16) or blown (&gt;240) pixels
+ * - gradient balance: weaker / stronger of the horizontal and vertical gradient energies;
+ *   motion blur smears edges along one direction and drives it towards 0
+ *
+ * A frame is unusable when it is blurry, too dark or too bright, mostly clipped, or strongly
+ * smeared in one direction. Thresholds live under analysis.prescore.
+ */
+@Component
+public class FrameQualityScorer {
+
+    static final int ANALYSIS_WIDTH = 640;
+
+    private static final int DARK_LUMA = 16;
+    private static final int BRIGHT_LUMA = 240;
+    private static final double SHARPNESS_SATURATION = 500.0;
+
+    /**
+     * Measurements of one frame.
+     *
+     * @param sharpness       Laplacian variance
+     * @param meanLuma        mean luma, 0-255
+     * @param clippedFraction share of crushed or blown pixels, 0-1
+     * @param gradientBalance weaker / stronger directional gradient energy, 0-1
+     */
+    public record QualityMetrics(double sharpness, double meanLuma, double clippedFraction, double gradientBalance) {
+    }
+
+    @Value("${analysis.prescore.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${analysis.prescore.min-sharpness:20}")
+    private double minSharpness = 20;
+
+    @Value("${analysis.prescore.min-brightness:25}")
+    private double minBrightness = 25;
+
+    @Value("${analysis.prescore.max-brightness:235}")
+    private double maxBrightness = 235;
+
+    @Value("${analysis.prescore.max-clipped-fraction:0.85}")
+    private double maxClippedFraction = 0.85;
+
+    @Value("${analysis.prescore.min-gradient-balance:0.2}")
+    private double minGradientBalance = 0.2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether a frame is too poor to be worth an AI call.
+     */
+    public boolean isUnusable(QualityMetrics metrics) {
+        return enabled && rejectionReason(metrics) != null;
+    }
+
+    /**
+     * Short user-facing reason a frame was rejected, or null if it is usable.
+     */
+    public String rejectionReason(QualityMetrics metrics) {
+        if (metrics.sharpness() < minSharpness) {
+            return "画面模糊";
+        }
+        if (metrics.meanLuma() < minBrightness) {
+            return "画面过暗";
+        }
+        if (metrics.meanLuma() > maxBrightness) {
+            return "画面过曝";
+        }
+        if (metrics.clippedFraction() > maxClippedFraction) {
+            return "曝光异常";
+        }
+        if (metrics.gradientBalance() < minGradientBalance) {
+            return "运动模糊";
+        }
+        return null;
+    }
+
+    /**
+     * Local quality score (0-100) on the same scale as the AI quality_score:
+     * half sharpness, 30% exposure, 20% gradient balance.
+     */
+    public static int score(QualityMetrics metrics) {
+        double sharpness = Math.min(1.0, Math.log1p(metrics.sharpness()) / Math.log1p(SHARPNESS_SATURATION));
+        double exposure = Math.max(0.0, 1.0 - Math.abs(metrics.meanLuma() - 128) / 128) * (1.0 - metrics.clippedFraction());
+        double score = 100 * (0.5 * sharpness + 0.3 * exposure + 0.2 * metrics.gradientBalance());
+        return (int) Math.round(Math.max(0, Math.min(100, score)));
+    }
+
+    /**
+     * Measure a frame from its ARGB pixels (as returned by BufferedImage.getRGB).
+     *
+     * @throws IllegalArgumentException if the image is smaller than 3x3
+     */
+    public static QualityMetrics measure(int[] argb, int width, int height) {
+        if (width < 3 || height < 3) {
+            throw new IllegalArgumentException("Image too small to score: " + width + "x" + height);
+        }
+        int factor = Math.max(1, (width + ANALYSIS_WIDTH - 1) / ANALYSIS_WIDTH);
+        int w = width / factor;
+        int h = height / factor;
+        if (w < 3 || h < 3) {
+            throw new IllegalArgumentException("Image too narrow to score: " + width + "x" + height);
+        }
+        int[] luma = downsampleLuma(argb, width, factor, w, h);
+
+        long[] exposure = exposure(luma);
+        double[] gradients = gradientEnergy(luma, w, h);
+        double stronger = Math.max(gradients[0], gradients[1]);
+        return new QualityMetrics(
+                laplacianVariance(luma, w, h),
+                (double) exposure[0] / luma.length,
+                (double) exposure[1] / luma.length,
+                stronger > 0 ? Math.min(gradients[0], gradients[1]) / stronger : 0.0);
+    }
+
+    /**
+     * Box-average ARGB pixels into a luma plane, factor x factor source pixels per cell.
+     */
+    static int[] downsampleLuma(int[] argb, int width, int factor, int w, int h) {
+        int[] luma = new int[w * h];
+        int area = factor * factor;
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int sum = 0;
+                for (int dy = 0; dy < factor; dy++) {
+                    int offset = (y * factor + dy) * width + x * factor;
+                    for (int dx = 0; dx < factor; dx++) {
+                        int rgb = argb[offset + dx];
+                        // Integer BT.601 luma
+                        sum += (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+                    }
+                }
+                luma[y * w + x] = sum / area;
+            }
+        }
+        return luma;
+    }
+
+    /**
+     * Variance of the 4-neighbour Laplacian over interior pixels.
+     * Rows are independent straight-line loops over int[], which C2 auto-vectorizes.
+     */
+    static double laplacianVariance(int[] luma, int w, int h) {
+        long sum = 0;
+        long sumSquares = 0;
+        for (int y = 1; y < h - 1; y++) {
+            int row = y * w;
+            for (int i = row + 1; i < row + w - 1; i++) {
+                int lap = 4 * luma[i] - luma[i - 1] - luma[i + 1] - luma[i - w] - luma[i + w];
+                sum += lap;
+                sumSquares += (long) lap * lap;
+            }
+        }
+        long n = (long) (w - 2) * (h - 2);
+        double mean = (double) sum / n;
+        return (double) sumSquares / n - mean * mean;
+    }
+
+    /**
+     * Sum of luma and count of crushed or blown pixels.
+     */
+    static long[] exposure(int[] luma) {
+        long sum = 0;
+        long clipped = 0;
+        for (int value : luma) {
+            sum += value;
+            clipped += (value < DARK_LUMA || value > BRIGHT_LUMA) ? 1 : 0;
+        }
+        return new long[]{sum, clipped};
+    }
+
+    /**
+     * Mean absolute horizontal and vertical luma differences.
+     */
+    static double[] gradientEnergy(int[] luma, int w, int h) {
+        long horizontal = 0;
+        long vertical = 0;
+        for (int y = 0; y < h - 1; y++) {
+            int row = y * w;
+            for (int i = row; i < row + w - 1; i++) {
+                horizontal += Math.abs(luma[i + 1] - luma[i]);
+                vertical += Math.abs(luma[i + w] - luma[i]);
+            }
+        }
+        long n = (long) (w - 1) * (h - 1);
+        return new double[]{(double) horizontal / n, (double) vertical / n};
+    }
+}
@@ -3,12 +3,17 @@ package com.shopvideoscout.ai.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopvideoscout.ai.config.QwenVlConfig;
 import com.shopvideoscout.ai.dto.FrameAnalysisResult;
+import com.shopvideoscout.ai.entity.VideoFrame;
+import com.shopvideoscout.ai.service.FrameAnalysisExecutor;
 import com.shopvideoscout.ai.service.FrameAnalysisParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.*;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -26,6 +31,7 @@ class QwenVlClientTest {
     private MockWebServer mockServer;
     private QwenVlClient client;
     private ObjectMapper objectMapper;
+    private QwenVlConfig config;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -34,7 +40,7 @@ class QwenVlClientTest {
 
         objectMapper = new ObjectMapper();
 
-        QwenVlConfig config = new QwenVlConfig();
+        config = new QwenVlConfig();
         config.setBaseUrl(mockServer.url("/").toString());
         config.setApiKey("test-api-key");
         config.setTimeoutSeconds(5);
@@ -42,7 +48,8 @@ class QwenVlClientTest {
         config.setRetryDelayMs(100); // Short delay for tests
 
         FrameAnalysisParser parser = new FrameAnalysisParser(objectMapper);
-        client = new QwenVlClient(config, objectMapper, parser);
+        client = new QwenVlClient(config, objectMapper, parser,
+                new FrameAnalysisExecutor(config, new SimpleMeterRegistry()));
     }
 
     @AfterEach
@@ -88,6 +95,25 @@ class QwenVlClientTest {
             assertThat(result.getTags()).containsExactly("美食", "精美");
             assertThat(result.getQualityScore()).isEqualTo(85);
         }
+
+        @Test
+        @DisplayName("Should call the configured model, the one the analysis cache is keyed by")
+        void shouldSendConfiguredModel() throws InterruptedException {
+            // Given
+            config.setModel("qwen-vl-plus");
+            mockServer.enqueue(new MockResponse()
+                    .setBody("""
+                        {"output": {"choices": [{"message": {"content": [{"text": "{\\"category\\": \\"food\\", \\"tags\\": [], \\"quality_score\\": 70}"}]}}]}}
+                        """)
+                    .setHeader("Content-Type", "application/json"));
+
+            // When
+            client.analyzeFrame(1L, "https://example.com/frame.jpg");
+
+            // Then
+            String body = mockServer.takeRequest().getBody().readUtf8();
+            assertThat(body).contains("\"model\":\"qwen-vl-plus\"").doesNotContain("qwen-vl-max");
+        }
     }
 
     @Nested
@@ -214,4 +240,155 @@ class QwenVlClientTest {
             assertThat(result.isSuccess()).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Reactive batch analysis")
+    class BatchAnalysisTests {
+
+        private VideoFrame frame(long id) {
+            VideoFrame frame = new VideoFrame();
+            frame.setId(id);
+            frame.setFrameUrl("https://example.com/frame" + id + ".jpg");
+            return frame;
+        }
+
+        @Test
+        @DisplayName("A 422 frame yields a failed result without ending the stream")
+        void shouldIsolatePerFrameErrors() {
+            // Given
+            config.setBatchSize(1);
+            String ok = """
+                {"output": {"choices": [{"message": {"content": [{
+                  "text": "{\\"category\\": \\"food\\", \\"tags\\": [], \\"quality_score\\": 80}"
+                }]}}]}}
+                """;
+            mockServer.enqueue(new MockResponse().setBody(ok).setHeader("Content-Type", "application/json"));
+            mockServer.enqueue(new MockResponse().setResponseCode(422));
+            mockServer.enqueue(new MockResponse().setBody(ok).setHeader("Content-Type", "application/json"));
+
+            // When
+            List<FrameAnalysisResult> results = client
+                    .analyzeFrames(1L, Flux.just(frame(1), frame(2), frame(3)))
+                    .collectList()
+                    .block();
+
+            // Then
+            assertThat(results).hasSize(3);
+            assertThat(results).extracting(FrameAnalysisResult::getFrameId).containsExactlyInAnyOrder(1L, 2L, 3L);
+            assertThat(results).filteredOn(FrameAnalysisResult::isSuccess).hasSize(2);
+            assertThat(mockServer.getRequestCount()).isEqualTo(3);
+        }
+
+        private String batchResponse(int... indexes) {
+            StringBuilder entries = new StringBuilder();
+            for (int index : indexes) {
+                if (!entries.isEmpty()) {
+                    entries.append(", ");
+                }
+                entries.append("{\\\"index\\\": ").append(index)
+                        .append(", \\\"category\\\": \\\"food\\\", \\\"tags\\\": [], \\\"quality_score\\\": 70}");
+            }
+            return """
+                {"output": {"choices": [{"message": {"content": [{"text": "[%s]"}]}}]}}
+                """.formatted(entries);
+        }
+
+        @Test
+        @DisplayName("Frames of a batch share one request and map back by index")
+        void shouldAnalyzeBatchInOneRequest() throws InterruptedException {
+            // Given
+            mockServer.enqueue(new MockResponse().setBody(batchResponse(2, 1, 3))
+                    .setHeader("Content-Type", "application/json"));
+
+            // When
+            List<FrameAnalysisResult> results = client
+                    .analyzeFrames(1L, Flux.just(frame(1), frame(2), frame(3)))
+                    .collectList()
+                    .block();
+
+            // Then
+            assertThat(mockServer.getRequestCount()).isEqualTo(1);
+            assertThat(results).hasSize(3).allMatch(FrameAnalysisResult::isSuccess);
+            assertThat(results).extracting(FrameAnalysisResult::getFrameId).containsExactly(1L, 2L, 3L);
+            assertThat(results).extracting(FrameAnalysisResult::getFrameUrl)
+                    .containsExactly("https://example.com/frame1.jpg", "https://example.com/frame2.jpg",
+                            "https://example.com/frame3.jpg");
+            String body = mockServer.takeRequest().getBody().readUtf8();
+            assertThat(body).contains("图片3:").contains("frame3.jpg");
+        }
+
+        @Test
+        @DisplayName("The model gets the analysis derivative; results keep the full frame URL")
+        void shouldSendAnalysisDerivative() throws InterruptedException {
+            // Given
+            VideoFrame withDerivative = frame(1);
+            withDerivative.setAnalysisUrl("https://example.com/frame1_a.jpg");
+            mockServer.enqueue(new MockResponse().setBody(batchResponse(1, 2))
+                    .setHeader("Content-Type", "application/json"));
+
+            // When
+            List<FrameAnalysisResult> results = client
+                    .analyzeFrames(1L, Flux.just(withDerivative, frame(2)))
+                    .collectList()
+                    .block();
+
+            // Then
+            String body = mockServer.takeRequest().getBody().readUtf8();
+            assertThat(body).contains("frame1_a.jpg").doesNotContain("frame1.jpg").contains("frame2.jpg");
+            assertThat(results).extracting(FrameAnalysisResult::getFrameUrl)
+                    .containsExactly("https://example.com/frame1.jpg", "https://example.com/frame2.jpg");
+        }
+
+        @Test
+        @DisplayName("A failed batch falls back to per-frame requests")
+        void shouldFallBackToSingleFramesWhenBatchFails() {
+            // Given: the batch is rejected, then frame-by-frame one frame is still unreadable
+            String ok = """
+                {"output": {"choices": [{"message": {"content": [{
+                  "text": "{\\"category\\": \\"food\\", \\"tags\\": [], \\"quality_score\\": 80}"
+                }]}}]}}
+                """;
+            mockServer.enqueue(new MockResponse().setResponseCode(422));
+            mockServer.enqueue(new MockResponse().setBody(ok).setHeader("Content-Type", "application/json"));
+            mockServer.enqueue(new MockResponse().setResponseCode(422));
+
+            // When
+            List<FrameAnalysisResult> results = client
+                    .analyzeFrames(1L, Flux.just(frame(1), frame(2)))
+                    .collectList()
+                    .block();
+
+            // Then
+            assertThat(mockServer.getRequestCount()).isEqualTo(3);
+            assertThat(results).extracting(FrameAnalysisResult::getFrameId).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(results).filteredOn(FrameAnalysisResult::isSuccess).hasSize(1);
+            assertThat(results).filteredOn(r -> !r.isSuccess())
+                    .extracting(FrameAnalysisResult::getErrorMessage).containsExactly("无法识别图片内容");
+        }
+
+        @Test
+        @DisplayName("Frames missing from a batch answer are retried on their own")
+        void shouldRetryFramesMissingFromBatchAnswer() {
+            // Given
+            mockServer.enqueue(new MockResponse().setBody(batchResponse(1, 3))
+                    .setHeader("Content-Type", "application/json"));
+            String ok = """
+                {"output": {"choices": [{"message": {"content": [{
+                  "text": "{\\"category\\": \\"food\\", \\"tags\\": [], \\"quality_score\\": 80}"
+                }]}}]}}
+                """;
+            mockServer.enqueue(new MockResponse().setBody(ok).setHeader("Content-Type", "application/json"));
+
+            // When
+            List<FrameAnalysisResult> results = client
+                    .analyzeFrames(1L, Flux.just(frame(1), frame(2), frame(3)))
+                    .collectList()
+                    .block();
+
+            // Then
+            assertThat(mockServer.getRequestCount()).isEqualTo(2);
+            assertThat(results).hasSize(3).allMatch(FrameAnalysisResult::isSuccess);
+            assertThat(results).extracting(FrameAnalysisResult::getFrameId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        }
+    }
 }
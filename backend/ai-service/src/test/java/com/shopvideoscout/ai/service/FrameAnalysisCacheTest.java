@@ -0,0 +1,98 @@
+package com.shopvideoscout.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopvideoscout.ai.config.QwenVlConfig;
+import com.shopvideoscout.ai.constant.QwenVlConstants;
+import com.shopvideoscout.ai.dto.FrameAnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FrameAnalysisCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class FrameAnalysisCacheTest {
+
+    private static final String KEY_PREFIX = "analysis:cache:qwen-vl-max:" + QwenVlConstants.ANALYSIS_PROMPT_VERSION + ":";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FrameAnalysisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new FrameAnalysisCache(redisTemplate, objectMapper, new QwenVlConfig());
+    }
+
+    @Test
+    @DisplayName("Hits are returned by content hash; misses and unreadable entries are left out")
+    void shouldReturnHits() throws Exception {
+        // Given
+        String cached = objectMapper.writeValueAsString(FrameAnalysisResult.builder()
+                .category("food").tags(List.of("美食")).qualityScore(80).success(true).build());
+        when(valueOperations.multiGet(List.of(KEY_PREFIX + "a", KEY_PREFIX + "b", KEY_PREFIX + "c")))
+                .thenReturn(Arrays.asList(cached, null, "not json"));
+
+        // When
+        Map<String, FrameAnalysisResult> hits = cache.getAll(List.of("a", "b", "c"));
+
+        // Then
+        assertThat(hits).containsOnlyKeys("a");
+        assertThat(hits.get("a").getCategory()).isEqualTo("food");
+        assertThat(hits.get("a").getTags()).containsExactly("美食");
+        assertThat(hits.get("a").isSuccess()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis errors are treated as misses")
+    void shouldTreatRedisErrorsAsMisses() {
+        // Given
+        when(valueOperations.multiGet(anyList())).thenThrow(new RuntimeException("connection refused"));
+
+        // When / Then
+        assertThat(cache.getAll(List.of("a"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Only successful results are stored, without frame identity, with a TTL")
+    void shouldStoreSuccessfulResultsOnly() throws Exception {
+        // Given
+        FrameAnalysisResult ok = FrameAnalysisResult.builder().frameId(7L).frameUrl("url7")
+                .category("person").tags(List.of()).qualityScore(65).success(true).build();
+        FrameAnalysisResult failed = FrameAnalysisResult.failed(8L, "url8", "AI分析超时");
+
+        // When
+        cache.putAll(Map.of("ok", ok, "failed", failed));
+
+        // Then
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq(KEY_PREFIX + "ok"), json.capture(), eq(Duration.ofDays(30)));
+        verifyNoMoreInteractions(valueOperations);
+        FrameAnalysisResult stored = objectMapper.readValue(json.getValue(), FrameAnalysisResult.class);
+        assertThat(stored.getFrameId()).isNull();
+        assertThat(stored.getFrameUrl()).isNull();
+        assertThat(stored.getCategory()).isEqualTo("person");
+    }
+}
@@ -0,0 +1,139 @@
+package com.shopvideoscout.ai.service;
+
+import com.shopvideoscout.ai.config.QwenVlConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FrameAnalysisExecutor.
+ */
+class FrameAnalysisExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FrameAnalysisExecutor executor(int maxConcurrency) {
+        QwenVlConfig config = new QwenVlConfig();
+        config.setMaxConcurrency(maxConcurrency);
+        return new FrameAnalysisExecutor(config, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Calls in flight never exceed the configured concurrency")
+    void shouldBoundConcurrency() {
+        // Given
+        FrameAnalysisExecutor executor = executor(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // When
+        List<Mono<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            // A call runs from subscription until it signals; its own doFinally would fire
+            // only after the downstream has already been handed the result
+            calls.add(executor.submit(1L, Mono.defer(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return Mono.delay(Duration.ofMillis(20))
+                        .map(tick -> n)
+                        .doOnTerminate(running::decrementAndGet);
+            })));
+        }
+        List<Integer> results = Flux.merge(calls).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(results).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(executor.queued()).isZero();
+        assertThat(executor.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("A large task does not starve a small one: tasks take turns")
+    void shouldDispatchRoundRobinAcrossTasks() {
+        // Given: one permit, held by task 1's first call
+        FrameAnalysisExecutor executor = executor(1);
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> order = new ArrayList<>();
+
+        List<Mono<String>> calls = new ArrayList<>();
+        calls.add(executor.submit(1L, blocker.asMono().doOnNext(name -> order.add(name))));
+        for (int i = 1; i <= 5; i++) {
+            String name = "A" + i;
+            calls.add(executor.submit(1L, Mono.fromCallable(() -> record(order, name))));
+        }
+        calls.add(executor.submit(2L, Mono.fromCallable(() -> record(order, "B0"))));
+        Mono<List<String>> all = Flux.merge(calls).collectList().cache();
+        all.subscribe();
+
+        assertThat(executor.queued()).isEqualTo(6);
+        assertThat(meterRegistry.get("frame.analysis.queued").gauge().value()).isEqualTo(6.0);
+        assertThat(meterRegistry.get("frame.analysis.in_flight").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("frame.analysis.tasks").gauge().value()).isEqualTo(2.0);
+
+        // When
+        blocker.tryEmitValue("A0");
+        all.block(Duration.ofSeconds(5));
+
+        // Then: task 2 runs right after task 1's next call, not after all of them
+        assertThat(order).containsExactly("A0", "A1", "B0", "A2", "A3", "A4", "A5");
+    }
+
+    @Test
+    @DisplayName("A failing call signals its error and frees its permit")
+    void shouldPropagateFailures() {
+        // Given
+        FrameAnalysisExecutor executor = executor(1);
+
+        // When
+        Mono<String> failed = executor.submit(1L, Mono.error(new IllegalStateException("boom")));
+        Mono<String> next = executor.submit(1L, Mono.just("ok"));
+
+        // Then
+        assertThatThrownBy(failed::block).isInstanceOf(IllegalStateException.class);
+        assertThat(next.block()).isEqualTo("ok");
+        assertThat(executor.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("A call cancelled while waiting never runs and leaks no permit")
+    void shouldSkipCancelledCalls() {
+        // Given: one permit, held by a blocked call
+        FrameAnalysisExecutor executor = executor(1);
+        Sinks.One<String> blocker = Sinks.one();
+        AtomicBoolean ran = new AtomicBoolean();
+        Disposable holder = executor.submit(1L, blocker.asMono()).subscribe();
+        Disposable waiting = executor.submit(2L, Mono.fromCallable(() -> {
+            ran.set(true);
+            return "never";
+        })).subscribe();
+
+        // When
+        waiting.dispose();
+        blocker.tryEmitValue("done");
+
+        // Then
+        assertThat(holder.isDisposed()).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(executor.inFlight()).isZero();
+        assertThat(executor.queued()).isZero();
+        assertThat(executor.submit(1L, Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    private static String record(List<String> order, String name) {
+        order.add(name);
+        return name;
+    }
+}
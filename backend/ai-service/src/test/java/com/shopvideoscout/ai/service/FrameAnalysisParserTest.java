@@ -336,4 +336,52 @@ class FrameAnalysisParserTest {
                     .isInstanceOf(IllegalArgumentException.class);
         }
     }
+
+    @Nested
+    @DisplayName("Batched multi-image responses")
+    class BatchResponseTests {
+
+        @Test
+        @DisplayName("Should place entries by index regardless of order")
+        void shouldMapEntriesByIndex() {
+            String json = """
+                ```json
+                [
+                  {"index": 2, "category": "person", "tags": ["店员"], "quality_score": 60},
+                  {"index": 1, "category": "food", "tags": ["美食"], "quality_score": 90}
+                ]
+                ```
+                """;
+
+            List<FrameAnalysisResult> results = parser.parseBatchAnalysisResponse(json, 2);
+
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0).getCategory()).isEqualTo("food");
+            assertThat(results.get(0).getQualityScore()).isEqualTo(90);
+            assertThat(results.get(1).getCategory()).isEqualTo("person");
+            assertThat(results.get(1).getTags()).containsExactly("店员");
+        }
+
+        @Test
+        @DisplayName("Should leave null slots for missing or out-of-range entries")
+        void shouldLeaveGapsForMissingEntries() {
+            String json = """
+                [{"index": 1, "category": "food"}, {"index": 7, "category": "food"}, {"category": "other"}]
+                """;
+
+            List<FrameAnalysisResult> results = parser.parseBatchAnalysisResponse(json, 3);
+
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0)).isNotNull();
+            assertThat(results.get(1)).isNull();
+            assertThat(results.get(2)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should throw exception when no array is present")
+        void shouldThrowWithoutArray() {
+            assertThatThrownBy(() -> parser.parseBatchAnalysisResponse("{\"category\": \"food\"}", 2))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 }
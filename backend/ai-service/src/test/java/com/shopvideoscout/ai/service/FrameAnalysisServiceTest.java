@@ -11,15 +11,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
@@ -52,12 +60,35 @@ class FrameAnalysisServiceTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private FrameFeatureExtractor featureExtractor;
+
+    @Mock
+    private FrameAnalysisCache analysisCache;
+
+    @Mock
+    private FrameQualityScorer qualityScorer;
+
+    @Mock
+    private FrameDeduplicator frameDeduplicator;
+
+    @Mock
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
     @InjectMocks
     private FrameAnalysisService service;
 
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
     }
 
     @Nested
@@ -96,6 +127,34 @@ class FrameAnalysisServiceTest {
                     eq(TimeUnit.HOURS)
             );
         }
+
+        @Test
+        @DisplayName("Should run the analysis on the task executor, not on the request thread")
+        void shouldHandAnalysisToExecutor() {
+            Long taskId = 1L;
+            when(valueOperations.get("analysis:status:task:1")).thenReturn(null);
+            VideoFrame frame = createFrame(1L, 1L, "url1");
+            frame.setCategory(null);
+            when(videoFrameMapper.findByTaskId(taskId)).thenReturn(List.of(frame));
+
+            service.triggerAnalysis(taskId);
+
+            verify(applicationTaskExecutor).execute(any(Runnable.class));
+            verifyNoInteractions(qwenVlClient, featureExtractor);
+        }
+
+        @Test
+        @DisplayName("Should resume an orphaned analysis on the task executor, not on the reaper thread")
+        void shouldResumeOnExecutor() {
+            when(valueOperations.get("analysis:status:task:1")).thenReturn("analyzing");
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of(createFrame(1L, 1L, "url1")));
+
+            service.resumeAnalysis(1L);
+
+            verify(applicationTaskExecutor).execute(any(Runnable.class));
+            verify(zSetOperations).add(eq("analysis:status:heartbeats"), eq("1"), anyDouble());
+            verifyNoInteractions(qwenVlClient, featureExtractor);
+        }
     }
 
     @Nested
@@ -175,6 +234,23 @@ class FrameAnalysisServiceTest {
             assertThat(response.getStatus()).isEqualTo("failed");
             assertThat(response.getErrorMessage()).isNotNull();
         }
+
+        @Test
+        @DisplayName("Should read progress from Redis counters without querying MySQL")
+        void shouldReadProgressFromCounters() {
+            Long taskId = 1L;
+            when(valueOperations.get("analysis:status:task:1")).thenReturn("analyzing");
+            when(hashOperations.entries("analysis:progress:task:1"))
+                    .thenReturn(Map.of("total", "200", "analyzed", "50"));
+
+            AnalysisProgressResponse response = service.getProgress(taskId);
+
+            assertThat(response.getStatus()).isEqualTo("analyzing");
+            assertThat(response.getTotalFrames()).isEqualTo(200);
+            assertThat(response.getAnalyzedFrames()).isEqualTo(50);
+            assertThat(response.getProgressPercent()).isEqualTo(25);
+            verifyNoInteractions(videoFrameMapper);
+        }
     }
 
     @Nested
@@ -217,13 +293,19 @@ class FrameAnalysisServiceTest {
 
             service.updateFrameAnalysisResults(results);
 
-            verify(videoFrameMapper).updateAnalysisResult(
-                    eq(1L),
-                    eq("food"),
-                    eq(List.of("美食", "精美")),
-                    eq(85),
-                    eq("美味食物")
-            );
+            verify(videoFrameMapper).updateAnalysisResults(results);
+        }
+
+        @Test
+        @DisplayName("Should write a whole batch in one statement, leaving out failures")
+        void shouldWriteBatchInOneStatement() {
+            FrameAnalysisResult first = FrameAnalysisResult.builder().frameId(1L).category("food").success(true).build();
+            FrameAnalysisResult second = FrameAnalysisResult.builder().frameId(2L).category("other").success(true).build();
+            List<FrameAnalysisResult> results = List.of(first, FrameAnalysisResult.failed(3L, "url3", "error"), second);
+
+            service.updateFrameAnalysisResults(results);
+
+            verify(videoFrameMapper, times(1)).updateAnalysisResults(List.of(first, second));
         }
 
         @Test
@@ -235,10 +317,224 @@ class FrameAnalysisServiceTest {
 
             service.updateFrameAnalysisResults(results);
 
-            verify(videoFrameMapper, never()).updateAnalysisResult(anyLong(), any(), any(), any(), any());
+            verify(videoFrameMapper, never()).updateAnalysisResults(any());
         }
     }
 
+    @Nested
+    @DisplayName("Recommendation diff")
+    class RecommendationTests {
+
+        @Test
+        @DisplayName("Should write only frames whose recommendation flag changes, in one statement")
+        void shouldApplyOnlyChangedFlags() {
+            // Given: 1 stays recommended, 2 loses it, 3 gains it, 4 stays not recommended
+            VideoFrame kept = analyzedFrame(1L, true);
+            VideoFrame dropped = analyzedFrame(2L, true);
+            VideoFrame gained = analyzedFrame(3L, false);
+            VideoFrame unchanged = analyzedFrame(4L, false);
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of(kept, dropped, gained, unchanged));
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of(1L, 3L));
+
+            // When
+            service.markRecommendations(1L, List.of());
+
+            // Then
+            verify(videoFrameMapper).applyRecommendationDiff(Set.of(1L, 3L), List.of(2L, 3L));
+        }
+
+        @Test
+        @DisplayName("Should not write anything when recommendations are unchanged")
+        void shouldSkipWriteWhenUnchanged() {
+            // Given
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of(analyzedFrame(1L, true), analyzedFrame(2L, false)));
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of(1L));
+
+            // When
+            service.markRecommendations(1L, List.of());
+
+            // Then
+            verify(videoFrameMapper, never()).applyRecommendationDiff(any(), any());
+        }
+
+        private VideoFrame analyzedFrame(Long id, boolean recommended) {
+            VideoFrame frame = createFrame(id, 10L, "url" + id);
+            frame.setCategory("food");
+            frame.setQualityScore(80);
+            frame.setIsRecommended(recommended);
+            return frame;
+        }
+    }
+
+    @Nested
+    @DisplayName("Near-duplicate frames")
+    class DeduplicationTests {
+
+        @Test
+        @DisplayName("Should analyze one frame per group and copy its result to the others")
+        void shouldCopyRepresentativeResultToDuplicates() {
+            // Given
+            VideoFrame first = createFrame(1L, 10L, "url1");
+            VideoFrame duplicate = createFrame(2L, 10L, "url2");
+            VideoFrame other = createFrame(3L, 10L, "url3");
+            List<VideoFrame> frames = List.of(first, duplicate, other);
+            when(frameDeduplicator.cluster(eq(frames), any())).thenReturn(List.of(List.of(first, duplicate), List.of(other)));
+            when(qwenVlClient.analyzeFrames(eq(1L), any())).thenReturn(Flux.just(
+                    FrameAnalysisResult.builder().frameId(1L).frameUrl("url1").category("food")
+                            .tags(List.of("美食")).qualityScore(80).success(true).build(),
+                    FrameAnalysisResult.builder().frameId(3L).frameUrl("url3").category("person")
+                            .tags(List.of()).qualityScore(60).success(true).build()));
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of());
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of());
+
+            // When
+            service.processAnalysis(1L, frames);
+
+            // Then
+            assertThat(writtenResults())
+                    .extracting(FrameAnalysisResult::getFrameId, FrameAnalysisResult::getCategory,
+                            FrameAnalysisResult::getTags, FrameAnalysisResult::getQualityScore)
+                    .containsExactlyInAnyOrder(
+                            tuple(1L, "food", List.of("美食"), 80),
+                            tuple(2L, "food", List.of("美食"), 80),
+                            tuple(3L, "person", List.of(), 60));
+            verify(hashOperations).putAll("analysis:progress:task:1", Map.of("total", "3", "analyzed", "0"));
+            verify(hashOperations).increment("analysis:progress:task:1", "analyzed", 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Local quality pre-scoring")
+    class PreScoringTests {
+
+        @Test
+        @DisplayName("Should store unusable frames as 'other' with the local score, without an AI call")
+        void shouldStoreRejectedFramesLocally() {
+            // Given
+            VideoFrame blurry = createFrame(1L, 10L, "url1");
+            VideoFrame sharp = createFrame(2L, 10L, "url2");
+            List<VideoFrame> frames = List.of(blurry, sharp);
+            FrameQualityScorer.QualityMetrics blurryMetrics = new FrameQualityScorer.QualityMetrics(2.0, 120, 0.0, 0.9);
+            when(qualityScorer.isEnabled()).thenReturn(true);
+            when(featureExtractor.extract(frames)).thenReturn(Map.of(
+                    1L, new FrameFeatureExtractor.FrameFeatures("sha-1", 0L, blurryMetrics)));
+            when(qualityScorer.isUnusable(blurryMetrics)).thenReturn(true);
+            when(qualityScorer.rejectionReason(blurryMetrics)).thenReturn("画面模糊");
+            when(frameDeduplicator.cluster(eq(List.of(sharp)), eq(Map.of()))).thenReturn(List.of(List.of(sharp)));
+            when(qwenVlClient.analyzeFrames(eq(1L), any())).thenReturn(Flux.just(
+                    FrameAnalysisResult.builder().frameId(2L).frameUrl("url2").category("food")
+                            .tags(List.of()).qualityScore(90).success(true).build()));
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of());
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of());
+
+            // When
+            service.processAnalysis(1L, frames);
+
+            // Then
+            assertThat(writtenResults())
+                    .extracting(FrameAnalysisResult::getFrameId, FrameAnalysisResult::getCategory,
+                            FrameAnalysisResult::getQualityScore, FrameAnalysisResult::getDescription)
+                    .containsExactlyInAnyOrder(
+                            tuple(1L, "other", FrameQualityScorer.score(blurryMetrics), "画面模糊"),
+                            tuple(2L, "food", 90, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Content-hash analysis cache")
+    class AnalysisCacheTests {
+
+        @Test
+        @DisplayName("Should fill cache hits without an AI call and cache new AI results")
+        void shouldUseAndFillCache() {
+            // Given
+            VideoFrame known = createFrame(1L, 10L, "url1");
+            VideoFrame fresh = createFrame(2L, 10L, "url2");
+            List<VideoFrame> frames = List.of(known, fresh);
+            FrameQualityScorer.QualityMetrics metrics = new FrameQualityScorer.QualityMetrics(300, 120, 0.0, 0.9);
+            when(analysisCache.isEnabled()).thenReturn(true);
+            when(featureExtractor.extract(frames)).thenReturn(Map.of(
+                    1L, new FrameFeatureExtractor.FrameFeatures("sha-known", 1L, metrics),
+                    2L, new FrameFeatureExtractor.FrameFeatures("sha-fresh", 2L, metrics)));
+            when(analysisCache.getAll(argThat(hashes -> hashes.containsAll(List.of("sha-known", "sha-fresh")))))
+                    .thenReturn(Map.of("sha-known", FrameAnalysisResult.builder().category("food")
+                            .tags(List.of("招牌")).qualityScore(88).description("招牌菜").success(true).build()));
+            when(frameDeduplicator.cluster(eq(List.of(fresh)), eq(Map.of(2L, 2L)))).thenReturn(List.of(List.of(fresh)));
+            FrameAnalysisResult freshResult = FrameAnalysisResult.builder().frameId(2L).frameUrl("url2")
+                    .category("person").tags(List.of()).qualityScore(70).success(true).build();
+            when(qwenVlClient.analyzeFrames(eq(1L), any())).thenReturn(Flux.just(freshResult));
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of());
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of());
+
+            // When
+            service.processAnalysis(1L, frames);
+
+            // Then
+            assertThat(writtenResults())
+                    .extracting(FrameAnalysisResult::getFrameId, FrameAnalysisResult::getCategory,
+                            FrameAnalysisResult::getQualityScore, FrameAnalysisResult::getDescription)
+                    .containsExactlyInAnyOrder(
+                            tuple(1L, "food", 88, "招牌菜"),
+                            tuple(2L, "person", 70, null));
+            verify(analysisCache).putAll(Map.of("sha-fresh", freshResult));
+        }
+    }
+
+    @Nested
+    @DisplayName("Frames arriving during extraction")
+    class ExtractionStreamingTests {
+
+        @Test
+        @DisplayName("Should queue analysis of a task whose videos are still extracting")
+        void shouldQueueWhileExtracting() {
+            // Given
+            when(valueOperations.get("analysis:status:task:1")).thenReturn(null);
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of());
+            when(redisTemplate.hasKey("frame:extract:task:1")).thenReturn(true, false);
+
+            // When
+            AnalyzeTaskResponse response = service.triggerAnalysis(1L);
+
+            // Then
+            assertThat(response.getStatus()).isEqualTo("queued");
+        }
+
+        @Test
+        @DisplayName("Should keep analyzing frames inserted until extraction ends")
+        @SuppressWarnings("unchecked")
+        void shouldAnalyzeFramesExtractedDuringAnalysis() {
+            // Given
+            ReflectionTestUtils.setField(service, "extractionPollIntervalMs", 0L);
+            VideoFrame early = createFrame(1L, 10L, "url1");
+            VideoFrame late = createFrame(2L, 10L, "url2");
+            when(redisTemplate.hasKey("frame:extract:task:1")).thenReturn(true, false);
+            when(frameDeduplicator.cluster(any(), any())).thenAnswer(invocation ->
+                    ((List<VideoFrame>) invocation.getArgument(0)).stream().map(List::of).toList());
+            when(qwenVlClient.analyzeFrames(eq(1L), any())).thenAnswer(invocation ->
+                    ((Flux<VideoFrame>) invocation.getArgument(1)).map(frame -> FrameAnalysisResult.builder()
+                            .frameId(frame.getId()).frameUrl(frame.getFrameUrl()).category("food")
+                            .tags(List.of()).qualityScore(75).success(true).build()));
+            when(videoFrameMapper.findByTaskId(1L)).thenReturn(List.of(early, late));
+            when(recommendationService.markRecommendedFrames(any())).thenReturn(List.of());
+
+            // When
+            service.processAnalysis(1L, List.of(early));
+
+            // Then
+            assertThat(writtenResults())
+                    .extracting(FrameAnalysisResult::getFrameId)
+                    .containsExactlyInAnyOrder(1L, 2L);
+            verify(hashOperations).increment("analysis:progress:task:1", "total", 1L);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FrameAnalysisResult> writtenResults() {
+        ArgumentCaptor<List<FrameAnalysisResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(videoFrameMapper, atLeastOnce()).updateAnalysisResults(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
     private VideoFrame createFrame(Long id, Long videoId, String frameUrl) {
         VideoFrame frame = new VideoFrame();
         frame.setId(id);
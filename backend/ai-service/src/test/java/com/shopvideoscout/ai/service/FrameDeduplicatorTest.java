@@ -0,0 +1,149 @@
+package com.shopvideoscout.ai.service;
+
+import com.shopvideoscout.ai.entity.VideoFrame;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FrameDeduplicator.
+ */
+class FrameDeduplicatorTest {
+
+    @Nested
+    @DisplayName("Difference hash")
+    class HashTests {
+
+        @Test
+        @DisplayName("Noisy and rescaled copies of a shot stay within the threshold")
+        void shouldKeepNearDuplicatesClose() {
+            // Given
+            BufferedImage original = gradient(320, 240, false, 0, 0);
+            BufferedImage noisy = gradient(320, 240, false, 8, 1);
+            BufferedImage smaller = gradient(160, 120, false, 0, 0);
+
+            // When
+            long hash = FrameDeduplicator.dHash(original);
+
+            // Then
+            assertThat(FrameDeduplicator.hammingDistance(hash, FrameDeduplicator.dHash(noisy))).isLessThanOrEqualTo(6);
+            assertThat(FrameDeduplicator.hammingDistance(hash, FrameDeduplicator.dHash(smaller))).isLessThanOrEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("A different shot is far away")
+        void shouldSeparateDifferentShots() {
+            // Given
+            long left = FrameDeduplicator.dHash(gradient(320, 240, false, 0, 0));
+            long right = FrameDeduplicator.dHash(gradient(320, 240, true, 0, 0));
+
+            // Then
+            assertThat(FrameDeduplicator.hammingDistance(left, right)).isGreaterThan(32);
+        }
+
+        @Test
+        @DisplayName("Images smaller than the hash grid are rejected")
+        void shouldRejectTinyImages() {
+            assertThatThrownBy(() -> FrameDeduplicator.dHash(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Clustering")
+    class ClusterTests {
+
+        @Test
+        @DisplayName("Frames join the group whose representative is within the threshold")
+        void shouldGroupByDistanceToRepresentative() {
+            // Given: 1 and 2 are 3 bits apart, 3 is 5 bits from 2 but 8 from 1
+            List<VideoFrame> frames = List.of(frame(1L, 10L, 1), frame(2L, 10L, 2), frame(3L, 10L, 3));
+            Map<Long, Long> hashes = Map.of(1L, 0L, 2L, 0b111L, 3L, 0b11111111L);
+
+            // When
+            List<List<VideoFrame>> clusters = FrameDeduplicator.cluster(frames, hashes, 6);
+
+            // Then: no chaining through frame 2
+            assertThat(clusters).hasSize(2);
+            assertThat(clusters.get(0)).extracting(VideoFrame::getId).containsExactly(1L, 2L);
+            assertThat(clusters.get(1)).extracting(VideoFrame::getId).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Identical frames of different videos are not merged")
+        void shouldNotMergeAcrossVideos() {
+            // Given
+            List<VideoFrame> frames = List.of(frame(1L, 10L, 1), frame(2L, 20L, 1));
+            Map<Long, Long> hashes = Map.of(1L, 42L, 2L, 42L);
+
+            // When
+            List<List<VideoFrame>> clusters = FrameDeduplicator.cluster(frames, hashes, 6);
+
+            // Then
+            assertThat(clusters).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Frames without a hash are analyzed on their own")
+        void shouldKeepUnhashedFramesAlone() {
+            // Given
+            List<VideoFrame> frames = List.of(frame(1L, 10L, 1), frame(2L, 10L, 2), frame(3L, 10L, 3));
+            Map<Long, Long> hashes = Map.of(1L, 0L, 3L, 0L);
+
+            // When
+            List<List<VideoFrame>> clusters = FrameDeduplicator.cluster(frames, hashes, 6);
+
+            // Then
+            assertThat(clusters).hasSize(2);
+            assertThat(clusters.get(0)).extracting(VideoFrame::getId).containsExactly(1L, 3L);
+            assertThat(clusters.get(1)).extracting(VideoFrame::getId).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("A single frame is returned as its own group")
+        void shouldSkipHashingForSingleFrame() {
+            // Given
+            FrameDeduplicator deduplicator = new FrameDeduplicator(new SimpleMeterRegistry());
+            VideoFrame frame = frame(1L, 10L, 1);
+
+            // When
+            List<List<VideoFrame>> clusters = deduplicator.cluster(List.of(frame), Map.of(1L, 0L));
+
+            // Then
+            assertThat(clusters).containsExactly(List.of(frame));
+        }
+    }
+
+    /**
+     * Horizontal brightness ramp (optionally mirrored) with optional random noise.
+     */
+    private static BufferedImage gradient(int width, int height, boolean mirrored, int noise, long seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int base = (mirrored ? width - 1 - x : x) * 255 / width;
+                int value = Math.max(0, Math.min(255, base + (noise > 0 ? random.nextInt(2 * noise + 1) - noise : 0)));
+                image.setRGB(x, y, (value << 16) | (value << 8) | value);
+            }
+        }
+        return image;
+    }
+
+    private static VideoFrame frame(Long id, Long videoId, int frameNumber) {
+        VideoFrame frame = new VideoFrame();
+        frame.setId(id);
+        frame.setVideoId(videoId);
+        frame.setFrameNumber(frameNumber);
+        frame.setFrameUrl("https://example.com/frame" + id + ".jpg");
+        return frame;
+    }
+}
@@ -0,0 +1,87 @@
+package com.shopvideoscout.ai.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the local pre-analysis kernels on a 1080p frame: luma downsampling,
+ * Laplacian variance, exposure, gradient energy, and the full measure and dHash passes.
+ *
+ * Not a test, so surefire skips it. Run main() from the IDE, or org.openjdk.jmh.Main with
+ * the ai-service test classpath and FrameQualityScorerBenchmark as the argument.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameQualityScorerBenchmark {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    private int[] argb;
+    private int[] luma;
+    private int factor;
+    private int w;
+    private int h;
+
+    @Setup
+    public void setUp() {
+        argb = FrameQualityScorerTest.noise(WIDTH, HEIGHT, 30, 220);
+        factor = (WIDTH + FrameQualityScorer.ANALYSIS_WIDTH - 1) / FrameQualityScorer.ANALYSIS_WIDTH;
+        w = WIDTH / factor;
+        h = HEIGHT / factor;
+        luma = FrameQualityScorer.downsampleLuma(argb, WIDTH, factor, w, h);
+    }
+
+    @Benchmark
+    public int[] downsampleLuma() {
+        return FrameQualityScorer.downsampleLuma(argb, WIDTH, factor, w, h);
+    }
+
+    @Benchmark
+    public double laplacianVariance() {
+        return FrameQualityScorer.laplacianVariance(luma, w, h);
+    }
+
+    @Benchmark
+    public long[] exposure() {
+        return FrameQualityScorer.exposure(luma);
+    }
+
+    @Benchmark
+    public double[] gradientEnergy() {
+        return FrameQualityScorer.gradientEnergy(luma, w, h);
+    }
+
+    @Benchmark
+    public FrameQualityScorer.QualityMetrics measure() {
+        return FrameQualityScorer.measure(argb, WIDTH, HEIGHT);
+    }
+
+    @Benchmark
+    public long dHash() {
+        return FrameDeduplicator.dHash(argb, WIDTH, HEIGHT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FrameQualityScorerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.shopvideoscout.ai.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FrameQualityScorer.
+ */
+class FrameQualityScorerTest {
+
+    private final FrameQualityScorer scorer = new FrameQualityScorer();
+
+    @Nested
+    @DisplayName("Rejection")
+    class RejectionTests {
+
+        @Test
+        @DisplayName("Detailed, well exposed frame is usable and scores high")
+        void shouldAcceptDetailedFrame() {
+            // Given
+            FrameQualityScorer.QualityMetrics metrics = FrameQualityScorer.measure(noise(640, 360, 60, 200), 640, 360);
+
+            // Then
+            assertThat(scorer.isUnusable(metrics)).isFalse();
+            assertThat(metrics.gradientBalance()).isGreaterThan(0.8);
+            assertThat(FrameQualityScorer.score(metrics)).isGreaterThan(70);
+        }
+
+        @Test
+        @DisplayName("Smooth, edgeless frame is rejected as blurry")
+        void shouldRejectBlurryFrame() {
+            // Given
+            FrameQualityScorer.QualityMetrics metrics = FrameQualityScorer.measure(ramp(640, 360), 640, 360);
+
+            // Then
+            assertThat(scorer.isUnusable(metrics)).isTrue();
+            assertThat(scorer.rejectionReason(metrics)).isEqualTo("画面模糊");
+        }
+
+        @Test
+        @DisplayName("Underexposed frame is rejected as too dark")
+        void shouldRejectDarkFrame() {
+            // Given
+            FrameQualityScorer.QualityMetrics metrics = FrameQualityScorer.measure(noise(640, 360, 0, 30), 640, 360);
+
+            // Then
+            assertThat(metrics.meanLuma()).isLessThan(25);
+            assertThat(scorer.rejectionReason(metrics)).isEqualTo("画面过暗");
+        }
+
+        @Test
+        @DisplayName("Frame smeared along one direction is rejected as motion blur")
+        void shouldRejectMotionBlur() {
+            // Given: every row is constant, as if streaked horizontally
+            int[] pixels = noise(640, 360, 60, 200);
+            for (int y = 0; y < 360; y++) {
+                for (int x = 1; x < 640; x++) {
+                    pixels[y * 640 + x] = pixels[y * 640];
+                }
+            }
+
+            // When
+            FrameQualityScorer.QualityMetrics metrics = FrameQualityScorer.measure(pixels, 640, 360);
+
+            // Then
+            assertThat(metrics.gradientBalance()).isLessThan(0.2);
+            assertThat(scorer.rejectionReason(metrics)).isEqualTo("运动模糊");
+        }
+    }
+
+    @Nested
+    @DisplayName("Measurement")
+    class MeasurementTests {
+
+        @Test
+        @DisplayName("Large frames are measured at analysis width with comparable results")
+        void shouldDownsampleLargeFrames() {
+            // Given: the same smooth content at two resolutions
+            FrameQualityScorer.QualityMetrics small = FrameQualityScorer.measure(ramp(640, 360), 640, 360);
+            FrameQualityScorer.QualityMetrics large = FrameQualityScorer.measure(ramp(1920, 1080), 1920, 1080);
+
+            // Then
+            assertThat(large.meanLuma()).isCloseTo(small.meanLuma(), within(2.0));
+            assertThat(large.sharpness()).isLessThan(20);
+        }
+
+        @Test
+        @DisplayName("Frames too small to measure are rejected")
+        void shouldRejectTinyFrames() {
+            assertThatThrownBy(() -> FrameQualityScorer.measure(new int[4], 2, 2))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    /**
+     * Gray noise with luma uniformly in [min, max).
+     */
+    static int[] noise(int width, int height, int min, int max) {
+        Random random = new Random(42);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            int value = min + random.nextInt(max - min);
+            pixels[i] = (value << 16) | (value << 8) | value;
+        }
+        return pixels;
+    }
+
+    /**
+     * Smooth diagonal brightness ramp from 40 to 200.
+     */
+    static int[] ramp(int width, int height) {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int value = 40 + 160 * (x + y) / (width + height);
+                pixels[y * width + x] = (value << 16) | (value << 8) | value;
+            }
+        }
+        return pixels;
+    }
+}
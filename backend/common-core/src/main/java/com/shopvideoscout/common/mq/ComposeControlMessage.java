@@ -0,0 +1,31 @@
+package com.shopvideoscout.common.mq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * MQ control message for an in-flight compose job.
+ * Published by task-service to a fanout exchange; the media node that owns the job acts on it,
+ * all other nodes ignore it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComposeControlMessage implements Serializable {
+
+    public static final String ACTION_CANCEL = "cancel";
+
+    private Long taskId;
+
+    private String action;
+
+    /**
+     * Epoch millis when the control action was requested.
+     */
+    private Long requestedAt;
+}
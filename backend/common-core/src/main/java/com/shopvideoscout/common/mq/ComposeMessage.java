@@ -37,6 +37,12 @@ public class ComposeMessage implements Serializable {
 
     private String callbackUrl;
 
+    /**
+     * Epoch millis when compose was triggered.
+     * Lets media-service drop messages that were cancelled while still queued.
+     */
+    private Long requestedAt;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,28 @@
+package com.shopvideoscout.common.mq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * MQ message asking media-service to extract keyframes of an uploaded video into video_frames.
+ * Published by task-service once the upload is confirmed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrameExtractMessage implements Serializable {
+
+    private Long taskId;
+
+    private Long videoId;
+
+    /**
+     * OSS key of the uploaded source video.
+     */
+    private String ossKey;
+}
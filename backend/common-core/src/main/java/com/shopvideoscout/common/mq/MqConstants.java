@@ -14,6 +14,22 @@ public final class MqConstants {
     public static final String COMPOSE_DLX = "compose.dlx";
     public static final String COMPOSE_DL_ROUTING_KEY = "task.compose.dead";
 
+    // Compose Control (fanout: every media node receives cancel signals)
+    public static final String COMPOSE_CONTROL_EXCHANGE = "compose.control.exchange";
+
+    // TTS Pre-synthesis (best-effort, no DLQ)
+    public static final String TTS_PRESYNTH_EXCHANGE = "tts.presynth.exchange";
+    public static final String TTS_PRESYNTH_QUEUE = "tts.presynth.queue";
+    public static final String TTS_PRESYNTH_ROUTING_KEY = "tts.presynth";
+
+    // Frame Extraction Queue
+    public static final String FRAME_EXTRACT_EXCHANGE = "frame.extract.exchange";
+    public static final String FRAME_EXTRACT_QUEUE = "frame.extract.queue";
+    public static final String FRAME_EXTRACT_ROUTING_KEY = "video.frame.extract";
+    public static final String FRAME_EXTRACT_DLQ = "frame.extract.dlq";
+    public static final String FRAME_EXTRACT_DLX = "frame.extract.dlx";
+    public static final String FRAME_EXTRACT_DL_ROUTING_KEY = "video.frame.extract.dead";
+
     // Voice Clone Queue
     public static final String VOICE_CLONE_EXCHANGE = "voice.clone.exchange";
     public static final String VOICE_CLONE_QUEUE = "voice.clone.queue";
@@ -21,4 +37,11 @@ public final class MqConstants {
     public static final String VOICE_CLONE_DLQ = "voice.clone.dlq";
     public static final String VOICE_CLONE_DLX = "voice.clone.dlx";
     public static final String VOICE_CLONE_DL_ROUTING_KEY = "voice.clone.dead";
+    // Voice Clone delayed retries: TTL queues dead-letter back into the voice clone exchange
+    public static final String VOICE_CLONE_RETRY_EXCHANGE = "voice.clone.retry.exchange";
+    public static final String VOICE_CLONE_RETRY_1_QUEUE = "voice.clone.retry.1";
+    public static final String VOICE_CLONE_RETRY_2_QUEUE = "voice.clone.retry.2";
+    public static final String VOICE_CLONE_ATTEMPT_HEADER = "x-clone-attempt";
+    // Clone result / deletion events on the voice clone exchange (each media node binds its own queue)
+    public static final String VOICE_SAMPLE_CHANGED_ROUTING_KEY = "voice.sample.changed";
 }
@@ -0,0 +1,32 @@
+package com.shopvideoscout.common.mq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * MQ message asking media-service to synthesize a task's paragraphs into the TTS cache
+ * ahead of compose. Published by task-service when the script or voice settles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TtsPresynthMessage implements Serializable {
+
+    private Long taskId;
+
+    private List<ComposeMessage.Paragraph> paragraphs;
+
+    private ComposeMessage.VoiceConfig voiceConfig;
+
+    /**
+     * Epoch millis when the request was made. media-service stops once a newer request,
+     * or compose itself, supersedes it.
+     */
+    private Long requestedAt;
+}
@@ -24,4 +24,10 @@ public class VoiceCloneMessage implements Serializable {
     private String ossKey;
 
     private Integer durationSeconds;
+
+    /**
+     * Set by media-service when the clone succeeded but the result callback did not;
+     * redeliveries then only retry the callback instead of cloning again.
+     */
+    private String cloneVoiceId;
 }
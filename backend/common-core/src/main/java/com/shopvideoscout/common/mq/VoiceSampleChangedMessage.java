@@ -0,0 +1,29 @@
+package com.shopvideoscout.common.mq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * MQ event for a voice sample whose clone state changed.
+ * Published by user-service on the voice clone exchange after a clone result is stored or a sample
+ * is deleted; every media node evicts the sample from its clone voice cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceSampleChangedMessage implements Serializable {
+
+    private Long voiceSampleId;
+
+    private Long userId;
+
+    /**
+     * New status, or null when the sample was deleted.
+     */
+    private String status;
+}
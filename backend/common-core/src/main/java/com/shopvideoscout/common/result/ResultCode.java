@@ -85,7 +85,13 @@ public enum ResultCode {
     // Task Delete Errors (1032-1034, Story 5.5)
     TASK_IN_PROGRESS(1032, "任务正在处理中，无法删除"),
     TASK_DELETE_FORBIDDEN(1033, "无权限删除此任务"),
-    TASK_DELETE_FAILED(1034, "删除任务失败");
+    TASK_DELETE_FAILED(1034, "删除任务失败"),
+
+    // Compose Control Errors (1035)
+    COMPOSE_CANCELLED(1035, "视频合成已取消"),
+
+    // Frame Extraction Errors (1036)
+    FRAME_EXTRACTION_FAILED(1036, "视频关键帧提取失败");
 
     private final int code;
     private final String message;
@@ -0,0 +1,24 @@
+package com.shopvideoscout.common.util;
+
+/**
+ * URLs of objects in the shared OSS bucket.
+ */
+public final class OssUrls {
+
+    private OssUrls() {}
+
+    /**
+     * Public URL of an object: through the CDN when configured, direct OSS otherwise.
+     *
+     * @param cdnBaseUrl CDN base URL, blank when there is no CDN
+     * @param bucketName OSS bucket
+     * @param endpoint   OSS endpoint host
+     * @param ossKey     object key
+     */
+    public static String publicUrl(String cdnBaseUrl, String bucketName, String endpoint, String ossKey) {
+        if (cdnBaseUrl != null && !cdnBaseUrl.isBlank()) {
+            return cdnBaseUrl.endsWith("/") ? cdnBaseUrl + ossKey : cdnBaseUrl + "/" + ossKey;
+        }
+        return String.format("https://%s.%s/%s", bucketName, endpoint, ossKey);
+    }
+}
@@ -2,6 +2,8 @@ package com.shopvideoscout.common.util;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -19,6 +21,10 @@ public class RedisUtils {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private static final RedisScript<Long> DELETE_IF_EQUALS = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
     // ===================== Common Operations =====================
 
     /**
@@ -62,6 +68,17 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * Delete a key only if it still holds the given value, in one atomic step.
+     * Used to release leases without freeing one that expired and was taken over.
+     *
+     * @return true if the key was deleted
+     */
+    public boolean deleteIfEquals(String key, Object expected) {
+        Long deleted = redisTemplate.execute(DELETE_IF_EQUALS, List.of(key), expected);
+        return deleted != null && deleted > 0;
+    }
+
     // ===================== String Operations =====================
 
     /**
@@ -191,6 +208,29 @@ public class RedisUtils {
         return redisTemplate.opsForSet().remove(key, values);
     }
 
+    // ===================== Sorted Set Operations =====================
+
+    /**
+     * Add a member to a sorted set, or update its score.
+     */
+    public boolean zAdd(String key, Object value, double score) {
+        return Boolean.TRUE.equals(redisTemplate.opsForZSet().add(key, value, score));
+    }
+
+    /**
+     * Get sorted set members with scores in [min, max].
+     */
+    public Set<Object> zRangeByScore(String key, double min, double max) {
+        return redisTemplate.opsForZSet().rangeByScore(key, min, max);
+    }
+
+    /**
+     * Remove members from sorted set.
+     */
+    public Long zRemove(String key, Object... values) {
+        return redisTemplate.opsForZSet().remove(key, values);
+    }
+
     // ===================== List Operations =====================
 
     /**
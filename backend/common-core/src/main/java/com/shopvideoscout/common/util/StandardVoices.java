@@ -0,0 +1,24 @@
+package com.shopvideoscout.common.util;
+
+import java.util.List;
+
+/**
+ * Standard voice types (火山引擎 Seed-TTS presets), shared by the services that validate
+ * a task's voice (task-service) and render its preview clip (media-service).
+ * BR-1.1: 活泼女声、阳光男声、知性女声
+ */
+public final class StandardVoices {
+
+    private StandardVoices() {}
+
+    public static final String DEFAULT = "xiaomei";
+
+    /**
+     * All standard voice types, default first.
+     */
+    public static final List<String> ALL = List.of(
+            DEFAULT,         // 活泼女声
+            "yangguang",     // 阳光男声
+            "zhixing"        // 知性女声
+    );
+}
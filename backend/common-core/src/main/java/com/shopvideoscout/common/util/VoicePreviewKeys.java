@@ -0,0 +1,31 @@
+package com.shopvideoscout.common.util;
+
+/**
+ * OSS keys of pre-rendered voice preview clips, shared by the renderer (media-service)
+ * and the services that hand out preview URLs.
+ * Bump {@link #VERSION} when the preview text or encoding changes so clips are re-rendered.
+ */
+public final class VoicePreviewKeys {
+
+    private VoicePreviewKeys() {}
+
+    public static final String VERSION = "v1";
+
+    /**
+     * Preview sentence for standard voices.
+     */
+    public static final String STANDARD_TEXT = "家人们好，今天带你们探一家宝藏小店，环境好味道赞，一起去看看吧！";
+
+    /**
+     * Preview sentence for cloned voices.
+     */
+    public static final String CLONE_TEXT = "你好，这是我的声音克隆效果预览。";
+
+    public static String standard(String voiceType) {
+        return "voice/previews/" + VERSION + "/standard/" + voiceType + ".mp3";
+    }
+
+    public static String clone(Long voiceSampleId) {
+        return "voice/previews/" + VERSION + "/clone/" + voiceSampleId + ".mp3";
+    }
+}
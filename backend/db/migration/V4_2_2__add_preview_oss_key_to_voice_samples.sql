@@ -0,0 +1,5 @@
+-- Voice previews: pre-rendered preview clip of a cloned voice
+-- Description: Written by media-service (internal callback) once the clip is in OSS
+
+ALTER TABLE voice_samples
+    ADD COLUMN preview_oss_key VARCHAR(500) DEFAULT NULL COMMENT '试听音频OSS路径' AFTER clone_voice_id;
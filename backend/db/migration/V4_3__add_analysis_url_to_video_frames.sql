@@ -0,0 +1,5 @@
+-- Frame analysis derivatives: compact copy of each extracted frame sent to Qwen-VL
+-- Description: Written by media-service during keyframe extraction; NULL falls back to frame_url
+
+ALTER TABLE video_frames
+    ADD COLUMN analysis_url VARCHAR(500) DEFAULT NULL COMMENT '分析用缩略图OSS URL' AFTER frame_url;
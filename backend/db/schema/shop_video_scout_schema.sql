@@ -42,6 +42,7 @@ CREATE TABLE IF NOT EXISTS `voice_samples` (
     `oss_key` VARCHAR(500) NOT NULL COMMENT 'OSS存储路径',
     `duration_seconds` INT NOT NULL COMMENT '音频时长（秒）',
     `clone_voice_id` VARCHAR(100) DEFAULT NULL COMMENT 'Seed-ICL克隆语音ID',
+    `preview_oss_key` VARCHAR(500) DEFAULT NULL COMMENT '试听音频OSS路径',
     `status` ENUM('uploading', 'processing', 'completed', 'failed') DEFAULT 'uploading' COMMENT '处理状态',
     `error_message` VARCHAR(500) DEFAULT NULL COMMENT '错误信息',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -128,6 +129,7 @@ CREATE TABLE IF NOT EXISTS `video_frames` (
     `frame_number` INT NOT NULL COMMENT '帧序号',
     `timestamp_ms` INT NOT NULL COMMENT '帧时间戳（毫秒）',
     `frame_url` VARCHAR(500) NOT NULL COMMENT '帧图片OSS URL',
+    `analysis_url` VARCHAR(500) DEFAULT NULL COMMENT '分析用缩略图OSS URL',
     `category` ENUM('food', 'person', 'environment', 'other') DEFAULT NULL COMMENT 'AI检测类别',
     `tags` JSON DEFAULT NULL COMMENT 'AI检测标签（最多5个）',
     `quality_score` INT DEFAULT 0 COMMENT '质量评分（0-100）',
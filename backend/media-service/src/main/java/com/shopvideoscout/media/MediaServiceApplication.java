@@ -3,6 +3,7 @@ package com.shopvideoscout.media;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Media Service Application.
@@ -15,6 +16,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
         "com.shopvideoscout.mybatis"
 })
 @EnableDiscoveryClient
+@EnableScheduling
 public class MediaServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,72 @@
+package com.shopvideoscout.media.client;
+
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker for the Volcano TTS endpoint.
+ *
+ * After circuitFailureThreshold consecutive endpoint failures the circuit opens and calls fail
+ * fast instead of each waiting out a full timeout. Once circuitOpenMs has passed, the first
+ * caller becomes a half-open probe and the window is pushed forward, so at most one probe runs
+ * per window. Any success (including a probe) closes the circuit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsCircuitBreaker {
+
+    private final VolcanoTtsProperties ttsProperties;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 0 while closed, otherwise the time the next probe may go out
+    private final AtomicLong openUntil = new AtomicLong();
+
+    /**
+     * Whether a call may go out now. While open, returns true only for the single half-open probe.
+     */
+    public boolean allowRequest() {
+        long until = openUntil.get();
+        if (until == 0 || ttsProperties.getCircuitFailureThreshold() <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < until) {
+            return false;
+        }
+        if (openUntil.compareAndSet(until, now + ttsProperties.getCircuitOpenMs())) {
+            log.info("TTS circuit half-open, sending probe");
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isClosed() {
+        return openUntil.get() == 0;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openUntil.getAndSet(0) != 0) {
+            log.info("TTS circuit closed");
+        }
+    }
+
+    public void onFailure() {
+        int threshold = ttsProperties.getCircuitFailureThreshold();
+        if (threshold <= 0) {
+            return;
+        }
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= threshold
+                && openUntil.compareAndSet(0, System.currentTimeMillis() + ttsProperties.getCircuitOpenMs())) {
+            log.warn("TTS circuit opened after {} consecutive failures, failing fast for {}ms",
+                    failures, ttsProperties.getCircuitOpenMs());
+        }
+    }
+}
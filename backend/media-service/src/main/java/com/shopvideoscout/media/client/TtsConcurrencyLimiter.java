@@ -0,0 +1,171 @@
+package com.shopvideoscout.media.client;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits concurrent Volcano TTS calls per node and across the cluster.
+ *
+ * The node limit is a local semaphore. The cluster limit is a fixed set of Redis slots
+ * tts:permit:{0..clusterMaxConcurrency-1}, each claimed with SET NX and a lease so a crashed
+ * node's slots free themselves. With calls of roughly constant latency the two limits keep
+ * the request rate under the account's QPS quota (QPS ≈ concurrency / latency).
+ * If Redis is unreachable the call proceeds under the node limit only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsConcurrencyLimiter {
+
+    private static final String PERMIT_KEY_PREFIX = "tts:permit:";
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final VolcanoTtsProperties ttsProperties;
+    private final RedisUtils redisUtils;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong holderSequence = new AtomicLong();
+    private Semaphore nodePermits;
+
+    @PostConstruct
+    public void init() {
+        nodePermits = new Semaphore(Math.max(1, ttsProperties.getMaxConcurrency()), true);
+    }
+
+    /**
+     * Block until both a node and a cluster permit are available.
+     * The returned permit must be closed once the call returns.
+     */
+    public Permit acquire() {
+        long deadline = System.currentTimeMillis() + ttsProperties.getPermitWaitTimeoutMs();
+        try {
+            if (!nodePermits.tryAcquire(ttsProperties.getPermitWaitTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务繁忙，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS请求被中断");
+        }
+
+        try {
+            return new Permit(acquireClusterSlot(deadline));
+        } catch (RuntimeException e) {
+            nodePermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Take a node and cluster permit only if both are free right now and no call is queued for one.
+     * Used for optional work such as hedged requests, which must not go ahead of primary calls.
+     */
+    public Optional<Permit> tryAcquire() {
+        try {
+            // The timed variant honors the fair queue; plain tryAcquire() would barge past waiters
+            if (!nodePermits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        try {
+            // A deadline of now makes the slot sweep a single pass
+            return Optional.of(new Permit(acquireClusterSlot(System.currentTimeMillis())));
+        } catch (BusinessException e) {
+            nodePermits.release();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return true if a call is waiting for a node permit
+     */
+    boolean hasQueuedCalls() {
+        return nodePermits.hasQueuedThreads();
+    }
+
+    private ClusterSlot acquireClusterSlot(long deadline) {
+        int slots = ttsProperties.getClusterMaxConcurrency();
+        if (slots <= 0) {
+            return null;
+        }
+
+        String holder = nodeId + ":" + holderSequence.incrementAndGet();
+        while (true) {
+            int start = ThreadLocalRandom.current().nextInt(slots);
+            for (int i = 0; i < slots; i++) {
+                String key = PERMIT_KEY_PREFIX + (start + i) % slots;
+                try {
+                    if (redisUtils.setIfAbsent(key, holder, ttsProperties.getPermitLeaseSeconds(), TimeUnit.SECONDS)) {
+                        return new ClusterSlot(key, holder);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("TTS cluster limiter unavailable, falling back to node limit: {}", e.getMessage());
+                    return null;
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务繁忙，请稍后重试");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS + ThreadLocalRandom.current().nextLong(POLL_INTERVAL_MS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS请求被中断");
+            }
+        }
+    }
+
+    private void releaseClusterSlot(ClusterSlot slot) {
+        if (slot == null) {
+            return;
+        }
+        try {
+            // Compare-and-delete: the lease may have expired and been taken over by another node
+            redisUtils.deleteIfEquals(slot.key(), slot.holder());
+        } catch (RuntimeException e) {
+            log.warn("Failed to release TTS cluster slot {}, lease will expire: {}", slot.key(), e.getMessage());
+        }
+    }
+
+    private record ClusterSlot(String key, String holder) {
+    }
+
+    /**
+     * A held node permit plus, when the cluster limit is on, a cluster slot.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final ClusterSlot clusterSlot;
+        private boolean released;
+
+        private Permit(ClusterSlot clusterSlot) {
+            this.clusterSlot = clusterSlot;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            releaseClusterSlot(clusterSlot);
+            nodePermits.release();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.shopvideoscout.media.client;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent successful TTS call latencies, kept per text-length class
+ * because synthesis time grows with the text.
+ */
+class TtsLatencyTracker {
+
+    private static final int[] LENGTH_CLASS_BOUNDS = {100, 500, 2000};
+    private static final int WINDOW_SIZE = 200;
+    private static final int MIN_SAMPLES = 20;
+
+    private final Window[] windows = new Window[LENGTH_CLASS_BOUNDS.length + 1];
+
+    TtsLatencyTracker() {
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window();
+        }
+    }
+
+    void record(int textLength, long latencyMs) {
+        windows[lengthClass(textLength)].add(latencyMs);
+    }
+
+    /**
+     * Latency percentile for texts of this length, or -1 until the window has enough samples.
+     */
+    long percentile(int textLength, double percentile) {
+        return windows[lengthClass(textLength)].percentile(percentile);
+    }
+
+    private static int lengthClass(int textLength) {
+        for (int i = 0; i < LENGTH_CLASS_BOUNDS.length; i++) {
+            if (textLength <= LENGTH_CLASS_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return LENGTH_CLASS_BOUNDS.length;
+    }
+
+    private static final class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next;
+        private int count;
+
+        private synchronized void add(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        private long percentile(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < MIN_SAMPLES) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
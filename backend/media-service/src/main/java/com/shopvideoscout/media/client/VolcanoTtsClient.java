@@ -1,8 +1,14 @@
 package com.shopvideoscout.media.client;
 
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,17 +16,38 @@ import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Client for Volcano Engine Seed-TTS API.
  * Handles single paragraph TTS conversion with retry and text segmentation.
+ * A call still running past the recent p95 latency is hedged with a duplicate request and the
+ * first success wins; TtsCircuitBreaker fails calls fast while the endpoint keeps failing.
  */
 @Slf4j
 @Component
@@ -29,17 +56,40 @@ public class VolcanoTtsClient {
 
     private final VolcanoTtsProperties ttsProperties;
     private final RestTemplate restTemplate;
+    private final TtsConcurrencyLimiter concurrencyLimiter;
+    private final TtsCircuitBreaker circuitBreaker;
 
     private static final int MAX_RETRIES = 3;
     private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int INITIAL_BUFFER_BYTES = 256 * 1024;
+    private static final int MAX_POOLED_BUFFER_BYTES = 8 * 1024 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 16;
+
+    private final Queue<AudioBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+    private final TtsLatencyTracker latencyTracker = new TtsLatencyTracker();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    // Runs segments of long paragraphs and both legs of hedged calls; capped by TtsConcurrencyLimiter
+    private final ExecutorService callExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "tts-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
 
     /**
      * Synthesize text to speech for a single text segment.
-     * If text exceeds max length, splits into segments and synthesizes each.
+     * If text exceeds max length, splits into segments and synthesizes them concurrently.
      *
      * @param text      the text to synthesize
      * @param voiceType the voice type identifier
-     * @return list of TTS results (one per segment)
+     * @return list of TTS results (one per segment, in text order)
      */
     public List<TtsResult> synthesize(String text, String voiceType) {
         if (text == null || text.isBlank()) {
@@ -47,13 +97,36 @@ public class VolcanoTtsClient {
         }
 
         List<String> segments = segmentText(text, ttsProperties.getMaxTextLength());
-        List<TtsResult> results = new ArrayList<>();
+        if (segments.size() == 1) {
+            return List.of(synthesizeWithRetry(segments.get(0), voiceType, 0));
+        }
 
+        List<Future<TtsResult>> futures = new ArrayList<>(segments.size());
         for (int i = 0; i < segments.size(); i++) {
-            TtsResult result = synthesizeWithRetry(segments.get(i), voiceType, i);
-            results.add(result);
+            String segment = segments.get(i);
+            int segmentIndex = i;
+            futures.add(callExecutor.submit(() -> synthesizeWithRetry(segment, voiceType, segmentIndex)));
         }
 
+        List<TtsResult> results = new ArrayList<>(segments.size());
+        try {
+            for (Future<TtsResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS合成被中断");
+        } catch (ExecutionException e) {
+            // One failed segment fails the paragraph; stop paying for the rest
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, e.getCause().getMessage());
+        }
+
+        // Segment durations are summed in this order, so the paragraph duration is cumulative
         return results;
     }
 
@@ -66,8 +139,11 @@ public class VolcanoTtsClient {
 
         while (true) {
             attempt++;
+            if (!circuitBreaker.allowRequest()) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务暂时不可用，请稍后重试");
+            }
             try {
-                return callTtsApi(text, voiceType);
+                return callHedged(text, voiceType);
             } catch (BusinessException e) {
                 if (e.getCode() == ResultCode.TTS_SERVICE_TIMEOUT.getCode() && attempt < MAX_RETRIES) {
                     log.warn("TTS timeout for segment {}, attempt {}/{}, retrying in {}ms",
@@ -91,15 +167,120 @@ public class VolcanoTtsClient {
         }
     }
 
+    /**
+     * Run one attempt. Once the latency window for this text length is warm, a duplicate request
+     * goes out if the first is still running after the hedge delay, and the first success wins.
+     * The delay counts from when the first request holds its permit, matching what the latency
+     * tracker measures, so time spent queueing for a permit never triggers a hedge. The hedge only
+     * takes a permit that is free right now, so it never queues ahead of primary calls.
+     */
+    private TtsResult callHedged(String text, String voiceType) {
+        long hedgeDelayMs = hedgeDelayMs(text.length());
+        if (hedgeDelayMs < 0) {
+            // Permit is held per attempt, not across backoff sleeps
+            try (TtsConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire()) {
+                return callTtsApi(text, voiceType);
+            }
+        }
+
+        CompletionService<TtsResult> completion = new ExecutorCompletionService<>(callExecutor);
+        List<Future<TtsResult>> inFlight = new ArrayList<>(2);
+        CountDownLatch primaryStarted = new CountDownLatch(1);
+        Future<TtsResult> primary = completion.submit(() -> {
+            TtsConcurrencyLimiter.Permit permit;
+            try {
+                permit = concurrencyLimiter.acquire();
+            } finally {
+                primaryStarted.countDown();
+            }
+            try (permit) {
+                return callTtsApi(text, voiceType);
+            }
+        });
+        inFlight.add(primary);
+
+        try {
+            primaryStarted.await();
+            Future<TtsResult> done = completion.poll(hedgeDelayMs, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                inFlight.add(completion.submit(() -> {
+                    Optional<TtsConcurrencyLimiter.Permit> permit = concurrencyLimiter.tryAcquire();
+                    if (permit.isEmpty()) {
+                        return null;
+                    }
+                    hedgesSent.increment();
+                    try (TtsConcurrencyLimiter.Permit held = permit.get()) {
+                        return callTtsApi(text, voiceType);
+                    }
+                }));
+                done = completion.take();
+            }
+
+            RuntimeException primaryError = null;
+            for (int remaining = inFlight.size(); ; done = completion.take()) {
+                try {
+                    TtsResult result = done.get();
+                    if (result != null) {
+                        if (done != primary) {
+                            hedgesWon.increment();
+                            log.debug("TTS hedge won after {}ms hedge delay", hedgeDelayMs);
+                        }
+                        return result;
+                    }
+                } catch (ExecutionException e) {
+                    // A failed hedge is ignored; the primary's error drives the retry decision
+                    if (done == primary) {
+                        primaryError = e.getCause() instanceof RuntimeException re
+                                ? re
+                                : new BusinessException(ResultCode.TTS_SERVICE_ERROR, e.getCause().getMessage());
+                    }
+                }
+                if (--remaining == 0) {
+                    throw primaryError;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS合成被中断");
+        } finally {
+            // The losing request's response is discarded
+            inFlight.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Hedge delay for a text of this length, or -1 when the call should not be hedged.
+     */
+    private long hedgeDelayMs(int textLength) {
+        if (!ttsProperties.isHedgeEnabled() || !circuitBreaker.isClosed()) {
+            return -1;
+        }
+        long percentileMs = latencyTracker.percentile(textLength, ttsProperties.getHedgePercentile());
+        if (percentileMs < 0) {
+            return -1;
+        }
+        long delayMs = Math.max(percentileMs, ttsProperties.getHedgeMinDelayMs());
+        return delayMs < ttsProperties.getTimeoutMs() ? delayMs : -1;
+    }
+
+    long getHedgesSent() {
+        return hedgesSent.sum();
+    }
+
+    long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    TtsLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
     /**
      * Call the Volcano TTS API.
+     * The response is parsed as a stream and the Base64 {@code data} field is decoded straight
+     * into a pooled buffer, so the body is never held as a Map or a Base64 string.
      */
-    @SuppressWarnings("unchecked")
     TtsResult callTtsApi(String text, String voiceType) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Bearer;" + ttsProperties.getAccessToken());
-
         Map<String, Object> requestBody = Map.of(
                 "app", Map.of("appid", ttsProperties.getAppId()),
                 "user", Map.of("uid", "shop-video-scout"),
@@ -114,45 +295,101 @@ public class VolcanoTtsClient {
                 )
         );
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().set("Authorization", "Bearer;" + ttsProperties.getAccessToken());
+            OBJECT_MAPPER.writeValue(request.getBody(), requestBody);
+        };
 
-        ResponseEntity<Map> response;
+        long startMs = System.currentTimeMillis();
         try {
-            response = restTemplate.exchange(
-                    ttsProperties.getApiUrl(),
-                    HttpMethod.POST,
-                    entity,
-                    Map.class
-            );
-        } catch (ResourceAccessException e) {
+            TtsResult result = restTemplate.execute(ttsProperties.getApiUrl(), HttpMethod.POST,
+                    requestCallback, this::readTtsResponse);
+            latencyTracker.record(text.length(), System.currentTimeMillis() - startMs);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (ResourceAccessException | BusinessException e) {
+            circuitBreaker.onFailure();
             throw e;
+        } catch (HttpStatusCodeException e) {
+            // 4xx means the endpoint is up and rejected this request; only 5xx counts against it
+            if (e.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (e.getStatusCode().value() == 504) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_TIMEOUT, "配音生成超时，正在重试");
+            }
+            log.error("TTS API call failed: {}", e.getMessage());
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务返回异常: " + e.getStatusCode());
         } catch (Exception e) {
+            circuitBreaker.onFailure();
             log.error("TTS API call failed: {}", e.getMessage());
             throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务调用失败: " + e.getMessage());
         }
+    }
 
+    /**
+     * Stream-parse a TTS response: {"data": "<base64 audio>", "addition": {"duration": "..."}, ...}.
+     */
+    private TtsResult readTtsResponse(ClientHttpResponse response) throws IOException {
         if (response.getStatusCode().value() == 504) {
             throw new BusinessException(ResultCode.TTS_SERVICE_TIMEOUT, "配音生成超时，正在重试");
         }
-
-        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
             throw new BusinessException(ResultCode.TTS_SERVICE_ERROR,
                     "TTS服务返回异常: " + response.getStatusCode());
         }
 
-        Map<String, Object> body = response.getBody();
-        String audioData = (String) body.get("data");
-        Map<String, Object> addition = (Map<String, Object>) body.get("addition");
+        AudioBuffer buffer = borrowBuffer();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(response.getBody())) {
+            boolean hasAudio = false;
+            double duration = 0.0;
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务返回异常: 响应格式错误");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.VALUE_STRING) {
+                    parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, buffer);
+                    hasAudio = true;
+                } else if ("addition".equals(field) && value == JsonToken.START_OBJECT) {
+                    JsonNode addition = parser.readValueAsTree();
+                    JsonNode durationNode = addition.get("duration");
+                    if (durationNode != null && !durationNode.isNull()) {
+                        duration = Double.parseDouble(durationNode.asText());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
 
-        double duration = 0.0;
-        if (addition != null && addition.get("duration") != null) {
-            duration = Double.parseDouble(addition.get("duration").toString());
+            if (!hasAudio) {
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "TTS服务返回异常: 缺少音频数据");
+            }
+            return TtsResult.builder()
+                    .audioData(buffer.toByteArray())
+                    .durationSeconds(duration)
+                    .build();
+        } finally {
+            returnBuffer(buffer);
         }
+    }
 
-        return TtsResult.builder()
-                .audioData(java.util.Base64.getDecoder().decode(audioData))
-                .durationSeconds(duration)
-                .build();
+    private AudioBuffer borrowBuffer() {
+        AudioBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : new AudioBuffer();
+    }
+
+    private void returnBuffer(AudioBuffer buffer) {
+        // Oversized buffers (very long segments) are left to GC rather than pinned in the pool
+        if (buffer.capacity() <= MAX_POOLED_BUFFER_BYTES && bufferPool.size() < MAX_POOLED_BUFFERS) {
+            buffer.reset();
+            bufferPool.offer(buffer);
+        }
     }
 
     /**
@@ -276,6 +513,25 @@ public class VolcanoTtsClient {
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    /**
+     * Reusable decode buffer; {@link #toByteArray()} returns an exact-size copy.
+     */
+    private static final class AudioBuffer extends ByteArrayOutputStream {
+
+        private AudioBuffer() {
+            super(INITIAL_BUFFER_BYTES);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+    }
+
     /**
      * Result from a single TTS API call.
      */
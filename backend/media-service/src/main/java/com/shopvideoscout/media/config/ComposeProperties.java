@@ -14,4 +14,9 @@ public class ComposeProperties {
 
     private String callbackUrl;
     private int progressTtlSeconds = 3600;
+
+    /**
+     * Interval between progress heartbeats for running compose jobs.
+     */
+    private long heartbeatIntervalMs = 15000;
 }
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for video composition (Story 4.3).
  */
@@ -24,9 +27,42 @@ public class CompositionProperties {
 
     /**
      * Temporary directory for intermediate files.
+     * Used as the only temp volume when {@link #tempVolumes} is empty.
      */
     private String tempDir = "/tmp/compose";
 
+    /**
+     * Temp storage volumes, e.g. tmpfs for small intermediates and NVMe for source downloads.
+     * Each volume serves the file kinds listed in {@link TempVolume#kinds}.
+     */
+    private List<TempVolume> tempVolumes = new ArrayList<>();
+
+    /**
+     * Free space kept untouched on every temp volume, in bytes.
+     */
+    private long tempMinFreeBytes = 1024L * 1024 * 1024;
+
+    /**
+     * Temp space reserved per paragraph for intermediates (segment, concat, final output), in bytes.
+     */
+    private long intermediateBytesPerParagraph = 48L * 1024 * 1024;
+
+    /**
+     * Temp space reserved per source video whose size is unknown, in bytes.
+     */
+    private long sourceBytesPerVideo = 100L * 1024 * 1024;
+
+    /**
+     * Maximum time a job waits for temp space before failing.
+     */
+    private long tempSpaceWaitTimeoutMs = 30 * 60 * 1000L;
+
+    /**
+     * Time a task directory's owner lease survives without renewal; after that the directory
+     * may be reclaimed by any instance sharing the volume.
+     */
+    private long tempLeaseTtlMs = 5 * 60 * 1000L;
+
     /**
      * Output video width (portrait mode).
      */
@@ -72,6 +108,16 @@ public class CompositionProperties {
      */
     private long ossUploadRetryIntervalMs = 5000;
 
+    /**
+     * Concurrent background uploads (TTS audio, subtitles) per node.
+     */
+    private int uploadSinkConcurrency = 4;
+
+    /**
+     * Background uploads accepted beyond the running ones before submitters block.
+     */
+    private int uploadSinkQueueCapacity = 32;
+
     /**
      * Maximum retry attempts for callback.
      */
@@ -86,4 +132,26 @@ public class CompositionProperties {
      * Maximum retry attempts for FFmpeg operations.
      */
     private int ffmpegMaxRetries = 1;
+
+    /**
+     * FFmpeg/FFprobe processes running at once on this node, shared by compose and frame extraction.
+     */
+    private int ffmpegMaxProcesses = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * A temp storage volume.
+     */
+    @Data
+    public static class TempVolume {
+
+        /**
+         * Root directory on the volume; per-task directories are created below it.
+         */
+        private String path;
+
+        /**
+         * File kinds stored on this volume: source, intermediate.
+         */
+        private List<String> kinds = new ArrayList<>(List.of("source", "intermediate"));
+    }
 }
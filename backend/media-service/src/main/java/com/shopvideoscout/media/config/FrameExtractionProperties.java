@@ -0,0 +1,74 @@
+package com.shopvideoscout.media.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for keyframe extraction (BR-2.1).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "frame-extraction")
+public class FrameExtractionProperties {
+
+    /**
+     * FFmpeg scene-change score (0-1) above which a frame starts a new shot.
+     */
+    private double sceneThreshold = 0.3;
+
+    /**
+     * Minimum seconds between two extracted frames, so quick cuts and flicker do not flood a video.
+     */
+    private double minIntervalSeconds = 1.0;
+
+    /**
+     * Maximum seconds without an extracted frame; long steady shots are still sampled this often.
+     */
+    private double maxIntervalSeconds = 4.0;
+
+    /**
+     * Upper bound of frames per video.
+     */
+    private int maxFramesPerVideo = 120;
+
+    /**
+     * JPEG quality scale passed to FFmpeg -q:v (2 = best, 31 = worst).
+     */
+    private int jpegQuality = 3;
+
+    /**
+     * Frames inserted into video_frames per batch.
+     */
+    private int insertBatchSize = 20;
+
+    /**
+     * A partial batch is inserted once its first frame is this old, so analysis sees frames steadily.
+     */
+    private long insertFlushIntervalMs = 3000;
+
+    /**
+     * Maximum run time of one extraction before FFmpeg is killed.
+     */
+    private long timeoutSeconds = 600;
+
+    /**
+     * Lifetime of the per-task "extracting" marker; refreshed with every inserted batch.
+     */
+    private long markerTtlSeconds = 3600;
+
+    /**
+     * Store a compact derivative of each frame next to it, which ai-service sends to the AI.
+     */
+    private boolean analysisDerivativeEnabled = true;
+
+    /**
+     * Long side in pixels of the analysis derivative.
+     */
+    private int analysisLongSide = 448;
+
+    /**
+     * JPEG quality (0-1) of the analysis derivative.
+     */
+    private float analysisJpegQuality = 0.8f;
+}
@@ -65,6 +65,79 @@ public class RabbitMqConfig {
                 .with(MqConstants.COMPOSE_DL_ROUTING_KEY);
     }
 
+    // Compose Control (fanout): each node binds its own auto-delete queue so every
+    // node sees cancel signals and the one owning the job acts on them
+    @Bean
+    public FanoutExchange composeControlExchange() {
+        return new FanoutExchange(MqConstants.COMPOSE_CONTROL_EXCHANGE);
+    }
+
+    @Bean
+    public Queue composeControlQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding composeControlBinding(Queue composeControlQueue, FanoutExchange composeControlExchange) {
+        return BindingBuilder.bind(composeControlQueue).to(composeControlExchange);
+    }
+
+    // TTS Pre-synthesis (best-effort: no DLQ, a lost request only costs a cache miss)
+    @Bean
+    public DirectExchange ttsPresynthExchange() {
+        return new DirectExchange(MqConstants.TTS_PRESYNTH_EXCHANGE);
+    }
+
+    @Bean
+    public Queue ttsPresynthQueue() {
+        return QueueBuilder.durable(MqConstants.TTS_PRESYNTH_QUEUE).build();
+    }
+
+    @Bean
+    public Binding ttsPresynthBinding(Queue ttsPresynthQueue, DirectExchange ttsPresynthExchange) {
+        return BindingBuilder.bind(ttsPresynthQueue)
+                .to(ttsPresynthExchange)
+                .with(MqConstants.TTS_PRESYNTH_ROUTING_KEY);
+    }
+
+    // Frame Extraction Exchange & Queue (consumer side)
+    @Bean
+    public DirectExchange frameExtractExchange() {
+        return new DirectExchange(MqConstants.FRAME_EXTRACT_EXCHANGE);
+    }
+
+    @Bean
+    public DirectExchange frameExtractDlx() {
+        return new DirectExchange(MqConstants.FRAME_EXTRACT_DLX);
+    }
+
+    @Bean
+    public Queue frameExtractQueue() {
+        return QueueBuilder.durable(MqConstants.FRAME_EXTRACT_QUEUE)
+                .withArgument("x-dead-letter-exchange", MqConstants.FRAME_EXTRACT_DLX)
+                .withArgument("x-dead-letter-routing-key", MqConstants.FRAME_EXTRACT_DL_ROUTING_KEY)
+                .build();
+    }
+
+    @Bean
+    public Queue frameExtractDlq() {
+        return QueueBuilder.durable(MqConstants.FRAME_EXTRACT_DLQ).build();
+    }
+
+    @Bean
+    public Binding frameExtractBinding(Queue frameExtractQueue, DirectExchange frameExtractExchange) {
+        return BindingBuilder.bind(frameExtractQueue)
+                .to(frameExtractExchange)
+                .with(MqConstants.FRAME_EXTRACT_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding frameExtractDlBinding(Queue frameExtractDlq, DirectExchange frameExtractDlx) {
+        return BindingBuilder.bind(frameExtractDlq)
+                .to(frameExtractDlx)
+                .with(MqConstants.FRAME_EXTRACT_DL_ROUTING_KEY);
+    }
+
     // Voice Clone Exchange & Queue (consumer side)
     @Bean
     public DirectExchange voiceCloneExchange() {
@@ -102,4 +175,57 @@ public class RabbitMqConfig {
                 .to(voiceCloneDlx)
                 .with(MqConstants.VOICE_CLONE_DL_ROUTING_KEY);
     }
+
+    // Voice Clone delayed retries: a failed clone is re-published to a TTL queue (1s, then 2s)
+    // that dead-letters back into the voice clone queue, so no listener thread sleeps
+    @Bean
+    public DirectExchange voiceCloneRetryExchange() {
+        return new DirectExchange(MqConstants.VOICE_CLONE_RETRY_EXCHANGE);
+    }
+
+    @Bean
+    public Queue voiceCloneRetry1Queue() {
+        return voiceCloneRetryQueue(MqConstants.VOICE_CLONE_RETRY_1_QUEUE, 1000);
+    }
+
+    @Bean
+    public Queue voiceCloneRetry2Queue() {
+        return voiceCloneRetryQueue(MqConstants.VOICE_CLONE_RETRY_2_QUEUE, 2000);
+    }
+
+    @Bean
+    public Binding voiceCloneRetry1Binding(Queue voiceCloneRetry1Queue, DirectExchange voiceCloneRetryExchange) {
+        return BindingBuilder.bind(voiceCloneRetry1Queue)
+                .to(voiceCloneRetryExchange)
+                .with(MqConstants.VOICE_CLONE_RETRY_1_QUEUE);
+    }
+
+    @Bean
+    public Binding voiceCloneRetry2Binding(Queue voiceCloneRetry2Queue, DirectExchange voiceCloneRetryExchange) {
+        return BindingBuilder.bind(voiceCloneRetry2Queue)
+                .to(voiceCloneRetryExchange)
+                .with(MqConstants.VOICE_CLONE_RETRY_2_QUEUE);
+    }
+
+    private static Queue voiceCloneRetryQueue(String name, int delayMs) {
+        return QueueBuilder.durable(name)
+                .ttl(delayMs)
+                .withArgument("x-dead-letter-exchange", MqConstants.VOICE_CLONE_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", MqConstants.VOICE_CLONE_ROUTING_KEY)
+                .build();
+    }
+
+    // Voice sample change events: each node binds its own auto-delete queue so every
+    // node evicts its clone voice cache
+    @Bean
+    public Queue voiceSampleChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding voiceSampleChangedBinding(Queue voiceSampleChangedQueue, DirectExchange voiceCloneExchange) {
+        return BindingBuilder.bind(voiceSampleChangedQueue)
+                .to(voiceCloneExchange)
+                .with(MqConstants.VOICE_SAMPLE_CHANGED_ROUTING_KEY);
+    }
 }
@@ -1,9 +1,12 @@
 package com.shopvideoscout.media.config;
 
+import com.shopvideoscout.common.util.StandardVoices;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 /**
  * Volcano Seed-TTS SDK configuration properties.
  */
@@ -19,4 +22,75 @@ public class VolcanoTtsProperties {
     private String format = "mp3";
     private int timeoutMs = 30000;
     private int maxTextLength = 5000;
+
+    /**
+     * Concurrent TTS calls per media node.
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * Concurrent TTS calls across all media nodes; 0 disables the cluster limit.
+     * Size it from the account QPS quota: quota × typical call latency in seconds.
+     */
+    private int clusterMaxConcurrency = 10;
+
+    /**
+     * Lease on a cluster slot, so slots held by a crashed node free themselves.
+     */
+    private int permitLeaseSeconds = 120;
+
+    /**
+     * Maximum time a call waits for a permit before failing.
+     */
+    private long permitWaitTimeoutMs = 60000;
+
+    /**
+     * Reuse synthesized audio for identical (voice, text, encoding, sample rate).
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * Time a cached audio entry survives without being hit.
+     */
+    private int cacheTtlDays = 30;
+
+    /**
+     * Send a duplicate (hedged) request when a call outlasts the recent latency percentile.
+     */
+    private boolean hedgeEnabled = true;
+
+    /**
+     * Latency percentile, per text-length class, after which the hedge is sent.
+     */
+    private double hedgePercentile = 0.95;
+
+    /**
+     * Lower bound on the hedge delay, so jitter on fast calls never doubles the request rate.
+     */
+    private long hedgeMinDelayMs = 300;
+
+    /**
+     * Consecutive endpoint failures (timeouts, connection errors, 5xx) that open the circuit; 0 disables it.
+     */
+    private int circuitFailureThreshold = 5;
+
+    /**
+     * Time an open circuit fails calls fast before letting a single probe through.
+     */
+    private long circuitOpenMs = 30000;
+
+    /**
+     * Synthesize paragraphs into the cache in the background once the script and voice are set.
+     */
+    private boolean presynthEnabled = true;
+
+    /**
+     * Pre-render preview clips: standard voices at startup, cloned voices when their clone completes.
+     */
+    private boolean previewEnabled = true;
+
+    /**
+     * Standard voices with a preview clip.
+     */
+    private List<String> previewStandardVoices = StandardVoices.ALL;
 }
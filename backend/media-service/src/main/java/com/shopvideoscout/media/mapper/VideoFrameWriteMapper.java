@@ -0,0 +1,63 @@
+package com.shopvideoscout.media.mapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * Write mapper for video_frames table (BR-2.1).
+ * Used by FrameExtractionService to store extracted keyframes; analysis columns are filled
+ * later by ai-service.
+ */
+@Mapper
+public interface VideoFrameWriteMapper {
+
+    /**
+     * Insert extracted frames in one multi-row statement.
+     * The caller must pass a non-empty list.
+     *
+     * @param frames frames to insert
+     * @return inserted rows
+     */
+    @Insert({
+        "<script>",
+        "INSERT INTO video_frames (video_id, frame_number, timestamp_ms, frame_url, analysis_url, is_recommended) VALUES",
+        "<foreach item='f' collection='frames' separator=','>",
+        "(#{f.videoId}, #{f.frameNumber}, #{f.timestampMs}, #{f.frameUrl}, #{f.analysisUrl}, FALSE)",
+        "</foreach>",
+        "</script>"
+    })
+    int insertBatch(@Param("frames") List<FrameRow> frames);
+
+    /**
+     * Frame numbers already stored for a video, so a re-delivered extraction only adds the
+     * missing ones and keeps rows that may already be analyzed.
+     *
+     * @param videoId video ID
+     * @return stored frame numbers
+     */
+    @Select("SELECT frame_number FROM video_frames WHERE video_id = #{videoId}")
+    List<Integer> findFrameNumbersByVideoId(@Param("videoId") Long videoId);
+
+    /**
+     * Extracted frame row.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    class FrameRow {
+        private Long videoId;
+        private Integer frameNumber;
+        private Integer timestampMs;
+        private String frameUrl;
+        private String analysisUrl;
+    }
+}
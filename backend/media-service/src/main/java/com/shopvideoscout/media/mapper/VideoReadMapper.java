@@ -19,7 +19,7 @@ public interface VideoReadMapper {
      * @param id video ID
      * @return video info or null
      */
-    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, category, is_recommended " +
+    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, file_size, category, is_recommended " +
             "FROM videos WHERE id = #{id} AND deleted_at IS NULL")
     VideoInfo findById(@Param("id") Long id);
 
@@ -29,7 +29,7 @@ public interface VideoReadMapper {
      * @param taskId task ID
      * @return recommended video info or null
      */
-    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, category, is_recommended " +
+    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, file_size, category, is_recommended " +
             "FROM videos WHERE task_id = #{taskId} AND is_recommended = true AND deleted_at IS NULL LIMIT 1")
     VideoInfo findRecommendedByTaskId(@Param("taskId") Long taskId);
 
@@ -39,7 +39,7 @@ public interface VideoReadMapper {
      * @param taskId task ID
      * @return list of video info
      */
-    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, category, is_recommended " +
+    @Select("SELECT id, task_id, oss_key, thumbnail_oss_key, duration_seconds, file_size, category, is_recommended " +
             "FROM videos WHERE task_id = #{taskId} AND deleted_at IS NULL ORDER BY sort_order")
     List<VideoInfo> findByTaskId(@Param("taskId") Long taskId);
 
@@ -52,6 +52,7 @@ public interface VideoReadMapper {
         String getOssKey();
         String getThumbnailOssKey();
         Integer getDurationSeconds();
+        Long getFileSize();
         String getCategory();
         Boolean getIsRecommended();
     }
@@ -1,39 +1,34 @@
 package com.shopvideoscout.media.mapper;
 
+import lombok.Data;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 /**
  * Read-only mapper for voice_samples table in media-service (monolith: shared DB).
- * Used by TtsSynthesisService to resolve clone_voice_id from voice_sample_id.
+ * Used by VoiceSampleCache to resolve clone_voice_id from voice_sample_id.
  */
 @Mapper
 public interface VoiceSampleReadMapper {
 
     /**
-     * Get clone_voice_id for a voice sample.
+     * Get the fields needed to resolve a clone voice in one query.
      *
      * @param sampleId voice sample ID
-     * @return clone_voice_id or null
+     * @return voice sample info or null if not found
      */
-    @Select("SELECT clone_voice_id FROM voice_samples WHERE id = #{sampleId} AND status = 'completed'")
-    String getCloneVoiceId(Long sampleId);
+    @Select("SELECT id, user_id, status, clone_voice_id FROM voice_samples WHERE id = #{sampleId}")
+    VoiceSampleInfo findById(@Param("sampleId") Long sampleId);
 
     /**
-     * Get status for a voice sample.
-     *
-     * @param sampleId voice sample ID
-     * @return status or null if not found
-     */
-    @Select("SELECT status FROM voice_samples WHERE id = #{sampleId}")
-    String getStatus(Long sampleId);
-
-    /**
-     * Get user_id for a voice sample (SEC-002: ownership verification).
-     *
-     * @param sampleId voice sample ID
-     * @return user_id or null if not found
+     * Voice sample projection.
      */
-    @Select("SELECT user_id FROM voice_samples WHERE id = #{sampleId}")
-    Long getUserId(Long sampleId);
+    @Data
+    class VoiceSampleInfo {
+        private Long id;
+        private Long userId;
+        private String status;
+        private String cloneVoiceId;
+    }
 }
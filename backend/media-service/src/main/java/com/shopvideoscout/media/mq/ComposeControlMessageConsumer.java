@@ -0,0 +1,32 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.ComposeControlMessage;
+import com.shopvideoscout.media.service.ComposeJobRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes compose control messages broadcast by task-service.
+ * Every media node receives each message; only the node running the job acts on it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeControlMessageConsumer {
+
+    private final ComposeJobRegistry jobRegistry;
+
+    @RabbitListener(queues = "#{composeControlQueue.name}")
+    public void handleControlMessage(ComposeControlMessage message) {
+        if (!ComposeControlMessage.ACTION_CANCEL.equals(message.getAction())) {
+            log.warn("Ignoring unknown compose control action '{}' for task {}",
+                    message.getAction(), message.getTaskId());
+            return;
+        }
+        boolean owned = jobRegistry.cancel(message.getTaskId(), message.getRequestedAt());
+        log.debug("Cancel signal for task {}: {}", message.getTaskId(),
+                owned ? "job aborted on this node" : "not running on this node");
+    }
+}
@@ -2,10 +2,16 @@ package com.shopvideoscout.media.mq;
 
 import com.shopvideoscout.common.mq.ComposeMessage;
 import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.media.config.CompositionProperties;
+import com.shopvideoscout.media.service.ArtifactStore;
+import com.shopvideoscout.media.service.ComposeDurationModel;
+import com.shopvideoscout.media.service.ComposeJobRegistry;
 import com.shopvideoscout.media.service.ComposeProgressTracker;
 import com.shopvideoscout.media.service.SubtitleGenerationService;
 import com.shopvideoscout.media.service.TaskCallbackClient;
+import com.shopvideoscout.media.service.TempStorageManager;
 import com.shopvideoscout.media.service.TtsSynthesisService;
+import com.shopvideoscout.media.service.UploadSink;
 import com.shopvideoscout.media.service.VideoCompositionService;
 import com.shopvideoscout.media.service.VideoSegmentCuttingService;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +22,7 @@ import org.springframework.stereotype.Component;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +35,17 @@ import java.util.stream.Collectors;
  * 4. Video Composition → concat + audio + subtitle burn
  * 5. Output Upload → final video to OSS
  * 6. Callback → notify task-service
+ *
+ * The job is registered with ComposeJobRegistry so a cancel broadcast can abort it;
+ * a cancelled job skips the callback (task-service already reverted the task).
+ * While registered, ComposeHeartbeatScheduler keeps the job's progress heartbeat fresh.
+ * Temp space for the disk-heavy phases (2-5) is reserved with TempStorageManager after TTS;
+ * the job waits there while the disk is tight.
+ * TTS audio reaches composition through ArtifactStore's local copies. Audio and subtitle
+ * uploads run in the background on UploadSink; its barrier is awaited only before the
+ * completion callback.
+ * Each finished phase's wall time feeds ComposeDurationModel, which also supplies the ETA
+ * published as each phase starts.
  */
 @Slf4j
 @Component
@@ -40,6 +58,12 @@ public class ComposeMessageConsumer {
     private final VideoCompositionService videoCompositionService;
     private final TaskCallbackClient taskCallbackClient;
     private final ComposeProgressTracker progressTracker;
+    private final ComposeJobRegistry jobRegistry;
+    private final TempStorageManager tempStorageManager;
+    private final CompositionProperties compositionProperties;
+    private final ArtifactStore artifactStore;
+    private final UploadSink uploadSink;
+    private final ComposeDurationModel durationModel;
 
     @RabbitListener(queues = MqConstants.COMPOSE_QUEUE)
     public void handleComposeMessage(ComposeMessage message) {
@@ -49,7 +73,14 @@ public class ComposeMessageConsumer {
         List<VideoSegmentCuttingService.SegmentResult> segments = new ArrayList<>();
         File subtitleFile = null;
 
+        if (!jobRegistry.register(message)) {
+            jobRegistry.unregister(taskId);
+            return;
+        }
+
         try {
+            progressTracker.heartbeat(taskId);
+
             // Phase 1: TTS Synthesis
             progressTracker.updatePhase(taskId, ComposeProgressTracker.PHASE_TTS_SYNTHESIS, "TTS配音合成");
             TtsSynthesisService.SynthesisResult ttsResult = ttsSynthesisService.synthesize(message);
@@ -60,10 +91,17 @@ public class ComposeMessageConsumer {
             List<VideoSegmentCuttingService.ParagraphDuration> paragraphDurations =
                     convertToParagraphDurations(message.getParagraphs(), ttsResult.getParagraphResults());
 
+            double audioSeconds = ttsResult.getTotalDurationSeconds();
+
+            jobRegistry.checkCancelled(taskId);
+
+            reserveTempStorage(taskId, paragraphDurations);
+
             // Phase 2: Subtitle Generation (if enabled)
             Boolean subtitleEnabled = message.getSubtitleEnabled() != null ? message.getSubtitleEnabled() : true;
             if (subtitleEnabled) {
-                progressTracker.updatePhase(taskId, ComposeProgressTracker.PHASE_SUBTITLE_GENERATION, "生成字幕");
+                long phaseStart = startPhase(taskId, ComposeProgressTracker.PHASE_SUBTITLE_GENERATION,
+                        "生成字幕", audioSeconds);
                 try {
                     subtitleFile = subtitleGenerationService.generateSubtitle(
                             paragraphDurations,
@@ -71,6 +109,8 @@ public class ComposeMessageConsumer {
                             taskId);
                     if (subtitleFile != null) {
                         subtitleGenerationService.uploadToOss(subtitleFile, taskId);
+                        durationModel.recordPhase(ComposeProgressTracker.PHASE_SUBTITLE_GENERATION,
+                                System.currentTimeMillis() - phaseStart, audioSeconds);
                         log.info("Phase 2 complete - Subtitle generated for task {}", taskId);
                     }
                 } catch (Exception e) {
@@ -83,28 +123,44 @@ public class ComposeMessageConsumer {
                 log.info("Phase 2 skipped - Subtitles disabled for task {}", taskId);
             }
 
+            jobRegistry.checkCancelled(taskId);
+
             // Phase 3: Video Segment Cutting
-            progressTracker.updatePhase(taskId, ComposeProgressTracker.PHASE_VIDEO_CUTTING, "裁剪视频片段");
+            long phaseStart = startPhase(taskId, ComposeProgressTracker.PHASE_VIDEO_CUTTING,
+                    "裁剪视频片段", audioSeconds);
             segments = videoSegmentCuttingService.cutSegments(taskId, paragraphDurations);
+            durationModel.recordPhase(ComposeProgressTracker.PHASE_VIDEO_CUTTING,
+                    System.currentTimeMillis() - phaseStart, audioSeconds);
             log.info("Phase 3 complete - {} segments cut for task {}", segments.size(), taskId);
 
+            jobRegistry.checkCancelled(taskId);
+
             // Phase 4: Video Composition
-            progressTracker.updatePhase(taskId, ComposeProgressTracker.PHASE_VIDEO_COMPOSITION, "合成视频");
+            phaseStart = startPhase(taskId, ComposeProgressTracker.PHASE_VIDEO_COMPOSITION,
+                    "合成视频", audioSeconds);
             List<String> audioUrls = ttsResult.getParagraphResults().stream()
                     .map(TtsSynthesisService.ParagraphResult::getAudioUrl)
                     .collect(Collectors.toList());
             VideoCompositionService.CompositionResult compositionResult =
                     videoCompositionService.compose(taskId, segments, audioUrls, subtitleFile);
+            durationModel.recordPhase(ComposeProgressTracker.PHASE_VIDEO_COMPOSITION,
+                    System.currentTimeMillis() - phaseStart, audioSeconds);
             log.info("Phase 4 complete - Video composed for task {}: duration={}s, size={}",
                     taskId, compositionResult.getDurationSeconds(), compositionResult.getFileSizeBytes());
 
+            jobRegistry.checkCancelled(taskId);
+
             // Phase 5: Output Upload
-            progressTracker.updatePhase(taskId, ComposeProgressTracker.PHASE_OUTPUT_UPLOAD, "上传视频");
+            phaseStart = startPhase(taskId, ComposeProgressTracker.PHASE_OUTPUT_UPLOAD,
+                    "上传视频", audioSeconds);
             String outputOssKey = videoCompositionService.uploadToOss(
                     compositionResult.getOutputFile(), taskId);
+            durationModel.recordPhase(ComposeProgressTracker.PHASE_OUTPUT_UPLOAD,
+                    System.currentTimeMillis() - phaseStart, audioSeconds);
             log.info("Phase 5 complete - Output uploaded for task {}: {}", taskId, outputOssKey);
 
-            // Phase 6: Callback
+            // Phase 6: Callback (once background uploads are persisted)
+            uploadSink.awaitAll(taskId);
             progressTracker.markComplete(taskId);
             taskCallbackClient.notifyComposeCompleteWithOutput(
                     taskId,
@@ -114,18 +170,55 @@ public class ComposeMessageConsumer {
             log.info("Composition pipeline completed for task {}", taskId);
 
         } catch (Exception e) {
-            log.error("Compose failed for task {}: {}", taskId, e.getMessage(), e);
-            progressTracker.markFailed(taskId, e.getMessage());
-            taskCallbackClient.notifyComposeFailed(taskId, e.getMessage());
+            if (jobRegistry.isCancelled(taskId)) {
+                log.info("Compose cancelled for task {}, aborted during: {}", taskId, e.getMessage());
+                progressTracker.clear(taskId);
+            } else {
+                log.error("Compose failed for task {}: {}", taskId, e.getMessage(), e);
+                progressTracker.markFailed(taskId, e.getMessage());
+                taskCallbackClient.notifyComposeFailed(taskId, e.getMessage());
+            }
         } finally {
             // Cleanup
             if (!segments.isEmpty()) {
                 videoSegmentCuttingService.cleanupSegments(segments);
             }
+            artifactStore.discard(taskId);
+            uploadSink.discard(taskId);
             videoCompositionService.cleanup(taskId);
+            jobRegistry.unregister(taskId);
         }
     }
 
+    /**
+     * Publish the phase and the job ETA from its start.
+     *
+     * @return phase start time (epoch millis)
+     */
+    private long startPhase(Long taskId, String phase, String stepDescription, double audioSeconds) {
+        progressTracker.updatePhase(taskId, phase, stepDescription);
+        progressTracker.updateEstimate(taskId, durationModel.estimateRemainingSeconds(phase, 0, audioSeconds));
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Reserve temp space for source downloads and intermediates, waiting if the disk is tight.
+     */
+    private void reserveTempStorage(Long taskId,
+                                    List<VideoSegmentCuttingService.ParagraphDuration> paragraphDurations) {
+        long sourceBytes = videoSegmentCuttingService.estimateSourceBytes(paragraphDurations.stream()
+                .map(VideoSegmentCuttingService.ParagraphDuration::getShotId)
+                .collect(Collectors.toList()));
+        long intermediateBytes = compositionProperties.getIntermediateBytesPerParagraph()
+                * paragraphDurations.size();
+
+        tempStorageManager.reserve(taskId,
+                Map.of(TempStorageManager.KIND_SOURCE, sourceBytes,
+                        TempStorageManager.KIND_INTERMEDIATE, intermediateBytes),
+                () -> progressTracker.updatePhase(taskId,
+                        ComposeProgressTracker.PHASE_WAITING_STORAGE, "等待磁盘空间"));
+    }
+
     /**
      * Convert TTS results to ParagraphDuration list for downstream processing.
      */
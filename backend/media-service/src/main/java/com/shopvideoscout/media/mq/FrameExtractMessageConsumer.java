@@ -0,0 +1,51 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.FrameExtractMessage;
+import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.media.service.FrameExtractionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes keyframe extraction requests from task-service.
+ * Each listener handles one video, so frame-extraction.concurrency videos are extracted in
+ * parallel per node; FfmpegProcessBudget caps their processes together with compose.
+ * Failures propagate to the listener retry and end up in the frame extraction DLQ; the video
+ * stays marked as extracting until its last attempt has failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrameExtractMessageConsumer {
+
+    private final FrameExtractionService frameExtractionService;
+
+    @Value("${spring.rabbitmq.listener.simple.retry.max-attempts:1}")
+    private int maxAttempts = 1;
+
+    @RabbitListener(queues = MqConstants.FRAME_EXTRACT_QUEUE, concurrency = "${frame-extraction.concurrency:3}")
+    public void handleFrameExtractMessage(FrameExtractMessage message) {
+        log.info("Received frame extraction for video {} of task {}", message.getVideoId(), message.getTaskId());
+        try {
+            frameExtractionService.extract(message);
+        } catch (RuntimeException e) {
+            if (isLastAttempt()) {
+                frameExtractionService.abandon(message);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the listener retry will not call again; without a retry context there is no retry.
+     */
+    private boolean isLastAttempt() {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        return context == null || context.getRetryCount() + 1 >= maxAttempts;
+    }
+}
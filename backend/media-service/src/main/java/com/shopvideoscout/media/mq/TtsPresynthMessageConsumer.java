@@ -0,0 +1,31 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
+import com.shopvideoscout.media.service.TtsPresynthesisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes TTS pre-synthesis requests from task-service.
+ * A single listener per node keeps the work low priority next to compose.
+ * Failures are logged and dropped: compose synthesizes whatever is missing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsPresynthMessageConsumer {
+
+    private final TtsPresynthesisService presynthesisService;
+
+    @RabbitListener(queues = MqConstants.TTS_PRESYNTH_QUEUE, concurrency = "1")
+    public void handlePresynthMessage(TtsPresynthMessage message) {
+        try {
+            presynthesisService.presynthesize(message);
+        } catch (Exception e) {
+            log.warn("TTS pre-synthesis for task {} abandoned: {}", message.getTaskId(), e.getMessage());
+        }
+    }
+}
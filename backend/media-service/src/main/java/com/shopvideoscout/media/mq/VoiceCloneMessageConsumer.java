@@ -4,13 +4,22 @@ import com.shopvideoscout.common.mq.MqConstants;
 import com.shopvideoscout.common.mq.VoiceCloneMessage;
 import com.shopvideoscout.media.service.VoiceCloneCallbackClient;
 import com.shopvideoscout.media.service.VoiceCloneService;
+import com.shopvideoscout.media.service.VoicePreviewService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 /**
  * Consumes voice clone messages from RabbitMQ and triggers Seed-ICL cloning.
+ * Failed attempts are handed to VoiceCloneRetryPublisher instead of being retried in place;
+ * only the final failure is reported to user-service.
+ *
+ * Cloning is billable, so only a failed clone is retried as a clone. When the clone succeeded
+ * but the completion callback did not, the message is re-published with its cloneVoiceId and
+ * later deliveries only retry the callback; if that never succeeds the message is dead-lettered
+ * with the cloneVoiceId, and the sample is never reported as failed.
  */
 @Slf4j
 @Component
@@ -19,17 +28,29 @@ public class VoiceCloneMessageConsumer {
 
     private final VoiceCloneService voiceCloneService;
     private final VoiceCloneCallbackClient voiceCloneCallbackClient;
+    private final VoiceCloneRetryPublisher retryPublisher;
+    private final VoicePreviewService voicePreviewService;
 
     @RabbitListener(queues = MqConstants.VOICE_CLONE_QUEUE)
-    public void handleVoiceCloneMessage(VoiceCloneMessage message) {
+    public void handleVoiceCloneMessage(VoiceCloneMessage message,
+                                        @Header(name = MqConstants.VOICE_CLONE_ATTEMPT_HEADER, required = false)
+                                        Integer attemptHeader) {
         Long sampleId = message.getVoiceSampleId();
-        log.info("Received voice clone message for sample: {}", sampleId);
+        int attempt = attemptHeader != null ? attemptHeader : 1;
+        log.info("Received voice clone message for sample: {} (attempt {})", sampleId, attempt);
+
+        if (message.getCloneVoiceId() != null) {
+            reportCloneComplete(message, attempt);
+            return;
+        }
 
         try {
-            String cloneVoiceId = voiceCloneService.processClone(message);
-            voiceCloneCallbackClient.notifyCloneComplete(sampleId, cloneVoiceId);
+            message.setCloneVoiceId(voiceCloneService.processClone(message));
         } catch (Exception e) {
-            log.error("Voice clone failed for sample {}: {}", sampleId, e.getMessage());
+            if (scheduleRetry(message, attempt, e)) {
+                return;
+            }
+            log.error("Voice clone failed for sample {} after {} attempts: {}", sampleId, attempt, e.getMessage());
             try {
                 voiceCloneCallbackClient.notifyCloneFailed(sampleId, e.getMessage());
             } catch (Exception callbackEx) {
@@ -38,6 +59,54 @@ public class VoiceCloneMessageConsumer {
                 log.error("Failed to notify clone failure for sample {}: {}",
                         sampleId, callbackEx.getMessage());
             }
+            return;
+        }
+
+        // Callback retries start counting afresh
+        reportCloneComplete(message, 1);
+    }
+
+    /**
+     * Report a successful clone, retrying or dead-lettering the callback without cloning again.
+     */
+    private void reportCloneComplete(VoiceCloneMessage message, int attempt) {
+        Long sampleId = message.getVoiceSampleId();
+        String cloneVoiceId = message.getCloneVoiceId();
+        try {
+            voiceCloneCallbackClient.notifyCloneComplete(sampleId, cloneVoiceId);
+        } catch (Exception e) {
+            if (scheduleRetry(message, attempt, e)) {
+                return;
+            }
+            log.error("Voice {} cloned for sample {} but user-service was not notified after {} attempts: {}",
+                    cloneVoiceId, sampleId, attempt, e.getMessage());
+            try {
+                retryPublisher.deadLetter(message);
+            } catch (Exception dlqEx) {
+                log.error("Failed to dead-letter clone result of sample {} (cloneVoiceId {}): {}",
+                        sampleId, cloneVoiceId, dlqEx.getMessage());
+            }
+            return;
+        }
+
+        try {
+            voicePreviewService.renderClonePreviewAsync(sampleId, cloneVoiceId);
+        } catch (Exception e) {
+            log.warn("Failed to start preview rendering for voice sample {}: {}", sampleId, e.getMessage());
+        }
+    }
+
+    private boolean scheduleRetry(VoiceCloneMessage message, int attempt, Exception cause) {
+        try {
+            if (retryPublisher.scheduleRetry(message, attempt)) {
+                log.warn("Voice clone attempt {} failed for sample {}: {}, retry scheduled",
+                        attempt, message.getVoiceSampleId(), cause.getMessage());
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("Failed to schedule voice clone retry for sample {}: {}",
+                    message.getVoiceSampleId(), e.getMessage());
         }
+        return false;
     }
 }
@@ -0,0 +1,63 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.common.mq.VoiceCloneMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Schedules delayed voice clone retries (ERR-001) by re-publishing to TTL queues.
+ * Each retry waits in its queue (1s, then 2s) and dead-letters back into the voice clone queue,
+ * carrying the attempt number in the {@link MqConstants#VOICE_CLONE_ATTEMPT_HEADER} header.
+ * Messages that can no longer be retried are published to the voice clone DLQ as they are,
+ * so a clone that succeeded keeps its cloneVoiceId for reconciliation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoiceCloneRetryPublisher {
+
+    /**
+     * Retry queue per retry, in order; attempts beyond this list are final.
+     */
+    static final List<String> RETRY_QUEUES = List.of(
+            MqConstants.VOICE_CLONE_RETRY_1_QUEUE,
+            MqConstants.VOICE_CLONE_RETRY_2_QUEUE);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    /**
+     * Schedule the next attempt of a failed clone.
+     *
+     * @param message the voice clone message that failed
+     * @param attempt the attempt that failed (1 for the first delivery)
+     * @return true if a retry was scheduled, false if retries are exhausted
+     */
+    public boolean scheduleRetry(VoiceCloneMessage message, int attempt) {
+        if (attempt > RETRY_QUEUES.size()) {
+            return false;
+        }
+        String retryQueue = RETRY_QUEUES.get(attempt - 1);
+        rabbitTemplate.convertAndSend(MqConstants.VOICE_CLONE_RETRY_EXCHANGE, retryQueue, message, m -> {
+            m.getMessageProperties().setHeader(MqConstants.VOICE_CLONE_ATTEMPT_HEADER, attempt + 1);
+            return m;
+        });
+        log.debug("Voice clone retry {} for sample {} scheduled via {}",
+                attempt + 1, message.getVoiceSampleId(), retryQueue);
+        return true;
+    }
+
+    /**
+     * Park a message in the voice clone DLQ.
+     *
+     * @param message the voice clone message, with cloneVoiceId set if the clone succeeded
+     */
+    public void deadLetter(VoiceCloneMessage message) {
+        rabbitTemplate.convertAndSend(MqConstants.VOICE_CLONE_DLX, MqConstants.VOICE_CLONE_DL_ROUTING_KEY, message);
+        log.warn("Voice clone message for sample {} moved to {}", message.getVoiceSampleId(), MqConstants.VOICE_CLONE_DLQ);
+    }
+}
@@ -0,0 +1,36 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.VoiceSampleChangedMessage;
+import com.shopvideoscout.media.service.VoicePreviewService;
+import com.shopvideoscout.media.service.VoiceSampleCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes voice sample change events from user-service.
+ * Every media node receives each event and evicts the sample from its local cache;
+ * a deletion also removes the sample's preview clip (idempotent, so every node may do it).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoiceSampleChangedConsumer {
+
+    private final VoiceSampleCache voiceSampleCache;
+    private final VoicePreviewService voicePreviewService;
+
+    @RabbitListener(queues = "#{voiceSampleChangedQueue.name}")
+    public void handleSampleChanged(VoiceSampleChangedMessage message) {
+        if (message.getVoiceSampleId() == null) {
+            return;
+        }
+        voiceSampleCache.evict(message.getVoiceSampleId());
+        if (message.getStatus() == null) {
+            voicePreviewService.deleteClonePreview(message.getVoiceSampleId());
+        }
+        log.debug("Voice sample {} changed (status={}), cache entry evicted",
+                message.getVoiceSampleId(), message.getStatus());
+    }
+}
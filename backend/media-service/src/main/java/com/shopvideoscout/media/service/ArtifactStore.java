@@ -0,0 +1,101 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.OSSObject;
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.config.OssConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands pipeline artifacts (TTS audio) from one compose phase to the next on local disk.
+ *
+ * {@link #put} writes the artifact into the task's temp directory and persists it to OSS
+ * through {@link UploadSink}; later phases in the same job read the local copy through
+ * {@link #fetch} and only fall back to OSS when there is none. The OSS copy is kept for
+ * persistence (asset packs, cleanup by prefix) and must be complete before the job reports
+ * success, which the sink's completion barrier enforces.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArtifactStore {
+
+    private static final String ARTIFACT_DIR = "artifacts";
+
+    private final OSS ossClient;
+    private final OssConfig ossConfig;
+    private final TempStorageManager tempStorageManager;
+    private final UploadSink uploadSink;
+
+    private final Map<Long, Map<String, File>> localArtifacts = new ConcurrentHashMap<>();
+
+    /**
+     * Store an artifact locally and persist it to OSS in the background.
+     *
+     * @param taskId task ID
+     * @param ossKey OSS key the artifact is persisted under
+     * @param data   artifact bytes
+     * @return local file holding the artifact
+     */
+    public File put(Long taskId, String ossKey, byte[] data) {
+        File dir = new File(tempStorageManager.jobDir(taskId, TempStorageManager.KIND_INTERMEDIATE), ARTIFACT_DIR);
+        File localFile = new File(dir, ossKey.replace('/', '_'));
+        try {
+            Files.createDirectories(dir.toPath());
+            Files.write(localFile.toPath(), data);
+        } catch (IOException e) {
+            log.error("Failed to write artifact {} locally: {}", ossKey, e.getMessage());
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "音频写入本地失败: " + e.getMessage());
+        }
+        localArtifacts.computeIfAbsent(taskId, id -> new ConcurrentHashMap<>()).put(ossKey, localFile);
+
+        // Upload from memory so the local copy can be consumed or deleted independently
+        uploadSink.submit(taskId, ossKey, data);
+
+        return localFile;
+    }
+
+    /**
+     * Get an artifact for a later phase: the local copy if this node produced it,
+     * otherwise a download from OSS into the target directory.
+     *
+     * @param taskId    task ID
+     * @param ossKey    OSS key of the artifact
+     * @param targetDir directory for the downloaded copy
+     * @param filename  file name for the downloaded copy
+     * @return local file
+     */
+    public File fetch(Long taskId, String ossKey, File targetDir, String filename) throws IOException {
+        File localFile = localArtifacts.getOrDefault(taskId, Map.of()).get(ossKey);
+        if (localFile != null && localFile.exists()) {
+            log.debug("Using local artifact for {}", ossKey);
+            return localFile;
+        }
+
+        File downloaded = new File(targetDir, filename);
+        try (OSSObject ossObject = ossClient.getObject(ossConfig.getBucketName(), ossKey);
+             InputStream is = ossObject.getObjectContent()) {
+            Files.copy(is, downloaded.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return downloaded;
+    }
+
+    /**
+     * Forget the task's artifacts once the job ends.
+     * Local files go away with the task's temp directory.
+     */
+    public void discard(Long taskId) {
+        localArtifacts.remove(taskId);
+    }
+}
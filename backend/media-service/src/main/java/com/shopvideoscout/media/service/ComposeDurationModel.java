@@ -0,0 +1,164 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.util.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calibrated duration model for compose planning and ETAs, learned from past jobs.
+ *
+ * Speech rate: speakable characters per second of synthesized audio, per voice, kept in the
+ * Redis hash compose:model:speech_rate. Predicts paragraph audio length before synthesis,
+ * instead of trusting the LLM's estimated_duration.
+ * Phase rate: wall-clock seconds of processing per second of output audio, per compose phase,
+ * kept in compose:model:phase_rate. Every phase scales with the output length, so the
+ * remaining time of a job is the sum of the remaining phases' rates times its audio length.
+ *
+ * Both are exponentially smoothed; concurrent updates from several nodes may drop a sample,
+ * which only slows convergence. Redis errors fall back to the built-in defaults.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeDurationModel {
+
+    private static final String SPEECH_RATE_KEY = "compose:model:speech_rate";
+    private static final String PHASE_RATE_KEY = "compose:model:phase_rate";
+
+    private static final double SMOOTHING = 0.1;
+    private static final double DEFAULT_CHARS_PER_SECOND = 4.5;
+    private static final int MIN_SAMPLE_CHARS = 10;
+
+    /**
+     * Phases in pipeline order; waiting_storage depends on disk pressure, not on the job.
+     */
+    static final List<String> PHASES = List.of(
+            ComposeProgressTracker.PHASE_TTS_SYNTHESIS,
+            ComposeProgressTracker.PHASE_SUBTITLE_GENERATION,
+            ComposeProgressTracker.PHASE_VIDEO_CUTTING,
+            ComposeProgressTracker.PHASE_VIDEO_COMPOSITION,
+            ComposeProgressTracker.PHASE_OUTPUT_UPLOAD);
+
+    private static final Map<String, Double> DEFAULT_PHASE_RATES = Map.of(
+            ComposeProgressTracker.PHASE_TTS_SYNTHESIS, 0.3,
+            ComposeProgressTracker.PHASE_SUBTITLE_GENERATION, 0.01,
+            ComposeProgressTracker.PHASE_VIDEO_CUTTING, 0.4,
+            ComposeProgressTracker.PHASE_VIDEO_COMPOSITION, 1.0,
+            ComposeProgressTracker.PHASE_OUTPUT_UPLOAD, 0.2);
+
+    private final RedisUtils redisUtils;
+
+    /**
+     * Predict the audio length of a paragraph before synthesis.
+     */
+    public double predictAudioSeconds(String voiceId, String text) {
+        return speakableChars(text) / readRate(SPEECH_RATE_KEY, voiceId, DEFAULT_CHARS_PER_SECOND);
+    }
+
+    /**
+     * Predict the total audio length of a script before synthesis.
+     */
+    public double predictAudioSeconds(String voiceId, List<ComposeMessage.Paragraph> paragraphs) {
+        double rate = readRate(SPEECH_RATE_KEY, voiceId, DEFAULT_CHARS_PER_SECOND);
+        return paragraphs.stream().mapToInt(p -> speakableChars(p.getText())).sum() / rate;
+    }
+
+    /**
+     * Learn from a freshly synthesized paragraph. Very short texts are skipped:
+     * leading and trailing silence dominates their length.
+     */
+    public void recordSpeech(String voiceId, String text, double audioSeconds) {
+        int chars = speakableChars(text);
+        if (chars < MIN_SAMPLE_CHARS || audioSeconds <= 0) {
+            return;
+        }
+        updateRate(SPEECH_RATE_KEY, voiceId, chars / audioSeconds, DEFAULT_CHARS_PER_SECOND);
+    }
+
+    /**
+     * Learn how long a phase took for a job producing this much audio.
+     */
+    public void recordPhase(String phase, long elapsedMs, double audioSeconds) {
+        if (!DEFAULT_PHASE_RATES.containsKey(phase) || audioSeconds <= 0) {
+            return;
+        }
+        updateRate(PHASE_RATE_KEY, phase, elapsedMs / 1000.0 / audioSeconds, DEFAULT_PHASE_RATES.get(phase));
+    }
+
+    /**
+     * Estimate the remaining wall-clock time of a job.
+     *
+     * @param phase         the phase currently running
+     * @param phaseFraction fraction of the current phase already done (0-1)
+     * @param audioSeconds  predicted or actual total audio length
+     * @return estimated remaining seconds
+     */
+    public long estimateRemainingSeconds(String phase, double phaseFraction, double audioSeconds) {
+        Map<Object, Object> learned = readAll(PHASE_RATE_KEY);
+        int current = PHASES.indexOf(phase);
+        double remaining = 0;
+        for (int i = Math.max(current, 0); i < PHASES.size(); i++) {
+            String p = PHASES.get(i);
+            double rate = parseRate(learned.get(p), DEFAULT_PHASE_RATES.get(p));
+            double share = i == current ? 1 - Math.min(1, Math.max(0, phaseFraction)) : 1;
+            remaining += rate * audioSeconds * share;
+        }
+        return Math.round(remaining);
+    }
+
+    /**
+     * Characters that take time to speak: letters (including CJK) and digits.
+     */
+    static int speakableChars(String text) {
+        if (text == null) {
+            return 0;
+        }
+        return (int) text.codePoints().filter(Character::isLetterOrDigit).count();
+    }
+
+    private double readRate(String key, String field, double defaultRate) {
+        try {
+            return parseRate(redisUtils.hGet(key, field), defaultRate);
+        } catch (Exception e) {
+            log.debug("Duration model read failed for {}/{}: {}", key, field, e.getMessage());
+            return defaultRate;
+        }
+    }
+
+    private Map<Object, Object> readAll(String key) {
+        try {
+            Map<Object, Object> entries = redisUtils.hGetAll(key);
+            return entries != null ? entries : Map.of();
+        } catch (Exception e) {
+            log.debug("Duration model read failed for {}: {}", key, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void updateRate(String key, String field, double sample, double defaultRate) {
+        try {
+            double current = parseRate(redisUtils.hGet(key, field), defaultRate);
+            double updated = current + SMOOTHING * (sample - current);
+            redisUtils.hSet(key, field, String.valueOf(updated));
+        } catch (Exception e) {
+            log.debug("Duration model update failed for {}/{}: {}", key, field, e.getMessage());
+        }
+    }
+
+    private static double parseRate(Object value, double defaultRate) {
+        if (value == null) {
+            return defaultRate;
+        }
+        try {
+            double rate = Double.parseDouble(String.valueOf(value));
+            return rate > 0 ? rate : defaultRate;
+        } catch (NumberFormatException e) {
+            return defaultRate;
+        }
+    }
+}
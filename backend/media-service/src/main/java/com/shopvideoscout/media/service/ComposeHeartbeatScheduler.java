@@ -0,0 +1,33 @@
+package com.shopvideoscout.media.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the progress heartbeat of every compose job running on this node.
+ *
+ * Heartbeats are independent of pipeline progress so long FFmpeg phases do not look
+ * stale; they stop only when the node (or its listener thread) dies, which is what the
+ * task-service reaper detects.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeHeartbeatScheduler {
+
+    private final ComposeJobRegistry jobRegistry;
+    private final ComposeProgressTracker progressTracker;
+
+    @Scheduled(fixedDelayString = "${compose.heartbeat-interval-ms:15000}")
+    public void beat() {
+        for (Long taskId : jobRegistry.activeTaskIds()) {
+            try {
+                progressTracker.heartbeat(taskId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh compose heartbeat for task {}: {}", taskId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of compose jobs running on this media node.
+ *
+ * Each job is bound to the listener thread that runs it. FFmpeg/FFprobe processes started
+ * on that thread are tracked so a cancel signal can destroy the whole process tree, interrupt
+ * the worker (sleeping retries, process waits) and let the pipeline unwind through its normal
+ * cleanup path.
+ *
+ * Messages cancelled while still queued are detected via the Redis marker
+ * compose:cancel:{taskId} written by task-service. A cancel only applies to jobs requested at
+ * or before it: task-service requeues an orphaned compose right after cancelling it, and the
+ * two messages travel on different queues, so the cancel can arrive after the requeued job
+ * has started.
+ *
+ * Processes are started under the node-wide FfmpegProcessBudget shared with frame extraction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeJobRegistry {
+
+    private static final String COMPOSE_CANCEL_KEY_PREFIX = "compose:cancel:";
+    private static final long SUPERSEDED_UNWIND_TIMEOUT_SECONDS = 30;
+
+    private final RedisUtils redisUtils;
+    private final FfmpegProcessBudget processBudget;
+
+    private final Map<Long, ComposeJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadLocal<ComposeJob> currentJob = new ThreadLocal<>();
+
+    /**
+     * Register a compose job on the current thread.
+     * A job for the same task still running on this node is superseded: it is aborted and
+     * given time to unwind, so its cleanup does not remove this job's files.
+     * If the task was cancelled after this message was published, the job is marked cancelled
+     * immediately.
+     *
+     * @param message compose message being processed
+     * @return true if the job may run, false if it was already cancelled
+     */
+    public boolean register(ComposeMessage message) {
+        Long taskId = message.getTaskId();
+        ComposeJob job = new ComposeJob(Thread.currentThread(), message.getRequestedAt());
+        ComposeJob previous = jobs.put(taskId, job);
+        currentJob.set(job);
+        if (previous != null) {
+            awaitSuperseded(taskId, previous);
+        }
+
+        // Checked after registering so a cancel broadcast racing with registration is not lost
+        if (wasCancelledAfter(taskId, message.getRequestedAt())) {
+            log.info("Compose for task {} was cancelled before it started", taskId);
+            job.cancelled = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Unregister the job bound to the current thread and clear any pending interrupt,
+     * so the listener thread is clean for the next message.
+     */
+    public void unregister(Long taskId) {
+        ComposeJob job = currentJob.get();
+        currentJob.remove();
+        if (job != null) {
+            synchronized (job) {
+                job.finished = true;
+                jobs.remove(taskId, job);
+            }
+            job.done.countDown();
+        }
+        Thread.interrupted();
+    }
+
+    /**
+     * Cancel a job if it is running on this node and was requested at or before the cancel.
+     * Destroys tracked process trees and interrupts the worker thread.
+     *
+     * @param taskId      task ID
+     * @param requestedAt epoch millis when the cancel was requested, null to cancel any job
+     * @return true if this node owned the job and aborted it
+     */
+    public boolean cancel(Long taskId, Long requestedAt) {
+        ComposeJob job = jobs.get(taskId);
+        if (job == null) {
+            return false;
+        }
+        if (requestedAt != null && job.requestedAt != null && job.requestedAt > requestedAt) {
+            log.info("Ignoring cancel for task {}: its job was requested after the cancel", taskId);
+            return false;
+        }
+        if (!abort(job)) {
+            return false;
+        }
+        log.info("Cancelled compose job for task {} on this node", taskId);
+        return true;
+    }
+
+    /**
+     * @return IDs of the tasks whose compose job is currently running on this node
+     */
+    public Set<Long> activeTaskIds() {
+        return Set.copyOf(jobs.keySet());
+    }
+
+    /**
+     * @return true if the job for the task has been cancelled; on a job's own worker thread,
+     * whether that job was cancelled, even if a newer job for the task has replaced it
+     */
+    public boolean isCancelled(Long taskId) {
+        ComposeJob job = currentJob.get();
+        if (job == null) {
+            job = jobs.get(taskId);
+        }
+        return job != null && job.cancelled;
+    }
+
+    /**
+     * Throw if the job for the task has been cancelled.
+     * Called between pipeline phases and paragraphs.
+     */
+    public void checkCancelled(Long taskId) {
+        if (isCancelled(taskId)) {
+            throw new BusinessException(ResultCode.COMPOSE_CANCELLED);
+        }
+    }
+
+    /**
+     * Start a process under the FFmpeg budget and track it against the job bound to the
+     * current thread. Callers must pass the process to {@link #release(Process)} once it exits.
+     */
+    public Process start(ProcessBuilder processBuilder) throws IOException {
+        Process process = processBudget.start(processBuilder);
+        ComposeJob job = currentJob.get();
+        if (job != null) {
+            synchronized (job) {
+                if (job.cancelled) {
+                    destroyTree(process);
+                } else {
+                    job.processes.add(process);
+                }
+            }
+        }
+        return process;
+    }
+
+    /**
+     * Stop tracking a finished process and return its FFmpeg permit.
+     */
+    public void release(Process process) {
+        processBudget.release(process);
+        ComposeJob job = currentJob.get();
+        if (job != null && process != null) {
+            synchronized (job) {
+                job.processes.remove(process);
+            }
+        }
+    }
+
+    private void awaitSuperseded(Long taskId, ComposeJob previous) {
+        if (!abort(previous)) {
+            return;
+        }
+        log.info("Superseded running compose job for task {} on this node", taskId);
+        try {
+            if (!previous.done.await(SUPERSEDED_UNWIND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Superseded compose job for task {} did not unwind within {}s",
+                        taskId, SUPERSEDED_UNWIND_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Mark a job cancelled, destroy its processes and interrupt its worker.
+     *
+     * @return false if the job had already finished
+     */
+    private static boolean abort(ComposeJob job) {
+        synchronized (job) {
+            if (job.finished) {
+                return false;
+            }
+            job.cancelled = true;
+            job.processes.forEach(ComposeJobRegistry::destroyTree);
+            job.processes.clear();
+            job.worker.interrupt();
+        }
+        return true;
+    }
+
+    private boolean wasCancelledAfter(Long taskId, Long requestedAt) {
+        Object cancelledAt;
+        try {
+            cancelledAt = redisUtils.get(COMPOSE_CANCEL_KEY_PREFIX + taskId);
+        } catch (Exception e) {
+            log.warn("Failed to read cancel marker for task {}: {}", taskId, e.getMessage());
+            return false;
+        }
+        if (!(cancelledAt instanceof Number)) {
+            return false;
+        }
+        // Messages without a timestamp predate cancellation support; honor any marker
+        return requestedAt == null || ((Number) cancelledAt).longValue() >= requestedAt;
+    }
+
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private static final class ComposeJob {
+        private final Thread worker;
+        private final Long requestedAt;
+        private final Set<Process> processes = new HashSet<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean cancelled;
+        private boolean finished;
+
+        private ComposeJob(Thread worker, Long requestedAt) {
+            this.worker = worker;
+            this.requestedAt = requestedAt;
+        }
+    }
+}
@@ -15,8 +15,12 @@ import java.util.concurrent.TimeUnit;
  * Written by media-service, read by task-service.
  * Redis key: task:progress:{taskId} (Hash, TTL 1h)
  *
+ * The heartbeat_at field (epoch millis) is refreshed while the job runs on this node;
+ * task-service reaps composing tasks whose heartbeat has gone stale.
+ *
  * Phases (Story 4.3):
  * - tts_synthesis: TTS voice synthesis
+ * - waiting_storage: Waiting for temp disk space
  * - subtitle_generation: ASS subtitle generation
  * - video_cutting: Video segment cutting
  * - video_composition: Video + audio + subtitle composition
@@ -31,9 +35,11 @@ public class ComposeProgressTracker {
     private final ComposeProperties composeProperties;
 
     private static final String PROGRESS_KEY_PREFIX = "task:progress:";
+    private static final String FIELD_HEARTBEAT = "heartbeat_at";
 
     // Phase constants (Story 4.3)
     public static final String PHASE_TTS_SYNTHESIS = "tts_synthesis";
+    public static final String PHASE_WAITING_STORAGE = "waiting_storage";
     public static final String PHASE_SUBTITLE_GENERATION = "subtitle_generation";
     public static final String PHASE_VIDEO_CUTTING = "video_cutting";
     public static final String PHASE_VIDEO_COMPOSITION = "video_composition";
@@ -51,6 +57,7 @@ public class ComposeProgressTracker {
         fields.put("estimated_remaining_seconds", "0");
         fields.put("current_step", "TTS合成");
         fields.put("error_message", "");
+        fields.put(FIELD_HEARTBEAT, String.valueOf(System.currentTimeMillis()));
 
         redisUtils.hSetAll(key, fields);
         redisUtils.expire(key, composeProperties.getProgressTtlSeconds(), TimeUnit.SECONDS);
@@ -59,17 +66,24 @@ public class ComposeProgressTracker {
 
     /**
      * Update progress after a paragraph completes TTS.
+     *
+     * @param estimatedRemainingSeconds whole-job ETA from ComposeDurationModel
      */
     public void updateParagraphComplete(Long taskId, int completedCount, int totalCount,
-                                         double avgDurationPerParagraph) {
+                                         long estimatedRemainingSeconds) {
         String key = progressKey(taskId);
-        int remaining = totalCount - completedCount;
-        long estimatedSeconds = Math.round(remaining * avgDurationPerParagraph);
-
         redisUtils.hSet(key, "completed_paragraphs", String.valueOf(completedCount));
-        redisUtils.hSet(key, "estimated_remaining_seconds", String.valueOf(estimatedSeconds));
+        redisUtils.hSet(key, "estimated_remaining_seconds", String.valueOf(estimatedRemainingSeconds));
         log.debug("Progress for task {}: {}/{}, estimated remaining: {}s",
-                taskId, completedCount, totalCount, estimatedSeconds);
+                taskId, completedCount, totalCount, estimatedRemainingSeconds);
+    }
+
+    /**
+     * Update the whole-job ETA, e.g. when a phase starts.
+     */
+    public void updateEstimate(Long taskId, long estimatedRemainingSeconds) {
+        redisUtils.hSet(progressKey(taskId), "estimated_remaining_seconds",
+                String.valueOf(estimatedRemainingSeconds));
     }
 
     /**
@@ -104,6 +118,23 @@ public class ComposeProgressTracker {
         log.error("Compose failed for task {}: {}", taskId, errorMessage);
     }
 
+    /**
+     * Record that the compose job for a task is still alive on this node.
+     */
+    public void heartbeat(Long taskId) {
+        String key = progressKey(taskId);
+        redisUtils.hSet(key, FIELD_HEARTBEAT, String.valueOf(System.currentTimeMillis()));
+        redisUtils.expire(key, composeProperties.getProgressTtlSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Remove progress for a cancelled compose so pollers fall back to task status.
+     */
+    public void clear(Long taskId) {
+        redisUtils.delete(progressKey(taskId));
+        log.info("Compose progress cleared for task {}", taskId);
+    }
+
     private String progressKey(Long taskId) {
         return PROGRESS_KEY_PREFIX + taskId;
     }
@@ -0,0 +1,36 @@
+package com.shopvideoscout.media.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reclaims per-task work directories orphaned on the temp volumes by a crash or kill.
+ *
+ * Runs before the RabbitMQ listeners start and then periodically, since a directory left by
+ * a crash is only reclaimable once its owner lease has expired. Directories whose lease is
+ * still being renewed (by this or another media-service instance sharing the volume) are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeTempDirReclaimer {
+
+    private final TempStorageManager tempStorageManager;
+
+    @PostConstruct
+    public void reclaim() {
+        long reclaimedBytes = tempStorageManager.reclaimOrphans();
+        if (reclaimedBytes > 0) {
+            log.info("Reclaimed {} bytes of orphaned compose temp files", reclaimedBytes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${composition.temp-reclaim-interval-ms:600000}",
+            initialDelayString = "${composition.temp-reclaim-interval-ms:600000}")
+    public void reclaimPeriodically() {
+        reclaim();
+    }
+}
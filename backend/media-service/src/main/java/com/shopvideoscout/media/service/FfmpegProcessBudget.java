@@ -0,0 +1,70 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.config.CompositionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Node-wide budget of concurrently running FFmpeg/FFprobe processes.
+ *
+ * Compose (through ComposeJobRegistry) and frame extraction start every process here, so a
+ * burst of uploads cannot oversubscribe the CPU while a compose job is encoding. Permits are
+ * fair: a waiting compose step is not overtaken by extraction processes queued after it.
+ * Each permit is held from start until {@link #release(Process)}.
+ */
+@Slf4j
+@Component
+public class FfmpegProcessBudget {
+
+    private final Semaphore permits;
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+
+    public FfmpegProcessBudget(CompositionProperties compositionProperties) {
+        this.permits = new Semaphore(Math.max(1, compositionProperties.getFfmpegMaxProcesses()), true);
+    }
+
+    /**
+     * Wait for a permit and start the process.
+     * Callers must pass the process to {@link #release(Process)} once it exits.
+     *
+     * @throws InterruptedIOException if interrupted while waiting (e.g. compose cancelled)
+     */
+    public Process start(ProcessBuilder processBuilder) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an FFmpeg slot");
+        }
+        try {
+            Process process = processBuilder.start();
+            running.add(process);
+            return process;
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return the permit of a finished process. Releasing twice is a no-op.
+     */
+    public void release(Process process) {
+        if (process != null && running.remove(process)) {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return permits currently free
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+}
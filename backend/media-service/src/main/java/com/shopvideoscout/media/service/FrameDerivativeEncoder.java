@@ -0,0 +1,107 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Compact analysis derivative of an extracted frame.
+ *
+ * Qwen-VL bills and waits on image size, and its vision encoder works at a few hundred pixels
+ * anyway, so ai-service sends this derivative instead of the full frame. The frame is scaled
+ * to frame-extraction.analysis-long-side on its long side by repeated halving (bilinear steps
+ * keep fine text readable) and re-encoded as JPEG.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrameDerivativeEncoder {
+
+    private final FrameExtractionProperties properties;
+
+    /**
+     * Encode the analysis derivative of a frame.
+     *
+     * @param jpeg full frame
+     * @return derivative JPEG, or null if disabled, the frame is already small, or it cannot be decoded
+     */
+    public byte[] encode(byte[] jpeg) {
+        if (!properties.isAnalysisDerivativeEnabled()) {
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+            if (image == null) {
+                log.debug("Frame is not a readable image, no analysis derivative");
+                return null;
+            }
+            int longSide = properties.getAnalysisLongSide();
+            if (Math.max(image.getWidth(), image.getHeight()) <= longSide) {
+                return null;
+            }
+            return toJpeg(scale(image, longSide), properties.getAnalysisJpegQuality());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to encode analysis derivative, analysis will use the full frame: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scale an image so its long side is longSide, halving while more than twice too large.
+     */
+    static BufferedImage scale(BufferedImage image, int longSide) {
+        int sourceLong = Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, Math.round((float) image.getWidth() * longSide / sourceLong));
+        int targetHeight = Math.max(1, Math.round((float) image.getHeight() * longSide / sourceLong));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = resize(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
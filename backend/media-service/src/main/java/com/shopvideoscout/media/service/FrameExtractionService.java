@@ -0,0 +1,204 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.FrameExtractMessage;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.mapper.VideoFrameWriteMapper;
+import com.shopvideoscout.media.mapper.VideoReadMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyframe extraction for uploaded videos (BR-2.1).
+ *
+ * FFmpeg reads the source straight from OSS through a presigned URL. Each frame is uploaded to
+ * frames/{taskId}/ through UploadSink as soon as FFmpeg emits it, together with its compact
+ * analysis derivative (*_a.jpg, see FrameDerivativeEncoder), and rows are inserted into
+ * video_frames in batches, by size or age, once their images are in OSS. Frames therefore
+ * appear while the video is still being decoded.
+ *
+ * While a video is extracting, its ID is in the Redis set frame:extract:task:{taskId}; ai-service
+ * keeps picking up new frames of a running analysis until the set is gone. A failed attempt
+ * leaves the ID in place for the listener retry; it is removed on success or by
+ * {@link #abandon(FrameExtractMessage)} after the last attempt.
+ *
+ * FFmpeg selects the same frames on every run, so a retry skips frame numbers already stored:
+ * their rows may be analyzed already and are never replaced.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FrameExtractionService {
+
+    static final String EXTRACTING_KEY_PREFIX = "frame:extract:task:";
+    private static final long PRESIGN_MARGIN_SECONDS = 300;
+
+    private final FrameExtractor frameExtractor;
+    private final FrameDerivativeEncoder derivativeEncoder;
+    private final VideoFrameWriteMapper videoFrameWriteMapper;
+    private final VideoReadMapper videoReadMapper;
+    private final UploadSink uploadSink;
+    private final OSS ossClient;
+    private final OssConfig ossConfig;
+    private final FrameExtractionProperties properties;
+    private final RedisUtils redisUtils;
+
+    /**
+     * Extract the keyframes of a video into OSS and video_frames.
+     * Frames stored by an earlier, interrupted run are kept.
+     *
+     * @param message extraction request
+     * @return number of frames stored
+     * @throws BusinessException FRAME_EXTRACTION_FAILED if FFmpeg or an upload fails
+     */
+    public int extract(FrameExtractMessage message) {
+        Long taskId = message.getTaskId();
+        Long videoId = message.getVideoId();
+        if (videoReadMapper.findById(videoId) == null) {
+            log.info("Video {} of task {} was deleted before frame extraction", videoId, taskId);
+            return 0;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        markExtracting(taskId, videoId);
+
+        Set<Integer> stored = new HashSet<>(videoFrameWriteMapper.findFrameNumbersByVideoId(videoId));
+        FrameBatch batch = new FrameBatch(taskId, videoId, stored);
+        int extracted = frameExtractor.extract(sourceUrl(message.getOssKey()), batch::add);
+        batch.flush();
+        unmarkExtracting(taskId, videoId);
+
+        log.info("Extracted {} frames from video {} of task {} in {}ms ({} already stored)",
+                extracted, videoId, taskId, System.currentTimeMillis() - startedAt, stored.size());
+        return extracted;
+    }
+
+    /**
+     * Give up on a video after its last failed attempt, so analyses stop waiting for its frames.
+     *
+     * @param message extraction request
+     */
+    public void abandon(FrameExtractMessage message) {
+        log.warn("Giving up frame extraction of video {} of task {}", message.getVideoId(), message.getTaskId());
+        unmarkExtracting(message.getTaskId(), message.getVideoId());
+    }
+
+    /**
+     * Frames uploading or waiting to be inserted.
+     */
+    private final class FrameBatch {
+
+        private final Long taskId;
+        private final Long videoId;
+        private final Set<Integer> stored;
+        private final List<VideoFrameWriteMapper.FrameRow> rows = new ArrayList<>();
+        private final List<CompletableFuture<Void>> uploads = new ArrayList<>();
+        private long firstAddedAt;
+
+        private FrameBatch(Long taskId, Long videoId, Set<Integer> stored) {
+            this.taskId = taskId;
+            this.videoId = videoId;
+            this.stored = stored;
+        }
+
+        void add(FrameExtractor.ExtractedFrame frame) {
+            if (stored.contains(frame.frameNumber())) {
+                return;
+            }
+            String ossKey = String.format("frames/%d/%d_%04d.jpg", taskId, videoId, frame.frameNumber());
+            uploads.add(uploadSink.submit(null, ossKey, frame.jpeg(), true));
+
+            String analysisUrl = null;
+            byte[] derivative = derivativeEncoder.encode(frame.jpeg());
+            if (derivative != null) {
+                String analysisKey = String.format("frames/%d/%d_%04d_a.jpg", taskId, videoId, frame.frameNumber());
+                uploads.add(uploadSink.submit(null, analysisKey, derivative, true));
+                analysisUrl = publicUrl(analysisKey);
+            }
+
+            rows.add(VideoFrameWriteMapper.FrameRow.builder()
+                    .videoId(videoId)
+                    .frameNumber(frame.frameNumber())
+                    .timestampMs(frame.timestampMs())
+                    .frameUrl(publicUrl(ossKey))
+                    .analysisUrl(analysisUrl)
+                    .build());
+            if (rows.size() == 1) {
+                firstAddedAt = System.currentTimeMillis();
+            }
+            if (rows.size() >= properties.getInsertBatchSize()
+                    || System.currentTimeMillis() - firstAddedAt >= properties.getInsertFlushIntervalMs()) {
+                flush();
+            }
+        }
+
+        /**
+         * Wait for the batch's uploads, then insert its rows.
+         */
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                throw new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED,
+                        "关键帧上传失败: " + e.getCause().getMessage());
+            }
+            videoFrameWriteMapper.insertBatch(new ArrayList<>(rows));
+            log.debug("Inserted {} frames of video {}", rows.size(), videoId);
+            rows.clear();
+            uploads.clear();
+            refreshMarker(taskId);
+        }
+    }
+
+    private String sourceUrl(String ossKey) {
+        long validSeconds = properties.getTimeoutSeconds() + PRESIGN_MARGIN_SECONDS;
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(validSeconds));
+        return ossClient.generatePresignedUrl(ossConfig.getBucketName(), ossKey, expiration).toString();
+    }
+
+    private String publicUrl(String ossKey) {
+        return String.format("https://%s.%s/%s", ossConfig.getBucketName(), ossConfig.getEndpoint(), ossKey);
+    }
+
+    private void markExtracting(Long taskId, Long videoId) {
+        try {
+            redisUtils.sAdd(EXTRACTING_KEY_PREFIX + taskId, videoId);
+            refreshMarker(taskId);
+        } catch (Exception e) {
+            log.warn("Failed to mark video {} as extracting: {}", videoId, e.getMessage());
+        }
+    }
+
+    private void refreshMarker(Long taskId) {
+        try {
+            redisUtils.expire(EXTRACTING_KEY_PREFIX + taskId, properties.getMarkerTtlSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.debug("Failed to refresh extraction marker of task {}: {}", taskId, e.getMessage());
+        }
+    }
+
+    private void unmarkExtracting(Long taskId, Long videoId) {
+        try {
+            redisUtils.sRemove(EXTRACTING_KEY_PREFIX + taskId, videoId);
+        } catch (Exception e) {
+            log.warn("Failed to clear extraction marker of video {}: {}", videoId, e.getMessage());
+        }
+    }
+}
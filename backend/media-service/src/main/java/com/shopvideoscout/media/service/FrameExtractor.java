@@ -0,0 +1,227 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.config.CompositionProperties;
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts keyframes from a video with a single FFmpeg process and hands them out one by one
+ * while FFmpeg is still decoding.
+ *
+ * Frame selection (FFmpeg select filter): the first frame, then a frame whenever the scene-change
+ * score exceeds the threshold and at least minIntervalSeconds passed since the last pick, or
+ * whenever maxIntervalSeconds passed without one. Picked frames are encoded as JPEG to stdout
+ * (image2pipe); their timestamps come from the showinfo filter on stderr, in the same order.
+ *
+ * The process runs under the node-wide FfmpegProcessBudget and is killed after timeoutSeconds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrameExtractor {
+
+    private static final Pattern SHOWINFO_PTS_TIME = Pattern.compile("Parsed_showinfo.*\\bpts_time:\\s*(-?[0-9.]+)");
+    private static final long TIMESTAMP_WAIT_SECONDS = 30;
+    private static final int LOG_TAIL_LINES = 20;
+    private static final String NETWORK_TIMEOUT_MICROS = "30000000";
+
+    /**
+     * One extracted frame.
+     *
+     * @param frameNumber 1-based sequence number within the video
+     * @param timestampMs position in the video
+     * @param jpeg        encoded image
+     */
+    public record ExtractedFrame(int frameNumber, int timestampMs, byte[] jpeg) {
+    }
+
+    private final CompositionProperties compositionProperties;
+    private final FrameExtractionProperties properties;
+    private final FfmpegProcessBudget processBudget;
+
+    /**
+     * Extract keyframes, calling the sink for each frame as soon as FFmpeg emits it.
+     * An exception from the sink stops FFmpeg and is rethrown.
+     *
+     * @param sourceUrl video URL or local path readable by FFmpeg
+     * @param sink      frame consumer, called on the caller's thread in frame order
+     * @return number of frames extracted
+     * @throws BusinessException FRAME_EXTRACTION_FAILED if FFmpeg fails or times out
+     */
+    public int extract(String sourceUrl, Consumer<ExtractedFrame> sink) {
+        ProcessBuilder pb = new ProcessBuilder(buildCommand(sourceUrl));
+        Process process;
+        try {
+            process = processBudget.start(pb);
+        } catch (IOException e) {
+            throw new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED, "FFmpeg启动失败: " + e.getMessage());
+        }
+
+        BlockingQueue<Integer> timestamps = new LinkedBlockingQueue<>();
+        Deque<String> logTail = new ArrayDeque<>();
+        Thread logReader = Thread.ofVirtual()
+                .name("frame-extract-log")
+                .start(() -> readLog(process.getErrorStream(), timestamps, logTail));
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture<Void> watchdog = CompletableFuture.runAsync(() -> {
+            timedOut.set(true);
+            destroyTree(process);
+        }, CompletableFuture.delayedExecutor(properties.getTimeoutSeconds(), TimeUnit.SECONDS));
+
+        int count = 0;
+        try {
+            MjpegStreamReader reader = new MjpegStreamReader(process.getInputStream());
+            byte[] jpeg;
+            while ((jpeg = reader.next()) != null) {
+                Integer timestampMs = timestamps.poll(TIMESTAMP_WAIT_SECONDS, TimeUnit.SECONDS);
+                if (timestampMs == null) {
+                    throw new IOException("No timestamp reported for frame " + (count + 1));
+                }
+                sink.accept(new ExtractedFrame(++count, timestampMs, jpeg));
+            }
+
+            if (!process.waitFor(TIMESTAMP_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("FFmpeg did not exit after closing its output");
+            }
+            logReader.join(TimeUnit.SECONDS.toMillis(TIMESTAMP_WAIT_SECONDS));
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                throw new IOException("exit code " + exitCode + ": " + tail(logTail));
+            }
+            return count;
+
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED, "关键帧提取超时");
+            }
+            log.error("Frame extraction failed after {} frames: {}", count, e.getMessage());
+            throw new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED, "关键帧提取失败: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED, "关键帧提取被中断");
+        } finally {
+            watchdog.cancel(false);
+            if (process.isAlive()) {
+                destroyTree(process);
+            }
+            processBudget.release(process);
+        }
+    }
+
+    /**
+     * FFmpeg command line for an extraction.
+     */
+    List<String> buildCommand(String sourceUrl) {
+        List<String> command = new ArrayList<>();
+        command.add(compositionProperties.getFfmpegPath());
+        command.add("-hide_banner");
+        command.add("-nostats");
+        command.add("-loglevel");
+        command.add("info"); // showinfo logs at info level
+        if (sourceUrl.startsWith("http://") || sourceUrl.startsWith("https://")) {
+            command.add("-rw_timeout");
+            command.add(NETWORK_TIMEOUT_MICROS);
+        }
+        command.add("-i");
+        command.add(sourceUrl);
+        command.add("-an");
+        command.add("-vf");
+        command.add("select='" + selectExpression() + "',showinfo");
+        command.add("-fps_mode");
+        command.add("vfr");
+        command.add("-frames:v");
+        command.add(String.valueOf(properties.getMaxFramesPerVideo()));
+        command.add("-pix_fmt");
+        command.add("yuvj420p");
+        command.add("-c:v");
+        command.add("mjpeg");
+        command.add("-q:v");
+        command.add(String.valueOf(properties.getJpegQuality()));
+        command.add("-f");
+        command.add("image2pipe");
+        command.add("pipe:1");
+        return command;
+    }
+
+    /**
+     * select filter expression: first frame, max-interval fallback, or a scene change past the
+     * min interval. prev_selected_t is NaN until the first pick.
+     */
+    String selectExpression() {
+        return String.format(Locale.ROOT,
+                "isnan(prev_selected_t)+gte(t-prev_selected_t,%.3f)+gt(scene,%.3f)*gte(t-prev_selected_t,%.3f)",
+                properties.getMaxIntervalSeconds(),
+                properties.getSceneThreshold(),
+                properties.getMinIntervalSeconds());
+    }
+
+    /**
+     * Timestamp in milliseconds of a showinfo frame line, or null for any other log line.
+     */
+    static Integer parseTimestampMs(String line) {
+        Matcher matcher = SHOWINFO_PTS_TIME.matcher(line);
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return (int) Math.max(0, Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void readLog(InputStream stderr, BlockingQueue<Integer> timestamps, Deque<String> logTail) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stderr, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Integer timestampMs = parseTimestampMs(line);
+                if (timestampMs != null) {
+                    timestamps.add(timestampMs);
+                    continue;
+                }
+                synchronized (logTail) {
+                    if (logTail.size() == LOG_TAIL_LINES) {
+                        logTail.removeFirst();
+                    }
+                    logTail.addLast(line);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("FFmpeg log stream closed: {}", e.getMessage());
+        }
+    }
+
+    private static String tail(Deque<String> logTail) {
+        synchronized (logTail) {
+            return String.join("\n", logTail);
+        }
+    }
+
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+}
@@ -0,0 +1,117 @@
+package com.shopvideoscout.media.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a stream of concatenated JPEG images (FFmpeg image2pipe / mjpeg output) into images.
+ *
+ * Marker segments are skipped by their declared length, and the entropy-coded data after SOS is
+ * scanned for the next real marker (0xFF not followed by a stuffed 0x00 or a restart marker).
+ * Searching for the EOI bytes alone is not enough: 0xFF 0xD9 can appear inside table segments.
+ */
+class MjpegStreamReader {
+
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int TEM = 0x01;
+    private static final int RST0 = 0xD0;
+    private static final int RST7 = 0xD7;
+    private static final int INITIAL_CAPACITY = 256 * 1024;
+
+    private final InputStream in;
+
+    MjpegStreamReader(InputStream in) {
+        this.in = new BufferedInputStream(in, 64 * 1024);
+    }
+
+    /**
+     * Read the next image.
+     *
+     * @return the encoded JPEG, or null at the end of the stream
+     * @throws IOException if the stream is not JPEG or ends inside an image
+     */
+    byte[] next() throws IOException {
+        int first = in.read();
+        if (first == -1) {
+            return null;
+        }
+        if (first != 0xFF || read() != SOI) {
+            throw new IOException("Not a JPEG stream");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_CAPACITY);
+        out.write(0xFF);
+        out.write(SOI);
+
+        int marker = nextMarker();
+        while (true) {
+            out.write(0xFF);
+            out.write(marker);
+            if (marker == EOI) {
+                return out.toByteArray();
+            }
+            if (marker == TEM || (marker >= RST0 && marker <= RST7)) {
+                marker = nextMarker();
+                continue;
+            }
+            int high = read();
+            int low = read();
+            out.write(high);
+            out.write(low);
+            int length = ((high << 8) | low) - 2;
+            if (length < 0) {
+                throw new IOException("Invalid JPEG segment length");
+            }
+            for (int i = 0; i < length; i++) {
+                out.write(read());
+            }
+            marker = marker == SOS ? copyEntropyCodedData(out) : nextMarker();
+        }
+    }
+
+    private int nextMarker() throws IOException {
+        if (read() != 0xFF) {
+            throw new IOException("Expected a JPEG marker");
+        }
+        int b;
+        do {
+            b = read();
+        } while (b == 0xFF); // fill bytes
+        return b;
+    }
+
+    /**
+     * Copy scan data up to the next marker and return that marker.
+     */
+    private int copyEntropyCodedData(ByteArrayOutputStream out) throws IOException {
+        while (true) {
+            int b = read();
+            if (b != 0xFF) {
+                out.write(b);
+                continue;
+            }
+            int next = read();
+            while (next == 0xFF) {
+                next = read();
+            }
+            if (next == 0x00 || (next >= RST0 && next <= RST7)) {
+                out.write(0xFF);
+                out.write(next);
+                continue;
+            }
+            return next;
+        }
+    }
+
+    private int read() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("JPEG stream ended inside an image");
+        }
+        return b;
+    }
+}
@@ -1,14 +1,10 @@
 package com.shopvideoscout.media.service;
 
-import com.aliyun.oss.OSS;
-import com.shopvideoscout.media.config.CompositionProperties;
-import com.shopvideoscout.media.config.OssConfig;
 import com.shopvideoscout.media.config.SubtitleStyleConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -26,9 +22,8 @@ public class SubtitleGenerationService {
 
     private static final int MAX_CHARS_PER_LINE = 20;
 
-    private final CompositionProperties compositionProperties;
-    private final OSS ossClient;
-    private final OssConfig ossConfig;
+    private final TempStorageManager tempStorageManager;
+    private final UploadSink uploadSink;
 
     /**
      * Generate ASS subtitle file from paragraph durations.
@@ -44,12 +39,7 @@ public class SubtitleGenerationService {
         log.info("Generating subtitles for task {}: {} paragraphs, style={}",
                 taskId, paragraphs.size(), subtitleStyle);
 
-        File tempDir = new File(compositionProperties.getTempDir(), taskId.toString());
-        if (!tempDir.exists() && !tempDir.mkdirs()) {
-            log.warn("Failed to create temp directory for subtitles");
-            return null;
-        }
-
+        File tempDir = tempStorageManager.jobDir(taskId, TempStorageManager.KIND_INTERMEDIATE);
         File assFile = new File(tempDir, "subtitle.ass");
 
         try (PrintWriter writer = new PrintWriter(assFile, StandardCharsets.UTF_8)) {
@@ -72,7 +62,8 @@ public class SubtitleGenerationService {
     }
 
     /**
-     * Upload ASS file to OSS.
+     * Upload ASS file to OSS in the background.
+     * Optional: a failed subtitle upload does not fail the job.
      *
      * @param assFile ASS file
      * @param taskId  task ID
@@ -83,17 +74,10 @@ public class SubtitleGenerationService {
             return null;
         }
 
-        try {
-            String ossKey = "output/" + taskId + "/subtitle.ass";
-            byte[] content = java.nio.file.Files.readAllBytes(assFile.toPath());
-            ossClient.putObject(ossConfig.getBucketName(), ossKey,
-                    new ByteArrayInputStream(content));
-            log.info("Uploaded subtitle to OSS: {}", ossKey);
-            return ossKey;
-        } catch (IOException e) {
-            log.error("Failed to upload subtitle to OSS: {}", e.getMessage());
-            return null;
-        }
+        String ossKey = "output/" + taskId + "/subtitle.ass";
+        uploadSink.submit(taskId, ossKey, assFile, false);
+        log.info("Queued subtitle upload to OSS: {}", ossKey);
+        return ossKey;
     }
 
     /**
@@ -0,0 +1,382 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.config.CompositionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Disk-space-aware temp storage for compose jobs.
+ *
+ * Jobs reserve their estimated footprint per file kind before touching disk. A reservation is
+ * admitted on the volume serving that kind with the most headroom, where headroom is usable
+ * space minus the volume's free-space floor minus what other admitted jobs have reserved but
+ * not written yet. When no volume fits, the job waits until another job releases space instead
+ * of failing mid-pipeline with ENOSPC.
+ *
+ * Every per-task directory carries an owner lease: a file naming the instance that created it
+ * (hostname plus a random ID chosen at startup, since pids repeat across containers), whose
+ * mtime the instance renews while it holds the directory. Directories whose lease has not been
+ * renewed for composition.temp-lease-ttl-ms were left by a dead instance and can be reclaimed
+ * safely, even on volumes shared by several instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TempStorageManager {
+
+    public static final String KIND_SOURCE = "source";
+    public static final String KIND_INTERMEDIATE = "intermediate";
+
+    static final String OWNER_FILE = ".owner";
+    private static final long WAIT_POLL_MS = 5000;
+
+    private final CompositionProperties compositionProperties;
+    private final ComposeJobRegistry jobRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition spaceReleased = lock.newCondition();
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final String instanceId = hostname() + "/" + UUID.randomUUID();
+    private final Set<Path> leasedDirs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Reserve temp space for a job, waiting while the disk is tight.
+     *
+     * @param taskId      task ID
+     * @param bytesByKind estimated bytes per file kind
+     * @param onWait      invoked once if the job has to wait
+     */
+    public void reserve(Long taskId, Map<String, Long> bytesByKind, Runnable onWait) {
+        long deadline = System.currentTimeMillis() + compositionProperties.getTempSpaceWaitTimeoutMs();
+        boolean waited = false;
+
+        lock.lock();
+        try {
+            while (true) {
+                Reservation reservation = tryAdmit(taskId, bytesByKind);
+                if (reservation != null) {
+                    reservations.put(taskId, reservation);
+                    log.info("Reserved {} bytes of temp space for task {}: {}",
+                            reservation.totalBytes(), taskId, reservation.bytesByRoot);
+                    return;
+                }
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "临时磁盘空间不足，请稍后重试");
+                }
+                if (!waited) {
+                    waited = true;
+                    log.warn("Temp space tight, task {} waiting for {} bytes", taskId, sum(bytesByKind));
+                    onWait.run();
+                }
+                // Poll as well: space may also be freed outside this process
+                spaceReleased.await(Math.min(remaining, WAIT_POLL_MS), TimeUnit.MILLISECONDS);
+                jobRegistry.checkCancelled(taskId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            jobRegistry.checkCancelled(taskId);
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "等待磁盘空间被中断");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get (and create) the task's directory for a file kind.
+     * Falls back to the first volume serving the kind when the task holds no reservation.
+     */
+    public File jobDir(Long taskId, String kind) {
+        Reservation reservation = reservations.get(taskId);
+        File root = reservation != null && reservation.rootByKind.containsKey(kind)
+                ? reservation.rootByKind.get(kind)
+                : volumes().stream()
+                        .filter(v -> v.kinds.contains(kind))
+                        .findFirst()
+                        .orElse(volumes().get(0))
+                        .root;
+
+        File dir = new File(root, taskId.toString());
+        try {
+            Files.createDirectories(dir.toPath());
+            Path owner = dir.toPath().resolve(OWNER_FILE);
+            if (!leasedDirs.contains(dir.toPath())) {
+                Files.writeString(owner, instanceId, StandardCharsets.UTF_8);
+                leasedDirs.add(dir.toPath());
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "Failed to create temp directory");
+        }
+        return dir;
+    }
+
+    /**
+     * Bytes currently on disk for a task across all volumes.
+     */
+    public long usage(Long taskId) {
+        long total = 0;
+        for (Volume volume : volumes()) {
+            total += sizeOf(new File(volume.root, taskId.toString()).toPath());
+        }
+        return total;
+    }
+
+    /**
+     * Delete the task's directories on every volume and release its reservation.
+     */
+    public void release(Long taskId) {
+        long used = usage(taskId);
+        for (Volume volume : volumes()) {
+            File dir = new File(volume.root, taskId.toString());
+            leasedDirs.remove(dir.toPath());
+            if (dir.exists()) {
+                try {
+                    deleteRecursively(dir.toPath());
+                } catch (IOException e) {
+                    log.warn("Failed to delete temp dir {}: {}", dir, e.getMessage());
+                }
+            }
+        }
+
+        Reservation reservation = reservations.remove(taskId);
+        if (reservation != null) {
+            log.info("Released temp space for task {}: reserved={} bytes, used={} bytes",
+                    taskId, reservation.totalBytes(), used);
+        }
+
+        lock.lock();
+        try {
+            spaceReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Renew the owner lease of every task directory this instance holds.
+     */
+    @Scheduled(fixedDelayString = "${composition.temp-lease-renew-interval-ms:60000}")
+    public void renewLeases() {
+        FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+        for (Path dir : leasedDirs) {
+            try {
+                Files.setLastModifiedTime(dir.resolve(OWNER_FILE), now);
+            } catch (NoSuchFileException e) {
+                leasedDirs.remove(dir);
+            } catch (IOException e) {
+                log.warn("Failed to renew temp dir lease {}: {}", dir, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Delete task directories on every volume whose owner lease has expired.
+     *
+     * @return number of bytes freed
+     */
+    public long reclaimOrphans() {
+        long freed = 0;
+        for (Volume volume : volumes()) {
+            File[] entries = volume.root.listFiles();
+            if (entries == null) {
+                continue;
+            }
+            for (File entry : entries) {
+                if (entry.isDirectory() && isLeaseLive(entry)) {
+                    continue;
+                }
+                try {
+                    freed += deleteRecursively(entry.toPath());
+                } catch (IOException e) {
+                    log.warn("Failed to reclaim orphaned temp entry {}: {}", entry, e.getMessage());
+                }
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Configured volumes; tempDir alone when none are configured.
+     */
+    List<Volume> volumes() {
+        List<Volume> volumes = new ArrayList<>();
+        for (CompositionProperties.TempVolume v : compositionProperties.getTempVolumes()) {
+            volumes.add(new Volume(new File(v.getPath()), v.getKinds()));
+        }
+        if (volumes.isEmpty()) {
+            volumes.add(new Volume(new File(compositionProperties.getTempDir()),
+                    List.of(KIND_SOURCE, KIND_INTERMEDIATE)));
+        }
+        return volumes;
+    }
+
+    /**
+     * Try to place every kind of the request; caller holds the lock.
+     *
+     * @return the reservation, or null if some kind does not fit yet
+     */
+    private Reservation tryAdmit(Long taskId, Map<String, Long> bytesByKind) {
+        List<Volume> volumes = volumes();
+        Map<File, Long> headroom = new HashMap<>();
+        for (Volume volume : volumes) {
+            headroom.put(volume.root, headroom(volume));
+        }
+
+        Reservation reservation = new Reservation();
+        List<Map.Entry<String, Long>> kinds = new ArrayList<>(bytesByKind.entrySet());
+        kinds.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        for (Map.Entry<String, Long> kind : kinds) {
+            long needed = kind.getValue();
+            Optional<Volume> best = volumes.stream()
+                    .filter(v -> v.kinds.contains(kind.getKey()))
+                    .max(Comparator.comparingLong(v -> headroom.get(v.root)));
+            if (best.isEmpty()) {
+                best = Optional.of(volumes.get(0));
+            }
+
+            Volume volume = best.get();
+            long available = headroom.get(volume.root);
+            // A job larger than an idle volume is admitted alone rather than waiting forever
+            boolean idle = !isReserved(volume) && !reservation.bytesByRoot.containsKey(volume.root);
+            if (available < needed && !idle) {
+                return null;
+            }
+
+            headroom.put(volume.root, available - needed);
+            reservation.rootByKind.put(kind.getKey(), volume.root);
+            reservation.bytesByRoot.merge(volume.root, needed, Long::sum);
+        }
+        return reservation;
+    }
+
+    /**
+     * Usable bytes on the volume minus the free-space floor and space other jobs have
+     * reserved but not written yet.
+     */
+    private long headroom(Volume volume) {
+        File probe = volume.root;
+        while (probe != null && !probe.exists()) {
+            probe = probe.getParentFile();
+        }
+        long usable = probe != null ? probe.getUsableSpace() : 0;
+
+        long outstanding = 0;
+        for (Map.Entry<Long, Reservation> entry : reservations.entrySet()) {
+            Long reservedBytes = entry.getValue().bytesByRoot.get(volume.root);
+            if (reservedBytes != null) {
+                long written = sizeOf(new File(volume.root, entry.getKey().toString()).toPath());
+                outstanding += Math.max(0, reservedBytes - written);
+            }
+        }
+        return usable - compositionProperties.getTempMinFreeBytes() - outstanding;
+    }
+
+    private boolean isReserved(Volume volume) {
+        return reservations.values().stream().anyMatch(r -> r.bytesByRoot.containsKey(volume.root));
+    }
+
+    /**
+     * @return true if the directory is held by this instance or its lease was renewed within
+     * the TTL; a directory without a lease file yet counts from its own mtime
+     */
+    boolean isLeaseLive(File dir) {
+        Path owner = dir.toPath().resolve(OWNER_FILE);
+        try {
+            if (Files.exists(owner)
+                    && instanceId.equals(Files.readString(owner, StandardCharsets.UTF_8).trim())) {
+                return true;
+            }
+            Path lease = Files.exists(owner) ? owner : dir.toPath();
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(lease).toMillis();
+            return age < compositionProperties.getTempLeaseTtlMs();
+        } catch (IOException e) {
+            // Vanished or unreadable mid-check: keep it, the next pass decides
+            return true;
+        }
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static long sizeOf(Path root) {
+        if (!Files.exists(root)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .mapToLong(p -> p.toFile().length())
+                    .sum();
+        } catch (IOException | RuntimeException e) {
+            // Files may vanish while a job is writing; the next check recomputes
+            return 0;
+        }
+    }
+
+    /**
+     * Delete a file or directory tree.
+     *
+     * @return number of bytes freed
+     */
+    static long deleteRecursively(Path root) throws IOException {
+        long freed = 0;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (Files.isRegularFile(path)) {
+                    freed += Files.size(path);
+                }
+                Files.deleteIfExists(path);
+            }
+        }
+        return freed;
+    }
+
+    private static long sum(Map<String, Long> bytesByKind) {
+        return bytesByKind.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    record Volume(File root, List<String> kinds) {
+    }
+
+    private static final class Reservation {
+        private final Map<String, File> rootByKind = new HashMap<>();
+        private final Map<File, Long> bytesByRoot = new LinkedHashMap<>();
+
+        private long totalBytes() {
+            return bytesByRoot.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
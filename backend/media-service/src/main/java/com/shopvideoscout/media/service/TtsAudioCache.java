@@ -0,0 +1,210 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-addressed cache of synthesized TTS audio, shared across tasks and re-composes.
+ *
+ * Entries are keyed by SHA-256 of (resolved voice ID, normalized text, encoding, sample rate).
+ * Metadata lives in the Redis hash tts:cache:{hash} and the audio in OSS under tts-cache/{hash}.mp3;
+ * the metadata is written only after the audio upload succeeds, so a hit always has audio.
+ * A hit is served by an OSS server-side copy, so cached audio never passes through this node.
+ *
+ * Redis expires the metadata after cache-ttl-days without a hit, but not the OSS object, so
+ * every entry is also tracked in the sorted set tts:cache:index by last use; a periodic sweep
+ * deletes the audio of entries that have gone unused for the TTL. The cache is best-effort:
+ * any Redis or OSS error is treated as a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsAudioCache {
+
+    private static final String CACHE_KEY_PREFIX = "tts:cache:";
+    private static final String INDEX_KEY = "tts:cache:index";
+    private static final String OSS_KEY_PREFIX = "tts-cache/";
+
+    private final RedisUtils redisUtils;
+    private final OSS ossClient;
+    private final OssConfig ossConfig;
+    private final VolcanoTtsProperties ttsProperties;
+    private final UploadSink uploadSink;
+
+    /**
+     * Cache key for a synthesis request.
+     */
+    public String key(String voiceId, String text) {
+        String material = String.join("\n", voiceId, normalize(text),
+                ttsProperties.getFormat(), String.valueOf(ttsProperties.getSampleRate()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(material.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy cached audio to targetOssKey within the bucket.
+     *
+     * @return duration of the cached audio, or empty on a miss
+     */
+    public OptionalDouble copyTo(String key, String targetOssKey) {
+        if (!ttsProperties.isCacheEnabled() || key == null) {
+            return OptionalDouble.empty();
+        }
+
+        String redisKey = CACHE_KEY_PREFIX + key;
+        try {
+            Map<Object, Object> entry = redisUtils.hGetAll(redisKey);
+            if (entry == null || entry.isEmpty()) {
+                return OptionalDouble.empty();
+            }
+
+            String ossKey = String.valueOf(entry.get("oss_key"));
+            double durationSeconds = Double.parseDouble(String.valueOf(entry.get("duration_seconds")));
+            String bucket = ossConfig.getBucketName();
+            ossClient.copyObject(bucket, ossKey, bucket, targetOssKey);
+
+            redisUtils.expire(redisKey, ttsProperties.getCacheTtlDays(), TimeUnit.DAYS);
+            redisUtils.zAdd(INDEX_KEY, key, System.currentTimeMillis());
+            return OptionalDouble.of(durationSeconds);
+
+        } catch (OSSException e) {
+            if (OSSErrorCode.NO_SUCH_KEY.equals(e.getErrorCode())) {
+                // Audio swept while the entry was being hit: drop the entry so it is re-synthesized
+                log.info("TTS cache audio for {} is gone, evicting entry", key);
+                evictQuietly(key);
+            } else {
+                log.warn("TTS cache copy failed for {}, treating as miss: {}", key, e.getMessage());
+            }
+            return OptionalDouble.empty();
+        } catch (Exception e) {
+            log.warn("TTS cache lookup failed for {}, treating as miss: {}", key, e.getMessage());
+            return OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Whether an entry exists, without fetching its audio.
+     */
+    public boolean contains(String key) {
+        if (!ttsProperties.isCacheEnabled() || key == null) {
+            return false;
+        }
+        try {
+            return redisUtils.hasKey(CACHE_KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("TTS cache lookup failed for {}, treating as miss: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Store synthesized audio in the background; the entry becomes visible once the audio is in OSS.
+     *
+     * @param taskId task whose upload barrier covers the write, or null when no job waits on it
+     */
+    public void put(Long taskId, String key, byte[] audio, double durationSeconds) {
+        if (!ttsProperties.isCacheEnabled() || key == null) {
+            return;
+        }
+
+        String ossKey = ossKey(key);
+        uploadSink.submit(taskId, ossKey, audio, false).thenRun(() -> {
+            String redisKey = CACHE_KEY_PREFIX + key;
+            try {
+                redisUtils.hSetAll(redisKey, Map.of(
+                        "oss_key", ossKey,
+                        "duration_seconds", String.valueOf(durationSeconds)));
+                redisUtils.expire(redisKey, ttsProperties.getCacheTtlDays(), TimeUnit.DAYS);
+                redisUtils.zAdd(INDEX_KEY, key, System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Failed to record TTS cache entry {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Delete the OSS audio of entries unused for the TTL.
+     * Safe to run on every node: only the node that removes an index member deletes its audio.
+     */
+    @Scheduled(fixedDelayString = "${volcano.tts.cache-sweep-interval-ms:3600000}")
+    public void sweepExpired() {
+        long staleBefore = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ttsProperties.getCacheTtlDays());
+        Set<Object> stale;
+        try {
+            stale = redisUtils.zRangeByScore(INDEX_KEY, 0, staleBefore);
+        } catch (RuntimeException e) {
+            log.warn("Failed to scan TTS cache index: {}", e.getMessage());
+            return;
+        }
+        if (stale == null || stale.isEmpty()) {
+            return;
+        }
+
+        int deleted = 0;
+        for (Object member : stale) {
+            String key = String.valueOf(member);
+            try {
+                Long removed = redisUtils.zRemove(INDEX_KEY, key);
+                if (removed == null || removed == 0) {
+                    continue;
+                }
+                if (redisUtils.hasKey(CACHE_KEY_PREFIX + key)) {
+                    // Hit since the scan: keep tracking it
+                    redisUtils.zAdd(INDEX_KEY, key, System.currentTimeMillis());
+                    continue;
+                }
+                ossClient.deleteObject(ossConfig.getBucketName(), ossKey(key));
+                deleted++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to sweep TTS cache entry {}: {}", key, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired TTS cache objects", deleted);
+        }
+    }
+
+    private void evictQuietly(String key) {
+        try {
+            redisUtils.delete(CACHE_KEY_PREFIX + key);
+            redisUtils.zRemove(INDEX_KEY, key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict TTS cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String ossKey(String key) {
+        return OSS_KEY_PREFIX + key + "." + ttsProperties.getFormat();
+    }
+
+    /**
+     * Unicode NFKC, trimmed, whitespace runs collapsed: formatting-only edits still hit.
+     */
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ");
+    }
+}
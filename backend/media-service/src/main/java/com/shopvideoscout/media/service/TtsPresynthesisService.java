@@ -0,0 +1,89 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.client.VolcanoTtsClient;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Speculative TTS pre-synthesis: fills TtsAudioCache with a task's paragraphs before compose,
+ * so compose usually starts with every paragraph a cache hit.
+ *
+ * Runs at low priority: one paragraph at a time on the single pre-synthesis listener, so it
+ * holds at most one TTS permit per node. Before each paragraph the run checks that it is still
+ * the task's latest request (tts:presynth:{taskId}, written by task-service); a newer script or
+ * voice change replaces the marker and compose clears it, and the run stops. Audio already
+ * cached for an older script version needs no cleanup since the cache is content-addressed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TtsPresynthesisService {
+
+    private static final String PRESYNTH_KEY_PREFIX = "tts:presynth:";
+
+    private final VolcanoTtsClient volcanoTtsClient;
+    private final TtsAudioCache ttsAudioCache;
+    private final TtsSynthesisService ttsSynthesisService;
+    private final RedisUtils redisUtils;
+    private final VolcanoTtsProperties ttsProperties;
+
+    /**
+     * Synthesize the message's paragraphs that are not cached yet.
+     *
+     * @param message pre-synthesis request
+     * @return number of paragraphs synthesized
+     */
+    public int presynthesize(TtsPresynthMessage message) {
+        Long taskId = message.getTaskId();
+        if (!ttsProperties.isPresynthEnabled() || !ttsProperties.isCacheEnabled()
+                || message.getParagraphs() == null) {
+            return 0;
+        }
+
+        String voiceId = ttsSynthesisService.resolveVoiceId(message.getVoiceConfig());
+        int synthesized = 0;
+        for (ComposeMessage.Paragraph paragraph : message.getParagraphs()) {
+            if (!isCurrent(taskId, message.getRequestedAt())) {
+                log.debug("TTS pre-synthesis for task {} superseded after {} paragraphs", taskId, synthesized);
+                return synthesized;
+            }
+
+            String cacheKey = ttsAudioCache.key(voiceId, paragraph.getText());
+            if (ttsAudioCache.contains(cacheKey)) {
+                continue;
+            }
+
+            List<VolcanoTtsClient.TtsResult> results = volcanoTtsClient.synthesize(paragraph.getText(), voiceId);
+            double duration = results.stream()
+                    .mapToDouble(VolcanoTtsClient.TtsResult::getDurationSeconds)
+                    .sum();
+            // Not tied to a compose job: no barrier waits on this upload
+            ttsAudioCache.put(null, cacheKey, TtsSynthesisService.mergeAudioSegments(results), duration);
+            synthesized++;
+        }
+
+        log.info("TTS pre-synthesis for task {} done: {} of {} paragraphs synthesized",
+                taskId, synthesized, message.getParagraphs().size());
+        return synthesized;
+    }
+
+    private boolean isCurrent(Long taskId, Long requestedAt) {
+        Object latest;
+        try {
+            latest = redisUtils.get(PRESYNTH_KEY_PREFIX + taskId);
+        } catch (Exception e) {
+            // Without the marker we cannot tell if the work is stale; it is optional, so skip it
+            log.warn("Failed to read pre-synthesis marker for task {}: {}", taskId, e.getMessage());
+            return false;
+        }
+        return latest instanceof Number && requestedAt != null
+                && ((Number) latest).longValue() == requestedAt;
+    }
+}
@@ -1,12 +1,13 @@
 package com.shopvideoscout.media.service;
 
-import com.aliyun.oss.OSS;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.mq.ComposeMessage;
 import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.client.TtsConcurrencyLimiter;
 import com.shopvideoscout.media.client.VolcanoTtsClient;
 import com.shopvideoscout.media.config.OssConfig;
-import com.shopvideoscout.media.mapper.VoiceSampleReadMapper;
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper.VoiceSampleInfo;
+import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,14 +16,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Orchestrates paragraph-by-paragraph TTS synthesis.
- * Calls VolcanoTtsClient for each paragraph, uploads audio to OSS,
- * and tracks progress via ComposeProgressTracker.
+ * Orchestrates concurrent per-paragraph TTS synthesis.
+ * Calls VolcanoTtsClient for each paragraph not found in TtsAudioCache,
+ * hands the audio to ArtifactStore (local copy for composition, background OSS persistence),
+ * and tracks progress via ComposeProgressTracker, with ETAs from ComposeDurationModel.
  */
 @Slf4j
 @Service
@@ -30,13 +38,30 @@ import java.util.List;
 public class TtsSynthesisService {
 
     private final VolcanoTtsClient volcanoTtsClient;
-    private final OSS ossClient;
+    private final ArtifactStore artifactStore;
     private final OssConfig ossConfig;
     private final ComposeProgressTracker progressTracker;
-    private final VoiceSampleReadMapper voiceSampleReadMapper;
+    private final VoiceSampleCache voiceSampleCache;
+    private final ComposeJobRegistry jobRegistry;
+    private final TtsAudioCache ttsAudioCache;
+    private final ComposeDurationModel durationModel;
+
+    // Unbounded on purpose: concurrent calls are capped by TtsConcurrencyLimiter
+    private final ExecutorService ttsExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "tts-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
 
     /**
      * Synthesize all paragraphs for a compose message.
+     * Paragraphs are synthesized concurrently (bounded by {@link TtsConcurrencyLimiter});
+     * results are returned in paragraph order and progress is reported as each one finishes.
      *
      * @param message the compose message containing paragraphs and voice config
      * @return synthesis result with audio URLs and durations
@@ -47,58 +72,49 @@ public class TtsSynthesisService {
         String voiceId = resolveVoiceId(message.getVoiceConfig());
 
         log.info("Starting TTS synthesis for task {}: {} paragraphs", taskId, paragraphs.size());
+        long startMs = System.currentTimeMillis();
+        double predictedAudioSeconds = durationModel.predictAudioSeconds(voiceId, paragraphs);
         progressTracker.initProgress(taskId, paragraphs.size());
+        progressTracker.updateEstimate(taskId, durationModel.estimateRemainingSeconds(
+                ComposeProgressTracker.PHASE_TTS_SYNTHESIS, 0, predictedAudioSeconds));
+        jobRegistry.checkCancelled(taskId);
 
-        List<ParagraphResult> results = new ArrayList<>();
-        double totalDuration = 0.0;
-        int completedCount = 0;
-        List<Double> durations = new ArrayList<>();
-
+        ParagraphProgress progress = new ParagraphProgress(taskId, paragraphs.size(), predictedAudioSeconds);
+        List<Future<ParagraphResult>> futures = new ArrayList<>();
         for (ComposeMessage.Paragraph paragraph : paragraphs) {
-            try {
-                ParagraphResult result = synthesizeParagraph(taskId, paragraph, voiceId);
-                results.add(result);
-                totalDuration += result.getDurationSeconds();
-                completedCount++;
-                durations.add(result.getDurationSeconds());
-
-                double avgDuration = durations.stream()
-                        .mapToDouble(Double::doubleValue)
-                        .average()
-                        .orElse(10.0);
-                progressTracker.updateParagraphComplete(
-                        taskId, completedCount, paragraphs.size(), avgDuration);
-
-            } catch (Exception e) {
-                log.error("Failed to synthesize paragraph {} for task {}: {}",
-                        paragraph.getIndex(), taskId, e.getMessage());
-                // Single-paragraph retry: try once more for isolated failure
-                try {
-                    ParagraphResult retryResult = synthesizeParagraph(taskId, paragraph, voiceId);
-                    results.add(retryResult);
-                    totalDuration += retryResult.getDurationSeconds();
-                    completedCount++;
-                    durations.add(retryResult.getDurationSeconds());
-
-                    double avgDuration = durations.stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(10.0);
-                    progressTracker.updateParagraphComplete(
-                            taskId, completedCount, paragraphs.size(), avgDuration);
-                } catch (Exception retryEx) {
-                    log.error("Retry failed for paragraph {} of task {}: {}",
-                            paragraph.getIndex(), taskId, retryEx.getMessage());
-                    progressTracker.markFailed(taskId,
-                            "第" + (paragraph.getIndex() + 1) + "段配音失败: " + retryEx.getMessage());
-                    throw new BusinessException(ResultCode.TTS_SERVICE_ERROR,
-                            "第" + (paragraph.getIndex() + 1) + "段配音失败，已重试");
-                }
+            futures.add(ttsExecutor.submit(() -> synthesizeWithRetry(taskId, paragraph, voiceId, progress)));
+        }
+
+        List<ParagraphResult> results = new ArrayList<>();
+        try {
+            for (Future<ParagraphResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            // Cancel broadcast interrupts the consumer thread
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            jobRegistry.checkCancelled(taskId);
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, "配音被中断");
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof BusinessException be) {
+                throw be;
             }
+            throw new BusinessException(ResultCode.TTS_SERVICE_ERROR, e.getCause().getMessage());
         }
 
         progressTracker.markComplete(taskId);
 
+        double totalDuration = results.stream()
+                .mapToDouble(ParagraphResult::getDurationSeconds)
+                .sum();
+        // Cache hits finish in milliseconds and would skew the learned TTS rate
+        if (results.stream().noneMatch(ParagraphResult::isCacheHit)) {
+            durationModel.recordPhase(ComposeProgressTracker.PHASE_TTS_SYNTHESIS,
+                    System.currentTimeMillis() - startMs, totalDuration);
+        }
+
         return SynthesisResult.builder()
                 .taskId(taskId)
                 .paragraphResults(results)
@@ -107,23 +123,70 @@ public class TtsSynthesisService {
     }
 
     /**
-     * Synthesize a single paragraph and upload to OSS.
+     * Synthesize one paragraph on a worker thread, retrying once for isolated failures.
+     */
+    private ParagraphResult synthesizeWithRetry(Long taskId,
+                                                ComposeMessage.Paragraph paragraph,
+                                                String voiceId,
+                                                ParagraphProgress progress) {
+        jobRegistry.checkCancelled(taskId);
+        ParagraphResult result;
+        try {
+            result = synthesizeParagraph(taskId, paragraph, voiceId);
+        } catch (Exception e) {
+            // Cancelled mid-call: no retry, let the consumer unwind
+            jobRegistry.checkCancelled(taskId);
+            log.error("Failed to synthesize paragraph {} for task {}: {}",
+                    paragraph.getIndex(), taskId, e.getMessage());
+            try {
+                result = synthesizeParagraph(taskId, paragraph, voiceId);
+            } catch (Exception retryEx) {
+                jobRegistry.checkCancelled(taskId);
+                log.error("Retry failed for paragraph {} of task {}: {}",
+                        paragraph.getIndex(), taskId, retryEx.getMessage());
+                progressTracker.markFailed(taskId,
+                        "第" + (paragraph.getIndex() + 1) + "段配音失败: " + retryEx.getMessage());
+                throw new BusinessException(ResultCode.TTS_SERVICE_ERROR,
+                        "第" + (paragraph.getIndex() + 1) + "段配音失败，已重试");
+            }
+        }
+        progress.complete(result.getDurationSeconds());
+        return result;
+    }
+
+    /**
+     * Synthesize a single paragraph and store the audio as a job artifact.
      */
     private ParagraphResult synthesizeParagraph(Long taskId,
                                                  ComposeMessage.Paragraph paragraph,
                                                  String voiceId) {
-        List<VolcanoTtsClient.TtsResult> ttsResults =
-                volcanoTtsClient.synthesize(paragraph.getText(), voiceId);
+        String ossKey = String.format("audio/%d/tts_%d.mp3", taskId, paragraph.getIndex());
+        double totalDuration;
+        boolean cacheHit = false;
 
-        // Merge audio segments if text was split
-        byte[] mergedAudio = mergeAudioSegments(ttsResults);
-        double totalDuration = ttsResults.stream()
-                .mapToDouble(VolcanoTtsClient.TtsResult::getDurationSeconds)
-                .sum();
+        // Identical voice + text was synthesized before: copy it in OSS and skip the provider call.
+        // Composition downloads the copy, as it would any artifact produced on another node.
+        String cacheKey = ttsAudioCache.key(voiceId, paragraph.getText());
+        OptionalDouble cachedDuration = ttsAudioCache.copyTo(cacheKey, ossKey);
+        if (cachedDuration.isPresent()) {
+            log.debug("TTS cache hit for paragraph {} of task {}", paragraph.getIndex(), taskId);
+            totalDuration = cachedDuration.getAsDouble();
+            cacheHit = true;
+        } else {
+            List<VolcanoTtsClient.TtsResult> ttsResults =
+                    volcanoTtsClient.synthesize(paragraph.getText(), voiceId);
 
-        // Upload to OSS
-        String ossKey = String.format("audio/%d/tts_%d.mp3", taskId, paragraph.getIndex());
-        uploadToOss(ossKey, mergedAudio);
+            // Merge audio segments if text was split
+            byte[] mergedAudio = mergeAudioSegments(ttsResults);
+            totalDuration = ttsResults.stream()
+                    .mapToDouble(VolcanoTtsClient.TtsResult::getDurationSeconds)
+                    .sum();
+            ttsAudioCache.put(taskId, cacheKey, mergedAudio, totalDuration);
+            durationModel.recordSpeech(voiceId, paragraph.getText(), totalDuration);
+
+            // Keep locally for composition; persisted to OSS in the background
+            artifactStore.put(taskId, ossKey, mergedAudio);
+        }
 
         String audioUrl = String.format("https://%s.%s/%s",
                 ossConfig.getBucketName(), ossConfig.getEndpoint(), ossKey);
@@ -133,6 +196,7 @@ public class TtsSynthesisService {
                 .audioUrl(audioUrl)
                 .ossKey(ossKey)
                 .durationSeconds(totalDuration)
+                .cacheHit(cacheHit)
                 .build();
     }
 
@@ -140,7 +204,7 @@ public class TtsSynthesisService {
      * Merge multiple audio byte arrays into one.
      * For MP3 format, simple concatenation works.
      */
-    private byte[] mergeAudioSegments(List<VolcanoTtsClient.TtsResult> results) {
+    static byte[] mergeAudioSegments(List<VolcanoTtsClient.TtsResult> results) {
         if (results.size() == 1) {
             return results.get(0).getAudioData();
         }
@@ -161,52 +225,64 @@ public class TtsSynthesisService {
 
     /**
      * Resolve the voice ID to use for TTS.
-     * For "clone" type, resolves clone_voice_id from voice_samples table via DB lookup.
+     * For "clone" type, resolves clone_voice_id from voice_samples via VoiceSampleCache.
      * For "standard" type, returns the preset voiceId directly.
      */
     String resolveVoiceId(ComposeMessage.VoiceConfig voiceConfig) {
         if ("clone".equals(voiceConfig.getType()) && voiceConfig.getVoiceSampleId() != null) {
             Long sampleId = voiceConfig.getVoiceSampleId();
-            String status = voiceSampleReadMapper.getStatus(sampleId);
-            if (status == null) {
+            VoiceSampleInfo sample = voiceSampleCache.get(sampleId);
+            if (sample == null || sample.getStatus() == null) {
                 throw new BusinessException(ResultCode.VOICE_SAMPLE_NOT_FOUND);
             }
             // SEC-002: Verify requesting user owns the voice sample
-            if (voiceConfig.getUserId() != null) {
-                Long sampleUserId = voiceSampleReadMapper.getUserId(sampleId);
-                if (!voiceConfig.getUserId().equals(sampleUserId)) {
-                    throw new BusinessException(ResultCode.VOICE_SAMPLE_NOT_FOUND);
-                }
+            if (voiceConfig.getUserId() != null && !voiceConfig.getUserId().equals(sample.getUserId())) {
+                throw new BusinessException(ResultCode.VOICE_SAMPLE_NOT_FOUND);
             }
-            if (!"completed".equals(status)) {
+            if (!"completed".equals(sample.getStatus())) {
                 throw new BusinessException(ResultCode.VOICE_CLONE_IN_PROGRESS);
             }
-            String cloneVoiceId = voiceSampleReadMapper.getCloneVoiceId(sampleId);
+            String cloneVoiceId = sample.getCloneVoiceId();
             if (cloneVoiceId == null || cloneVoiceId.isBlank()) {
                 throw new BusinessException(ResultCode.VOICE_CLONE_FAILED,
                         "克隆音色ID未找到，请重新上传样本");
             }
-            log.info("Resolved clone voice ID {} for sample {}", cloneVoiceId, sampleId);
+            log.debug("Resolved clone voice ID {} for sample {}", cloneVoiceId, sampleId);
             return cloneVoiceId;
         }
         return voiceConfig.getVoiceId();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        ttsExecutor.shutdownNow();
+    }
+
     /**
-     * Upload audio bytes to OSS.
+     * Completed-paragraph count and job ETA, reported as paragraphs finish.
+     * Audio length is the actual length so far plus the prediction for the paragraphs left.
      */
-    private void uploadToOss(String ossKey, byte[] audioData) {
-        try {
-            ossClient.putObject(
-                    ossConfig.getBucketName(),
-                    ossKey,
-                    new ByteArrayInputStream(audioData)
-            );
-            log.debug("Uploaded audio to OSS: {}", ossKey);
-        } catch (Exception e) {
-            log.error("Failed to upload audio to OSS: {}", e.getMessage());
-            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE,
-                    "音频上传失败: " + e.getMessage());
+    private final class ParagraphProgress {
+        private final Long taskId;
+        private final int total;
+        private final double predictedAudioSeconds;
+        private int completed;
+        private double durationSum;
+
+        private ParagraphProgress(Long taskId, int total, double predictedAudioSeconds) {
+            this.taskId = taskId;
+            this.total = total;
+            this.predictedAudioSeconds = predictedAudioSeconds;
+        }
+
+        private synchronized void complete(double durationSeconds) {
+            completed++;
+            durationSum += durationSeconds;
+            double fraction = (double) completed / total;
+            double audioSeconds = durationSum + predictedAudioSeconds * (1 - fraction);
+            progressTracker.updateParagraphComplete(taskId, completed, total,
+                    durationModel.estimateRemainingSeconds(
+                            ComposeProgressTracker.PHASE_TTS_SYNTHESIS, fraction, audioSeconds));
         }
     }
 
@@ -229,5 +305,9 @@ public class TtsSynthesisService {
         private String audioUrl;
         private String ossKey;
         private double durationSeconds;
+        /**
+         * Audio came from TtsAudioCache rather than a provider call.
+         */
+        private boolean cacheHit;
     }
 }
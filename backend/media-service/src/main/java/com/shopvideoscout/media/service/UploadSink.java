@@ -0,0 +1,178 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.config.CompositionProperties;
+import com.shopvideoscout.media.config.OssConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded asynchronous OSS upload sink for artifacts that are off the critical path
+ * (TTS audio, subtitles, extracted frames).
+ *
+ * Uploads run on a fixed number of workers with retry; at most
+ * {@code uploadSinkConcurrency + uploadSinkQueueCapacity} uploads are accepted at once and
+ * further submits block until one finishes. {@link #awaitAll} is the per-task completion
+ * barrier, awaited by the consumer only before the final callback, so OSS round-trips
+ * overlap with the CPU-heavy phases.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSink {
+
+    private final OSS ossClient;
+    private final OssConfig ossConfig;
+    private final CompositionProperties compositionProperties;
+
+    private final Map<Long, List<Upload>> uploadsByTask = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+    private Semaphore slots;
+
+    @PostConstruct
+    public void start() {
+        int concurrency = compositionProperties.getUploadSinkConcurrency();
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "upload-sink-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        slots = new Semaphore(concurrency + compositionProperties.getUploadSinkQueueCapacity());
+    }
+
+    /**
+     * Upload bytes in the background. A failure fails the task's barrier.
+     */
+    public void submit(Long taskId, String ossKey, byte[] data) {
+        submit(taskId, ossKey, data, true);
+    }
+
+    /**
+     * Upload bytes in the background.
+     *
+     * @param taskId   owning task, or null for uploads no job barrier waits on
+     * @param required whether a failure fails the task's barrier; optional uploads are only logged
+     * @return completes once the object is in OSS
+     */
+    public CompletableFuture<Void> submit(Long taskId, String ossKey, byte[] data, boolean required) {
+        return enqueue(taskId, ossKey, required,
+                () -> ossClient.putObject(ossConfig.getBucketName(), ossKey, new ByteArrayInputStream(data)));
+    }
+
+    /**
+     * Upload a file in the background, streaming it from disk.
+     * The file must stay in place until the task's barrier is passed.
+     *
+     * @param required whether a failure fails the task's barrier; optional uploads are only logged
+     */
+    public void submit(Long taskId, String ossKey, File file, boolean required) {
+        enqueue(taskId, ossKey, required,
+                () -> ossClient.putObject(ossConfig.getBucketName(), ossKey, file));
+    }
+
+    /**
+     * Completion barrier: wait for every upload submitted for the task.
+     *
+     * @throws BusinessException if a required upload failed after its retries
+     */
+    public void awaitAll(Long taskId) {
+        for (Upload upload : uploadsByTask.getOrDefault(taskId, List.of())) {
+            try {
+                upload.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "Upload interrupted");
+            } catch (ExecutionException e) {
+                if (upload.required) {
+                    throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE,
+                            "文件上传失败: " + e.getCause().getMessage());
+                }
+                log.warn("Optional upload {} failed for task {}: {}",
+                        upload.ossKey, taskId, e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the task's uploads once the job ends; uploads still running finish on their own.
+     */
+    public void discard(Long taskId) {
+        uploadsByTask.remove(taskId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private CompletableFuture<Void> enqueue(Long taskId, String ossKey, boolean required, Runnable put) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "Upload interrupted");
+        }
+
+        CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(() -> putWithRetry(ossKey, put), workers);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        future.whenComplete((v, e) -> slots.release());
+        if (taskId != null) {
+            uploadsByTask.computeIfAbsent(taskId, id -> new CopyOnWriteArrayList<>())
+                    .add(new Upload(ossKey, required, future));
+        }
+        return future;
+    }
+
+    private void putWithRetry(String ossKey, Runnable put) {
+        int maxRetries = compositionProperties.getOssUploadMaxRetries();
+        long retryIntervalMs = compositionProperties.getOssUploadRetryIntervalMs();
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                put.run();
+                log.debug("Uploaded {} to OSS", ossKey);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    log.error("Upload of {} failed after {} attempts: {}", ossKey, attempt + 1, e.getMessage());
+                    throw e;
+                }
+                log.warn("Upload of {} failed (attempt {}/{}), retrying in {}ms: {}",
+                        ossKey, attempt + 1, maxRetries + 1, retryIntervalMs, e.getMessage());
+                try {
+                    Thread.sleep(retryIntervalMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private record Upload(String ossKey, boolean required, CompletableFuture<Void> future) {
+    }
+}
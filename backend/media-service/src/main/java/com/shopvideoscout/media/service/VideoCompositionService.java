@@ -1,7 +1,6 @@
 package com.shopvideoscout.media.service;
 
 import com.aliyun.oss.OSS;
-import com.aliyun.oss.model.OSSObject;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.media.config.CompositionProperties;
@@ -17,7 +16,6 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -39,6 +37,9 @@ public class VideoCompositionService {
     private final OSS ossClient;
     private final OssConfig ossConfig;
     private final CompositionProperties compositionProperties;
+    private final ComposeJobRegistry jobRegistry;
+    private final TempStorageManager tempStorageManager;
+    private final ArtifactStore artifactStore;
 
     /**
      * Compose final video from segments, audio, and optional subtitles.
@@ -56,10 +57,7 @@ public class VideoCompositionService {
         log.info("Starting video composition for task {}: {} segments, {} audio files",
                 taskId, segments.size(), audioUrls.size());
 
-        File tempDir = new File(compositionProperties.getTempDir(), taskId.toString());
-        if (!tempDir.exists() && !tempDir.mkdirs()) {
-            throw new BusinessException(ResultCode.INTERNAL_ERROR, "Failed to create temp directory");
-        }
+        File tempDir = tempStorageManager.jobDir(taskId, TempStorageManager.KIND_INTERMEDIATE);
 
         List<File> tempFiles = new ArrayList<>();
 
@@ -74,7 +72,7 @@ public class VideoCompositionService {
             concatenateSegments(segmentsListFile, concatenatedVideo);
 
             // Step 3: Download and merge audio files
-            File mergedAudio = downloadAndMergeAudio(audioUrls, tempDir);
+            File mergedAudio = downloadAndMergeAudio(taskId, audioUrls, tempDir);
             tempFiles.add(mergedAudio);
 
             // Step 4: Compose final video (video + audio + optional subtitles)
@@ -144,16 +142,16 @@ public class VideoCompositionService {
     }
 
     /**
-     * Download audio files from OSS and merge into single track.
+     * Collect paragraph audio (local TTS artifacts, OSS as fallback) and merge into single track.
      */
-    private File downloadAndMergeAudio(List<String> audioUrls, File tempDir) throws IOException, InterruptedException {
+    private File downloadAndMergeAudio(Long taskId, List<String> audioUrls, File tempDir)
+            throws IOException, InterruptedException {
         List<File> audioFiles = new ArrayList<>();
 
-        // Download each audio file
         for (int i = 0; i < audioUrls.size(); i++) {
             String url = audioUrls.get(i);
             String ossKey = extractOssKey(url);
-            File audioFile = downloadFromOss(ossKey, tempDir, "audio_" + i + ".mp3");
+            File audioFile = artifactStore.fetch(taskId, ossKey, tempDir, "audio_" + i + ".mp3");
             audioFiles.add(audioFile);
         }
 
@@ -316,26 +314,30 @@ public class VideoCompositionService {
 
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
-        Process process = pb.start();
+        Process process = jobRegistry.start(pb);
 
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
+        try {
+            StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    output.append(line).append("\n");
+                }
             }
-        }
 
-        boolean completed = process.waitFor(300, TimeUnit.SECONDS); // 5 minutes timeout
-        if (!completed) {
-            process.destroyForcibly();
-            throw new IOException(operation + " timed out");
-        }
+            boolean completed = process.waitFor(300, TimeUnit.SECONDS); // 5 minutes timeout
+            if (!completed) {
+                process.destroyForcibly();
+                throw new IOException(operation + " timed out");
+            }
 
-        int exitCode = process.exitValue();
-        if (exitCode != 0) {
-            log.error("{} failed with exit code {}: {}", operation, exitCode, output);
-            throw new IOException(operation + " failed: exit code " + exitCode);
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                log.error("{} failed with exit code {}: {}", operation, exitCode, output);
+                throw new IOException(operation + " failed: exit code " + exitCode);
+            }
+        } finally {
+            jobRegistry.release(process);
         }
     }
 
@@ -351,39 +353,22 @@ public class VideoCompositionService {
                 videoFile.getAbsolutePath()
         );
         pb.redirectErrorStream(true);
-        Process process = pb.start();
+        Process process = jobRegistry.start(pb);
 
         String output;
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
             output = reader.readLine();
+            process.waitFor(30, TimeUnit.SECONDS);
+        } finally {
+            jobRegistry.release(process);
         }
 
-        process.waitFor(30, TimeUnit.SECONDS);
-
         if (output != null && !output.isBlank()) {
             return Double.parseDouble(output.trim());
         }
         return 0.0;
     }
 
-    /**
-     * Download file from OSS.
-     */
-    private File downloadFromOss(String ossKey, File tempDir, String filename) throws IOException {
-        File localFile = new File(tempDir, filename);
-        try (OSSObject ossObject = ossClient.getObject(ossConfig.getBucketName(), ossKey);
-             InputStream is = ossObject.getObjectContent();
-             FileOutputStream fos = new FileOutputStream(localFile)) {
-
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) != -1) {
-                fos.write(buffer, 0, bytesRead);
-            }
-            return localFile;
-        }
-    }
-
     /**
      * Extract OSS key from full URL.
      */
@@ -400,28 +385,11 @@ public class VideoCompositionService {
     }
 
     /**
-     * Clean up all temp files for a task.
+     * Clean up all temp files for a task and release its temp space reservation.
      */
     public void cleanup(Long taskId) {
-        File tempDir = new File(compositionProperties.getTempDir(), taskId.toString());
-        if (tempDir.exists()) {
-            deleteDirectory(tempDir);
-            log.debug("Cleaned up temp directory for task {}", taskId);
-        }
-    }
-
-    private void deleteDirectory(File directory) {
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    deleteDirectory(file);
-                } else {
-                    file.delete();
-                }
-            }
-        }
-        directory.delete();
+        tempStorageManager.release(taskId);
+        log.debug("Cleaned up temp directories for task {}", taskId);
     }
 
     /**
@@ -24,6 +24,8 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -40,6 +42,8 @@ public class VideoSegmentCuttingService {
     private final OSS ossClient;
     private final OssConfig ossConfig;
     private final CompositionProperties compositionProperties;
+    private final ComposeJobRegistry jobRegistry;
+    private final TempStorageManager tempStorageManager;
 
     /**
      * Cut video segments for all paragraphs.
@@ -51,11 +55,9 @@ public class VideoSegmentCuttingService {
     public List<SegmentResult> cutSegments(Long taskId, List<ParagraphDuration> paragraphDurations) {
         log.info("Starting video segment cutting for task {}: {} paragraphs", taskId, paragraphDurations.size());
 
-        // Ensure temp directory exists
-        File tempDir = new File(compositionProperties.getTempDir(), taskId.toString());
-        if (!tempDir.exists() && !tempDir.mkdirs()) {
-            throw new BusinessException(ResultCode.INTERNAL_ERROR, "Failed to create temp directory");
-        }
+        // Sources and segments may live on different temp volumes
+        File sourceDir = tempStorageManager.jobDir(taskId, TempStorageManager.KIND_SOURCE);
+        File segmentDir = tempStorageManager.jobDir(taskId, TempStorageManager.KIND_INTERMEDIATE);
 
         List<SegmentResult> results = new ArrayList<>();
         List<File> downloadedFiles = new ArrayList<>();
@@ -63,7 +65,8 @@ public class VideoSegmentCuttingService {
         try {
             for (int i = 0; i < paragraphDurations.size(); i++) {
                 ParagraphDuration pd = paragraphDurations.get(i);
-                SegmentResult result = cutSingleSegment(taskId, pd, i, tempDir, downloadedFiles);
+                jobRegistry.checkCancelled(taskId);
+                SegmentResult result = cutSingleSegment(taskId, pd, i, sourceDir, segmentDir, downloadedFiles);
                 results.add(result);
             }
 
@@ -84,7 +87,7 @@ public class VideoSegmentCuttingService {
      * Cut a single video segment for a paragraph.
      */
     private SegmentResult cutSingleSegment(Long taskId, ParagraphDuration pd, int index,
-                                            File tempDir, List<File> downloadedFiles) {
+                                            File sourceDir, File segmentDir, List<File> downloadedFiles) {
         Long shotId = pd.getShotId();
         if (shotId == null) {
             throw new BusinessException(ResultCode.VIDEO_CUTTING_FAILED,
@@ -103,7 +106,7 @@ public class VideoSegmentCuttingService {
         double segmentDuration = pd.getActualDurationSeconds() + compositionProperties.getTransitionDuration();
 
         // Download source video from OSS
-        File sourceFile = downloadFromOss(video.getOssKey(), tempDir, "source_" + index + ".mp4");
+        File sourceFile = downloadFromOss(video.getOssKey(), sourceDir, "source_" + index + ".mp4");
         downloadedFiles.add(sourceFile);
 
         // Get actual video duration using FFprobe
@@ -114,7 +117,7 @@ public class VideoSegmentCuttingService {
         boolean needsLoop = videoDuration < segmentDuration;
 
         // Output file
-        File outputFile = new File(tempDir, "segment_" + index + ".mp4");
+        File outputFile = new File(segmentDir, "segment_" + index + ".mp4");
 
         // Execute FFmpeg with retry
         executeFFmpegCut(sourceFile, outputFile, startPosition, segmentDuration, needsLoop);
@@ -127,6 +130,24 @@ public class VideoSegmentCuttingService {
                 .build();
     }
 
+    /**
+     * Estimate the temp space needed to download the source videos of the given shots.
+     * Uses the uploaded file size when known, the configured per-video fallback otherwise.
+     *
+     * @param shotIds shot (video) IDs referenced by the script
+     * @return estimated bytes
+     */
+    public long estimateSourceBytes(Collection<Long> shotIds) {
+        long total = 0;
+        for (Long shotId : new HashSet<>(shotIds)) {
+            VideoReadMapper.VideoInfo video = shotId != null ? videoReadMapper.findById(shotId) : null;
+            total += video != null && video.getFileSize() != null
+                    ? video.getFileSize()
+                    : compositionProperties.getSourceBytesPerVideo();
+        }
+        return total;
+    }
+
     /**
      * Calculate start position for center-based cutting.
      * start = (video_duration - segment_duration) / 2
@@ -175,17 +196,18 @@ public class VideoSegmentCuttingService {
                     videoFile.getAbsolutePath()
             );
             pb.redirectErrorStream(true);
-            Process process = pb.start();
+            Process process = jobRegistry.start(pb);
 
             String output;
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
                 output = reader.readLine();
-            }
-
-            boolean completed = process.waitFor(30, TimeUnit.SECONDS);
-            if (!completed) {
-                process.destroyForcibly();
-                throw new BusinessException(ResultCode.VIDEO_CUTTING_FAILED, "FFprobe超时");
+                boolean completed = process.waitFor(30, TimeUnit.SECONDS);
+                if (!completed) {
+                    process.destroyForcibly();
+                    throw new BusinessException(ResultCode.VIDEO_CUTTING_FAILED, "FFprobe超时");
+                }
+            } finally {
+                jobRegistry.release(process);
             }
 
             if (output != null && !output.isBlank()) {
@@ -212,6 +234,9 @@ public class VideoSegmentCuttingService {
             try {
                 doFFmpegCut(sourceFile, outputFile, startPosition, duration, needsLoop);
                 return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ResultCode.VIDEO_CUTTING_FAILED, "视频裁剪被中断");
             } catch (Exception e) {
                 lastException = e;
                 if (attempt < maxRetries) {
@@ -259,27 +284,31 @@ public class VideoSegmentCuttingService {
 
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
-        Process process = pb.start();
-
-        // Read output to prevent blocking
-        StringBuilder errorOutput = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                errorOutput.append(line).append("\n");
+        Process process = jobRegistry.start(pb);
+
+        try {
+            // Read output to prevent blocking
+            StringBuilder errorOutput = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    errorOutput.append(line).append("\n");
+                }
             }
-        }
 
-        boolean completed = process.waitFor(60, TimeUnit.SECONDS);
-        if (!completed) {
-            process.destroyForcibly();
-            throw new IOException("FFmpeg timed out");
-        }
+            boolean completed = process.waitFor(60, TimeUnit.SECONDS);
+            if (!completed) {
+                process.destroyForcibly();
+                throw new IOException("FFmpeg timed out");
+            }
 
-        int exitCode = process.exitValue();
-        if (exitCode != 0) {
-            log.error("FFmpeg failed with exit code {}: {}", exitCode, errorOutput);
-            throw new IOException("FFmpeg exit code: " + exitCode);
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                log.error("FFmpeg failed with exit code {}: {}", exitCode, errorOutput);
+                throw new IOException("FFmpeg exit code: " + exitCode);
+            }
+        } finally {
+            jobRegistry.release(process);
         }
 
         if (!outputFile.exists() || outputFile.length() == 0) {
@@ -25,11 +25,16 @@ public class VoiceCloneCallbackClient {
     @Value("${voice-clone.callback-url:http://user-service/internal/voice/samples/{sampleId}/clone-result}")
     private String callbackUrlTemplate;
 
+    @Value("${voice-clone.preview-callback-url:http://user-service/internal/voice/samples/{sampleId}/preview}")
+    private String previewCallbackUrlTemplate;
+
     private static final int MAX_RETRIES = 3;
     private static final long INITIAL_BACKOFF_MS = 2000;
 
     /**
      * Notify user-service that voice clone completed successfully.
+     *
+     * @throws RuntimeException if user-service could not be reached after all retries
      */
     public void notifyCloneComplete(Long sampleId, String cloneVoiceId) {
         Map<String, Object> body = new HashMap<>();
@@ -48,8 +53,21 @@ public class VoiceCloneCallbackClient {
         callWithRetry(sampleId, body);
     }
 
+    /**
+     * Notify user-service that the cloned voice's preview clip is in OSS.
+     */
+    public void notifyPreviewReady(Long sampleId, String previewOssKey) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("previewOssKey", previewOssKey);
+        callWithRetry(previewCallbackUrlTemplate, sampleId, body);
+    }
+
     private void callWithRetry(Long sampleId, Map<String, Object> body) {
-        String url = callbackUrlTemplate.replace("{sampleId}", sampleId.toString());
+        callWithRetry(callbackUrlTemplate, sampleId, body);
+    }
+
+    private void callWithRetry(String urlTemplate, Long sampleId, Map<String, Object> body) {
+        String url = urlTemplate.replace("{sampleId}", sampleId.toString());
         int attempt = 0;
         long backoffMs = INITIAL_BACKOFF_MS;
 
@@ -60,13 +78,13 @@ public class VoiceCloneCallbackClient {
                 headers.setContentType(MediaType.APPLICATION_JSON);
                 HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
                 restTemplate.postForEntity(url, entity, Void.class);
-                log.info("Clone callback sent to user-service for sample {}: {}", sampleId, body.get("status"));
+                log.info("Clone callback sent to user-service for sample {}: {}", sampleId, body);
                 return;
-            } catch (Exception e) {
+            } catch (RuntimeException e) {
                 if (attempt >= MAX_RETRIES) {
                     log.error("Failed to callback user-service for sample {} after {} attempts: {}",
                             sampleId, MAX_RETRIES, e.getMessage());
-                    return;
+                    throw e;
                 }
                 log.warn("Clone callback failed (attempt {}/{}), retrying in {}ms: {}",
                         attempt, MAX_RETRIES, backoffMs, e.getMessage());
@@ -74,7 +92,7 @@ public class VoiceCloneCallbackClient {
                     Thread.sleep(backoffMs);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    return;
+                    throw e;
                 }
                 backoffMs *= 2;
             }
@@ -18,50 +18,24 @@ public class VoiceCloneService {
 
     private final VolcanoTtsClient volcanoTtsClient;
 
-    private static final int MAX_CLONE_RETRIES = 2;
-    private static final long INITIAL_BACKOFF_MS = 1000;
-
     /**
-     * Process voice cloning request.
-     * Calls Seed-ICL API to create a clone voice from the audio sample.
-     * Retries with exponential backoff on failure (ERR-001).
+     * Process voice cloning request with a single Seed-ICL call.
+     * Retries (ERR-001) are scheduled by VoiceCloneMessageConsumer through delayed re-publishing,
+     * so the listener thread never waits out a backoff.
      *
      * @param message the voice clone MQ message
      * @return the clone_voice_id from Seed-ICL
-     * @throws BusinessException if cloning fails after retries
+     * @throws BusinessException if the call fails
      */
     public String processClone(VoiceCloneMessage message) {
         log.info("Processing voice clone for sample {}, user {}", message.getVoiceSampleId(), message.getUserId());
 
-        int attempt = 0;
-        Exception lastException = null;
-        long backoffMs = INITIAL_BACKOFF_MS;
-
-        while (attempt <= MAX_CLONE_RETRIES) {
-            attempt++;
-            try {
-                String cloneVoiceId = volcanoTtsClient.cloneVoice(message.getOssKey());
-                log.info("Voice clone succeeded for sample {}: cloneVoiceId={}", message.getVoiceSampleId(), cloneVoiceId);
-                return cloneVoiceId;
-            } catch (Exception e) {
-                lastException = e;
-                if (attempt <= MAX_CLONE_RETRIES) {
-                    log.warn("Voice clone attempt {}/{} failed for sample {}: {}, retrying in {}ms...",
-                            attempt, MAX_CLONE_RETRIES + 1, message.getVoiceSampleId(), e.getMessage(), backoffMs);
-                    try {
-                        Thread.sleep(backoffMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                    backoffMs *= 2;
-                }
-            }
+        try {
+            String cloneVoiceId = volcanoTtsClient.cloneVoice(message.getOssKey());
+            log.info("Voice clone succeeded for sample {}: cloneVoiceId={}", message.getVoiceSampleId(), cloneVoiceId);
+            return cloneVoiceId;
+        } catch (Exception e) {
+            throw new BusinessException(ResultCode.VOICE_CLONE_FAILED, "声音克隆失败: " + e.getMessage());
         }
-
-        log.error("Voice clone failed for sample {} after {} attempts",
-                message.getVoiceSampleId(), MAX_CLONE_RETRIES + 1);
-        throw new BusinessException(ResultCode.VOICE_CLONE_FAILED,
-                "声音克隆失败: " + (lastException != null ? lastException.getMessage() : "unknown error"));
     }
 }
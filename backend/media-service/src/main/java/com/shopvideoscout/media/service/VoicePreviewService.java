@@ -0,0 +1,130 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.common.util.VoicePreviewKeys;
+import com.shopvideoscout.media.client.VolcanoTtsClient;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-renders voice preview clips into OSS (served through the CDN), so auditioning a voice
+ * never costs a live TTS call.
+ *
+ * Standard voices are rendered once per {@link VoicePreviewKeys#VERSION}: at startup, each node
+ * checks for missing clips and a Redis lock keeps nodes from rendering the same one. A cloned
+ * voice is rendered when its clone completes and user-service is told the clip's key.
+ * All rendering runs on one background thread, off the voice clone listener.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoicePreviewService {
+
+    private static final String RENDER_LOCK_PREFIX = "voice:preview:render:";
+    private static final long RENDER_LOCK_MINUTES = 10;
+
+    private final VolcanoTtsClient volcanoTtsClient;
+    private final UploadSink uploadSink;
+    private final OSS ossClient;
+    private final OssConfig ossConfig;
+    private final RedisUtils redisUtils;
+    private final VoiceCloneCallbackClient voiceCloneCallbackClient;
+    private final VolcanoTtsProperties ttsProperties;
+
+    private final ExecutorService renderExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "voice-preview");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderStandardPreviewsOnStartup() {
+        if (ttsProperties.isPreviewEnabled()) {
+            renderExecutor.execute(this::renderStandardPreviews);
+        }
+    }
+
+    /**
+     * Render the cloned voice's preview in the background.
+     */
+    public void renderClonePreviewAsync(Long sampleId, String cloneVoiceId) {
+        if (ttsProperties.isPreviewEnabled()) {
+            renderExecutor.execute(() -> renderClonePreview(sampleId, cloneVoiceId));
+        }
+    }
+
+    /**
+     * Remove a deleted sample's preview clip; a missing object is fine.
+     */
+    public void deleteClonePreview(Long sampleId) {
+        try {
+            ossClient.deleteObject(ossConfig.getBucketName(), VoicePreviewKeys.clone(sampleId));
+        } catch (Exception e) {
+            log.warn("Failed to delete preview for voice sample {}: {}", sampleId, e.getMessage());
+        }
+    }
+
+    /**
+     * Render the standard voice clips missing from OSS.
+     *
+     * @return number of clips rendered
+     */
+    int renderStandardPreviews() {
+        int rendered = 0;
+        for (String voiceType : ttsProperties.getPreviewStandardVoices()) {
+            String ossKey = VoicePreviewKeys.standard(voiceType);
+            try {
+                if (ossClient.doesObjectExist(ossConfig.getBucketName(), ossKey)
+                        || !redisUtils.setIfAbsent(RENDER_LOCK_PREFIX + ossKey, "1",
+                        RENDER_LOCK_MINUTES, TimeUnit.MINUTES)) {
+                    continue;
+                }
+                render(voiceType, VoicePreviewKeys.STANDARD_TEXT, ossKey);
+                rendered++;
+            } catch (Exception e) {
+                log.warn("Failed to render preview for standard voice {}: {}", voiceType, e.getMessage());
+            }
+        }
+        if (rendered > 0) {
+            log.info("Rendered {} standard voice previews", rendered);
+        }
+        return rendered;
+    }
+
+    void renderClonePreview(Long sampleId, String cloneVoiceId) {
+        String ossKey = VoicePreviewKeys.clone(sampleId);
+        try {
+            render(cloneVoiceId, VoicePreviewKeys.CLONE_TEXT, ossKey);
+            voiceCloneCallbackClient.notifyPreviewReady(sampleId, ossKey);
+            log.info("Rendered preview for voice sample {}", sampleId);
+        } catch (Exception e) {
+            // The sample stays usable; getPreview just has no audio for it
+            log.warn("Failed to render preview for voice sample {}: {}", sampleId, e.getMessage());
+        }
+    }
+
+    /**
+     * Synthesize the text and wait until the clip is in OSS.
+     */
+    private void render(String voiceId, String text, String ossKey) {
+        List<VolcanoTtsClient.TtsResult> results = volcanoTtsClient.synthesize(text, voiceId);
+        uploadSink.submit(null, ossKey, TtsSynthesisService.mergeAudioSegments(results), false).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+}
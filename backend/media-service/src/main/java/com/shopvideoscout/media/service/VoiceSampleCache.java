@@ -0,0 +1,87 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper;
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper.VoiceSampleInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded per-node LRU cache of voice sample lookups for clone voice resolution.
+ *
+ * Only completed samples with a clone_voice_id are cached: every other state is about to change
+ * and is read from the DB each time. Entries are evicted by VoiceSampleChangedMessage events from
+ * user-service; the TTL bounds staleness if an event is lost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoiceSampleCache {
+
+    static final int MAX_ENTRIES = 1000;
+    static final long TTL_MS = 10 * 60 * 1000L;
+
+    private final VoiceSampleReadMapper voiceSampleReadMapper;
+
+    private final Map<Long, CachedSample> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSample> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // Bumped on every eviction so a DB read racing with an event is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Get a voice sample, from the cache when possible.
+     *
+     * @param sampleId voice sample ID
+     * @return voice sample info or null if not found
+     */
+    public VoiceSampleInfo get(Long sampleId) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedSample cached = entries.get(sampleId);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.info();
+            }
+        }
+
+        long generation = invalidations.get();
+        VoiceSampleInfo info = voiceSampleReadMapper.findById(sampleId);
+        if (info != null && "completed".equals(info.getStatus())
+                && info.getCloneVoiceId() != null && !info.getCloneVoiceId().isBlank()) {
+            synchronized (entries) {
+                if (invalidations.get() == generation) {
+                    entries.put(sampleId, new CachedSample(info, now + TTL_MS));
+                }
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Drop a voice sample after its clone state changed or it was deleted.
+     */
+    public void evict(Long sampleId) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(sampleId);
+        }
+        log.debug("Evicted voice sample {} from clone voice cache", sampleId);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record CachedSample(VoiceSampleInfo info, long expiresAt) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.shopvideoscout.media.client;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Volcano TTS endpoint that answers after a latency drawn from a
+ * configurable distribution. Used to benchmark hedging against realistic tail shapes.
+ */
+class StubTtsServer implements AutoCloseable {
+
+    /**
+     * Response latency in milliseconds for one request.
+     */
+    @FunctionalInterface
+    interface LatencyDistribution {
+        long sampleMs(Random random);
+
+        static LatencyDistribution constant(long ms) {
+            return random -> ms;
+        }
+
+        /**
+         * Log-normal around a median; sigma of 0.5-1.0 gives a moderately heavy tail.
+         */
+        static LatencyDistribution logNormal(long medianMs, double sigma) {
+            return random -> Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+        }
+
+        /**
+         * Mostly fast responses with a fraction of stragglers (queueing, GC, cold backends).
+         */
+        static LatencyDistribution bimodal(long fastMs, long slowMs, double slowFraction) {
+            return random -> random.nextDouble() < slowFraction ? slowMs : fastMs;
+        }
+    }
+
+    private static final byte[] AUDIO = new byte[16 * 1024];
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile LatencyDistribution latency;
+
+    StubTtsServer(LatencyDistribution latency) throws IOException {
+        this.latency = latency;
+        byte[] body = ("{\"data\":\"" + Base64.getEncoder().encodeToString(AUDIO)
+                + "\",\"addition\":{\"duration\":\"1.0\"}}").getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/tts", exchange -> {
+            requests.incrementAndGet();
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            try {
+                Thread.sleep(this.latency.sampleMs(ThreadLocalRandom.current()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/tts";
+    }
+
+    long requestCount() {
+        return requests.get();
+    }
+
+    void setLatency(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
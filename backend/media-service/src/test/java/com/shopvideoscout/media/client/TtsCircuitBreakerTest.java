@@ -0,0 +1,74 @@
+package com.shopvideoscout.media.client;
+
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TtsCircuitBreaker.
+ */
+class TtsCircuitBreakerTest {
+
+    private VolcanoTtsProperties ttsProperties;
+    private TtsCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        ttsProperties = new VolcanoTtsProperties();
+        ttsProperties.setCircuitFailureThreshold(3);
+        ttsProperties.setCircuitOpenMs(100);
+        breaker = new TtsCircuitBreaker(ttsProperties);
+    }
+
+    @Test
+    @DisplayName("Failures below threshold → stays closed; a success resets the count")
+    void belowThreshold_ShouldStayClosed() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertTrue(breaker.isClosed());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Threshold reached → rejects, then lets exactly one probe through per window")
+    void threshold_ShouldOpenThenProbeOnce() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertFalse(breaker.isClosed());
+        assertFalse(breaker.allowRequest());
+
+        Thread.sleep(150);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        // Probe failed: next probe only after another window
+        breaker.onFailure();
+        assertFalse(breaker.allowRequest());
+        Thread.sleep(150);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertTrue(breaker.isClosed());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Threshold 0 → breaker disabled")
+    void zeroThreshold_ShouldNeverOpen() {
+        ttsProperties.setCircuitFailureThreshold(0);
+        for (int i = 0; i < 10; i++) {
+            breaker.onFailure();
+        }
+
+        assertTrue(breaker.isClosed());
+        assertTrue(breaker.allowRequest());
+    }
+}
@@ -0,0 +1,108 @@
+package com.shopvideoscout.media.client;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TtsConcurrencyLimiter.
+ */
+@ExtendWith(MockitoExtension.class)
+class TtsConcurrencyLimiterTest {
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    private VolcanoTtsProperties ttsProperties;
+    private TtsConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ttsProperties = new VolcanoTtsProperties();
+        ttsProperties.setMaxConcurrency(1);
+        ttsProperties.setClusterMaxConcurrency(2);
+        ttsProperties.setPermitWaitTimeoutMs(200);
+        limiter = new TtsConcurrencyLimiter(ttsProperties, redisUtils);
+        limiter.init();
+    }
+
+    @Test
+    @DisplayName("Node limit reached → next acquire waits, then fails as busy")
+    void nodeLimitReached_ShouldFailAfterWait() {
+        when(redisUtils.setIfAbsent(startsWith("tts:permit:"), anyString(), eq(120L), eq(TimeUnit.SECONDS)))
+                .thenReturn(true);
+
+        TtsConcurrencyLimiter.Permit held = limiter.acquire();
+
+        assertThrows(BusinessException.class, () -> limiter.acquire());
+
+        held.close();
+        assertDoesNotThrow(() -> limiter.acquire().close());
+    }
+
+    @Test
+    @DisplayName("Closing a permit frees the cluster slot it still owns")
+    void close_ShouldReleaseOwnedClusterSlot() {
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> holder = ArgumentCaptor.forClass(Object.class);
+        when(redisUtils.setIfAbsent(key.capture(), holder.capture(), eq(120L), eq(TimeUnit.SECONDS)))
+                .thenReturn(true);
+
+        TtsConcurrencyLimiter.Permit permit = limiter.acquire();
+        permit.close();
+
+        verify(redisUtils).deleteIfEquals(key.getValue(), holder.getValue());
+        verify(redisUtils, never()).delete(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Permit freed while a call is queued → tryAcquire does not take it ahead of the queue")
+    void tryAcquire_ShouldNotBargeAheadOfQueuedCall() throws Exception {
+        // Given: the only node permit is held and another call is queued for it
+        ttsProperties.setPermitWaitTimeoutMs(5000);
+        when(redisUtils.setIfAbsent(startsWith("tts:permit:"), anyString(), eq(120L), eq(TimeUnit.SECONDS)))
+                .thenReturn(true);
+        TtsConcurrencyLimiter.Permit held = limiter.acquire();
+        CompletableFuture<TtsConcurrencyLimiter.Permit> queued = CompletableFuture.supplyAsync(limiter::acquire);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!limiter.hasQueuedCalls() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(limiter.hasQueuedCalls());
+
+        // When
+        held.close();
+        Optional<TtsConcurrencyLimiter.Permit> hedge = limiter.tryAcquire();
+
+        // Then: the queued call gets the permit
+        assertTrue(hedge.isEmpty());
+        queued.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    @DisplayName("All cluster slots taken → acquire fails as busy and returns the node permit")
+    void clusterFull_ShouldFailAndReleaseNodePermit() {
+        when(redisUtils.setIfAbsent(startsWith("tts:permit:"), anyString(), eq(120L), eq(TimeUnit.SECONDS)))
+                .thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> limiter.acquire());
+
+        ttsProperties.setClusterMaxConcurrency(0);
+        assertDoesNotThrow(() -> limiter.acquire().close());
+    }
+}
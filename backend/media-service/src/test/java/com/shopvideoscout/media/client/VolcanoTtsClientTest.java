@@ -1,5 +1,6 @@
 package com.shopvideoscout.media.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.media.config.VolcanoTtsProperties;
@@ -10,16 +11,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpEntity;
+import org.mockito.stubbing.Answer;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,7 +43,11 @@ class VolcanoTtsClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private TtsConcurrencyLimiter concurrencyLimiter;
+
     private VolcanoTtsProperties ttsProperties;
+    private TtsCircuitBreaker circuitBreaker;
     private VolcanoTtsClient volcanoTtsClient;
 
     @BeforeEach
@@ -48,7 +61,19 @@ class VolcanoTtsClientTest {
         ttsProperties.setTimeoutMs(30000);
         ttsProperties.setMaxTextLength(5000);
 
-        volcanoTtsClient = new VolcanoTtsClient(ttsProperties, restTemplate);
+        circuitBreaker = new TtsCircuitBreaker(ttsProperties);
+        volcanoTtsClient = new VolcanoTtsClient(ttsProperties, restTemplate, concurrencyLimiter, circuitBreaker);
+    }
+
+    /**
+     * Feed a JSON body through the client's streaming response extractor.
+     */
+    private static Answer<Object> respondWith(Map<String, Object> body) {
+        return inv -> {
+            ResponseExtractor<?> extractor = inv.getArgument(3);
+            byte[] json = new ObjectMapper().writeValueAsBytes(body);
+            return extractor.extractData(new MockClientHttpResponse(json, HttpStatus.OK));
+        };
     }
 
     @Nested
@@ -64,9 +89,9 @@ class VolcanoTtsClientTest {
                     "data", audioBase64,
                     "addition", Map.of("duration", "8.5")
             );
-            when(restTemplate.exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(responseBody, HttpStatus.OK));
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(responseBody));
 
             // When
             List<VolcanoTtsClient.TtsResult> results =
@@ -74,7 +99,7 @@ class VolcanoTtsClientTest {
 
             // Then
             assertEquals(1, results.size());
-            assertNotNull(results.get(0).getAudioData());
+            assertArrayEquals("fake-audio-data".getBytes(), results.get(0).getAudioData());
             assertEquals(8.5, results.get(0).getDurationSeconds());
         }
 
@@ -88,11 +113,11 @@ class VolcanoTtsClientTest {
                     "addition", Map.of("duration", "5.0")
             );
 
-            when(restTemplate.exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class)))
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
                     .thenThrow(new ResourceAccessException("Connection timeout"))
                     .thenThrow(new ResourceAccessException("Connection timeout"))
-                    .thenReturn(new ResponseEntity<>(successResponse, HttpStatus.OK));
+                    .thenAnswer(respondWith(successResponse));
 
             // When
             List<VolcanoTtsClient.TtsResult> results =
@@ -100,16 +125,16 @@ class VolcanoTtsClientTest {
 
             // Then
             assertEquals(1, results.size());
-            verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class));
+            verify(restTemplate, times(3)).execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class));
         }
 
         @Test
         @DisplayName("4.1-UNIT-002b: TTS timeout exhausted after 3 retries → throw")
         void ttsTimeoutExhausted_ShouldThrow() {
             // Given - all 3 calls timeout
-            when(restTemplate.exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class)))
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
                     .thenThrow(new ResourceAccessException("Connection timeout"));
 
             // When/Then
@@ -136,14 +161,41 @@ class VolcanoTtsClientTest {
             assertEquals(ResultCode.BAD_REQUEST.getCode(), ex.getCode());
         }
 
+        @Test
+        @DisplayName("Streaming decode: any field order, unknown fields skipped, buffers not shared")
+        void streamingDecode_ShouldHandleFieldOrderAndReuseBuffers() {
+            // Given - addition before data, an extra nested field, ~1MB of audio
+            byte[] first = new byte[1024 * 1024];
+            new java.util.Random(1).nextBytes(first);
+            byte[] second = "second".getBytes();
+            Map<String, Object> firstBody = new java.util.LinkedHashMap<>();
+            firstBody.put("addition", Map.of("duration", "12.0", "frontend", "{}"));
+            firstBody.put("extra", Map.of("nested", List.of(1, 2, 3)));
+            firstBody.put("data", Base64.getEncoder().encodeToString(first));
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(firstBody))
+                    .thenAnswer(respondWith(Map.of("data", Base64.getEncoder().encodeToString(second))));
+
+            // When
+            VolcanoTtsClient.TtsResult r1 = volcanoTtsClient.synthesize("第一段", "xiaomei").get(0);
+            VolcanoTtsClient.TtsResult r2 = volcanoTtsClient.synthesize("第二段", "xiaomei").get(0);
+
+            // Then
+            assertArrayEquals(first, r1.getAudioData());
+            assertEquals(12.0, r1.getDurationSeconds());
+            assertArrayEquals(second, r2.getAudioData());
+            assertEquals(0.0, r2.getDurationSeconds());
+        }
+
         @Test
         @DisplayName("4.1-BLIND-ERROR-001: Malformed TTS response → graceful error")
         void malformedResponse_ShouldThrowGracefully() {
             // Given
             Map<String, Object> malformedResponse = Map.of("error", "unknown format");
-            when(restTemplate.exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(malformedResponse, HttpStatus.OK));
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(malformedResponse));
 
             // When/Then
             assertThrows(Exception.class,
@@ -151,6 +203,119 @@ class VolcanoTtsClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Hedging and circuit breaker")
+    class HedgingTests {
+
+        private void warmLatencyWindow(long latencyMs) {
+            for (int i = 0; i < 50; i++) {
+                volcanoTtsClient.getLatencyTracker().record(4, latencyMs);
+            }
+        }
+
+        @Test
+        @DisplayName("Call slower than p95 → hedge sent, first success wins")
+        void slowCall_ShouldBeHedged() {
+            // Given - warm window at ~10ms; first request stalls, second answers at once
+            ttsProperties.setHedgeMinDelayMs(50);
+            warmLatencyWindow(10);
+            CountDownLatch release = new CountDownLatch(1);
+            Map<String, Object> body = Map.of("data", Base64.getEncoder().encodeToString("hedged".getBytes()));
+            when(concurrencyLimiter.tryAcquire()).thenReturn(Optional.of(mock(TtsConcurrencyLimiter.Permit.class)));
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(inv -> {
+                        release.await(5, TimeUnit.SECONDS);
+                        return respondWith(body).answer(inv);
+                    })
+                    .thenAnswer(respondWith(body));
+
+            // When
+            long start = System.currentTimeMillis();
+            VolcanoTtsClient.TtsResult result = volcanoTtsClient.synthesize("测试文本", "xiaomei").get(0);
+            long elapsed = System.currentTimeMillis() - start;
+            release.countDown();
+
+            // Then
+            assertArrayEquals("hedged".getBytes(), result.getAudioData());
+            assertTrue(elapsed < 2000);
+            assertEquals(1, volcanoTtsClient.getHedgesSent());
+            assertEquals(1, volcanoTtsClient.getHedgesWon());
+        }
+
+        @Test
+        @DisplayName("Primary queued for a permit past the hedge delay → no hedge, delay counts from the call")
+        void permitWait_ShouldNotTriggerHedge() {
+            // Given - warm window at ~10ms; the permit takes 300ms, the call itself answers at once
+            ttsProperties.setHedgeMinDelayMs(50);
+            warmLatencyWindow(10);
+            when(concurrencyLimiter.acquire()).thenAnswer(inv -> {
+                Thread.sleep(300);
+                return mock(TtsConcurrencyLimiter.Permit.class);
+            });
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(Map.of("data", Base64.getEncoder().encodeToString("a".getBytes()))));
+
+            // When
+            volcanoTtsClient.synthesize("测试文本", "xiaomei");
+
+            // Then
+            verify(concurrencyLimiter, never()).tryAcquire();
+            assertEquals(0, volcanoTtsClient.getHedgesSent());
+        }
+
+        @Test
+        @DisplayName("Cold latency window → no hedge")
+        void coldWindow_ShouldNotHedge() {
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(Map.of("data", Base64.getEncoder().encodeToString("a".getBytes()))));
+
+            volcanoTtsClient.synthesize("测试文本", "xiaomei");
+
+            verify(concurrencyLimiter, never()).tryAcquire();
+            assertEquals(0, volcanoTtsClient.getHedgesSent());
+        }
+
+        @Test
+        @DisplayName("Consecutive 5xx → circuit opens and calls fail fast")
+        void repeatedServerErrors_ShouldOpenCircuit() {
+            // Given
+            ttsProperties.setCircuitFailureThreshold(2);
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenThrow(HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR,
+                            "error", null, null, null));
+
+            // When
+            assertThrows(BusinessException.class, () -> volcanoTtsClient.synthesize("一", "xiaomei"));
+            assertThrows(BusinessException.class, () -> volcanoTtsClient.synthesize("二", "xiaomei"));
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> volcanoTtsClient.synthesize("三", "xiaomei"));
+
+            // Then - third call never reached the endpoint
+            assertEquals(ResultCode.TTS_SERVICE_ERROR.getCode(), ex.getCode());
+            assertFalse(circuitBreaker.isClosed());
+            verify(restTemplate, times(2)).execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class));
+        }
+
+        @Test
+        @DisplayName("4xx → endpoint counted as healthy")
+        void clientError_ShouldNotOpenCircuit() {
+            ttsProperties.setCircuitFailureThreshold(1);
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST,
+                            "bad voice", null, null, null));
+
+            assertThrows(BusinessException.class, () -> volcanoTtsClient.synthesize("测试", "unknown"));
+
+            assertTrue(circuitBreaker.isClosed());
+        }
+    }
+
     @Nested
     @DisplayName("Text Segmentation")
     class TextSegmentationTests {
@@ -228,6 +393,60 @@ class VolcanoTtsClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Long paragraph segments")
+    class SegmentSynthesisTests {
+
+        @Test
+        @DisplayName("Segments synthesized concurrently, results kept in text order")
+        void longParagraph_ShouldSynthesizeSegmentsConcurrentlyInOrder() {
+            // Given - split at the sentence boundary; first segment answers last
+            String text = "a".repeat(4990) + "。" + "b".repeat(100);
+            CountDownLatch bothInFlight = new CountDownLatch(2);
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(inv -> {
+                        MockClientHttpRequest request = new MockClientHttpRequest();
+                        ((RequestCallback) inv.getArgument(2)).doWithRequest(request);
+                        boolean first = request.getBodyAsString().contains("aaaa");
+                        bothInFlight.countDown();
+                        assertTrue(bothInFlight.await(5, TimeUnit.SECONDS));
+                        if (first) {
+                            Thread.sleep(100);
+                        }
+                        Map<String, Object> body = Map.of(
+                                "data", Base64.getEncoder().encodeToString((first ? "first" : "second").getBytes()),
+                                "addition", Map.of("duration", first ? "3.0" : "1.5"));
+                        return respondWith(body).answer(inv);
+                    });
+
+            // When
+            List<VolcanoTtsClient.TtsResult> results = volcanoTtsClient.synthesize(text, "xiaomei");
+
+            // Then
+            assertEquals(2, results.size());
+            assertArrayEquals("first".getBytes(), results.get(0).getAudioData());
+            assertArrayEquals("second".getBytes(), results.get(1).getAudioData());
+            assertEquals(4.5, results.stream().mapToDouble(VolcanoTtsClient.TtsResult::getDurationSeconds).sum());
+        }
+
+        @Test
+        @DisplayName("One segment fails → paragraph fails")
+        void failedSegment_ShouldFailParagraph() {
+            // Given
+            String text = "a".repeat(4990) + "。" + "b".repeat(100);
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST,
+                            "bad text", null, null, null));
+
+            // When/Then
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> volcanoTtsClient.synthesize(text, "xiaomei"));
+            assertEquals(ResultCode.TTS_SERVICE_ERROR.getCode(), ex.getCode());
+        }
+    }
+
     @Nested
     @DisplayName("Multi-paragraph Orchestration")
     class MultiParagraphTests {
@@ -241,9 +460,9 @@ class VolcanoTtsClientTest {
                     "data", audioBase64,
                     "addition", Map.of("duration", "5.0")
             );
-            when(restTemplate.exchange(anyString(), eq(HttpMethod.POST),
-                    any(HttpEntity.class), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(responseBody, HttpStatus.OK));
+            when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                    any(RequestCallback.class), any(ResponseExtractor.class)))
+                    .thenAnswer(respondWith(responseBody));
 
             // When - call synthesize which calls API once for single paragraph
             List<VolcanoTtsClient.TtsResult> results =
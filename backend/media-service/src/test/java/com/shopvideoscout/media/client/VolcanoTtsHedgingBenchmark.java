@@ -0,0 +1,119 @@
+package com.shopvideoscout.media.client;
+
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hedging benchmark against StubTtsServer: p50 / p99 call latency and wasted-request overhead,
+ * with hedging off and on, for a few latency shapes.
+ *
+ * Opt-in, since it takes about a minute:
+ * mvn -pl media-service test -Dtest=VolcanoTtsHedgingBenchmark -Dtts.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "tts.benchmark", matches = "true")
+class VolcanoTtsHedgingBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 50;
+    private static final int WARMUP_CALLS = 40;
+
+    @Test
+    @DisplayName("Bimodal: 5% stragglers at 2s")
+    void bimodal() throws Exception {
+        Report off = run(StubTtsServer.LatencyDistribution.bimodal(100, 2000, 0.05), false);
+        Report on = run(StubTtsServer.LatencyDistribution.bimodal(100, 2000, 0.05), true);
+        print("bimodal(100ms, 2000ms, 5%)", off, on);
+
+        assertTrue(on.p99Ms() < off.p99Ms());
+        assertTrue(on.extraRequestRatio() < 0.15);
+    }
+
+    @Test
+    @DisplayName("Log-normal: median 150ms, sigma 0.8")
+    void logNormal() throws Exception {
+        Report off = run(StubTtsServer.LatencyDistribution.logNormal(150, 0.8), false);
+        Report on = run(StubTtsServer.LatencyDistribution.logNormal(150, 0.8), true);
+        print("logNormal(150ms, 0.8)", off, on);
+
+        assertTrue(on.extraRequestRatio() < 0.15);
+    }
+
+    private Report run(StubTtsServer.LatencyDistribution latency, boolean hedge) throws Exception {
+        try (StubTtsServer server = new StubTtsServer(latency)) {
+            VolcanoTtsProperties props = new VolcanoTtsProperties();
+            props.setApiUrl(server.url());
+            props.setAppId("bench");
+            props.setAccessToken("bench");
+            props.setMaxConcurrency(THREADS * 2);
+            props.setClusterMaxConcurrency(0);
+            props.setHedgeEnabled(hedge);
+            props.setHedgeMinDelayMs(50);
+
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(props.getTimeoutMs());
+            requestFactory.setReadTimeout(props.getTimeoutMs());
+            TtsConcurrencyLimiter limiter = new TtsConcurrencyLimiter(props, null);
+            limiter.init();
+            VolcanoTtsClient client = new VolcanoTtsClient(props, new RestTemplate(requestFactory),
+                    limiter, new TtsCircuitBreaker(props));
+
+            String text = "家人们！今天给你们探一家店";
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                client.synthesize(text, "bench");
+            }
+            long requestsBefore = server.requestCount();
+
+            ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(callers.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        long start = System.nanoTime();
+                        client.synthesize(text, "bench");
+                        latencies.add((System.nanoTime() - start) / 1_000_000);
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                latencies.addAll(future.get());
+            }
+            callers.shutdown();
+            client.shutdown();
+
+            Collections.sort(latencies);
+            int calls = latencies.size();
+            long requests = server.requestCount() - requestsBefore;
+            return new Report(percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    (double) (requests - calls) / calls);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        return sorted.get(Math.max(0, (int) Math.ceil(p * sorted.size()) - 1));
+    }
+
+    private static void print(String name, Report off, Report on) {
+        System.out.printf("%s%n  hedge off: p50=%dms p99=%dms extra=%.1f%%%n  hedge on:  p50=%dms p99=%dms extra=%.1f%%%n",
+                name, off.p50Ms(), off.p99Ms(), off.extraRequestRatio() * 100,
+                on.p50Ms(), on.p99Ms(), on.extraRequestRatio() * 100);
+    }
+
+    private record Report(long p50Ms, long p99Ms, double extraRequestRatio) {
+    }
+}
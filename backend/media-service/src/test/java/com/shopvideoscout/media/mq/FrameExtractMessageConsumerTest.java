@@ -0,0 +1,77 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.FrameExtractMessage;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.service.FrameExtractionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FrameExtractMessageConsumer (extraction marker across listener retries).
+ */
+@ExtendWith(MockitoExtension.class)
+class FrameExtractMessageConsumerTest {
+
+    @Mock
+    private FrameExtractionService frameExtractionService;
+
+    @InjectMocks
+    private FrameExtractMessageConsumer consumer;
+
+    private final FrameExtractMessage message = FrameExtractMessage.builder()
+            .taskId(1L).videoId(7L).ossKey("videos/100/1/uuid.mp4").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(consumer, "maxAttempts", 3);
+        when(frameExtractionService.extract(message))
+                .thenThrow(new BusinessException(ResultCode.FRAME_EXTRACTION_FAILED, "关键帧上传失败"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RetrySynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("Attempt with retries left fails → rethrown, video stays marked as extracting")
+    void failureWithRetriesLeft_ShouldKeepMarker() {
+        RetrySynchronizationManager.register(context(1));
+
+        assertThrows(BusinessException.class, () -> consumer.handleFrameExtractMessage(message));
+
+        verify(frameExtractionService, never()).abandon(any());
+    }
+
+    @Test
+    @DisplayName("Last attempt fails → rethrown for the DLQ and extraction abandoned")
+    void lastFailure_ShouldAbandon() {
+        RetrySynchronizationManager.register(context(2));
+
+        assertThrows(BusinessException.class, () -> consumer.handleFrameExtractMessage(message));
+
+        verify(frameExtractionService).abandon(message);
+    }
+
+    private static RetryContext context(int failedAttempts) {
+        RetryContextSupport context = new RetryContextSupport(null);
+        for (int i = 0; i < failedAttempts; i++) {
+            context.registerThrowable(new RuntimeException("attempt " + (i + 1)));
+        }
+        return context;
+    }
+}
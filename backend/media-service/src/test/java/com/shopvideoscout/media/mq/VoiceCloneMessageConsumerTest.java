@@ -3,6 +3,7 @@ package com.shopvideoscout.media.mq;
 import com.shopvideoscout.common.mq.VoiceCloneMessage;
 import com.shopvideoscout.media.service.VoiceCloneCallbackClient;
 import com.shopvideoscout.media.service.VoiceCloneService;
+import com.shopvideoscout.media.service.VoicePreviewService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -24,6 +26,12 @@ class VoiceCloneMessageConsumerTest {
     @Mock
     private VoiceCloneCallbackClient voiceCloneCallbackClient;
 
+    @Mock
+    private VoiceCloneRetryPublisher retryPublisher;
+
+    @Mock
+    private VoicePreviewService voicePreviewService;
+
     @InjectMocks
     private VoiceCloneMessageConsumer consumer;
 
@@ -42,10 +50,11 @@ class VoiceCloneMessageConsumerTest {
         VoiceCloneMessage message = createMessage();
         when(voiceCloneService.processClone(message)).thenReturn("clone_voice_id_123");
 
-        consumer.handleVoiceCloneMessage(message);
+        consumer.handleVoiceCloneMessage(message, null);
 
         verify(voiceCloneService).processClone(message);
         verify(voiceCloneCallbackClient).notifyCloneComplete(1L, "clone_voice_id_123");
+        verify(voicePreviewService).renderClonePreviewAsync(1L, "clone_voice_id_123");
     }
 
     @Test
@@ -54,7 +63,7 @@ class VoiceCloneMessageConsumerTest {
         VoiceCloneMessage message = createMessage();
         when(voiceCloneService.processClone(message)).thenReturn("clone_id");
 
-        consumer.handleVoiceCloneMessage(message);
+        consumer.handleVoiceCloneMessage(message, null);
 
         verify(voiceCloneCallbackClient).notifyCloneComplete(1L, "clone_id");
         verify(voiceCloneCallbackClient, never()).notifyCloneFailed(anyLong(), anyString());
@@ -66,10 +75,97 @@ class VoiceCloneMessageConsumerTest {
         VoiceCloneMessage message = createMessage();
         when(voiceCloneService.processClone(message))
                 .thenThrow(new RuntimeException("Clone failed"));
+        when(retryPublisher.scheduleRetry(message, 3)).thenReturn(false);
 
-        consumer.handleVoiceCloneMessage(message);
+        consumer.handleVoiceCloneMessage(message, 3);
 
         verify(voiceCloneCallbackClient).notifyCloneFailed(eq(1L), contains("Clone failed"));
         verify(voiceCloneCallbackClient, never()).notifyCloneComplete(anyLong(), anyString());
     }
+
+    @Test
+    @DisplayName("4.2-UNIT-016: First attempt fails → retry scheduled, no failure callback")
+    void handleMessage_FirstFailure_SchedulesRetry() {
+        // Given
+        VoiceCloneMessage message = createMessage();
+        when(voiceCloneService.processClone(message)).thenThrow(new RuntimeException("timeout"));
+        when(retryPublisher.scheduleRetry(message, 1)).thenReturn(true);
+
+        // When
+        consumer.handleVoiceCloneMessage(message, null);
+
+        // Then
+        verify(retryPublisher).scheduleRetry(message, 1);
+        verifyNoInteractions(voiceCloneCallbackClient);
+    }
+
+    @Test
+    @DisplayName("Retry cannot be published → reported as failed instead of lost")
+    void handleMessage_RetryPublishFails_CallbackFailed() {
+        // Given
+        VoiceCloneMessage message = createMessage();
+        when(voiceCloneService.processClone(message)).thenThrow(new RuntimeException("timeout"));
+        when(retryPublisher.scheduleRetry(message, 2)).thenThrow(new RuntimeException("broker down"));
+
+        // When
+        consumer.handleVoiceCloneMessage(message, 2);
+
+        // Then
+        verify(voiceCloneCallbackClient).notifyCloneFailed(eq(1L), contains("timeout"));
+    }
+
+    @Test
+    @DisplayName("Clone succeeds, callback fails → only the callback is retried, carrying the cloneVoiceId")
+    void handleMessage_CallbackFails_RetriesCallbackOnly() {
+        // Given
+        VoiceCloneMessage message = createMessage();
+        when(voiceCloneService.processClone(message)).thenReturn("clone_id");
+        doThrow(new RuntimeException("user-service down"))
+                .when(voiceCloneCallbackClient).notifyCloneComplete(1L, "clone_id");
+        when(retryPublisher.scheduleRetry(message, 1)).thenReturn(true);
+
+        // When
+        consumer.handleVoiceCloneMessage(message, 3);
+
+        // Then
+        assertEquals("clone_id", message.getCloneVoiceId());
+        verify(retryPublisher).scheduleRetry(message, 1);
+        verify(voiceCloneCallbackClient, never()).notifyCloneFailed(anyLong(), anyString());
+        verifyNoInteractions(voicePreviewService);
+    }
+
+    @Test
+    @DisplayName("Redelivery with a cloneVoiceId → callback only, no second clone")
+    void handleMessage_WithCloneVoiceId_SkipsClone() {
+        // Given
+        VoiceCloneMessage message = createMessage();
+        message.setCloneVoiceId("clone_id");
+
+        // When
+        consumer.handleVoiceCloneMessage(message, 2);
+
+        // Then
+        verifyNoInteractions(voiceCloneService);
+        verify(voiceCloneCallbackClient).notifyCloneComplete(1L, "clone_id");
+        verify(voicePreviewService).renderClonePreviewAsync(1L, "clone_id");
+    }
+
+    @Test
+    @DisplayName("Callback retries exhausted → dead-lettered with the cloneVoiceId, never reported failed")
+    void handleMessage_CallbackRetriesExhausted_DeadLetters() {
+        // Given
+        VoiceCloneMessage message = createMessage();
+        message.setCloneVoiceId("clone_id");
+        doThrow(new RuntimeException("user-service down"))
+                .when(voiceCloneCallbackClient).notifyCloneComplete(1L, "clone_id");
+        when(retryPublisher.scheduleRetry(message, 3)).thenReturn(false);
+
+        // When
+        consumer.handleVoiceCloneMessage(message, 3);
+
+        // Then
+        verify(retryPublisher).deadLetter(message);
+        verify(voiceCloneCallbackClient, never()).notifyCloneFailed(anyLong(), anyString());
+        verifyNoInteractions(voiceCloneService, voicePreviewService);
+    }
 }
@@ -0,0 +1,73 @@
+package com.shopvideoscout.media.mq;
+
+import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.common.mq.VoiceCloneMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VoiceCloneRetryPublisher (ERR-001: delayed retries).
+ */
+@ExtendWith(MockitoExtension.class)
+class VoiceCloneRetryPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private VoiceCloneRetryPublisher retryPublisher;
+
+    private final VoiceCloneMessage message = VoiceCloneMessage.builder()
+            .voiceSampleId(1L)
+            .ossKey("voice/100/uuid.mp3")
+            .build();
+
+    @Test
+    @DisplayName("Each failed attempt goes to the next, longer delay queue with the attempt header")
+    void scheduleRetry_ShouldUseIncreasingDelayQueues() {
+        // When
+        assertTrue(retryPublisher.scheduleRetry(message, 1));
+        assertTrue(retryPublisher.scheduleRetry(message, 2));
+
+        // Then
+        ArgumentCaptor<MessagePostProcessor> captor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq(MqConstants.VOICE_CLONE_RETRY_EXCHANGE),
+                eq(MqConstants.VOICE_CLONE_RETRY_1_QUEUE), eq(message), captor.capture());
+        verify(rabbitTemplate).convertAndSend(eq(MqConstants.VOICE_CLONE_RETRY_EXCHANGE),
+                eq(MqConstants.VOICE_CLONE_RETRY_2_QUEUE), eq(message), captor.capture());
+
+        Message amqp = new Message(new byte[0], new MessageProperties());
+        captor.getAllValues().get(0).postProcessMessage(amqp);
+        assertEquals(2, (Integer) amqp.getMessageProperties().getHeader(MqConstants.VOICE_CLONE_ATTEMPT_HEADER));
+    }
+
+    @Test
+    @DisplayName("Third attempt failed → retries exhausted, nothing published")
+    void scheduleRetry_Exhausted_ReturnsFalse() {
+        assertFalse(retryPublisher.scheduleRetry(message, 3));
+
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class),
+                any(MessagePostProcessor.class));
+    }
+
+    @Test
+    @DisplayName("deadLetter → published to the voice clone DLX as is")
+    void deadLetter_ShouldPublishToDlx() {
+        retryPublisher.deadLetter(message);
+
+        verify(rabbitTemplate).convertAndSend(MqConstants.VOICE_CLONE_DLX, MqConstants.VOICE_CLONE_DL_ROUTING_KEY, message);
+    }
+}
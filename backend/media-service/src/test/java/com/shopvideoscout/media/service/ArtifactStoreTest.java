@@ -0,0 +1,63 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.media.config.OssConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ArtifactStore (local hand-off of TTS audio).
+ */
+@ExtendWith(MockitoExtension.class)
+class ArtifactStoreTest {
+
+    @Mock
+    private OSS ossClient;
+
+    @Mock
+    private OssConfig ossConfig;
+
+    @Mock
+    private TempStorageManager tempStorageManager;
+
+    @Mock
+    private UploadSink uploadSink;
+
+    @TempDir
+    Path tempDir;
+
+    private ArtifactStore artifactStore;
+
+    @BeforeEach
+    void setUp() {
+        artifactStore = new ArtifactStore(ossClient, ossConfig, tempStorageManager, uploadSink);
+        when(tempStorageManager.jobDir(1L, TempStorageManager.KIND_INTERMEDIATE)).thenReturn(tempDir.toFile());
+    }
+
+    @Test
+    @DisplayName("put keeps a local copy; fetch reads it without downloading from OSS")
+    void putThenFetch_ShouldUseLocalCopy() throws Exception {
+        byte[] audio = "audio-bytes".getBytes();
+
+        File stored = artifactStore.put(1L, "audio/1/tts_0.mp3", audio);
+        File fetched = artifactStore.fetch(1L, "audio/1/tts_0.mp3", tempDir.toFile(), "audio_0.mp3");
+
+        assertEquals(stored, fetched);
+        assertArrayEquals(audio, Files.readAllBytes(fetched.toPath()));
+        verify(uploadSink).submit(1L, "audio/1/tts_0.mp3", audio);
+        verify(ossClient, never()).getObject(anyString(), anyString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.util.RedisUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ComposeDurationModel.
+ */
+@ExtendWith(MockitoExtension.class)
+class ComposeDurationModelTest {
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    private ComposeDurationModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new ComposeDurationModel(redisUtils);
+    }
+
+    @Test
+    @DisplayName("Speakable chars: CJK letters and digits count, punctuation and spaces do not")
+    void speakableChars_ShouldIgnorePunctuation() {
+        assertEquals(9, ComposeDurationModel.speakableChars("家人们！今天 探店99。"));
+        assertEquals(0, ComposeDurationModel.speakableChars(null));
+    }
+
+    @Test
+    @DisplayName("Learned voice rate → prediction uses it; unknown voice → default rate")
+    void predict_ShouldUseLearnedRatePerVoice() {
+        when(redisUtils.hGet("compose:model:speech_rate", "xiaomei")).thenReturn("5.0");
+
+        assertEquals(2.0, model.predictAudioSeconds("xiaomei", "一二三四五六七八九十"), 1e-9);
+        assertEquals(10 / 4.5, model.predictAudioSeconds("other", "一二三四五六七八九十"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Recorded speech moves the rate toward the sample")
+    void recordSpeech_ShouldSmoothTowardSample() {
+        when(redisUtils.hGet("compose:model:speech_rate", "xiaomei")).thenReturn("4.0");
+
+        // 20 chars in 2s → 10 chars/s; smoothed: 4.0 + 0.1 × 6.0
+        model.recordSpeech("xiaomei", "一二三四五六七八九十一二三四五六七八九十", 2.0);
+
+        verify(redisUtils).hSet(eq("compose:model:speech_rate"), eq("xiaomei"),
+                argThat(v -> Math.abs(Double.parseDouble(String.valueOf(v)) - 4.6) < 1e-9));
+    }
+
+    @Test
+    @DisplayName("Short text → not learned from")
+    void recordSpeech_ShortText_ShouldBeIgnored() {
+        model.recordSpeech("xiaomei", "你好", 1.0);
+
+        verifyNoInteractions(redisUtils);
+    }
+
+    @Test
+    @DisplayName("ETA = remaining share of current phase + all later phases, scaled by audio length")
+    void estimate_ShouldSumRemainingPhases() {
+        when(redisUtils.hGetAll("compose:model:phase_rate")).thenReturn(Map.of(
+                ComposeProgressTracker.PHASE_TTS_SYNTHESIS, "0.5",
+                ComposeProgressTracker.PHASE_SUBTITLE_GENERATION, "0.0",
+                ComposeProgressTracker.PHASE_VIDEO_CUTTING, "1.0",
+                ComposeProgressTracker.PHASE_VIDEO_COMPOSITION, "2.0",
+                ComposeProgressTracker.PHASE_OUTPUT_UPLOAD, "0.5"));
+
+        // 60s of audio, TTS half done: 0.5×60×0.5 + (0.01 default)×60 + 60 + 120 + 30
+        assertEquals(226, model.estimateRemainingSeconds(
+                ComposeProgressTracker.PHASE_TTS_SYNTHESIS, 0.5, 60));
+        // Upload phase just started
+        assertEquals(30, model.estimateRemainingSeconds(
+                ComposeProgressTracker.PHASE_OUTPUT_UPLOAD, 0, 60));
+    }
+
+    @Test
+    @DisplayName("Redis unavailable → defaults, no exception")
+    void redisDown_ShouldFallBackToDefaults() {
+        when(redisUtils.hGet(anyString(), anyString())).thenThrow(new RuntimeException("down"));
+        when(redisUtils.hGetAll(anyString())).thenThrow(new RuntimeException("down"));
+
+        assertEquals(2.0, model.predictAudioSeconds("xiaomei", "一二三四五六七八九"), 1e-9);
+        assertTrue(model.estimateRemainingSeconds(ComposeProgressTracker.PHASE_VIDEO_CUTTING, 0, 60) > 0);
+    }
+}
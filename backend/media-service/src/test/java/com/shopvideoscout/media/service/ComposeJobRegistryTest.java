@@ -0,0 +1,131 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ComposeJobRegistry (compose cancellation).
+ */
+@ExtendWith(MockitoExtension.class)
+class ComposeJobRegistryTest {
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @InjectMocks
+    private ComposeJobRegistry jobRegistry;
+
+    private ComposeMessage message(Long requestedAt) {
+        return ComposeMessage.builder().taskId(1L).requestedAt(requestedAt).build();
+    }
+
+    @Test
+    @DisplayName("Cancel marker newer than message → job does not start")
+    void cancelledWhileQueued_ShouldNotStart() {
+        when(redisUtils.get("compose:cancel:1")).thenReturn(2000L);
+
+        assertFalse(jobRegistry.register(message(1000L)));
+        assertTrue(jobRegistry.isCancelled(1L));
+        jobRegistry.unregister(1L);
+    }
+
+    @Test
+    @DisplayName("Cancel marker older than message (re-compose) → job runs")
+    void staleMarker_ShouldStart() {
+        when(redisUtils.get("compose:cancel:1")).thenReturn(1000L);
+
+        assertTrue(jobRegistry.register(message(2000L)));
+        assertFalse(jobRegistry.isCancelled(1L));
+        jobRegistry.unregister(1L);
+    }
+
+    @Test
+    @DisplayName("Cancel running job → flag set, worker interrupted, checkCancelled throws")
+    void cancelRunningJob_ShouldInterruptAndFlag() {
+        assertTrue(jobRegistry.register(message(1000L)));
+
+        assertTrue(jobRegistry.cancel(1L, 2000L));
+
+        assertTrue(Thread.currentThread().isInterrupted());
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> jobRegistry.checkCancelled(1L));
+        assertEquals(ResultCode.COMPOSE_CANCELLED.getCode(), ex.getCode());
+
+        // Unregister clears the interrupt so the listener thread is reusable
+        jobRegistry.unregister(1L);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertFalse(jobRegistry.cancel(1L, 2000L));
+    }
+
+    @Test
+    @DisplayName("Cancel for job not on this node → ignored")
+    void cancelUnknownJob_ShouldReturnFalse() {
+        assertFalse(jobRegistry.cancel(42L, 2000L));
+    }
+
+    @Test
+    @DisplayName("Cancel arriving after the requeued message registered → requeued job keeps running")
+    void lateCancelAfterRequeue_ShouldNotAbortNewerJob() {
+        // Given: requeue publishes the cancel at 2000 and the new message at 2001
+        when(redisUtils.get("compose:cancel:1")).thenReturn(2000L);
+        assertTrue(jobRegistry.register(message(2001L)));
+
+        // When: the cancel broadcast is delivered late
+        boolean aborted = jobRegistry.cancel(1L, 2000L);
+
+        // Then
+        assertFalse(aborted);
+        assertFalse(jobRegistry.isCancelled(1L));
+        assertFalse(Thread.currentThread().isInterrupted());
+        jobRegistry.unregister(1L);
+    }
+
+    @Test
+    @DisplayName("Requeued message on the node still running the stale job → stale job aborted, late cancel spares the new one")
+    void requeueOnSameNode_ShouldSupersedeStaleJob() throws InterruptedException {
+        // Given: the stale job runs until interrupted
+        CountDownLatch staleRegistered = new CountDownLatch(1);
+        AtomicBoolean staleSawCancel = new AtomicBoolean();
+        Thread stale = new Thread(() -> {
+            jobRegistry.register(message(1000L));
+            staleRegistered.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                staleSawCancel.set(jobRegistry.isCancelled(1L));
+            } finally {
+                jobRegistry.unregister(1L);
+            }
+        });
+        stale.start();
+        assertTrue(staleRegistered.await(5, TimeUnit.SECONDS));
+
+        // When: the requeued message registers here, then the cancel arrives
+        assertTrue(jobRegistry.register(message(2001L)));
+        boolean aborted = jobRegistry.cancel(1L, 2000L);
+
+        // Then
+        stale.join(5_000);
+        assertTrue(staleSawCancel.get());
+        assertFalse(aborted);
+        assertFalse(jobRegistry.isCancelled(1L));
+        assertEquals(Set.of(1L), jobRegistry.activeTaskIds());
+        jobRegistry.unregister(1L);
+    }
+}
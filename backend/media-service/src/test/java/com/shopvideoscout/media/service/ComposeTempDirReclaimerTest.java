@@ -0,0 +1,91 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.config.CompositionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ComposeTempDirReclaimer (orphaned temp dirs on restart).
+ */
+class ComposeTempDirReclaimerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TempStorageManager storageFor(Path root) {
+        CompositionProperties props = new CompositionProperties();
+        props.setTempDir(root.toString());
+        return new TempStorageManager(props, mock(ComposeJobRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Leftover task directories are removed, temp root is kept")
+    void reclaim_ShouldDeleteOrphanedTaskDirs() throws Exception {
+        Path taskDir = Files.createDirectories(tempDir.resolve("42/nested"));
+        Files.write(taskDir.resolve("segment_0.mp4"), new byte[128]);
+        Files.write(tempDir.resolve("stray.tmp"), new byte[16]);
+        // Lease of an instance that stopped renewing it an hour ago
+        Path owner = tempDir.resolve("42").resolve(TempStorageManager.OWNER_FILE);
+        Files.writeString(owner, "media-1/dead-instance");
+        Files.setLastModifiedTime(owner, FileTime.fromMillis(System.currentTimeMillis() - 3_600_000));
+
+        new ComposeTempDirReclaimer(storageFor(tempDir)).reclaim();
+
+        assertTrue(Files.isDirectory(tempDir));
+        assertArrayEquals(new File[0], tempDir.toFile().listFiles());
+    }
+
+    @Test
+    @DisplayName("Directory leased by a live process is kept")
+    void reclaim_LiveOwner_ShouldKeepDir() {
+        TempStorageManager storage = storageFor(tempDir);
+        File liveDir = storage.jobDir(7L, TempStorageManager.KIND_INTERMEDIATE);
+
+        new ComposeTempDirReclaimer(storage).reclaim();
+
+        assertTrue(liveDir.exists());
+    }
+
+    @Test
+    @DisplayName("Directory leased by another live instance (same pid in its container) is kept")
+    void reclaim_OtherLiveInstance_ShouldKeepDir() throws Exception {
+        // Given: another instance wrote the lease and renewed it recently
+        Path otherDir = Files.createDirectories(tempDir.resolve("8"));
+        Files.writeString(otherDir.resolve(TempStorageManager.OWNER_FILE), "media-2/other-instance");
+        Files.write(otherDir.resolve("segment_0.mp4"), new byte[128]);
+
+        // When: this instance starts and reclaims
+        new ComposeTempDirReclaimer(storageFor(tempDir)).reclaim();
+
+        // Then
+        assertTrue(Files.exists(otherDir.resolve("segment_0.mp4")));
+    }
+
+    @Test
+    @DisplayName("Renewal keeps this instance's lease fresh")
+    void renewLeases_ShouldTouchOwnLease() throws Exception {
+        TempStorageManager storage = storageFor(tempDir);
+        Path owner = storage.jobDir(7L, TempStorageManager.KIND_INTERMEDIATE).toPath()
+                .resolve(TempStorageManager.OWNER_FILE);
+        Files.setLastModifiedTime(owner, FileTime.fromMillis(1000));
+
+        storage.renewLeases();
+
+        assertTrue(Files.getLastModifiedTime(owner).toMillis() > 1000);
+    }
+
+    @Test
+    @DisplayName("Missing temp dir → no-op")
+    void reclaim_MissingDir_ShouldDoNothing() {
+        assertDoesNotThrow(() -> new ComposeTempDirReclaimer(storageFor(tempDir.resolve("absent"))).reclaim());
+    }
+}
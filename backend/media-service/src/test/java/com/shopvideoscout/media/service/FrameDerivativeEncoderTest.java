@@ -0,0 +1,82 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FrameDerivativeEncoder (analysis-resolution frame copies).
+ */
+class FrameDerivativeEncoderTest {
+
+    private FrameExtractionProperties props;
+    private FrameDerivativeEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        props = new FrameExtractionProperties();
+        encoder = new FrameDerivativeEncoder(props);
+    }
+
+    @Test
+    @DisplayName("Portrait 1080x1920 frame → 252x448 JPEG, smaller than the frame")
+    void portraitFrame_ShouldScaleLongSide() throws IOException {
+        byte[] frame = jpeg(1080, 1920);
+
+        byte[] derivative = encoder.encode(frame);
+
+        assertNotNull(derivative);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(derivative));
+        assertEquals(252, decoded.getWidth());
+        assertEquals(448, decoded.getHeight());
+        assertTrue(derivative.length < frame.length);
+    }
+
+    @Test
+    @DisplayName("Frame already within the long side → no derivative")
+    void smallFrame_ShouldReturnNull() throws IOException {
+        assertNull(encoder.encode(jpeg(320, 240)));
+    }
+
+    @Test
+    @DisplayName("Disabled or unreadable input → no derivative")
+    void disabledOrUnreadable_ShouldReturnNull() throws IOException {
+        assertNull(encoder.encode(new byte[]{1, 2, 3}));
+
+        props.setAnalysisDerivativeEnabled(false);
+        assertNull(encoder.encode(jpeg(1920, 1080)));
+    }
+
+    @Test
+    @DisplayName("scale: halves in steps, then lands exactly on the target size")
+    void scale_ShouldReachTargetSize() {
+        BufferedImage scaled = FrameDerivativeEncoder.scale(new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB), 448);
+
+        assertEquals(448, scaled.getWidth());
+        assertEquals(252, scaled.getHeight());
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        for (int y = 0; y < height; y += 40) {
+            g.setColor(new Color((y * 7) % 256, (y * 3) % 256, 128));
+            g.fillRect(0, y, width, 20);
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
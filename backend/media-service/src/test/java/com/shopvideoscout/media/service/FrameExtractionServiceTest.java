@@ -0,0 +1,195 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.FrameExtractMessage;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.mapper.VideoFrameWriteMapper;
+import com.shopvideoscout.media.mapper.VideoReadMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FrameExtractionService (frame upload and batched video_frames inserts).
+ */
+@ExtendWith(MockitoExtension.class)
+class FrameExtractionServiceTest {
+
+    @Mock
+    private FrameExtractor frameExtractor;
+
+    @Mock
+    private FrameDerivativeEncoder derivativeEncoder;
+
+    @Mock
+    private VideoFrameWriteMapper videoFrameWriteMapper;
+
+    @Mock
+    private VideoReadMapper videoReadMapper;
+
+    @Mock
+    private UploadSink uploadSink;
+
+    @Mock
+    private OSS ossClient;
+
+    @Mock
+    private OssConfig ossConfig;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    private FrameExtractionProperties props;
+    private FrameExtractionService service;
+
+    private final FrameExtractMessage message = FrameExtractMessage.builder()
+            .taskId(1L).videoId(7L).ossKey("videos/100/1/uuid.mp4").build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        props = new FrameExtractionProperties();
+        props.setInsertBatchSize(2);
+        props.setInsertFlushIntervalMs(60_000);
+        service = new FrameExtractionService(frameExtractor, derivativeEncoder, videoFrameWriteMapper, videoReadMapper,
+                uploadSink, ossClient, ossConfig, props, redisUtils);
+
+        VideoReadMapper.VideoInfo video = mock(VideoReadMapper.VideoInfo.class);
+        lenient().when(videoReadMapper.findById(7L)).thenReturn(video);
+        lenient().when(ossConfig.getBucketName()).thenReturn("test-bucket");
+        lenient().when(ossConfig.getEndpoint()).thenReturn("oss-cn-hangzhou.aliyuncs.com");
+        lenient().when(ossClient.generatePresignedUrl(eq("test-bucket"), eq("videos/100/1/uuid.mp4"), any(Date.class)))
+                .thenReturn(URI.create("https://test-bucket.oss-cn-hangzhou.aliyuncs.com/videos/100/1/uuid.mp4?sig=x").toURL());
+    }
+
+    @Test
+    @DisplayName("Frames → uploaded under frames/{taskId}/, rows inserted per batch with timestamps")
+    @SuppressWarnings("unchecked")
+    void extract_ShouldUploadAndInsertInBatches() {
+        when(uploadSink.submit(isNull(), anyString(), any(byte[].class), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        emitFrames(3);
+
+        int extracted = service.extract(message);
+
+        assertEquals(3, extracted);
+        verify(uploadSink).submit(isNull(), eq("frames/1/7_0002.jpg"), any(byte[].class), eq(true));
+        ArgumentCaptor<List<VideoFrameWriteMapper.FrameRow>> batches = ArgumentCaptor.forClass(List.class);
+        verify(videoFrameWriteMapper, times(2)).insertBatch(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        VideoFrameWriteMapper.FrameRow last = batches.getAllValues().get(1).get(0);
+        assertEquals(7L, last.getVideoId());
+        assertEquals(3, last.getFrameNumber());
+        assertEquals(2000, last.getTimestampMs());
+        assertEquals("https://test-bucket.oss-cn-hangzhou.aliyuncs.com/frames/1/7_0003.jpg", last.getFrameUrl());
+
+        InOrder inOrder = inOrder(redisUtils, videoFrameWriteMapper, frameExtractor);
+        inOrder.verify(redisUtils).sAdd("frame:extract:task:1", 7L);
+        inOrder.verify(videoFrameWriteMapper).findFrameNumbersByVideoId(7L);
+        inOrder.verify(frameExtractor).extract(startsWith("https://test-bucket."), any());
+        inOrder.verify(redisUtils).sRemove("frame:extract:task:1", 7L);
+        verify(redisUtils, atLeastOnce()).expire("frame:extract:task:1", props.getMarkerTtlSeconds(), TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Derivative encoded → uploaded as *_a.jpg and stored as analysis_url")
+    @SuppressWarnings("unchecked")
+    void derivative_ShouldBeUploadedAndStored() {
+        when(uploadSink.submit(isNull(), anyString(), any(byte[].class), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        byte[] derivative = {42};
+        when(derivativeEncoder.encode(any(byte[].class))).thenReturn(derivative, (byte[]) null);
+        emitFrames(2);
+
+        service.extract(message);
+
+        verify(uploadSink).submit(isNull(), eq("frames/1/7_0001_a.jpg"), same(derivative), eq(true));
+        ArgumentCaptor<List<VideoFrameWriteMapper.FrameRow>> batches = ArgumentCaptor.forClass(List.class);
+        verify(videoFrameWriteMapper).insertBatch(batches.capture());
+        List<VideoFrameWriteMapper.FrameRow> rows = batches.getValue();
+        assertEquals("https://test-bucket.oss-cn-hangzhou.aliyuncs.com/frames/1/7_0001_a.jpg", rows.get(0).getAnalysisUrl());
+        assertNull(rows.get(1).getAnalysisUrl());
+        verify(uploadSink, times(3)).submit(isNull(), anyString(), any(byte[].class), eq(true));
+    }
+
+    @Test
+    @DisplayName("Upload failure → FRAME_EXTRACTION_FAILED, batch not inserted, marker kept for the retry")
+    void uploadFailure_ShouldFailWithoutInsert() {
+        when(uploadSink.submit(isNull(), anyString(), any(byte[].class), eq(true)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("OSS unavailable")));
+        emitFrames(2);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.extract(message));
+
+        assertEquals(ResultCode.FRAME_EXTRACTION_FAILED.getCode(), ex.getCode());
+        verify(videoFrameWriteMapper, never()).insertBatch(any());
+        verify(redisUtils, never()).sRemove(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Redelivery → frames already stored are kept, only missing ones uploaded and inserted")
+    @SuppressWarnings("unchecked")
+    void redelivery_ShouldSkipStoredFrames() {
+        when(videoFrameWriteMapper.findFrameNumbersByVideoId(7L)).thenReturn(List.of(1, 2));
+        when(uploadSink.submit(isNull(), anyString(), any(byte[].class), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        emitFrames(3);
+
+        assertEquals(3, service.extract(message));
+
+        verify(uploadSink, times(1)).submit(isNull(), anyString(), any(byte[].class), eq(true));
+        verify(uploadSink).submit(isNull(), eq("frames/1/7_0003.jpg"), any(byte[].class), eq(true));
+        ArgumentCaptor<List<VideoFrameWriteMapper.FrameRow>> batch = ArgumentCaptor.forClass(List.class);
+        verify(videoFrameWriteMapper).insertBatch(batch.capture());
+        assertEquals(List.of(3), batch.getValue().stream().map(VideoFrameWriteMapper.FrameRow::getFrameNumber).toList());
+        verify(redisUtils).sRemove("frame:extract:task:1", 7L);
+    }
+
+    @Test
+    @DisplayName("abandon → extraction marker cleared")
+    void abandon_ShouldClearMarker() {
+        service.abandon(message);
+
+        verify(redisUtils).sRemove("frame:extract:task:1", 7L);
+    }
+
+    @Test
+    @DisplayName("Video deleted before extraction → skipped")
+    void deletedVideo_ShouldSkip() {
+        when(videoReadMapper.findById(7L)).thenReturn(null);
+
+        assertEquals(0, service.extract(message));
+
+        verifyNoInteractions(frameExtractor, videoFrameWriteMapper, redisUtils);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emitFrames(int count) {
+        when(frameExtractor.extract(anyString(), any())).thenAnswer(invocation -> {
+            Consumer<FrameExtractor.ExtractedFrame> sink = invocation.getArgument(1);
+            for (int i = 1; i <= count; i++) {
+                sink.accept(new FrameExtractor.ExtractedFrame(i, (i - 1) * 1000, new byte[]{(byte) i}));
+            }
+            return count;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.config.CompositionProperties;
+import com.shopvideoscout.media.config.FrameExtractionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FrameExtractor (FFmpeg command and log parsing).
+ */
+class FrameExtractorTest {
+
+    private FrameExtractionProperties props;
+    private FrameExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        CompositionProperties compositionProperties = new CompositionProperties();
+        compositionProperties.setFfmpegPath("/usr/bin/ffmpeg");
+        props = new FrameExtractionProperties();
+        extractor = new FrameExtractor(compositionProperties, props, new FfmpegProcessBudget(compositionProperties));
+    }
+
+    @Test
+    @DisplayName("Select expression: first frame, max-interval fallback, scene change past min interval")
+    void selectExpression_ShouldCombineSceneAndIntervals() {
+        props.setSceneThreshold(0.25);
+        props.setMinIntervalSeconds(1.5);
+        props.setMaxIntervalSeconds(5);
+
+        assertEquals("isnan(prev_selected_t)+gte(t-prev_selected_t,5.000)+gt(scene,0.250)*gte(t-prev_selected_t,1.500)",
+                extractor.selectExpression());
+    }
+
+    @Test
+    @DisplayName("Remote source → network timeout, vfr JPEG stream to stdout capped at max frames")
+    void buildCommand_ShouldStreamJpegsToStdout() {
+        props.setMaxFramesPerVideo(50);
+
+        List<String> command = extractor.buildCommand("https://bucket.oss/videos/1.mp4?sig=x");
+
+        assertEquals("/usr/bin/ffmpeg", command.get(0));
+        assertTrue(command.indexOf("-rw_timeout") < command.indexOf("-i"));
+        assertEquals("https://bucket.oss/videos/1.mp4?sig=x", command.get(command.indexOf("-i") + 1));
+        String filter = command.get(command.indexOf("-vf") + 1);
+        assertTrue(filter.startsWith("select='isnan(prev_selected_t)"));
+        assertTrue(filter.endsWith("',showinfo"));
+        assertEquals("50", command.get(command.indexOf("-frames:v") + 1));
+        assertEquals("vfr", command.get(command.indexOf("-fps_mode") + 1));
+        assertEquals(List.of("-f", "image2pipe", "pipe:1"), command.subList(command.size() - 3, command.size()));
+    }
+
+    @Test
+    @DisplayName("Local source → no network options")
+    void buildCommand_LocalFile_ShouldSkipNetworkTimeout() {
+        assertFalse(extractor.buildCommand("/tmp/source.mp4").contains("-rw_timeout"));
+    }
+
+    @Test
+    @DisplayName("showinfo frame line → timestamp in ms; other log lines → null")
+    void parseTimestampMs_ShouldReadShowinfoLines() {
+        assertEquals(12345, FrameExtractor.parseTimestampMs(
+                "[Parsed_showinfo_1 @ 0x5581c2a0] n:   3 pts: 158016 pts_time:12.345  duration:512 duration_time:0.04"));
+        assertEquals(0, FrameExtractor.parseTimestampMs(
+                "[Parsed_showinfo_1 @ 0x5581c2a0] n:   0 pts:      0 pts_time:0       duration:512"));
+        assertNull(FrameExtractor.parseTimestampMs(
+                "[Parsed_showinfo_1 @ 0x5581c2a0]  color_range:pc color_space:bt470bg"));
+        assertNull(FrameExtractor.parseTimestampMs("  Stream #0:0(und): Video: h264 (High), yuv420p, 1080x1920"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.shopvideoscout.media.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MjpegStreamReader (splitting FFmpeg image2pipe output).
+ */
+class MjpegStreamReaderTest {
+
+    @Test
+    @DisplayName("Concatenated encoder output → original images, then end of stream")
+    void concatenatedImages_ShouldSplitExactly() throws IOException {
+        byte[] first = encode(0x336699);
+        byte[] second = encode(0xCC8844);
+
+        MjpegStreamReader reader = new MjpegStreamReader(new ByteArrayInputStream(concat(first, second)));
+
+        assertArrayEquals(first, reader.next());
+        assertArrayEquals(second, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("EOI bytes inside a segment and stuffed/restart bytes in scan data → not treated as image end")
+    void markerLookalikes_ShouldNotSplit() throws IOException {
+        byte[] image = {
+                (byte) 0xFF, (byte) 0xD8,
+                // APP1 segment whose payload contains FF D9
+                (byte) 0xFF, (byte) 0xE1, 0x00, 0x06, 0x01, (byte) 0xFF, (byte) 0xD9, 0x02,
+                // SOS header, then scan data with a stuffed FF 00 and a restart marker
+                (byte) 0xFF, (byte) 0xDA, 0x00, 0x03, 0x01,
+                0x12, (byte) 0xFF, 0x00, 0x34, (byte) 0xFF, (byte) 0xD0, 0x56,
+                (byte) 0xFF, (byte) 0xD9
+        };
+
+        MjpegStreamReader reader = new MjpegStreamReader(new ByteArrayInputStream(concat(image, image)));
+
+        assertArrayEquals(image, reader.next());
+        assertArrayEquals(image, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Stream cut inside an image → EOFException")
+    void truncatedImage_ShouldFail() throws IOException {
+        byte[] image = encode(0x808080);
+        byte[] truncated = Arrays.copyOf(image, image.length / 2);
+
+        MjpegStreamReader reader = new MjpegStreamReader(new ByteArrayInputStream(truncated));
+
+        assertThrows(EOFException.class, reader::next);
+    }
+
+    @Test
+    @DisplayName("Non-JPEG data → IOException")
+    void notJpeg_ShouldFail() {
+        MjpegStreamReader reader = new MjpegStreamReader(new ByteArrayInputStream("frame=1 fps=0".getBytes()));
+
+        assertThrows(IOException.class, reader::next);
+    }
+
+    private static byte[] encode(int rgb) throws IOException {
+        BufferedImage image = new BufferedImage(32, 24, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 24; y++) {
+            for (int x = 0; x < 32; x++) {
+                image.setRGB(x, y, rgb ^ (x * 7 + y * 3));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -1,8 +1,5 @@
 package com.shopvideoscout.media.service;
 
-import com.aliyun.oss.OSS;
-import com.shopvideoscout.media.config.CompositionProperties;
-import com.shopvideoscout.media.config.OssConfig;
 import com.shopvideoscout.media.config.SubtitleStyleConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,13 +26,10 @@ import static org.mockito.Mockito.*;
 class SubtitleGenerationServiceTest {
 
     @Mock
-    private CompositionProperties compositionProperties;
+    private TempStorageManager tempStorageManager;
 
     @Mock
-    private OSS ossClient;
-
-    @Mock
-    private OssConfig ossConfig;
+    private UploadSink uploadSink;
 
     @InjectMocks
     private SubtitleGenerationService subtitleService;
@@ -45,7 +39,7 @@ class SubtitleGenerationServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(compositionProperties.getTempDir()).thenReturn(tempDir.toString());
+        when(tempStorageManager.jobDir(anyLong(), anyString())).thenReturn(tempDir.toFile());
     }
 
     @Nested
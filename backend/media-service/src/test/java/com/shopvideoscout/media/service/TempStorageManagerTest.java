@@ -0,0 +1,131 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.media.config.CompositionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TempStorageManager (disk-space-aware temp storage).
+ */
+@ExtendWith(MockitoExtension.class)
+class TempStorageManagerTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @Mock
+    private ComposeJobRegistry jobRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    private CompositionProperties props;
+    private TempStorageManager storage;
+
+    @BeforeEach
+    void setUp() {
+        props = new CompositionProperties();
+        props.setTempDir(tempDir.toString());
+        // Pin headroom to ~10GB regardless of the real disk size
+        props.setTempMinFreeBytes(tempDir.toFile().getUsableSpace() - 10 * GB);
+        props.setTempSpaceWaitTimeoutMs(10_000);
+        storage = new TempStorageManager(props, jobRegistry);
+    }
+
+    @Test
+    @DisplayName("jobDir creates a leased directory; release deletes it")
+    void jobDir_ThenRelease_ShouldCreateAndDelete() throws Exception {
+        File dir = storage.jobDir(1L, TempStorageManager.KIND_SOURCE);
+        Files.write(dir.toPath().resolve("source_0.mp4"), new byte[256]);
+
+        assertTrue(new File(dir, TempStorageManager.OWNER_FILE).exists());
+        assertTrue(storage.usage(1L) >= 256);
+
+        storage.release(1L);
+
+        assertFalse(dir.exists());
+        assertEquals(0, storage.usage(1L));
+    }
+
+    @Test
+    @DisplayName("Second job waits while space is reserved, then is admitted on release")
+    void tightDisk_ShouldWaitUntilReleased() throws Exception {
+        storage.reserve(1L, Map.of(TempStorageManager.KIND_SOURCE, 8 * GB), () -> fail("should not wait"));
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                storage.reserve(2L, Map.of(TempStorageManager.KIND_SOURCE, 8 * GB), waiting::countDown));
+
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        assertFalse(second.isDone());
+
+        storage.release(1L);
+
+        second.get(5, TimeUnit.SECONDS);
+        storage.release(2L);
+    }
+
+    @Test
+    @DisplayName("Job larger than an idle volume is admitted instead of waiting forever")
+    void oversizeOnIdleVolume_ShouldBeAdmitted() {
+        assertDoesNotThrow(() ->
+                storage.reserve(1L, Map.of(TempStorageManager.KIND_SOURCE, 100 * GB), () -> fail("should not wait")));
+        storage.release(1L);
+    }
+
+    @Test
+    @DisplayName("Kinds are placed on the volumes that serve them")
+    void multipleVolumes_ShouldRouteByKind() {
+        CompositionProperties.TempVolume small = new CompositionProperties.TempVolume();
+        small.setPath(tempDir.resolve("shm").toString());
+        small.setKinds(List.of(TempStorageManager.KIND_INTERMEDIATE));
+        CompositionProperties.TempVolume large = new CompositionProperties.TempVolume();
+        large.setPath(tempDir.resolve("nvme").toString());
+        large.setKinds(List.of(TempStorageManager.KIND_SOURCE));
+        props.setTempVolumes(List.of(small, large));
+
+        storage.reserve(1L, Map.of(
+                TempStorageManager.KIND_SOURCE, GB,
+                TempStorageManager.KIND_INTERMEDIATE, GB), () -> { });
+
+        assertEquals(tempDir.resolve("nvme/1").toFile(), storage.jobDir(1L, TempStorageManager.KIND_SOURCE));
+        assertEquals(tempDir.resolve("shm/1").toFile(), storage.jobDir(1L, TempStorageManager.KIND_INTERMEDIATE));
+
+        storage.release(1L);
+        assertFalse(tempDir.resolve("nvme/1").toFile().exists());
+        assertFalse(tempDir.resolve("shm/1").toFile().exists());
+    }
+
+    @Test
+    @DisplayName("Cancel while waiting → COMPOSE_CANCELLED")
+    void cancelWhileWaiting_ShouldThrowCancelled() {
+        storage.reserve(1L, Map.of(TempStorageManager.KIND_SOURCE, 8 * GB), () -> { });
+        doThrow(new BusinessException(ResultCode.COMPOSE_CANCELLED)).when(jobRegistry).checkCancelled(2L);
+
+        Thread.currentThread().interrupt();
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                storage.reserve(2L, Map.of(TempStorageManager.KIND_SOURCE, 8 * GB), () -> { }));
+
+        assertEquals(ResultCode.COMPOSE_CANCELLED.getCode(), ex.getCode());
+        Thread.interrupted();
+        storage.release(1L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TtsAudioCache (content-addressed TTS audio cache).
+ */
+@ExtendWith(MockitoExtension.class)
+class TtsAudioCacheTest {
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private OSS ossClient;
+
+    @Mock
+    private OssConfig ossConfig;
+
+    @Mock
+    private UploadSink uploadSink;
+
+    private TtsAudioCache cache;
+
+    @BeforeEach
+    void setUp() {
+        VolcanoTtsProperties ttsProperties = new VolcanoTtsProperties();
+        cache = new TtsAudioCache(redisUtils, ossClient, ossConfig, ttsProperties, uploadSink);
+    }
+
+    @Test
+    @DisplayName("Key ignores whitespace-only edits but separates voices")
+    void key_ShouldNormalizeTextAndIncludeVoice() {
+        assertEquals(cache.key("xiaomei", "家人们 今天探店"), cache.key("xiaomei", "  家人们\n今天探店 "));
+        assertNotEquals(cache.key("xiaomei", "家人们"), cache.key("xiaoming", "家人们"));
+    }
+
+    @Test
+    @DisplayName("Hit → audio copied server-side in OSS, cached duration returned, entry touched")
+    void hit_ShouldCopyAudioAndReturnDuration() {
+        when(redisUtils.hGetAll("tts:cache:abc")).thenReturn(Map.of(
+                "oss_key", "tts-cache/abc.mp3", "duration_seconds", "7.5"));
+        when(ossConfig.getBucketName()).thenReturn("test-bucket");
+
+        OptionalDouble duration = cache.copyTo("abc", "audio/1/tts_0.mp3");
+
+        assertEquals(OptionalDouble.of(7.5), duration);
+        verify(ossClient).copyObject("test-bucket", "tts-cache/abc.mp3", "test-bucket", "audio/1/tts_0.mp3");
+        verify(ossClient, never()).getObject(anyString(), anyString());
+        verify(redisUtils).expire("tts:cache:abc", 30, TimeUnit.DAYS);
+        verify(redisUtils).zAdd(eq("tts:cache:index"), eq("abc"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Cached audio already swept → miss, and the dangling entry is evicted")
+    void sweptAudio_ShouldEvictEntry() {
+        when(redisUtils.hGetAll("tts:cache:abc")).thenReturn(Map.of(
+                "oss_key", "tts-cache/abc.mp3", "duration_seconds", "7.5"));
+        when(ossConfig.getBucketName()).thenReturn("test-bucket");
+        when(ossClient.copyObject(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new OSSException("gone", OSSErrorCode.NO_SUCH_KEY, null, null, null, null, null));
+
+        assertTrue(cache.copyTo("abc", "audio/1/tts_0.mp3").isEmpty());
+        verify(redisUtils).delete("tts:cache:abc");
+        verify(redisUtils).zRemove("tts:cache:index", "abc");
+    }
+
+    @Test
+    @DisplayName("Redis error → treated as miss")
+    void redisError_ShouldBeMiss() {
+        when(redisUtils.hGetAll("tts:cache:abc")).thenThrow(new RuntimeException("Redis down"));
+
+        assertTrue(cache.copyTo("abc", "audio/1/tts_0.mp3").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Put → metadata recorded only after the audio upload completes")
+    void put_ShouldRecordMetadataAfterUpload() {
+        CompletableFuture<Void> upload = new CompletableFuture<>();
+        when(uploadSink.submit(eq(1L), eq("tts-cache/abc.mp3"), any(byte[].class), eq(false))).thenReturn(upload);
+
+        cache.put(1L, "abc", "audio".getBytes(), 7.5);
+        verifyNoInteractions(redisUtils);
+
+        upload.complete(null);
+        verify(redisUtils).hSetAll("tts:cache:abc", Map.of(
+                "oss_key", "tts-cache/abc.mp3", "duration_seconds", "7.5"));
+    }
+
+    @Test
+    @DisplayName("Sweep → audio of entries unused for the TTL deleted, entries hit meanwhile kept")
+    void sweep_ShouldDeleteOnlyExpiredAudio() {
+        when(ossConfig.getBucketName()).thenReturn("test-bucket");
+        when(redisUtils.zRangeByScore(eq("tts:cache:index"), eq(0.0), anyDouble()))
+                .thenReturn(Set.of("old", "touched", "raced"));
+        when(redisUtils.zRemove("tts:cache:index", "old")).thenReturn(1L);
+        when(redisUtils.zRemove("tts:cache:index", "touched")).thenReturn(1L);
+        when(redisUtils.zRemove("tts:cache:index", "raced")).thenReturn(0L);
+        when(redisUtils.hasKey("tts:cache:old")).thenReturn(false);
+        when(redisUtils.hasKey("tts:cache:touched")).thenReturn(true);
+
+        cache.sweepExpired();
+
+        verify(ossClient).deleteObject("test-bucket", "tts-cache/old.mp3");
+        verify(ossClient, never()).deleteObject("test-bucket", "tts-cache/touched.mp3");
+        verify(ossClient, never()).deleteObject("test-bucket", "tts-cache/raced.mp3");
+        verify(redisUtils).zAdd(eq("tts:cache:index"), eq("touched"), anyDouble());
+    }
+}
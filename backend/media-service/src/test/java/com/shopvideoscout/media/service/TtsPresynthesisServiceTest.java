@@ -0,0 +1,116 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.media.client.VolcanoTtsClient;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TtsPresynthesisService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TtsPresynthesisServiceTest {
+
+    @Mock
+    private VolcanoTtsClient volcanoTtsClient;
+
+    @Mock
+    private TtsAudioCache ttsAudioCache;
+
+    @Mock
+    private TtsSynthesisService ttsSynthesisService;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    private VolcanoTtsProperties ttsProperties;
+    private TtsPresynthesisService presynthesisService;
+
+    private final ComposeMessage.VoiceConfig voiceConfig = ComposeMessage.VoiceConfig.builder()
+            .type("standard").voiceId("xiaomei").build();
+
+    @BeforeEach
+    void setUp() {
+        ttsProperties = new VolcanoTtsProperties();
+        presynthesisService = new TtsPresynthesisService(
+                volcanoTtsClient, ttsAudioCache, ttsSynthesisService, redisUtils, ttsProperties);
+        when(ttsSynthesisService.resolveVoiceId(voiceConfig)).thenReturn("xiaomei");
+        lenient().when(ttsAudioCache.key(eq("xiaomei"), anyString())).thenAnswer(inv -> "key-" + inv.getArgument(1));
+    }
+
+    private TtsPresynthMessage message(long requestedAt, String... texts) {
+        List<ComposeMessage.Paragraph> paragraphs = new java.util.ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            paragraphs.add(ComposeMessage.Paragraph.builder().index(i).text(texts[i]).build());
+        }
+        return TtsPresynthMessage.builder()
+                .taskId(1L)
+                .paragraphs(paragraphs)
+                .voiceConfig(voiceConfig)
+                .requestedAt(requestedAt)
+                .build();
+    }
+
+    private static VolcanoTtsClient.TtsResult result(double duration) {
+        return VolcanoTtsClient.TtsResult.builder().audioData("audio".getBytes()).durationSeconds(duration).build();
+    }
+
+    @Test
+    @DisplayName("Current request → uncached paragraphs synthesized into the cache, cached ones skipped")
+    void currentRequest_ShouldFillCache() {
+        // Given
+        when(redisUtils.get("tts:presynth:1")).thenReturn(1000L);
+        when(ttsAudioCache.contains("key-第一段")).thenReturn(true);
+        when(volcanoTtsClient.synthesize("第二段", "xiaomei")).thenReturn(List.of(result(2.0), result(1.5)));
+
+        // When
+        int synthesized = presynthesisService.presynthesize(message(1000L, "第一段", "第二段"));
+
+        // Then
+        assertEquals(1, synthesized);
+        verify(volcanoTtsClient, never()).synthesize(eq("第一段"), anyString());
+        verify(ttsAudioCache).put(isNull(), eq("key-第二段"), any(byte[].class), eq(3.5));
+    }
+
+    @Test
+    @DisplayName("Superseded by a newer request or compose → stops before synthesizing")
+    void supersededRequest_ShouldStop() {
+        // Given - a newer script/voice change wrote a later marker
+        when(redisUtils.get("tts:presynth:1")).thenReturn(2000L);
+
+        // When
+        int synthesized = presynthesisService.presynthesize(message(1000L, "第一段", "第二段"));
+
+        // Then
+        assertEquals(0, synthesized);
+        verifyNoInteractions(volcanoTtsClient);
+    }
+
+    @Test
+    @DisplayName("Marker cleared mid-run → remaining paragraphs skipped")
+    void markerClearedMidRun_ShouldStopRemaining() {
+        // Given - compose started after the first paragraph
+        when(redisUtils.get("tts:presynth:1")).thenReturn(1000L, (Object) null);
+        when(volcanoTtsClient.synthesize("第一段", "xiaomei")).thenReturn(List.of(result(2.0)));
+
+        // When
+        int synthesized = presynthesisService.presynthesize(message(1000L, "第一段", "第二段"));
+
+        // Then
+        assertEquals(1, synthesized);
+        verify(volcanoTtsClient, never()).synthesize(eq("第二段"), anyString());
+    }
+}
@@ -3,7 +3,7 @@ package com.shopvideoscout.media.service;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.mq.ComposeMessage;
 import com.shopvideoscout.common.result.ResultCode;
-import com.shopvideoscout.media.mapper.VoiceSampleReadMapper;
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper.VoiceSampleInfo;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -25,7 +25,10 @@ class TtsSynthesisServiceCloneTest {
     private com.shopvideoscout.media.client.VolcanoTtsClient volcanoTtsClient;
 
     @Mock
-    private com.aliyun.oss.OSS ossClient;
+    private ArtifactStore artifactStore;
+
+    @Mock
+    private TtsAudioCache ttsAudioCache;
 
     @Mock
     private com.shopvideoscout.media.config.OssConfig ossConfig;
@@ -34,13 +37,25 @@ class TtsSynthesisServiceCloneTest {
     private ComposeProgressTracker progressTracker;
 
     @Mock
-    private VoiceSampleReadMapper voiceSampleReadMapper;
+    private VoiceSampleCache voiceSampleCache;
+
+    @Mock
+    private ComposeDurationModel durationModel;
 
     @InjectMocks
     private TtsSynthesisService ttsSynthesisService;
 
     private static final Long USER_ID = 100L;
 
+    private static VoiceSampleInfo sample(Long userId, String status, String cloneVoiceId) {
+        VoiceSampleInfo info = new VoiceSampleInfo();
+        info.setId(1L);
+        info.setUserId(userId);
+        info.setStatus(status);
+        info.setCloneVoiceId(cloneVoiceId);
+        return info;
+    }
+
     @Nested
     @DisplayName("Voice ID Resolution")
     class ResolveVoiceIdTests {
@@ -54,9 +69,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(1L)).thenReturn("completed");
-            when(voiceSampleReadMapper.getUserId(1L)).thenReturn(USER_ID);
-            when(voiceSampleReadMapper.getCloneVoiceId(1L)).thenReturn("clone_abc123");
+            when(voiceSampleCache.get(1L)).thenReturn(sample(USER_ID, "completed", "clone_abc123"));
 
             String voiceId = ttsSynthesisService.resolveVoiceId(config);
 
@@ -72,8 +85,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(1L)).thenReturn("processing");
-            when(voiceSampleReadMapper.getUserId(1L)).thenReturn(USER_ID);
+            when(voiceSampleCache.get(1L)).thenReturn(sample(USER_ID, "processing", null));
 
             BusinessException ex = assertThrows(BusinessException.class,
                     () -> ttsSynthesisService.resolveVoiceId(config));
@@ -89,7 +101,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(999L)).thenReturn(null);
+            when(voiceSampleCache.get(999L)).thenReturn(null);
 
             BusinessException ex = assertThrows(BusinessException.class,
                     () -> ttsSynthesisService.resolveVoiceId(config));
@@ -118,8 +130,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(1L)).thenReturn("failed");
-            when(voiceSampleReadMapper.getUserId(1L)).thenReturn(USER_ID);
+            when(voiceSampleCache.get(1L)).thenReturn(sample(USER_ID, "failed", null));
 
             BusinessException ex = assertThrows(BusinessException.class,
                     () -> ttsSynthesisService.resolveVoiceId(config));
@@ -135,9 +146,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(1L)).thenReturn("completed");
-            when(voiceSampleReadMapper.getUserId(1L)).thenReturn(USER_ID);
-            when(voiceSampleReadMapper.getCloneVoiceId(1L)).thenReturn(null);
+            when(voiceSampleCache.get(1L)).thenReturn(sample(USER_ID, "completed", null));
 
             BusinessException ex = assertThrows(BusinessException.class,
                     () -> ttsSynthesisService.resolveVoiceId(config));
@@ -153,8 +162,7 @@ class TtsSynthesisServiceCloneTest {
                     .userId(USER_ID)
                     .build();
 
-            when(voiceSampleReadMapper.getStatus(1L)).thenReturn("completed");
-            when(voiceSampleReadMapper.getUserId(1L)).thenReturn(200L); // different user
+            when(voiceSampleCache.get(1L)).thenReturn(sample(200L, "completed", "clone_abc123")); // different user
 
             BusinessException ex = assertThrows(BusinessException.class,
                     () -> ttsSynthesisService.resolveVoiceId(config));
@@ -1,6 +1,5 @@
 package com.shopvideoscout.media.service;
 
-import com.aliyun.oss.OSS;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.mq.ComposeMessage;
 import com.shopvideoscout.media.client.VolcanoTtsClient;
@@ -14,8 +13,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.io.InputStream;
 import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,7 +32,10 @@ class TtsSynthesisServiceTest {
     private VolcanoTtsClient volcanoTtsClient;
 
     @Mock
-    private OSS ossClient;
+    private ArtifactStore artifactStore;
+
+    @Mock
+    private TtsAudioCache ttsAudioCache;
 
     @Mock
     private OssConfig ossConfig;
@@ -39,6 +43,12 @@ class TtsSynthesisServiceTest {
     @Mock
     private ComposeProgressTracker progressTracker;
 
+    @Mock
+    private ComposeJobRegistry jobRegistry;
+
+    @Mock
+    private ComposeDurationModel durationModel;
+
     @InjectMocks
     private TtsSynthesisService ttsSynthesisService;
 
@@ -88,11 +98,11 @@ class TtsSynthesisServiceTest {
             assertEquals(3, result.getParagraphResults().size());
             assertEquals(24.0, result.getTotalDurationSeconds()); // 3 × 8.0
             verify(volcanoTtsClient, times(3)).synthesize(anyString(), eq("xiaomei"));
-            verify(ossClient, times(3)).putObject(eq("test-bucket"), anyString(), any(InputStream.class));
+            verify(artifactStore, times(3)).put(eq(1L), anyString(), any(byte[].class));
         }
 
         @Test
-        @DisplayName("4.1-UNIT-005: Audio upload to OSS path audio/{task_id}/tts_{idx}.mp3")
+        @DisplayName("4.1-UNIT-005: Audio stored under OSS path audio/{task_id}/tts_{idx}.mp3")
         void audioUpload_ShouldUseCorrectOssPath() {
             // Given
             VolcanoTtsClient.TtsResult ttsResult = VolcanoTtsClient.TtsResult.builder()
@@ -109,9 +119,9 @@ class TtsSynthesisServiceTest {
             ttsSynthesisService.synthesize(mockMessage);
 
             // Then
-            verify(ossClient).putObject(eq("test-bucket"), eq("audio/1/tts_0.mp3"), any(InputStream.class));
-            verify(ossClient).putObject(eq("test-bucket"), eq("audio/1/tts_1.mp3"), any(InputStream.class));
-            verify(ossClient).putObject(eq("test-bucket"), eq("audio/1/tts_2.mp3"), any(InputStream.class));
+            verify(artifactStore).put(eq(1L), eq("audio/1/tts_0.mp3"), any(byte[].class));
+            verify(artifactStore).put(eq(1L), eq("audio/1/tts_1.mp3"), any(byte[].class));
+            verify(artifactStore).put(eq(1L), eq("audio/1/tts_2.mp3"), any(byte[].class));
         }
 
         @Test
@@ -127,17 +137,96 @@ class TtsSynthesisServiceTest {
                     .thenReturn(List.of(ttsResult));
             when(ossConfig.getBucketName()).thenReturn("test-bucket");
             when(ossConfig.getEndpoint()).thenReturn("oss.example.com");
+            when(durationModel.estimateRemainingSeconds(eq(ComposeProgressTracker.PHASE_TTS_SYNTHESIS),
+                    anyDouble(), anyDouble())).thenReturn(42L);
 
             // When
             ttsSynthesisService.synthesize(mockMessage);
 
-            // Then
+            // Then - ETA comes from the duration model, not from the audio length
             verify(progressTracker).initProgress(1L, 3);
-            verify(progressTracker).updateParagraphComplete(eq(1L), eq(1), eq(3), anyDouble());
-            verify(progressTracker).updateParagraphComplete(eq(1L), eq(2), eq(3), anyDouble());
-            verify(progressTracker).updateParagraphComplete(eq(1L), eq(3), eq(3), anyDouble());
+            verify(progressTracker).updateEstimate(1L, 42L);
+            verify(progressTracker).updateParagraphComplete(eq(1L), eq(1), eq(3), eq(42L));
+            verify(progressTracker).updateParagraphComplete(eq(1L), eq(2), eq(3), eq(42L));
+            verify(progressTracker).updateParagraphComplete(eq(1L), eq(3), eq(3), eq(42L));
+            verify(durationModel, times(3)).recordSpeech(eq("xiaomei"), anyString(), eq(10.0));
+            verify(durationModel).recordPhase(eq(ComposeProgressTracker.PHASE_TTS_SYNTHESIS), anyLong(), eq(30.0));
             verify(progressTracker).markComplete(1L);
         }
+
+        @Test
+        @DisplayName("Paragraphs run concurrently; results keep paragraph order")
+        void concurrentSynthesis_ShouldKeepParagraphOrder() {
+            // Given - the first paragraph finishes last; all three must be in flight together
+            CountDownLatch allStarted = new CountDownLatch(3);
+            when(volcanoTtsClient.synthesize(anyString(), eq("xiaomei"))).thenAnswer(inv -> {
+                allStarted.countDown();
+                assertTrue(allStarted.await(5, TimeUnit.SECONDS), "paragraphs were not synthesized concurrently");
+                if ("段落一".equals(inv.getArgument(0))) {
+                    Thread.sleep(100);
+                }
+                return List.of(VolcanoTtsClient.TtsResult.builder()
+                        .audioData("audio".getBytes())
+                        .durationSeconds(5.0)
+                        .build());
+            });
+            when(ossConfig.getBucketName()).thenReturn("test-bucket");
+            when(ossConfig.getEndpoint()).thenReturn("oss.example.com");
+
+            // When
+            TtsSynthesisService.SynthesisResult result =
+                    ttsSynthesisService.synthesize(mockMessage);
+
+            // Then
+            assertEquals(List.of(0, 1, 2), result.getParagraphResults().stream()
+                    .map(TtsSynthesisService.ParagraphResult::getParagraphIndex)
+                    .toList());
+            verify(progressTracker).updateParagraphComplete(eq(1L), eq(3), eq(3), anyLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("TTS Audio Cache")
+    class AudioCacheTests {
+
+        @Test
+        @DisplayName("Cache hit → provider not called, cached audio copied in OSS with its duration")
+        void cacheHit_ShouldSkipProvider() {
+            // Given
+            when(ttsAudioCache.key(eq("xiaomei"), anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(1));
+            when(ttsAudioCache.copyTo(anyString(), anyString())).thenReturn(OptionalDouble.of(6.0));
+            when(ossConfig.getBucketName()).thenReturn("test-bucket");
+            when(ossConfig.getEndpoint()).thenReturn("oss.example.com");
+
+            // When
+            TtsSynthesisService.SynthesisResult result =
+                    ttsSynthesisService.synthesize(mockMessage);
+
+            // Then
+            assertEquals(18.0, result.getTotalDurationSeconds());
+            verifyNoInteractions(volcanoTtsClient);
+            verify(ttsAudioCache).copyTo("hash-段落一", "audio/1/tts_0.mp3");
+            verifyNoInteractions(artifactStore);
+            verify(ttsAudioCache, never()).put(anyLong(), anyString(), any(), anyDouble());
+        }
+
+        @Test
+        @DisplayName("Cache miss → synthesized audio stored under the request key")
+        void cacheMiss_ShouldStoreResult() {
+            // Given
+            when(ttsAudioCache.key(eq("xiaomei"), anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(1));
+            when(volcanoTtsClient.synthesize(anyString(), eq("xiaomei"))).thenReturn(List.of(
+                    VolcanoTtsClient.TtsResult.builder().audioData("audio".getBytes()).durationSeconds(5.0).build()));
+            when(ossConfig.getBucketName()).thenReturn("test-bucket");
+            when(ossConfig.getEndpoint()).thenReturn("oss.example.com");
+
+            // When
+            ttsSynthesisService.synthesize(mockMessage);
+
+            // Then
+            verify(ttsAudioCache).put(1L, "hash-段落一", "audio".getBytes(), 5.0);
+            verify(ttsAudioCache, times(3)).put(eq(1L), anyString(), any(), eq(5.0));
+        }
     }
 
     @Nested
@@ -173,8 +262,8 @@ class TtsSynthesisServiceTest {
         }
 
         @Test
-        @DisplayName("4.1-BLIND-ERROR-002: OSS upload fails → mark failed")
-        void ossUploadFails_ShouldMarkFailed() {
+        @DisplayName("4.1-BLIND-ERROR-002: Audio artifact store fails → mark failed")
+        void artifactStoreFails_ShouldMarkFailed() {
             // Given
             VolcanoTtsClient.TtsResult ttsResult = VolcanoTtsClient.TtsResult.builder()
                     .audioData("audio".getBytes())
@@ -183,9 +272,8 @@ class TtsSynthesisServiceTest {
 
             when(volcanoTtsClient.synthesize(anyString(), eq("xiaomei")))
                     .thenReturn(List.of(ttsResult));
-            when(ossConfig.getBucketName()).thenReturn("test-bucket");
-            when(ossClient.putObject(eq("test-bucket"), anyString(), any(InputStream.class)))
-                    .thenThrow(new RuntimeException("OSS unavailable"));
+            when(artifactStore.put(eq(1L), anyString(), any(byte[].class)))
+                    .thenThrow(new RuntimeException("Disk unavailable"));
 
             // When/Then
             assertThrows(BusinessException.class,
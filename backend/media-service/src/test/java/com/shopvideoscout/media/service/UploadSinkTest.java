@@ -0,0 +1,123 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.media.config.CompositionProperties;
+import com.shopvideoscout.media.config.OssConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UploadSink (bounded background OSS uploads).
+ */
+@ExtendWith(MockitoExtension.class)
+class UploadSinkTest {
+
+    @Mock
+    private OSS ossClient;
+
+    @Mock
+    private OssConfig ossConfig;
+
+    @TempDir
+    Path tempDir;
+
+    private CompositionProperties props;
+    private UploadSink uploadSink;
+
+    @BeforeEach
+    void setUp() {
+        props = new CompositionProperties();
+        props.setOssUploadMaxRetries(1);
+        props.setOssUploadRetryIntervalMs(10);
+        props.setUploadSinkConcurrency(2);
+        props.setUploadSinkQueueCapacity(8);
+        uploadSink = new UploadSink(ossClient, ossConfig, props);
+        uploadSink.start();
+        when(ossConfig.getBucketName()).thenReturn("test-bucket");
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadSink.shutdown();
+    }
+
+    @Test
+    @DisplayName("Transient failure is retried; barrier passes")
+    void transientFailure_ShouldRetry() {
+        when(ossClient.putObject(eq("test-bucket"), eq("audio/1/tts_0.mp3"), any(InputStream.class)))
+                .thenThrow(new RuntimeException("timeout"))
+                .thenReturn(null);
+
+        uploadSink.submit(1L, "audio/1/tts_0.mp3", "audio".getBytes());
+
+        assertDoesNotThrow(() -> uploadSink.awaitAll(1L));
+        verify(ossClient, times(2)).putObject(eq("test-bucket"), eq("audio/1/tts_0.mp3"), any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("Required upload failing after retries fails the barrier")
+    void requiredFailure_ShouldFailBarrier() {
+        when(ossClient.putObject(eq("test-bucket"), anyString(), any(InputStream.class)))
+                .thenThrow(new RuntimeException("OSS unavailable"));
+
+        uploadSink.submit(1L, "audio/1/tts_0.mp3", "audio".getBytes());
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> uploadSink.awaitAll(1L));
+        assertTrue(ex.getMessage().contains("OSS unavailable"));
+    }
+
+    @Test
+    @DisplayName("Optional file upload failure is only logged")
+    void optionalFailure_ShouldNotFailBarrier() throws Exception {
+        File subtitle = Files.writeString(tempDir.resolve("subtitle.ass"), "[Script Info]").toFile();
+        when(ossClient.putObject(eq("test-bucket"), eq("output/1/subtitle.ass"), any(File.class)))
+                .thenThrow(new RuntimeException("OSS unavailable"));
+
+        uploadSink.submit(1L, "output/1/subtitle.ass", subtitle, false);
+
+        assertDoesNotThrow(() -> uploadSink.awaitAll(1L));
+    }
+
+    @Test
+    @DisplayName("No more than the configured number of uploads run at once")
+    void uploads_ShouldRespectConcurrencyLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        when(ossClient.putObject(eq("test-bucket"), anyString(), any(InputStream.class))).thenAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return null;
+        });
+
+        for (int i = 0; i < 6; i++) {
+            uploadSink.submit(1L, "audio/1/tts_" + i + ".mp3", "audio".getBytes());
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        uploadSink.awaitAll(1L);
+        assertEquals(2, maxRunning.get());
+        verify(ossClient, times(6)).putObject(eq("test-bucket"), anyString(), any(InputStream.class));
+    }
+}
@@ -39,6 +39,12 @@ class VideoSegmentCuttingServiceTest {
     @Mock
     private CompositionProperties compositionProperties;
 
+    @Mock
+    private ComposeJobRegistry jobRegistry;
+
+    @Mock
+    private TempStorageManager tempStorageManager;
+
     @InjectMocks
     private VideoSegmentCuttingService cuttingService;
 
@@ -126,7 +132,7 @@ class VideoSegmentCuttingServiceTest {
         void shotIdNotFound_ShouldThrowNotFoundException() {
             // Given
             when(videoReadMapper.findById(999L)).thenReturn(null);
-            when(compositionProperties.getTempDir()).thenReturn("/tmp/compose");
+            when(tempStorageManager.jobDir(eq(1L), anyString())).thenReturn(new java.io.File("/tmp/compose/1"));
 
             VideoSegmentCuttingService.ParagraphDuration pd =
                     VideoSegmentCuttingService.ParagraphDuration.builder()
@@ -146,7 +152,7 @@ class VideoSegmentCuttingServiceTest {
         @DisplayName("4.3-BLIND-BOUNDARY-001: Missing shot_id → graceful error")
         void missingShotId_ShouldThrowError() {
             // Given: paragraph without shot_id
-            when(compositionProperties.getTempDir()).thenReturn("/tmp/compose");
+            when(tempStorageManager.jobDir(eq(1L), anyString())).thenReturn(new java.io.File("/tmp/compose/1"));
 
             VideoSegmentCuttingService.ParagraphDuration pd =
                     VideoSegmentCuttingService.ParagraphDuration.builder()
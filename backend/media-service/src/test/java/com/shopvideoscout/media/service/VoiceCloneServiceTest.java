@@ -48,8 +48,8 @@ class VoiceCloneServiceTest {
     }
 
     @Test
-    @DisplayName("4.2-UNIT-014: Seed-ICL API failure → throws VOICE_CLONE_FAILED")
-    void processClone_AllRetrysFail_ThrowsException() {
+    @DisplayName("4.2-UNIT-014: Seed-ICL API failure → throws VOICE_CLONE_FAILED after a single call")
+    void processClone_Failure_ThrowsWithoutRetrying() {
         VoiceCloneMessage message = createMessage();
         when(volcanoTtsClient.cloneVoice("voice/100/uuid.mp3"))
                 .thenThrow(new RuntimeException("API timeout"));
@@ -57,23 +57,10 @@ class VoiceCloneServiceTest {
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> voiceCloneService.processClone(message));
         assertEquals(ResultCode.VOICE_CLONE_FAILED.getCode(), ex.getCode());
+        assertTrue(ex.getMessage().contains("API timeout"));
 
-        // Should retry up to 3 times total (1 initial + 2 retries)
-        verify(volcanoTtsClient, times(3)).cloneVoice("voice/100/uuid.mp3");
-    }
-
-    @Test
-    @DisplayName("4.2-UNIT-016: Retry on transient failure — up to 2 retries with success on 2nd attempt")
-    void processClone_TransientFailureThenSuccess_Retries() {
-        VoiceCloneMessage message = createMessage();
-        when(volcanoTtsClient.cloneVoice("voice/100/uuid.mp3"))
-                .thenThrow(new RuntimeException("timeout"))
-                .thenReturn("clone_voice_abc123");
-
-        String result = voiceCloneService.processClone(message);
-
-        assertEquals("clone_voice_abc123", result);
-        verify(volcanoTtsClient, times(2)).cloneVoice("voice/100/uuid.mp3");
+        // Retries are re-published by the consumer, never done in place
+        verify(volcanoTtsClient, times(1)).cloneVoice("voice/100/uuid.mp3");
     }
 
     @Test
@@ -0,0 +1,116 @@
+package com.shopvideoscout.media.service;
+
+import com.aliyun.oss.OSS;
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.common.util.VoicePreviewKeys;
+import com.shopvideoscout.media.client.VolcanoTtsClient;
+import com.shopvideoscout.media.config.OssConfig;
+import com.shopvideoscout.media.config.VolcanoTtsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VoicePreviewService.
+ */
+@ExtendWith(MockitoExtension.class)
+class VoicePreviewServiceTest {
+
+    @Mock
+    private VolcanoTtsClient volcanoTtsClient;
+
+    @Mock
+    private UploadSink uploadSink;
+
+    @Mock
+    private OSS ossClient;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private VoiceCloneCallbackClient voiceCloneCallbackClient;
+
+    private VolcanoTtsProperties ttsProperties;
+    private VoicePreviewService voicePreviewService;
+
+    @BeforeEach
+    void setUp() {
+        OssConfig ossConfig = new OssConfig();
+        ossConfig.setBucketName("bucket");
+        ttsProperties = new VolcanoTtsProperties();
+        ttsProperties.setPreviewStandardVoices(List.of("xiaomei", "yangguang"));
+        voicePreviewService = new VoicePreviewService(volcanoTtsClient, uploadSink, ossClient, ossConfig,
+                redisUtils, voiceCloneCallbackClient, ttsProperties);
+    }
+
+    private static List<VolcanoTtsClient.TtsResult> audio() {
+        return List.of(VolcanoTtsClient.TtsResult.builder().audioData("audio".getBytes()).durationSeconds(3.0).build());
+    }
+
+    @Test
+    @DisplayName("Standard voices → only clips missing from OSS are rendered")
+    void standardPreviews_ShouldRenderMissingOnly() {
+        // Given
+        when(ossClient.doesObjectExist("bucket", VoicePreviewKeys.standard("xiaomei"))).thenReturn(true);
+        when(ossClient.doesObjectExist("bucket", VoicePreviewKeys.standard("yangguang"))).thenReturn(false);
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        when(volcanoTtsClient.synthesize(VoicePreviewKeys.STANDARD_TEXT, "yangguang")).thenReturn(audio());
+        when(uploadSink.submit(isNull(), eq(VoicePreviewKeys.standard("yangguang")), any(byte[].class), eq(false)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int rendered = voicePreviewService.renderStandardPreviews();
+
+        // Then
+        assertEquals(1, rendered);
+        verify(volcanoTtsClient, never()).synthesize(anyString(), eq("xiaomei"));
+    }
+
+    @Test
+    @DisplayName("Another node holds the render lock → clip skipped")
+    void standardPreviews_LockedElsewhere_ShouldSkip() {
+        when(ossClient.doesObjectExist(eq("bucket"), anyString())).thenReturn(false);
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(false);
+
+        assertEquals(0, voicePreviewService.renderStandardPreviews());
+        verifyNoInteractions(volcanoTtsClient);
+    }
+
+    @Test
+    @DisplayName("Cloned voice → clip uploaded, then user-service told its key")
+    void clonePreview_ShouldUploadThenNotify() {
+        // Given
+        when(volcanoTtsClient.synthesize(VoicePreviewKeys.CLONE_TEXT, "clone_abc")).thenReturn(audio());
+        when(uploadSink.submit(isNull(), eq(VoicePreviewKeys.clone(7L)), any(byte[].class), eq(false)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        voicePreviewService.renderClonePreview(7L, "clone_abc");
+
+        // Then
+        verify(voiceCloneCallbackClient).notifyPreviewReady(7L, VoicePreviewKeys.clone(7L));
+    }
+
+    @Test
+    @DisplayName("Upload fails → user-service is not told about a missing clip")
+    void clonePreview_UploadFails_ShouldNotNotify() {
+        when(volcanoTtsClient.synthesize(VoicePreviewKeys.CLONE_TEXT, "clone_abc")).thenReturn(audio());
+        when(uploadSink.submit(isNull(), anyString(), any(byte[].class), eq(false)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("OSS down")));
+
+        voicePreviewService.renderClonePreview(7L, "clone_abc");
+
+        verifyNoInteractions(voiceCloneCallbackClient);
+    }
+}
@@ -0,0 +1,116 @@
+package com.shopvideoscout.media.service;
+
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper;
+import com.shopvideoscout.media.mapper.VoiceSampleReadMapper.VoiceSampleInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VoiceSampleCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class VoiceSampleCacheTest {
+
+    @Mock
+    private VoiceSampleReadMapper voiceSampleReadMapper;
+
+    @InjectMocks
+    private VoiceSampleCache voiceSampleCache;
+
+    private static VoiceSampleInfo sample(Long id, String status, String cloneVoiceId) {
+        VoiceSampleInfo info = new VoiceSampleInfo();
+        info.setId(id);
+        info.setUserId(100L);
+        info.setStatus(status);
+        info.setCloneVoiceId(cloneVoiceId);
+        return info;
+    }
+
+    @Test
+    @DisplayName("Completed sample → one query, later lookups served from cache")
+    void completedSample_ShouldBeCached() {
+        // Given
+        when(voiceSampleReadMapper.findById(1L)).thenReturn(sample(1L, "completed", "clone_abc"));
+
+        // When
+        VoiceSampleInfo first = voiceSampleCache.get(1L);
+        VoiceSampleInfo second = voiceSampleCache.get(1L);
+
+        // Then
+        assertEquals("clone_abc", first.getCloneVoiceId());
+        assertSame(first, second);
+        verify(voiceSampleReadMapper, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Sample still processing → not cached, re-read every time")
+    void processingSample_ShouldNotBeCached() {
+        // Given
+        when(voiceSampleReadMapper.findById(1L)).thenReturn(sample(1L, "processing", null));
+
+        // When
+        voiceSampleCache.get(1L);
+        voiceSampleCache.get(1L);
+
+        // Then
+        verify(voiceSampleReadMapper, times(2)).findById(1L);
+        assertEquals(0, voiceSampleCache.size());
+    }
+
+    @Test
+    @DisplayName("Evict → next lookup reads the DB again")
+    void evict_ShouldForceReload() {
+        // Given
+        when(voiceSampleReadMapper.findById(1L))
+                .thenReturn(sample(1L, "completed", "clone_old"))
+                .thenReturn(null);
+        voiceSampleCache.get(1L);
+
+        // When
+        voiceSampleCache.evict(1L);
+
+        // Then
+        assertNull(voiceSampleCache.get(1L));
+        verify(voiceSampleReadMapper, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Eviction racing with a DB read → stale result is not cached")
+    void evictDuringRead_ShouldNotCacheStaleResult() {
+        // Given
+        when(voiceSampleReadMapper.findById(1L)).thenAnswer(invocation -> {
+            voiceSampleCache.evict(1L);
+            return sample(1L, "completed", "clone_abc");
+        });
+
+        // When
+        voiceSampleCache.get(1L);
+
+        // Then
+        assertEquals(0, voiceSampleCache.size());
+    }
+
+    @Test
+    @DisplayName("More samples than capacity → size stays bounded")
+    void manySamples_ShouldStayBounded() {
+        // Given
+        when(voiceSampleReadMapper.findById(anyLong()))
+                .thenAnswer(invocation -> sample(invocation.getArgument(0), "completed", "clone"));
+
+        // When
+        for (long id = 1; id <= VoiceSampleCache.MAX_ENTRIES + 50; id++) {
+            voiceSampleCache.get(id);
+        }
+
+        // Then
+        assertEquals(VoiceSampleCache.MAX_ENTRIES, voiceSampleCache.size());
+    }
+}
@@ -3,6 +3,7 @@ package com.shopvideoscout.task;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Task Service Application.
@@ -15,6 +16,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
         "com.shopvideoscout.mybatis"
 })
 @EnableDiscoveryClient
+@EnableScheduling
 public class TaskServiceApplication {
 
     public static void main(String[] args) {
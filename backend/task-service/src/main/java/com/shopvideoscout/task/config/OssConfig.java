@@ -2,6 +2,7 @@ package com.shopvideoscout.task.config;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClientBuilder;
+import com.shopvideoscout.common.util.OssUrls;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -25,4 +26,11 @@ public class OssConfig {
     public OSS ossClient() {
         return new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
     }
+
+    /**
+     * Public URL of an object: through the CDN when configured, direct OSS otherwise.
+     */
+    public String getPublicUrl(String ossKey) {
+        return OssUrls.publicUrl(cdnBaseUrl, bucketName, endpoint, ossKey);
+    }
 }
@@ -64,4 +64,51 @@ public class RabbitMqConfig {
                 .to(composeDlx)
                 .with(MqConstants.COMPOSE_DL_ROUTING_KEY);
     }
+
+    @Bean
+    public FanoutExchange composeControlExchange() {
+        return new FanoutExchange(MqConstants.COMPOSE_CONTROL_EXCHANGE);
+    }
+
+    @Bean
+    public DirectExchange ttsPresynthExchange() {
+        return new DirectExchange(MqConstants.TTS_PRESYNTH_EXCHANGE);
+    }
+
+    @Bean
+    public Queue ttsPresynthQueue() {
+        return QueueBuilder.durable(MqConstants.TTS_PRESYNTH_QUEUE).build();
+    }
+
+    @Bean
+    public Binding ttsPresynthBinding(Queue ttsPresynthQueue, DirectExchange ttsPresynthExchange) {
+        return BindingBuilder.bind(ttsPresynthQueue)
+                .to(ttsPresynthExchange)
+                .with(MqConstants.TTS_PRESYNTH_ROUTING_KEY);
+    }
+
+    @Bean
+    public DirectExchange frameExtractExchange() {
+        return new DirectExchange(MqConstants.FRAME_EXTRACT_EXCHANGE);
+    }
+
+    @Bean
+    public DirectExchange frameExtractDlx() {
+        return new DirectExchange(MqConstants.FRAME_EXTRACT_DLX);
+    }
+
+    @Bean
+    public Queue frameExtractQueue() {
+        return QueueBuilder.durable(MqConstants.FRAME_EXTRACT_QUEUE)
+                .withArgument("x-dead-letter-exchange", MqConstants.FRAME_EXTRACT_DLX)
+                .withArgument("x-dead-letter-routing-key", MqConstants.FRAME_EXTRACT_DL_ROUTING_KEY)
+                .build();
+    }
+
+    @Bean
+    public Binding frameExtractBinding(Queue frameExtractQueue, DirectExchange frameExtractExchange) {
+        return BindingBuilder.bind(frameExtractQueue)
+                .to(frameExtractExchange)
+                .with(MqConstants.FRAME_EXTRACT_ROUTING_KEY);
+    }
 }
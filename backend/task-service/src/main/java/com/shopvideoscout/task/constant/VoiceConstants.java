@@ -1,5 +1,7 @@
 package com.shopvideoscout.task.constant;
 
+import com.shopvideoscout.common.util.StandardVoices;
+
 import java.util.Set;
 
 /**
@@ -10,16 +12,11 @@ public final class VoiceConstants {
     private VoiceConstants() {}
 
     /**
-     * Valid standard voice types (火山引擎 Seed-TTS presets).
-     * BR-1.1: 活泼女声、阳光男声、知性女声
+     * Valid standard voice types, see {@link StandardVoices}.
      */
-    public static final Set<String> VALID_VOICE_TYPES = Set.of(
-            "xiaomei",       // 活泼女声
-            "yangguang",     // 阳光男声
-            "zhixing"        // 知性女声
-    );
+    public static final Set<String> VALID_VOICE_TYPES = Set.copyOf(StandardVoices.ALL);
 
-    public static final String DEFAULT_VOICE_TYPE = "xiaomei";
+    public static final String DEFAULT_VOICE_TYPE = StandardVoices.DEFAULT;
 
     /**
      * Maximum text length per TTS request (BR-1.2 error handling).
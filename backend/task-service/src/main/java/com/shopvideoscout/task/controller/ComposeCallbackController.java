@@ -41,6 +41,13 @@ public class ComposeCallbackController {
             return R.ok();
         }
 
+        // A cancelled compose may still report back from a media node; don't let it
+        // overwrite the reverted (or re-triggered) task state.
+        if (!TaskConstants.TaskStatus.COMPOSING.equals(task.getStatus())) {
+            log.warn("Ignoring compose callback for task {} in status {}", taskId, task.getStatus());
+            return R.ok();
+        }
+
         if ("completed".equals(status)) {
             task.setStatus(TaskConstants.TaskStatus.COMPLETED);
 
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 /**
  * Controller for compose operations (TTS synthesis).
  * POST /api/v1/tasks/{id}/compose - trigger compose
+ * POST /api/v1/tasks/{id}/compose/cancel - cancel in-flight compose
  * GET /api/v1/tasks/{id}/compose-progress - query progress
  */
 @Slf4j
@@ -41,6 +42,23 @@ public class ComposeController {
         return R.ok(response);
     }
 
+    /**
+     * Cancel an in-flight compose for a task.
+     * Reverts task status and signals the owning media node to abort the job.
+     *
+     * @param id     task ID
+     * @param userId injected from JWT via Gateway header
+     * @return compose response with reverted status
+     */
+    @PostMapping("/{id}/compose/cancel")
+    public R<ComposeResponse> cancelCompose(
+            @PathVariable Long id,
+            @RequestHeader("X-User-Id") Long userId) {
+        log.debug("Compose cancel request for task {} from user {}", id, userId);
+        ComposeResponse response = composeService.cancelCompose(id, userId);
+        return R.ok(response);
+    }
+
     /**
      * Get compose progress for a task.
      * Reads progress from Redis (written by media-service).
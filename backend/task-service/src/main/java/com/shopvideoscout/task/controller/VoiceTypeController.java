@@ -1,15 +1,22 @@
 package com.shopvideoscout.task.controller;
 
 import com.shopvideoscout.common.result.R;
+import com.shopvideoscout.common.util.StandardVoices;
+import com.shopvideoscout.common.util.VoicePreviewKeys;
+import com.shopvideoscout.task.config.OssConfig;
 import com.shopvideoscout.task.dto.VoiceTypeRequest;
+import com.shopvideoscout.task.dto.VoiceTypeResponse;
 import com.shopvideoscout.task.service.ComposeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller for voice type management.
+ * GET /api/v1/tasks/voice-types - list standard voices with preview clips
  * PUT /api/v1/tasks/{id}/voice-type - update voice type
  */
 @Slf4j
@@ -19,6 +26,25 @@ import org.springframework.web.bind.annotation.*;
 public class VoiceTypeController {
 
     private final ComposeService composeService;
+    private final OssConfig ossConfig;
+
+    /**
+     * List standard voice types with their preview clips.
+     * Clips are pre-rendered by media-service at a fixed OSS key and served through the CDN.
+     *
+     * @return standard voices, default first
+     */
+    @GetMapping("/voice-types")
+    public R<List<VoiceTypeResponse>> listVoiceTypes() {
+        List<VoiceTypeResponse> voiceTypes = StandardVoices.ALL.stream()
+                .map(voiceType -> VoiceTypeResponse.builder()
+                        .voiceType(voiceType)
+                        .previewText(VoicePreviewKeys.STANDARD_TEXT)
+                        .previewUrl(ossConfig.getPublicUrl(VoicePreviewKeys.standard(voiceType)))
+                        .build())
+                .toList();
+        return R.ok(voiceTypes);
+    }
 
     /**
      * Update voice type for a task.
@@ -0,0 +1,20 @@
+package com.shopvideoscout.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a standard voice type with its pre-rendered preview clip.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceTypeResponse {
+
+    private String voiceType;
+    private String previewText;
+    private String previewUrl;
+}
@@ -5,6 +5,7 @@ import com.shopvideoscout.task.entity.Task;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 
@@ -72,4 +73,48 @@ public interface TaskMapper extends BaseMapper<Task> {
      */
     @Select("SELECT COUNT(*) FROM tasks WHERE user_id = #{userId}")
     long countTasksByUser(@Param("userId") Long userId);
+
+    /**
+     * Find all tasks currently in a given status (used by the orphaned-job reaper).
+     *
+     * @param status task status
+     * @return tasks in that status
+     */
+    @Select("SELECT * FROM tasks WHERE status = #{status}")
+    List<Task> findByStatus(@Param("status") String status);
+
+    /**
+     * Fail a batch of tasks in a single statement.
+     * Only rows still in expectedStatus are touched, so tasks that completed or were
+     * cancelled concurrently are left alone.
+     *
+     * @param ids task IDs
+     * @param expectedStatus status the tasks must still be in
+     * @param errorMessage error message to record
+     * @return number of tasks failed
+     */
+    @Update({
+        "<script>",
+        "UPDATE tasks SET status = 'failed', error_message = #{errorMessage}, updated_at = NOW()",
+        "WHERE status = #{expectedStatus} AND id IN",
+        "<foreach item='id' collection='ids' open='(' separator=',' close=')'>",
+        "#{id}",
+        "</foreach>",
+        "</script>"
+    })
+    int failTasks(@Param("ids") List<Long> ids, @Param("expectedStatus") String expectedStatus,
+                  @Param("errorMessage") String errorMessage);
+
+    /**
+     * Move a task to a new status only if it is still in expectedStatus, so a concurrent
+     * transition (e.g. a compose callback) is never overwritten.
+     *
+     * @param id task ID
+     * @param expectedStatus status the task must still be in
+     * @param status new status
+     * @return 1 if the task was updated, 0 if its status had changed
+     */
+    @Update("UPDATE tasks SET status = #{status}, updated_at = NOW() WHERE id = #{id} AND status = #{expectedStatus}")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("expectedStatus") String expectedStatus,
+                              @Param("status") String status);
 }
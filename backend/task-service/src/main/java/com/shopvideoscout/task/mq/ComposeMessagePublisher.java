@@ -1,7 +1,9 @@
 package com.shopvideoscout.task.mq;
 
+import com.shopvideoscout.common.mq.ComposeControlMessage;
 import com.shopvideoscout.common.mq.ComposeMessage;
 import com.shopvideoscout.common.mq.MqConstants;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -9,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Publishes compose messages to RabbitMQ for media-service consumption.
+ * Control messages (cancel) go to a fanout exchange so every media node sees them.
+ * Pre-synthesis requests go to their own queue so they never delay compose messages.
  */
 @Slf4j
 @Component
@@ -31,4 +35,32 @@ public class ComposeMessagePublisher {
         );
         log.debug("Compose message published for task: {}", message.getTaskId());
     }
+
+    /**
+     * Broadcast a control message (e.g. cancel) to all media nodes.
+     *
+     * @param message the control message
+     */
+    public void publishControl(ComposeControlMessage message) {
+        log.info("Publishing compose control '{}' for task: {}", message.getAction(), message.getTaskId());
+        rabbitTemplate.convertAndSend(
+                MqConstants.COMPOSE_CONTROL_EXCHANGE,
+                "",
+                message
+        );
+    }
+
+    /**
+     * Ask media-service to pre-synthesize a task's paragraphs into the TTS cache.
+     *
+     * @param message the pre-synthesis message
+     */
+    public void publishPresynth(TtsPresynthMessage message) {
+        log.debug("Publishing TTS pre-synthesis for task: {}", message.getTaskId());
+        rabbitTemplate.convertAndSend(
+                MqConstants.TTS_PRESYNTH_EXCHANGE,
+                MqConstants.TTS_PRESYNTH_ROUTING_KEY,
+                message
+        );
+    }
 }
@@ -0,0 +1,50 @@
+package com.shopvideoscout.task.mq;
+
+import com.shopvideoscout.common.mq.FrameExtractMessage;
+import com.shopvideoscout.common.mq.MqConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes keyframe extraction requests to RabbitMQ for media-service consumption.
+ * Inside a transaction the message is sent after commit, so media-service never sees a video
+ * row that does not exist yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrameExtractMessagePublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    /**
+     * Publish a frame extraction message, after commit if a transaction is active.
+     *
+     * @param message the frame extraction message
+     */
+    public void publish(FrameExtractMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    private void send(FrameExtractMessage message) {
+        log.info("Publishing frame extraction for video {} of task {}", message.getVideoId(), message.getTaskId());
+        rabbitTemplate.convertAndSend(
+                MqConstants.FRAME_EXTRACT_EXCHANGE,
+                MqConstants.FRAME_EXTRACT_ROUTING_KEY,
+                message
+        );
+    }
+}
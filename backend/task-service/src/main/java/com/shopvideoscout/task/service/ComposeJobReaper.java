@@ -0,0 +1,117 @@
+package com.shopvideoscout.task.service;
+
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.task.constant.TaskConstants;
+import com.shopvideoscout.task.entity.Task;
+import com.shopvideoscout.task.mapper.TaskMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background reaper for compose jobs orphaned by a crashed media node.
+ *
+ * A composing task is orphaned when its progress heartbeat (task:progress:{taskId}.heartbeat_at)
+ * is older than the heartbeat timeout, or when no node has picked it up within the queued
+ * timeout. Orphans are requeued up to a bounded number of times, then failed in one batch so
+ * they stop counting against MAX_IN_PROGRESS_TASKS and can be deleted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComposeJobReaper {
+
+    private static final String REAP_LOCK_KEY_PREFIX = "compose:reap:lock:";
+    private static final String REAP_ATTEMPTS_KEY_PREFIX = "compose:reap:attempts:";
+    private static final long REAP_ATTEMPTS_TTL_HOURS = 24;
+    static final String ORPHANED_ERROR_MESSAGE = "合成节点异常中断，请重新合成";
+
+    private final TaskMapper taskMapper;
+    private final ComposeService composeService;
+    private final ComposeProgressService composeProgressService;
+    private final RedisUtils redisUtils;
+
+    @Value("${compose.reaper.heartbeat-timeout-seconds:120}")
+    private long heartbeatTimeoutSeconds = 120;
+
+    @Value("${compose.reaper.queued-timeout-seconds:1800}")
+    private long queuedTimeoutSeconds = 1800;
+
+    @Value("${compose.reaper.max-requeues:1}")
+    private int maxRequeues = 1;
+
+    /**
+     * Scan composing tasks, requeue or fail the orphaned ones.
+     */
+    @Scheduled(fixedDelayString = "${compose.reaper.interval-ms:60000}",
+            initialDelayString = "${compose.reaper.interval-ms:60000}")
+    public void reap() {
+        List<Task> composing = taskMapper.findByStatus(TaskConstants.TaskStatus.COMPOSING);
+        if (composing.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Long> toFail = new ArrayList<>();
+
+        for (Task task : composing) {
+            Long taskId = task.getId();
+            try {
+                if (!isOrphaned(task, now) || !claim(taskId)) {
+                    continue;
+                }
+                Long attempts = redisUtils.increment(REAP_ATTEMPTS_KEY_PREFIX + taskId, 1);
+                redisUtils.expire(REAP_ATTEMPTS_KEY_PREFIX + taskId, REAP_ATTEMPTS_TTL_HOURS, TimeUnit.HOURS);
+
+                if (attempts != null && attempts <= maxRequeues) {
+                    log.warn("Compose job for task {} is orphaned, requeueing (attempt {}/{})",
+                            taskId, attempts, maxRequeues);
+                    composeService.requeueOrphaned(task);
+                } else {
+                    toFail.add(taskId);
+                }
+            } catch (Exception e) {
+                // Left for the next pass; the attempt counter escalates it to failure
+                log.error("Failed to reap compose job for task {}: {}", taskId, e.getMessage());
+            }
+        }
+
+        if (!toFail.isEmpty()) {
+            composeService.failOrphaned(toFail, ORPHANED_ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * A task is orphaned if its node stopped heartbeating, or if it was never picked up.
+     * Tasks without any Redis trace (progress expired) fall back to the row's update time.
+     */
+    boolean isOrphaned(Task task, long now) {
+        Long heartbeat = composeProgressService.getHeartbeat(task.getId());
+        if (heartbeat != null) {
+            return now - heartbeat > TimeUnit.SECONDS.toMillis(heartbeatTimeoutSeconds);
+        }
+
+        Long queuedAt = composeProgressService.getQueuedAt(task.getId());
+        if (queuedAt == null && task.getUpdatedAt() != null) {
+            queuedAt = task.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return queuedAt == null
+                || now - queuedAt > TimeUnit.SECONDS.toMillis(queuedTimeoutSeconds);
+    }
+
+    /**
+     * Claim a task so that only one task-service instance reaps it per heartbeat window.
+     */
+    private boolean claim(Long taskId) {
+        return redisUtils.setIfAbsent(REAP_LOCK_KEY_PREFIX + taskId, LocalDateTime.now().toString(),
+                heartbeatTimeoutSeconds, TimeUnit.SECONDS);
+    }
+}
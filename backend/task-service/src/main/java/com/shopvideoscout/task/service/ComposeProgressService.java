@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for querying compose progress from Redis.
@@ -25,6 +26,9 @@ public class ComposeProgressService {
     private final TaskMapper taskMapper;
 
     private static final String PROGRESS_KEY_PREFIX = "task:progress:";
+    private static final String FIELD_HEARTBEAT = "heartbeat_at";
+    private static final String FIELD_QUEUED = "queued_at";
+    private static final long PROGRESS_TTL_SECONDS = 3600;
 
     /**
      * Get compose progress for a task.
@@ -62,6 +66,52 @@ public class ComposeProgressService {
         return buildProgressResponse(progressData);
     }
 
+    /**
+     * Remove progress data for a task (e.g. after compose is cancelled).
+     *
+     * @param taskId task ID
+     */
+    public void clearProgress(Long taskId) {
+        redisUtils.delete(PROGRESS_KEY_PREFIX + taskId);
+    }
+
+    /**
+     * Record when a compose message was (re)published, so the reaper can tell a job that is
+     * still queued from one whose node died before its first heartbeat.
+     *
+     * @param taskId task ID
+     */
+    public void markQueued(Long taskId) {
+        String key = PROGRESS_KEY_PREFIX + taskId;
+        redisUtils.hSet(key, FIELD_QUEUED, String.valueOf(System.currentTimeMillis()));
+        redisUtils.expire(key, PROGRESS_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get the last heartbeat written by the media node running the compose job.
+     *
+     * @param taskId task ID
+     * @return epoch millis, or null if no node has picked the job up
+     */
+    public Long getHeartbeat(Long taskId) {
+        return parseEpochMillis(redisUtils.hGet(PROGRESS_KEY_PREFIX + taskId, FIELD_HEARTBEAT));
+    }
+
+    /**
+     * Get the time the compose message was last published.
+     *
+     * @param taskId task ID
+     * @return epoch millis, or null if unknown
+     */
+    public Long getQueuedAt(Long taskId) {
+        return parseEpochMillis(redisUtils.hGet(PROGRESS_KEY_PREFIX + taskId, FIELD_QUEUED));
+    }
+
+    private Long parseEpochMillis(Object value) {
+        long millis = parseLongSafe(value);
+        return millis > 0 ? millis : null;
+    }
+
     private ComposeProgressResponse buildProgressResponse(Map<Object, Object> data) {
         int completed = parseIntSafe(data.get("completed_paragraphs"));
         int total = parseIntSafe(data.get("total_paragraphs"));
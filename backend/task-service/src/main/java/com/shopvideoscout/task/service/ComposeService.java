@@ -4,8 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.ComposeControlMessage;
 import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
 import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
 import com.shopvideoscout.task.constant.TaskConstants;
 import com.shopvideoscout.task.constant.VoiceConstants;
 import com.shopvideoscout.task.dto.ComposeResponse;
@@ -17,13 +20,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for triggering compose (TTS synthesis) workflow.
  * Validates task state, builds compose message, publishes to MQ.
+ * Once the script and voice settle, paragraphs are pre-synthesized into the TTS cache
+ * so compose usually starts with its audio ready.
  */
 @Slf4j
 @Service
@@ -34,6 +43,28 @@ public class ComposeService {
     private final ScriptMapper scriptMapper;
     private final ComposeMessagePublisher composeMessagePublisher;
     private final ObjectMapper objectMapper;
+    private final ComposeProgressService composeProgressService;
+    private final RedisUtils redisUtils;
+
+    /**
+     * Redis key holding the cancel timestamp for a task; read by media-service
+     * to drop compose messages that were cancelled while still queued.
+     */
+    private static final String COMPOSE_CANCEL_KEY_PREFIX = "compose:cancel:";
+    private static final long COMPOSE_CANCEL_TTL_HOURS = 24;
+
+    /**
+     * Redis key holding the requestedAt of the task's latest pre-synthesis request; media-service
+     * stops a pre-synthesis run once the key no longer matches it.
+     */
+    private static final String PRESYNTH_KEY_PREFIX = "tts:presynth:";
+    private static final long PRESYNTH_TTL_HOURS = 6;
+
+    /**
+     * Statuses in which the next compose is still ahead, so cached audio may pay off.
+     */
+    private static final Set<String> PRESYNTH_STATUSES = Set.of(
+            TaskConstants.TaskStatus.SCRIPT_EDITED, TaskConstants.TaskStatus.VOICE_SET);
 
     /**
      * Trigger compose for a task.
@@ -73,52 +104,225 @@ public class ComposeService {
             throw new BusinessException(ResultCode.BAD_REQUEST, "脚本无段落内容");
         }
 
-        // Build compose message with voice config
-        String voiceType = task.getVoiceType() != null
-                ? task.getVoiceType() : VoiceConstants.DEFAULT_VOICE_TYPE;
+        ComposeMessage message = buildComposeMessage(task, paragraphs, System.currentTimeMillis());
+
+        // Update task status to composing (atomic)
+        task.setStatus(TaskConstants.TaskStatus.COMPOSING);
+        taskMapper.updateById(task);
+
+        // Publish to MQ
+        composeMessagePublisher.publish(message);
+        composeProgressService.markQueued(taskId);
+        // Compose synthesizes whatever is still missing; stop the background run
+        supersedePresynthesis(taskId);
+
+        log.info("Compose triggered for task {}, {} paragraphs, voice: {}",
+                taskId, paragraphs.size(), message.getVoiceConfig().getType());
+
+        return ComposeResponse.builder()
+                .status(TaskConstants.TaskStatus.COMPOSING)
+                .taskId(taskId)
+                .build();
+    }
+
+    /**
+     * Cancel an in-flight compose.
+     * Reverts the task to its pre-compose status, records a cancel marker for messages
+     * still queued, and broadcasts a cancel signal so the owning media node aborts
+     * TTS/FFmpeg work and releases its slot.
+     *
+     * @param taskId task ID
+     * @param userId user ID for ownership check
+     * @return compose response with the reverted status
+     */
+    @Transactional
+    public ComposeResponse cancelCompose(Long taskId, Long userId) {
+        Task task = getTaskAndValidateOwnership(taskId, userId);
+
+        if (!TaskConstants.TaskStatus.COMPOSING.equals(task.getStatus())) {
+            throw cancelConflict(task.getStatus());
+        }
+
+        String revertedStatus = task.getVoiceType() != null || task.getVoiceSampleId() != null
+                ? TaskConstants.TaskStatus.VOICE_SET
+                : TaskConstants.TaskStatus.SCRIPT_EDITED;
+        // Conditional: a completed/failed callback may have landed since the read
+        if (taskMapper.updateStatusIfCurrent(taskId, TaskConstants.TaskStatus.COMPOSING, revertedStatus) == 0) {
+            Task current = taskMapper.selectById(taskId);
+            throw cancelConflict(current != null ? current.getStatus() : task.getStatus());
+        }
+
+        abortInFlight(taskId);
+
+        log.info("Compose cancelled for task {} by user {}, status → {}", taskId, userId, revertedStatus);
+
+        return ComposeResponse.builder()
+                .status(revertedStatus)
+                .taskId(taskId)
+                .build();
+    }
+
+    private static BusinessException cancelConflict(String status) {
+        return new BusinessException(ResultCode.TASK_STATUS_INVALID, "当前任务状态为'" + status + "'，无法取消合成");
+    }
+
+    /**
+     * Republish the compose message for a task whose media node stopped heartbeating.
+     * Any copy of the job still queued or running on a zombie node is aborted first, so at
+     * most one node ends up composing the task.
+     *
+     * @param task orphaned task, still in composing status
+     */
+    public void requeueOrphaned(Task task) {
+        Long taskId = task.getId();
+        String scriptContent = scriptMapper.findContentByTaskId(taskId);
+        List<ComposeMessage.Paragraph> paragraphs = scriptContent == null || scriptContent.isBlank()
+                ? List.of() : parseParagraphs(scriptContent);
+        if (paragraphs.isEmpty()) {
+            throw new BusinessException(ResultCode.SCRIPT_NOT_FOUND, "任务脚本未找到，无法重新合成");
+        }
+
+        long cancelledAt = abortInFlight(taskId);
+        // Must be strictly newer than the cancel marker, or media-service drops the message
+        ComposeMessage message = buildComposeMessage(task, paragraphs, cancelledAt + 1);
+        composeMessagePublisher.publish(message);
+        composeProgressService.markQueued(taskId);
+
+        log.info("Requeued orphaned compose for task {}", taskId);
+    }
+
+    /**
+     * Fail a batch of orphaned compose tasks and abort any remnants of their jobs.
+     * Failed tasks no longer count as in progress, so users can delete or retry them.
+     *
+     * @param taskIds orphaned task IDs
+     * @param reason  error message recorded on the tasks
+     * @return number of tasks failed
+     */
+    public int failOrphaned(List<Long> taskIds, String reason) {
+        int failed = taskMapper.failTasks(taskIds, TaskConstants.TaskStatus.COMPOSING, reason);
+        taskIds.forEach(this::abortInFlight);
+        log.warn("Failed {} orphaned compose tasks: {}", failed, taskIds);
+        return failed;
+    }
+
+    /**
+     * Record a cancel marker for messages still queued, clear progress and broadcast a cancel
+     * signal so the owning media node aborts TTS/FFmpeg work.
+     *
+     * @return the cancel timestamp (epoch millis)
+     */
+    private long abortInFlight(Long taskId) {
+        long cancelledAt = System.currentTimeMillis();
+        redisUtils.set(COMPOSE_CANCEL_KEY_PREFIX + taskId, cancelledAt,
+                COMPOSE_CANCEL_TTL_HOURS, TimeUnit.HOURS);
+        composeProgressService.clearProgress(taskId);
+
+        composeMessagePublisher.publishControl(ComposeControlMessage.builder()
+                .taskId(taskId)
+                .action(ComposeControlMessage.ACTION_CANCEL)
+                .requestedAt(cancelledAt)
+                .build());
+        return cancelledAt;
+    }
+
+    /**
+     * Ask media-service to synthesize the task's paragraphs into the TTS cache in the background.
+     * Call whenever a task enters script_edited or voice_set; tasks in any other status are
+     * skipped, since speculative synthesis is billed. A newer request supersedes an older one
+     * still running, so edits never leave stale work behind. Inside a transaction the request is
+     * sent after commit, so a rolled-back edit never triggers synthesis.
+     * Best-effort: failures are logged and never surface to the user.
+     *
+     * @param task task whose script and voice were just saved
+     */
+    public void requestPresynthesis(Task task) {
+        if (!PRESYNTH_STATUSES.contains(task.getStatus())) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendPresynthesis(task);
+                }
+            });
+        } else {
+            sendPresynthesis(task);
+        }
+    }
+
+    private void sendPresynthesis(Task task) {
+        Long taskId = task.getId();
+        try {
+            String scriptContent = scriptMapper.findContentByTaskId(taskId);
+            if (scriptContent == null || scriptContent.isBlank()) {
+                return;
+            }
+            List<ComposeMessage.Paragraph> paragraphs = parseParagraphs(scriptContent);
+            if (paragraphs.isEmpty()) {
+                return;
+            }
+
+            long requestedAt = System.currentTimeMillis();
+            redisUtils.set(PRESYNTH_KEY_PREFIX + taskId, requestedAt, PRESYNTH_TTL_HOURS, TimeUnit.HOURS);
+            composeMessagePublisher.publishPresynth(TtsPresynthMessage.builder()
+                    .taskId(taskId)
+                    .paragraphs(paragraphs)
+                    .voiceConfig(buildVoiceConfig(task))
+                    .requestedAt(requestedAt)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to request TTS pre-synthesis for task {}: {}", taskId, e.getMessage());
+        }
+    }
 
-        ComposeMessage.VoiceConfig voiceConfig;
+    private void supersedePresynthesis(Long taskId) {
+        try {
+            redisUtils.delete(PRESYNTH_KEY_PREFIX + taskId);
+        } catch (Exception e) {
+            log.warn("Failed to clear TTS pre-synthesis marker for task {}: {}", taskId, e.getMessage());
+        }
+    }
+
+    private ComposeMessage.VoiceConfig buildVoiceConfig(Task task) {
         if (task.getVoiceSampleId() != null) {
             // Clone voice: TtsSynthesisService will resolve clone_voice_id via DB lookup
             // SEC-002: Pass userId for ownership verification in media-service
-            voiceConfig = ComposeMessage.VoiceConfig.builder()
+            return ComposeMessage.VoiceConfig.builder()
                     .type("clone")
                     .voiceSampleId(task.getVoiceSampleId())
-                    .userId(userId)
-                    .build();
-        } else {
-            voiceConfig = ComposeMessage.VoiceConfig.builder()
-                    .type("standard")
-                    .voiceId(voiceType)
+                    .userId(task.getUserId())
                     .build();
         }
+        String voiceType = task.getVoiceType() != null
+                ? task.getVoiceType() : VoiceConstants.DEFAULT_VOICE_TYPE;
+        return ComposeMessage.VoiceConfig.builder()
+                .type("standard")
+                .voiceId(voiceType)
+                .build();
+    }
+
+    /**
+     * Build the compose message for a task from its voice and subtitle settings.
+     */
+    private ComposeMessage buildComposeMessage(Task task, List<ComposeMessage.Paragraph> paragraphs,
+                                               long requestedAt) {
+        Long taskId = task.getId();
+        ComposeMessage.VoiceConfig voiceConfig = buildVoiceConfig(task);
 
         // Build compose message with subtitle settings (Story 4.3)
         Boolean subtitleEnabled = task.getSubtitleEnabled() != null ? task.getSubtitleEnabled() : true;
         String subtitleStyle = task.getSubtitleStyle() != null ? task.getSubtitleStyle() : "simple_white";
 
-        ComposeMessage message = ComposeMessage.builder()
+        return ComposeMessage.builder()
                 .taskId(taskId)
                 .paragraphs(paragraphs)
                 .voiceConfig(voiceConfig)
                 .subtitleEnabled(subtitleEnabled)
                 .subtitleStyle(subtitleStyle)
                 .callbackUrl("http://task-service/internal/tasks/" + taskId + "/compose-complete")
-                .build();
-
-        // Update task status to composing (atomic)
-        task.setStatus(TaskConstants.TaskStatus.COMPOSING);
-        taskMapper.updateById(task);
-
-        // Publish to MQ
-        composeMessagePublisher.publish(message);
-
-        log.info("Compose triggered for task {}, {} paragraphs, voice: {}",
-                taskId, paragraphs.size(), voiceType);
-
-        return ComposeResponse.builder()
-                .status(TaskConstants.TaskStatus.COMPOSING)
-                .taskId(taskId)
+                .requestedAt(requestedAt)
                 .build();
     }
 
@@ -150,6 +354,8 @@ public class ComposeService {
 
         taskMapper.updateById(task);
         log.info("Voice type updated for task {}: {}", taskId, voiceType);
+
+        requestPresynthesis(task);
     }
 
     private Task getTaskAndValidateOwnership(Long taskId, Long userId) {
@@ -1,6 +1,7 @@
 package com.shopvideoscout.task.service;
 
 import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.FrameExtractMessage;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.task.constant.VideoConstants;
 import com.shopvideoscout.task.dto.*;
@@ -8,6 +9,7 @@ import com.shopvideoscout.task.entity.Task;
 import com.shopvideoscout.task.entity.Video;
 import com.shopvideoscout.task.mapper.TaskMapper;
 import com.shopvideoscout.task.mapper.VideoMapper;
+import com.shopvideoscout.task.mq.FrameExtractMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ public class VideoService {
     private final VideoMapper videoMapper;
     private final TaskMapper taskMapper;
     private final OssService ossService;
+    private final FrameExtractMessagePublisher frameExtractMessagePublisher;
 
     /**
      * Generate presigned upload URL for video file.
@@ -102,8 +105,15 @@ public class VideoService {
 
         log.info("Video {} confirmed for task {}", video.getId(), taskId);
 
+        // Keyframe extraction (BR-2.1) runs in media-service once this transaction commits
+        frameExtractMessagePublisher.publish(FrameExtractMessage.builder()
+                .taskId(taskId)
+                .videoId(video.getId())
+                .ossKey(video.getOssKey())
+                .build());
+
         // DEFERRED TO STORY 2.3 (AI Analysis Service):
-        // - FFmpeg processing: keyframe extraction (BR-2.1), thumbnail generation (BR-2.2)
+        // - FFmpeg processing: thumbnail generation (BR-2.2)
         // - Video metadata extraction: duration, resolution
         // - BR-2.3 Duration validation (max 3 minutes): Requires FFmpeg metadata extraction
         //   to determine video duration. Will be validated during async processing in Story 2.3.
@@ -0,0 +1,117 @@
+package com.shopvideoscout.task.service;
+
+import com.shopvideoscout.common.util.RedisUtils;
+import com.shopvideoscout.task.constant.TaskConstants;
+import com.shopvideoscout.task.entity.Task;
+import com.shopvideoscout.task.mapper.TaskMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ComposeJobReaper (orphaned compose jobs).
+ */
+@ExtendWith(MockitoExtension.class)
+class ComposeJobReaperTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private ComposeService composeService;
+
+    @Mock
+    private ComposeProgressService composeProgressService;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @InjectMocks
+    private ComposeJobReaper reaper;
+
+    private Task composingTask(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUserId(100L);
+        task.setStatus(TaskConstants.TaskStatus.COMPOSING);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Fresh heartbeat → task is left alone")
+    void freshHeartbeat_ShouldNotReap() {
+        when(taskMapper.findByStatus(TaskConstants.TaskStatus.COMPOSING)).thenReturn(List.of(composingTask(1L)));
+        when(composeProgressService.getHeartbeat(1L)).thenReturn(System.currentTimeMillis());
+
+        reaper.reap();
+
+        verifyNoInteractions(composeService);
+        verify(redisUtils, never()).setIfAbsent(anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Stale heartbeat, first time → requeued")
+    void staleHeartbeat_ShouldRequeue() {
+        Task task = composingTask(1L);
+        when(taskMapper.findByStatus(TaskConstants.TaskStatus.COMPOSING)).thenReturn(List.of(task));
+        when(composeProgressService.getHeartbeat(1L))
+                .thenReturn(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10));
+        when(redisUtils.setIfAbsent(eq("compose:reap:lock:1"), any(), anyLong(), any())).thenReturn(true);
+        when(redisUtils.increment("compose:reap:attempts:1", 1)).thenReturn(1L);
+
+        reaper.reap();
+
+        verify(composeService).requeueOrphaned(task);
+        verify(composeService, never()).failOrphaned(anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("Stale heartbeats past requeue limit → failed in one batch")
+    void exhaustedRequeues_ShouldFailInBulk() {
+        long stale = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10);
+        when(taskMapper.findByStatus(TaskConstants.TaskStatus.COMPOSING))
+                .thenReturn(List.of(composingTask(1L), composingTask(2L)));
+        when(composeProgressService.getHeartbeat(anyLong())).thenReturn(stale);
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        when(redisUtils.increment(anyString(), eq(1L))).thenReturn(2L);
+
+        reaper.reap();
+
+        verify(composeService, never()).requeueOrphaned(any());
+        verify(composeService).failOrphaned(List.of(1L, 2L), ComposeJobReaper.ORPHANED_ERROR_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("No heartbeat but recently queued → still waiting for a media node")
+    void recentlyQueued_ShouldNotBeOrphaned() {
+        Task task = composingTask(1L);
+        when(composeProgressService.getHeartbeat(1L)).thenReturn(null);
+        when(composeProgressService.getQueuedAt(1L)).thenReturn(System.currentTimeMillis() - 5000);
+
+        assertFalse(reaper.isOrphaned(task, System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Another instance holds the reap lock → skipped")
+    void lockHeldElsewhere_ShouldSkip() {
+        when(taskMapper.findByStatus(TaskConstants.TaskStatus.COMPOSING)).thenReturn(List.of(composingTask(1L)));
+        when(composeProgressService.getHeartbeat(1L))
+                .thenReturn(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10));
+        when(redisUtils.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(false);
+
+        reaper.reap();
+
+        verifyNoInteractions(composeService);
+        verify(redisUtils, never()).increment(anyString(), anyLong());
+    }
+}
@@ -2,8 +2,11 @@ package com.shopvideoscout.task.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.ComposeControlMessage;
 import com.shopvideoscout.common.mq.ComposeMessage;
+import com.shopvideoscout.common.mq.TtsPresynthMessage;
 import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.RedisUtils;
 import com.shopvideoscout.task.constant.TaskConstants;
 import com.shopvideoscout.task.entity.Task;
 import com.shopvideoscout.task.mapper.ScriptMapper;
@@ -19,6 +22,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +49,12 @@ class ComposeServiceTest {
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock
+    private ComposeProgressService composeProgressService;
+
+    @Mock
+    private RedisUtils redisUtils;
+
     @InjectMocks
     private ComposeService composeService;
 
@@ -211,6 +224,85 @@ class ComposeServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cancel Compose")
+    class CancelComposeTests {
+
+        @Test
+        @DisplayName("Cancel composing task → revert status, mark cancelled, broadcast cancel")
+        void cancelComposing_ShouldRevertAndBroadcast() {
+            // Given
+            mockTask.setStatus(TaskConstants.TaskStatus.COMPOSING);
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(taskMapper.updateStatusIfCurrent(1L, TaskConstants.TaskStatus.COMPOSING,
+                    TaskConstants.TaskStatus.VOICE_SET)).thenReturn(1);
+
+            // When
+            var response = composeService.cancelCompose(1L, 100L);
+
+            // Then
+            assertEquals(TaskConstants.TaskStatus.VOICE_SET, response.getStatus());
+            verify(taskMapper, never()).updateById(any(Task.class));
+            verify(redisUtils).set(eq("compose:cancel:1"), anyLong(), anyLong(), any());
+            verify(composeProgressService).clearProgress(1L);
+
+            ArgumentCaptor<ComposeControlMessage> captor = ArgumentCaptor.forClass(ComposeControlMessage.class);
+            verify(composeMessagePublisher).publishControl(captor.capture());
+            assertEquals(1L, captor.getValue().getTaskId());
+            assertEquals(ComposeControlMessage.ACTION_CANCEL, captor.getValue().getAction());
+        }
+
+        @Test
+        @DisplayName("Cancel task without voice → revert to script_edited")
+        void cancelWithoutVoice_ShouldRevertToScriptEdited() {
+            // Given
+            mockTask.setStatus(TaskConstants.TaskStatus.COMPOSING);
+            mockTask.setVoiceType(null);
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(taskMapper.updateStatusIfCurrent(1L, TaskConstants.TaskStatus.COMPOSING,
+                    TaskConstants.TaskStatus.SCRIPT_EDITED)).thenReturn(1);
+
+            // When
+            var response = composeService.cancelCompose(1L, 100L);
+
+            // Then
+            assertEquals(TaskConstants.TaskStatus.SCRIPT_EDITED, response.getStatus());
+        }
+
+        @Test
+        @DisplayName("Cancel task that is not composing → 400")
+        void cancelNotComposing_ShouldThrow() {
+            // Given
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+
+            // When/Then
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> composeService.cancelCompose(1L, 100L));
+            assertEquals(ResultCode.TASK_STATUS_INVALID.getCode(), ex.getCode());
+            verify(composeMessagePublisher, never()).publishControl(any());
+        }
+
+        @Test
+        @DisplayName("Compose finished between read and update → 400, completed status kept, nothing aborted")
+        void cancelRacingCompletion_ShouldThrow() {
+            // Given
+            mockTask.setStatus(TaskConstants.TaskStatus.COMPOSING);
+            Task completed = new Task();
+            completed.setStatus(TaskConstants.TaskStatus.COMPLETED);
+            when(taskMapper.selectById(1L)).thenReturn(mockTask, completed);
+            when(taskMapper.updateStatusIfCurrent(1L, TaskConstants.TaskStatus.COMPOSING,
+                    TaskConstants.TaskStatus.VOICE_SET)).thenReturn(0);
+
+            // When/Then
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> composeService.cancelCompose(1L, 100L));
+            assertEquals(ResultCode.TASK_STATUS_INVALID.getCode(), ex.getCode());
+            assertTrue(ex.getMessage().contains(TaskConstants.TaskStatus.COMPLETED));
+            verify(taskMapper, never()).updateById(any(Task.class));
+            verify(composeMessagePublisher, never()).publishControl(any());
+        }
+    }
+
     @Nested
     @DisplayName("AC1: Voice Type Update")
     class VoiceTypeTests {
@@ -291,6 +383,99 @@ class ComposeServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("TTS Pre-synthesis")
+    class PresynthesisTests {
+
+        @Test
+        @DisplayName("Voice set → pre-synthesis published with a version marker")
+        void voiceSet_ShouldPublishPresynth() {
+            // Given
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(scriptMapper.findContentByTaskId(1L)).thenReturn(VALID_SCRIPT_CONTENT);
+
+            // When
+            composeService.updateVoiceType(1L, 100L, "yangguang", null);
+
+            // Then
+            ArgumentCaptor<TtsPresynthMessage> captor = ArgumentCaptor.forClass(TtsPresynthMessage.class);
+            verify(composeMessagePublisher).publishPresynth(captor.capture());
+            TtsPresynthMessage message = captor.getValue();
+            assertEquals(3, message.getParagraphs().size());
+            assertEquals("yangguang", message.getVoiceConfig().getVoiceId());
+            verify(redisUtils).set(eq("tts:presynth:1"), eq(message.getRequestedAt()), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("No script yet → nothing published")
+        void noScript_ShouldSkipPresynth() {
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+
+            composeService.updateVoiceType(1L, 100L, "xiaomei", null);
+
+            verify(composeMessagePublisher, never()).publishPresynth(any());
+        }
+
+        @Test
+        @DisplayName("Publish failure → voice update still succeeds")
+        void publishFailure_ShouldNotFailVoiceUpdate() {
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(scriptMapper.findContentByTaskId(1L)).thenReturn(VALID_SCRIPT_CONTENT);
+            doThrow(new RuntimeException("broker down")).when(composeMessagePublisher).publishPresynth(any());
+
+            assertDoesNotThrow(() -> composeService.updateVoiceType(1L, 100L, "xiaomei", null));
+        }
+
+        @Test
+        @DisplayName("Voice changed on a task already composing or completed → nothing published")
+        void voiceChangedAfterCompose_ShouldSkipPresynth() {
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+
+            for (String status : List.of(TaskConstants.TaskStatus.COMPOSING, TaskConstants.TaskStatus.COMPLETED)) {
+                mockTask.setStatus(status);
+                composeService.updateVoiceType(1L, 100L, "yangguang", null);
+            }
+
+            verify(composeMessagePublisher, never()).publishPresynth(any());
+            verify(redisUtils, never()).set(startsWith("tts:presynth:"), any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Inside a transaction → marker and message sent only after commit")
+        void inTransaction_ShouldPublishAfterCommit() {
+            // Given
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(scriptMapper.findContentByTaskId(1L)).thenReturn(VALID_SCRIPT_CONTENT);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // When
+                composeService.updateVoiceType(1L, 100L, "yangguang", null);
+
+                // Then
+                verify(composeMessagePublisher, never()).publishPresynth(any());
+                verify(redisUtils, never()).set(startsWith("tts:presynth:"), any(), anyLong(), any());
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+                verify(composeMessagePublisher).publishPresynth(any());
+                verify(redisUtils).set(eq("tts:presynth:1"), anyLong(), anyLong(), any());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Compose triggered → pre-synthesis marker cleared")
+        void triggerCompose_ShouldSupersedePresynth() {
+            when(taskMapper.selectById(1L)).thenReturn(mockTask);
+            when(scriptMapper.findContentByTaskId(1L)).thenReturn(VALID_SCRIPT_CONTENT);
+
+            composeService.triggerCompose(1L, 100L);
+
+            verify(redisUtils).delete("tts:presynth:1");
+        }
+    }
+
     @Nested
     @DisplayName("Paragraph Parsing")
     class ParagraphParsingTests {
@@ -1,6 +1,7 @@
 package com.shopvideoscout.task.service;
 
 import com.shopvideoscout.common.exception.BusinessException;
+import com.shopvideoscout.common.mq.FrameExtractMessage;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.task.constant.VideoConstants;
 import com.shopvideoscout.task.dto.*;
@@ -8,6 +9,7 @@ import com.shopvideoscout.task.entity.Task;
 import com.shopvideoscout.task.entity.Video;
 import com.shopvideoscout.task.mapper.TaskMapper;
 import com.shopvideoscout.task.mapper.VideoMapper;
+import com.shopvideoscout.task.mq.FrameExtractMessagePublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -40,6 +42,9 @@ class VideoServiceTest {
     @Mock
     private OssService ossService;
 
+    @Mock
+    private FrameExtractMessagePublisher frameExtractMessagePublisher;
+
     @InjectMocks
     private VideoService videoService;
 
@@ -268,6 +273,8 @@ class VideoServiceTest {
             assertNotNull(response);
             assertEquals("myvideo.mp4", response.getOriginalFilename());
             verify(videoMapper).insert(any(Video.class));
+            verify(frameExtractMessagePublisher).publish(argThat((FrameExtractMessage m) ->
+                    m.getTaskId().equals(1L) && "videos/100/1/uuid.mp4".equals(m.getOssKey())));
         }
 
         @Test
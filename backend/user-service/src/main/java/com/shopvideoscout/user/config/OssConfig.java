@@ -3,6 +3,7 @@ package com.shopvideoscout.user.config;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClientBuilder;
 import com.aliyun.oss.model.GeneratePresignedUrlRequest;
+import com.shopvideoscout.common.util.OssUrls;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +25,7 @@ public class OssConfig {
     private String accessKeyId;
     private String accessKeySecret;
     private String bucketName;
+    private String cdnBaseUrl;
 
     private static final int PRESIGNED_URL_EXPIRATION_MS = 15 * 60 * 1000;
 
@@ -38,6 +40,13 @@ public class OssConfig {
         return new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
     }
 
+    /**
+     * Public URL of an object: through the CDN when configured, direct OSS otherwise.
+     */
+    public String getPublicUrl(String ossKey) {
+        return OssUrls.publicUrl(cdnBaseUrl, bucketName, endpoint, ossKey);
+    }
+
     /**
      * Generate presigned upload URL for voice sample.
      */
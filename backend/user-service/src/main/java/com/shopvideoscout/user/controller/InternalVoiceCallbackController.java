@@ -2,6 +2,7 @@ package com.shopvideoscout.user.controller;
 
 import com.shopvideoscout.common.result.R;
 import com.shopvideoscout.user.dto.CloneResultRequest;
+import com.shopvideoscout.user.dto.PreviewReadyRequest;
 import com.shopvideoscout.user.service.VoiceSampleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,4 +34,17 @@ public class InternalVoiceCallbackController {
                 sampleId, request.getCloneVoiceId(), request.getStatus(), request.getErrorMessage());
         return R.ok();
     }
+
+    /**
+     * Callback from media-service once the cloned voice's preview clip is in OSS.
+     * POST /internal/voice/samples/{id}/preview
+     */
+    @PostMapping("/samples/{id}/preview")
+    public R<Void> updatePreview(
+            @PathVariable("id") Long sampleId,
+            @Valid @RequestBody PreviewReadyRequest request) {
+        log.info("Preview ready callback for sample {}: {}", sampleId, request.getPreviewOssKey());
+        voiceSampleService.updatePreview(sampleId, request.getPreviewOssKey());
+        return R.ok();
+    }
 }
@@ -0,0 +1,18 @@
+package com.shopvideoscout.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Internal callback request from media-service once a cloned voice's preview clip is rendered.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreviewReadyRequest {
+
+    @NotBlank(message = "试听音频路径不能为空")
+    private String previewOssKey;
+}
@@ -18,4 +18,9 @@ public class VoicePreviewResponse {
     private String previewText;
     private String status;
     private String cloneVoiceId;
+
+    /**
+     * CDN URL of the pre-rendered clip; null while it is still rendering.
+     */
+    private String previewAudioUrl;
 }
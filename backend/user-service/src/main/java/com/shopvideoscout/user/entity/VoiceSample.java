@@ -26,6 +26,11 @@ public class VoiceSample extends BaseEntity {
      */
     private String cloneVoiceId;
 
+    /**
+     * OSS key of the pre-rendered preview clip (populated by media-service after cloning).
+     */
+    private String previewOssKey;
+
     /**
      * Status: uploading, processing, completed, failed.
      */
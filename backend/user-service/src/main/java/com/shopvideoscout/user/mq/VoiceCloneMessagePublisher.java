@@ -2,13 +2,15 @@ package com.shopvideoscout.user.mq;
 
 import com.shopvideoscout.common.mq.MqConstants;
 import com.shopvideoscout.common.mq.VoiceCloneMessage;
+import com.shopvideoscout.common.mq.VoiceSampleChangedMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 /**
- * Publishes voice clone messages to RabbitMQ for media-service consumption.
+ * Publishes voice clone messages and voice sample change events to RabbitMQ
+ * for media-service consumption.
  */
 @Slf4j
 @Component
@@ -29,4 +31,16 @@ public class VoiceCloneMessagePublisher {
         );
         log.debug("Voice clone message published for sample: {}", message.getVoiceSampleId());
     }
+
+    /**
+     * Publish a voice sample change event so media nodes drop their cached lookup.
+     */
+    public void publishSampleChanged(VoiceSampleChangedMessage message) {
+        rabbitTemplate.convertAndSend(
+                MqConstants.VOICE_CLONE_EXCHANGE,
+                MqConstants.VOICE_SAMPLE_CHANGED_ROUTING_KEY,
+                message
+        );
+        log.debug("Voice sample changed event published for sample: {}", message.getVoiceSampleId());
+    }
 }
@@ -40,6 +40,11 @@ public interface VoiceSampleService {
      */
     void updateCloneResult(Long sampleId, String cloneVoiceId, String status, String errorMessage);
 
+    /**
+     * Record the pre-rendered preview clip of a cloned voice (internal callback from media-service).
+     */
+    void updatePreview(Long sampleId, String previewOssKey);
+
     /**
      * Get preview info for a voice sample (requires clone to be completed).
      */
@@ -3,7 +3,9 @@ package com.shopvideoscout.user.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.mq.VoiceCloneMessage;
+import com.shopvideoscout.common.mq.VoiceSampleChangedMessage;
 import com.shopvideoscout.common.result.ResultCode;
+import com.shopvideoscout.common.util.VoicePreviewKeys;
 import com.shopvideoscout.user.config.OssConfig;
 import com.shopvideoscout.user.dto.*;
 import com.shopvideoscout.user.entity.VoiceSample;
@@ -100,12 +102,7 @@ public class VoiceSampleServiceImpl implements VoiceSampleService {
                 .ossKey(request.getOssKey())
                 .durationSeconds(request.getDurationSeconds())
                 .build();
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override
-            public void afterCommit() {
-                voiceCloneMessagePublisher.publish(mqMessage);
-            }
-        });
+        afterCommit(() -> voiceCloneMessagePublisher.publish(mqMessage));
 
         return VoiceSampleResponse.fromEntity(sample);
     }
@@ -133,6 +130,7 @@ public class VoiceSampleServiceImpl implements VoiceSampleService {
         VoiceSample sample = findSampleWithOwnershipCheck(userId, sampleId);
         voiceSampleMapper.deleteById(sample.getId());
         log.info("Deleted voice sample {} for user {}", sampleId, userId);
+        publishSampleChanged(sample.getId(), userId, null);
     }
 
     @Override
@@ -155,6 +153,20 @@ public class VoiceSampleServiceImpl implements VoiceSampleService {
         sample.setErrorMessage(errorMessage);
         voiceSampleMapper.updateById(sample);
         log.info("Updated voice sample {} status to {}", sampleId, status);
+        publishSampleChanged(sampleId, sample.getUserId(), status);
+    }
+
+    @Override
+    public void updatePreview(Long sampleId, String previewOssKey) {
+        VoiceSample sample = voiceSampleMapper.selectById(sampleId);
+        if (sample == null) {
+            // Deleted while its preview was rendering
+            log.warn("Voice sample {} not found for preview update", sampleId);
+            return;
+        }
+        sample.setPreviewOssKey(previewOssKey);
+        voiceSampleMapper.updateById(sample);
+        log.info("Stored preview {} for voice sample {}", previewOssKey, sampleId);
     }
 
     @Override
@@ -165,13 +177,14 @@ public class VoiceSampleServiceImpl implements VoiceSampleService {
             throw new BusinessException(ResultCode.VOICE_CLONE_IN_PROGRESS);
         }
 
-        // MISC-002: Hardcoded preview text is an intentional MVP simplification.
-        // Future: generate actual TTS audio preview using cloned voice.
+        // The clip is rendered by media-service after cloning; until then only the text is returned
+        String previewOssKey = sample.getPreviewOssKey();
         return VoicePreviewResponse.builder()
                 .sampleId(sample.getId())
-                .previewText("你好，这是我的声音克隆效果预览。")
+                .previewText(VoicePreviewKeys.CLONE_TEXT)
                 .status(sample.getStatus())
                 .cloneVoiceId(sample.getCloneVoiceId())
+                .previewAudioUrl(previewOssKey != null ? ossConfig.getPublicUrl(previewOssKey) : null)
                 .build();
     }
 
@@ -186,6 +199,41 @@ public class VoiceSampleServiceImpl implements VoiceSampleService {
         return sample;
     }
 
+    /**
+     * Tell media nodes to drop their cached lookup of this sample, once the change is committed.
+     * Best-effort: the media-side cache TTL covers a lost event.
+     */
+    private void publishSampleChanged(Long sampleId, Long userId, String status) {
+        VoiceSampleChangedMessage event = VoiceSampleChangedMessage.builder()
+                .voiceSampleId(sampleId)
+                .userId(userId)
+                .status(status)
+                .build();
+        afterCommit(() -> {
+            try {
+                voiceCloneMessagePublisher.publishSampleChanged(event);
+            } catch (Exception e) {
+                log.warn("Failed to publish change event for voice sample {}: {}", sampleId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * TX-001: Run after the surrounding transaction commits, or right away outside a transaction.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void validateAudioFormat(String extension) {
         if (!ALLOWED_AUDIO_EXTENSIONS.contains(extension.toLowerCase())) {
             throw new BusinessException(ResultCode.INVALID_AUDIO_FORMAT);
@@ -2,6 +2,7 @@ package com.shopvideoscout.user.service;
 
 import com.shopvideoscout.common.exception.BusinessException;
 import com.shopvideoscout.common.mq.VoiceCloneMessage;
+import com.shopvideoscout.common.mq.VoiceSampleChangedMessage;
 import com.shopvideoscout.common.result.ResultCode;
 import com.shopvideoscout.user.config.OssConfig;
 import com.shopvideoscout.user.dto.CreateVoiceSampleRequest;
@@ -372,6 +373,10 @@ class VoiceSampleServiceTest {
             voiceSampleService.deleteById(USER_ID, 1L);
 
             verify(voiceSampleMapper).deleteById(1L);
+            ArgumentCaptor<VoiceSampleChangedMessage> captor = ArgumentCaptor.forClass(VoiceSampleChangedMessage.class);
+            verify(voiceCloneMessagePublisher).publishSampleChanged(captor.capture());
+            assertEquals(1L, captor.getValue().getVoiceSampleId());
+            assertNull(captor.getValue().getStatus());
         }
 
         @Test
@@ -422,6 +427,9 @@ class VoiceSampleServiceTest {
             assertEquals(VoiceSample.STATUS_COMPLETED, updated.getStatus());
             assertEquals("clone_abc", updated.getCloneVoiceId());
             assertNull(updated.getErrorMessage());
+            verify(voiceCloneMessagePublisher).publishSampleChanged(argThat(event ->
+                    event.getVoiceSampleId().equals(1L)
+                            && VoiceSample.STATUS_COMPLETED.equals(event.getStatus())));
         }
 
         @Test
@@ -464,6 +472,7 @@ class VoiceSampleServiceTest {
             voiceSampleService.updateCloneResult(1L, "clone_abc", VoiceSample.STATUS_COMPLETED, null);
 
             verify(voiceSampleMapper, never()).updateById(any());
+            verify(voiceCloneMessagePublisher, never()).publishSampleChanged(any());
         }
     }
 
@@ -473,6 +482,65 @@ class VoiceSampleServiceTest {
     @DisplayName("Preview Voice Sample")
     class PreviewTests {
 
+        @Test
+        @DisplayName("Rendered clip → preview carries its audio URL")
+        void getPreview_RenderedClip_ReturnsAudioUrl() {
+            // Given
+            VoiceSample sample = new VoiceSample();
+            sample.setId(1L);
+            sample.setUserId(USER_ID);
+            sample.setStatus(VoiceSample.STATUS_COMPLETED);
+            sample.setPreviewOssKey("voice/previews/v1/clone/1.mp3");
+            when(voiceSampleMapper.selectById(1L)).thenReturn(sample);
+            when(ossConfig.getPublicUrl("voice/previews/v1/clone/1.mp3"))
+                    .thenReturn("https://cdn.example.com/voice/previews/v1/clone/1.mp3");
+
+            // When
+            VoicePreviewResponse response = voiceSampleService.getPreview(USER_ID, 1L);
+
+            // Then
+            assertEquals("https://cdn.example.com/voice/previews/v1/clone/1.mp3", response.getPreviewAudioUrl());
+        }
+
+        @Test
+        @DisplayName("Clip not rendered yet → no audio URL, no OSS lookup")
+        void getPreview_NotRendered_NoAudioUrl() {
+            VoiceSample sample = new VoiceSample();
+            sample.setId(1L);
+            sample.setUserId(USER_ID);
+            sample.setStatus(VoiceSample.STATUS_COMPLETED);
+            when(voiceSampleMapper.selectById(1L)).thenReturn(sample);
+
+            VoicePreviewResponse response = voiceSampleService.getPreview(USER_ID, 1L);
+
+            assertNull(response.getPreviewAudioUrl());
+            verifyNoInteractions(ossConfig);
+        }
+
+        @Test
+        @DisplayName("Preview callback → stores the clip's OSS key")
+        void updatePreview_StoresKey() {
+            VoiceSample sample = new VoiceSample();
+            sample.setId(1L);
+            when(voiceSampleMapper.selectById(1L)).thenReturn(sample);
+
+            voiceSampleService.updatePreview(1L, "voice/previews/v1/clone/1.mp3");
+
+            ArgumentCaptor<VoiceSample> captor = ArgumentCaptor.forClass(VoiceSample.class);
+            verify(voiceSampleMapper).updateById(captor.capture());
+            assertEquals("voice/previews/v1/clone/1.mp3", captor.getValue().getPreviewOssKey());
+        }
+
+        @Test
+        @DisplayName("Preview callback for a deleted sample → no-op")
+        void updatePreview_SampleDeleted_NoOp() {
+            when(voiceSampleMapper.selectById(999L)).thenReturn(null);
+
+            voiceSampleService.updatePreview(999L, "voice/previews/v1/clone/999.mp3");
+
+            verify(voiceSampleMapper, never()).updateById(any());
+        }
+
         @Test
         @DisplayName("4.2-UNIT-025: Preview completed clone → returns preview info with cloneVoiceId")
         void getPreview_Completed_ReturnsPreview() {